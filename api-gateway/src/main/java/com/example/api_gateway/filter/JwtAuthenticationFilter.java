@@ -65,7 +65,13 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         // 인증이 필요 없는 경로는 그냥 통과
         if (isExcludedPath(path)) {
             log.info("인증 제외 경로로 통과: {}", path);
-            return chain.filter(exchange)
+            // 클라이언트가 보낸 X-User-Id는 검증되지 않았으므로 하위 서비스로 넘기지 않음
+            ServerWebExchange strippedExchange = exchange.mutate()
+                    .request(exchange.getRequest().mutate()
+                            .headers(headers -> headers.remove("X-User-Id"))
+                            .build())
+                    .build();
+            return chain.filter(strippedExchange)
                     .doOnSuccess(result -> log.info("라우팅 성공: {}", path))
                     .doOnError(error -> log.error("라우팅 실패: {} - {}", path, error.getMessage()));
         }
@@ -0,0 +1,44 @@
+-- 자정 배치 upsert 대상 테이블 중복 정리 + 유니크 키 추가 (1회 실행)
+--
+-- 자정 배치는 INSERT ... ON DUPLICATE KEY UPDATE로 holding / group_holding에 반영하는데,
+-- 행마다 새 UUID를 PK로 넣으므로 (계좌, 종목) / (그룹, 종목) 유니크 키가 없으면 매일 중복 행이 쌓임.
+-- ddl-auto: update는 중복 행이 있으면 키 추가에 실패해도 로그만 남기고 넘어가므로 여기서 직접 정리한다.
+-- (키가 없으면 BatchProcessingService가 시작 시 에러를 남기고 해당 테이블 반영을 거부함)
+--
+-- 실행 순서
+--   1. 자정 배치가 돌지 않는 시간에 실행 (trading-service는 떠 있어도 됨 - 이 테이블은 배치만 씀)
+--   2. mysql -h <host> -u <user> -p <database> < scripts/migrate-batch-unique-keys.sql
+--   3. 마지막 SELECT에서 두 키가 보이는지 확인
+--
+-- 중복 중에서는 가장 최근에 갱신된 행(같으면 PK가 큰 행)만 남김
+-- 이미 키가 있으면 ADD CONSTRAINT가 Duplicate key name 오류로 끝나므로 그 문장은 건너뛰면 됨
+
+DELETE older
+FROM holding older
+         JOIN holding newer
+              ON newer.investment_account_id = older.investment_account_id
+                  AND newer.stock_id = older.stock_id
+                  AND (newer.updated_at > older.updated_at
+                      OR (newer.updated_at = older.updated_at AND newer.holding_id > older.holding_id));
+
+ALTER TABLE holding
+    ADD CONSTRAINT uk_holding_account_stock UNIQUE (investment_account_id, stock_id);
+
+DELETE older
+FROM group_holding older
+         JOIN group_holding newer
+              ON newer.group_id = older.group_id
+                  AND newer.stock_id = older.stock_id
+                  AND (newer.updated_at > older.updated_at
+                      OR (newer.updated_at = older.updated_at AND newer.group_holding_id > older.group_holding_id));
+
+ALTER TABLE group_holding
+    ADD CONSTRAINT uk_group_holding_group_stock UNIQUE (group_id, stock_id);
+
+-- 확인
+SELECT table_name, index_name, GROUP_CONCAT(column_name ORDER BY seq_in_index) AS columns
+FROM information_schema.statistics
+WHERE table_schema = DATABASE()
+  AND table_name IN ('holding', 'group_holding')
+  AND non_unique = 0
+GROUP BY table_name, index_name;
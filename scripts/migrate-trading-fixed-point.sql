@@ -0,0 +1,52 @@
+-- trading-service 수량/금액 컬럼 FLOAT → DECIMAL 변환 (1회 실행)
+--
+-- 엔티티는 수량을 마이크로주(long), 금액을 원(long)으로 들고 QuantityMicrosConverter/WonAmountConverter로
+-- DECIMAL에 저장하지만, ddl-auto: update는 기존 컬럼의 타입을 바꾸지 않으므로 FLOAT 컬럼이 그대로 남음
+-- (FLOAT에 저장되면 7자리 정밀도로 다시 잘려서 고정소수점 계산이 의미 없어짐)
+--
+-- 실행 순서
+--   1. trading-service 전체 파드 중지 (체결/배치가 도는 중에 테이블을 바꾸지 않도록)
+--   2. mysql -h <host> -u <user> -p <database> < scripts/migrate-trading-fixed-point.sql
+--   3. 마지막 SELECT 결과에서 모든 컬럼이 decimal인지 확인 후 새 버전 배포
+--
+-- 단위는 그대로라 데이터 변환은 필요 없음 (수량: 주, 금액: 원)
+-- - 수량은 소수 6자리까지 보존, 금액의 원 미만 값은 반올림됨
+-- - 이미 DECIMAL인 컬럼에 다시 실행해도 결과는 같음
+
+ALTER TABLE orders
+    MODIFY COLUMN quantity DECIMAL(19, 6) NOT NULL,
+    MODIFY COLUMN price DECIMAL(19, 0) NOT NULL;
+
+ALTER TABLE trade
+    MODIFY COLUMN quantity DECIMAL(19, 6) NOT NULL,
+    MODIFY COLUMN price DECIMAL(19, 0) NOT NULL;
+
+ALTER TABLE holding_cache
+    MODIFY COLUMN quantity DECIMAL(19, 6) NOT NULL,
+    MODIFY COLUMN avg_cost DECIMAL(19, 0) NOT NULL;
+
+ALTER TABLE group_holding_cache
+    MODIFY COLUMN total_quantity DECIMAL(19, 6) NOT NULL,
+    MODIFY COLUMN avg_cost DECIMAL(19, 0) NOT NULL;
+
+-- 자정 배치가 캐시 테이블에서 옮겨 담는 실제 테이블도 같은 타입으로
+ALTER TABLE holding
+    MODIFY COLUMN quantity DECIMAL(19, 6) NOT NULL,
+    MODIFY COLUMN avg_cost DECIMAL(19, 0) NOT NULL;
+
+ALTER TABLE group_holding
+    MODIFY COLUMN total_quantity DECIMAL(19, 6) NOT NULL,
+    MODIFY COLUMN avg_cost DECIMAL(19, 0) NOT NULL;
+
+-- 확인
+SELECT table_name, column_name, data_type, numeric_precision, numeric_scale
+FROM information_schema.columns
+WHERE table_schema = DATABASE()
+  AND (table_name, column_name) IN (
+        ('orders', 'quantity'), ('orders', 'price'),
+        ('trade', 'quantity'), ('trade', 'price'),
+        ('holding_cache', 'quantity'), ('holding_cache', 'avg_cost'),
+        ('group_holding_cache', 'total_quantity'), ('group_holding_cache', 'avg_cost'),
+        ('holding', 'quantity'), ('holding', 'avg_cost'),
+        ('group_holding', 'total_quantity'), ('group_holding', 'avg_cost'))
+ORDER BY table_name, column_name;
@@ -0,0 +1,203 @@
+package com.example.trading_service.util;
+
+import com.example.trading_service.dto.OrderBookItem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한투 실시간 프레임 파싱 벤치마크
+ * - splitXxx: 기존 WebSocketOrderBookService의 String.split 기반 파싱
+ * - cursorXxx: KisRealtimeParser 기반 파싱
+ * 실행: ./gradlew :trading-service:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KisRealtimeParserBenchmark {
+
+    private static final String FRAMES_RESOURCE = "/kis-realtime-frames.txt";
+
+    private String[] orderBookFrames;
+    private String[] tradePriceFrames;
+    private int orderBookCursor;
+    private int tradePriceCursor;
+
+    private final KisRealtimeParser.OrderBookFrame orderBookFrame = new KisRealtimeParser.OrderBookFrame();
+    private final KisRealtimeParser.TradePriceFrame tradePriceFrame = new KisRealtimeParser.TradePriceFrame();
+
+    @Setup
+    public void loadFrames() throws IOException {
+        List<String> orderBooks = new ArrayList<>();
+        List<String> tradePrices = new ArrayList<>();
+        try (InputStream in = KisRealtimeParserBenchmark.class.getResourceAsStream(FRAMES_RESOURCE);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("0|H0STASP0|")) {
+                    orderBooks.add(line);
+                } else if (line.startsWith("0|H0STCNT0|")) {
+                    tradePrices.add(line);
+                }
+            }
+        }
+        orderBookFrames = orderBooks.toArray(new String[0]);
+        tradePriceFrames = tradePrices.toArray(new String[0]);
+
+        // 두 파서의 결과가 같은지 먼저 확인 (다르면 벤치마크 의미 없음)
+        for (String frame : orderBookFrames) {
+            List<List<OrderBookItem>> expected = splitOrderBook(frame);
+            List<List<OrderBookItem>> actual = cursorOrderBookItems(frame);
+            if (!sameLevels(expected.get(0), actual.get(0)) || !sameLevels(expected.get(1), actual.get(1))) {
+                throw new IllegalStateException("파싱 결과 불일치: " + frame);
+            }
+        }
+    }
+
+    private String nextOrderBookFrame() {
+        String frame = orderBookFrames[orderBookCursor];
+        orderBookCursor = (orderBookCursor + 1) % orderBookFrames.length;
+        return frame;
+    }
+
+    private String nextTradePriceFrame() {
+        String frame = tradePriceFrames[tradePriceCursor];
+        tradePriceCursor = (tradePriceCursor + 1) % tradePriceFrames.length;
+        return frame;
+    }
+
+    @Benchmark
+    public void splitOrderBook(Blackhole bh) {
+        bh.consume(splitOrderBook(nextOrderBookFrame()));
+    }
+
+    @Benchmark
+    public void cursorOrderBook(Blackhole bh) {
+        bh.consume(KisRealtimeParser.parseOrderBook(nextOrderBookFrame(), orderBookFrame));
+        bh.consume(orderBookFrame.askPrice(0));
+        bh.consume(orderBookFrame.bidPrice(0));
+    }
+
+    @Benchmark
+    public void cursorOrderBookToItems(Blackhole bh) {
+        bh.consume(cursorOrderBookItems(nextOrderBookFrame()));
+    }
+
+    @Benchmark
+    public void splitTradePrice(Blackhole bh) {
+        String[] parts = nextTradePriceFrame().split("\\|");
+        String[] dataParts = parts[3].split("\\^");
+        bh.consume(dataParts[0]);
+        bh.consume(new java.math.BigDecimal(dataParts[1]));
+        bh.consume(new java.math.BigDecimal(dataParts[2]));
+        bh.consume(Float.parseFloat(dataParts[3]));
+        bh.consume(Long.parseLong(dataParts[4]));
+        bh.consume(new java.math.BigDecimal(dataParts[6]));
+        bh.consume(new java.math.BigDecimal(dataParts[7]));
+        bh.consume(new java.math.BigDecimal(dataParts[8]));
+    }
+
+    @Benchmark
+    public void cursorTradePrice(Blackhole bh) {
+        bh.consume(KisRealtimeParser.parseTradePrice(nextTradePriceFrame(), tradePriceFrame));
+        bh.consume(tradePriceFrame.getCurrentPrice());
+        bh.consume(tradePriceFrame.getChangeRate());
+    }
+
+    /**
+     * 기존 split 기반 호가 파싱 (WebSocketOrderBookService.parseRealtimeOrderBook 원본 로직)
+     */
+    private static List<List<OrderBookItem>> splitOrderBook(String message) {
+        String[] parts = message.split("\\|");
+        String[] dataParts = parts[3].split("\\^");
+
+        List<OrderBookItem> askPrices = new ArrayList<>();
+        List<OrderBookItem> bidPrices = new ArrayList<>();
+
+        for (int i = 3; i < 13 && i < dataParts.length; i++) {
+            String priceStr = dataParts[i];
+            if (priceStr != null && !priceStr.equals("0") && !priceStr.isEmpty()) {
+                try {
+                    float price = Float.parseFloat(priceStr);
+                    if (price > 0) {
+                        long quantity = 0L;
+                        if (i + 20 < dataParts.length) {
+                            String quantityStr = dataParts[i + 20];
+                            if (quantityStr != null && !quantityStr.equals("0") && !quantityStr.isEmpty()) {
+                                quantity = Long.parseLong(quantityStr);
+                            }
+                        }
+                        if (quantity > 0) {
+                            askPrices.add(new OrderBookItem(price, quantity, "ask"));
+                        }
+                    }
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+
+        for (int i = 13; i < 23 && i < dataParts.length; i++) {
+            String priceStr = dataParts[i];
+            if (priceStr != null && !priceStr.equals("0") && !priceStr.isEmpty()) {
+                try {
+                    float price = Float.parseFloat(priceStr);
+                    if (price > 0) {
+                        long quantity = 0L;
+                        if (i + 20 < dataParts.length) {
+                            String quantityStr = dataParts[i + 20];
+                            if (quantityStr != null && !quantityStr.equals("0") && !quantityStr.isEmpty()) {
+                                quantity = Long.parseLong(quantityStr);
+                            }
+                        }
+                        if (quantity > 0) {
+                            bidPrices.add(new OrderBookItem(price, quantity, "bid"));
+                        }
+                    }
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+
+        return List.of(askPrices, bidPrices);
+    }
+
+    private List<List<OrderBookItem>> cursorOrderBookItems(String message) {
+        KisRealtimeParser.parseOrderBook(message, orderBookFrame);
+
+        List<OrderBookItem> askPrices = new ArrayList<>(KisRealtimeParser.LEVELS);
+        List<OrderBookItem> bidPrices = new ArrayList<>(KisRealtimeParser.LEVELS);
+        for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+            if (orderBookFrame.askPrice(level) > 0 && orderBookFrame.askQuantity(level) > 0) {
+                askPrices.add(new OrderBookItem((float) orderBookFrame.askPrice(level), orderBookFrame.askQuantity(level), "ask"));
+            }
+            if (orderBookFrame.bidPrice(level) > 0 && orderBookFrame.bidQuantity(level) > 0) {
+                bidPrices.add(new OrderBookItem((float) orderBookFrame.bidPrice(level), orderBookFrame.bidQuantity(level), "bid"));
+            }
+        }
+        return List.of(askPrices, bidPrices);
+    }
+
+    private static boolean sameLevels(List<OrderBookItem> expected, List<OrderBookItem> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (!expected.get(i).getPrice().equals(actual.get(i).getPrice())
+                    || !expected.get(i).getQuantity().equals(actual.get(i).getQuantity())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
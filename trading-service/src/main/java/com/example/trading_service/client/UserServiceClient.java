@@ -28,6 +28,13 @@ public interface UserServiceClient {
     @GetMapping("/internal/groups/{groupId}/members/accounts")
     List<InvestmentAccountDto> getGroupMemberAccounts(@PathVariable("groupId") UUID groupId);
 
+    /**
+     * 그룹 멤버 수 조회
+     * - 멤버 계좌 목록에 빠진 멤버가 있는지 확인용
+     */
+    @GetMapping("/internal/{groupId}/member-count")
+    Integer getGroupMemberCount(@PathVariable("groupId") UUID groupId);
+
     /**
      * 사용자가 속한 그룹 목록 조회
      * - 사용자가 멤버로 속한 모든 그룹의 ID 목록
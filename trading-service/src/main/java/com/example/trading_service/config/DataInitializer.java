@@ -2,6 +2,7 @@ package com.example.trading_service.config;
 
 import com.example.trading_service.domain.Stock;
 import com.example.trading_service.repository.StockRepository;
+import com.example.trading_service.service.KisFeedLeaderElection;
 import com.example.trading_service.service.KisWebSocketClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private final StockRepository stockRepository;
     private final KisWebSocketClient kisWebSocketClient;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
 
     // ETF 코드와 이름 매핑
     private static final Map<String, String> ETF_CODES = Map.ofEntries(
@@ -50,6 +52,11 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void startWebSocketConnection() {
+        // 리더 선출 사용 시 lease를 얻은 파드만 연결 (KisFeedLeaderElection에서 처리)
+        if (kisFeedLeaderElection.isEnabled()) {
+            log.info("👑 한투 피드 리더 선출 사용 - lease 획득 시 WebSocket 연결");
+            return;
+        }
         new Thread(() -> {
             try {
                 Thread.sleep(3000);
@@ -0,0 +1,27 @@
+package com.example.trading_service.config;
+
+import com.example.trading_service.service.GroupMembershipCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * user-service 그룹 멤버 변경 채널 구독 (모든 파드가 각자 로컬 캐시 무효화)
+ */
+@Configuration
+public class GroupMembershipCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer groupMembershipListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          GroupMembershipCache groupMembershipCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 기본 실행기는 메시지마다 새 스레드를 띄움 → 캐시 항목 제거만 하므로 구독 스레드에서 바로 처리
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(groupMembershipCache, new ChannelTopic(GroupMembershipCache.CHANGED_CHANNEL));
+        return container;
+    }
+}
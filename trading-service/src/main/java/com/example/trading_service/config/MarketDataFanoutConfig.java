@@ -0,0 +1,48 @@
+package com.example.trading_service.config;
+
+import com.example.trading_service.service.MarketDataDispatcher;
+import com.example.trading_service.service.MarketDataFanout;
+import com.example.trading_service.service.PendingOrderIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 레플리카 간 시세 채널 설정 (market-data.fanout=redis 또는 리더 선출 사용 시)
+ * - fanout=redis: 모든 파드가 Redis 시세 채널을 구독해서 로컬 STOMP 세션에 전달
+ * - 리더 선출: 팔로워가 리더의 틱/대기 주문 채널을 구독
+ */
+@Configuration
+@ConditionalOnExpression("'${market-data.fanout:local}' == 'redis' or ${market-data.leader-election.enabled:false}")
+public class MarketDataFanoutConfig {
+
+    @Value("${market-data.fanout:local}")
+    private String fanoutMode;
+
+    @Value("${market-data.leader-election.enabled:false}")
+    private boolean leaderElectionEnabled;
+
+    @Bean
+    public RedisMessageListenerContainer marketDataListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     MarketDataFanout marketDataFanout,
+                                                                     MarketDataDispatcher marketDataDispatcher,
+                                                                     PendingOrderIndex pendingOrderIndex) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 메시지마다 새 스레드를 띄우면 틱 순서가 뒤섞이므로 구독 스레드에서 바로 처리 (큐잉/전달만 하므로 짧음)
+        container.setTaskExecutor(new SyncTaskExecutor());
+        if ("redis".equalsIgnoreCase(fanoutMode)) {
+            container.addMessageListener(marketDataFanout, new ChannelTopic(MarketDataFanout.FANOUT_CHANNEL));
+        }
+        if (leaderElectionEnabled) {
+            container.addMessageListener(marketDataDispatcher, new ChannelTopic(MarketDataDispatcher.TICK_CHANNEL));
+            container.addMessageListener(pendingOrderIndex, new ChannelTopic(PendingOrderIndex.ADDED_CHANNEL));
+        }
+        return container;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.trading_service.config;
+
+import com.example.trading_service.service.PortfolioStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 포트폴리오 구독 관리
+ * - /user/queue/portfolio, /topic/group/{groupId}/portfolio 구독을 스트리밍 대상으로 등록
+ * - 권한이 없는 구독(사용자 정보 없음, 그룹 멤버 아님)은 브로커로 넘기지 않고 버림
+ * - 와일드카드 구독과 /topic/group/ 아래의 다른 구독도 버림 (브로커 패턴 매칭으로 다른 그룹 전송을 받지 않도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class PortfolioSubscriptionChannelInterceptor implements ChannelInterceptor {
+
+    private final PortfolioStreamService portfolioStreamService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+        if (command == null) {
+            return message;
+        }
+
+        switch (command) {
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (destination != null && portfolioStreamService.isForbiddenDestination(destination)) {
+                    return null;
+                }
+                if (destination != null && portfolioStreamService.isPortfolioDestination(destination)
+                        && !portfolioStreamService.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(),
+                                destination, accessor.getUser())) {
+                    return null;
+                }
+            }
+            case UNSUBSCRIBE -> portfolioStreamService.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> portfolioStreamService.disconnect(accessor.getSessionId());
+            default -> {
+            }
+        }
+        return message;
+    }
+}
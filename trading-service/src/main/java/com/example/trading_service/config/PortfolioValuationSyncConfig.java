@@ -0,0 +1,34 @@
+package com.example.trading_service.config;
+
+import com.example.trading_service.service.PortfolioValuationEngine;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 평가 엔진 무효화 채널 구독 (모든 파드가 체결된 계좌/그룹을 각자 다시 적재)
+ * - 재적재는 DB 조회라 구독 스레드나 시세 fan-out 컨테이너와 섞지 않고 전용 스레드에서 처리
+ */
+@Configuration
+public class PortfolioValuationSyncConfig {
+
+    @Bean
+    public RedisMessageListenerContainer portfolioValuationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                             PortfolioValuationEngine portfolioValuationEngine) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 빈으로 등록하면 @Async 기본 실행기를 대신하게 되므로 컨테이너 전용으로만 생성
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("valuation-sync-");
+        executor.initialize();
+        container.setTaskExecutor(executor);
+        container.addMessageListener(portfolioValuationEngine,
+                new ChannelTopic(PortfolioValuationEngine.INVALIDATE_CHANNEL));
+        return container;
+    }
+}
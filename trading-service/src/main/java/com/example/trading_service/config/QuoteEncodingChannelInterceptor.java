@@ -0,0 +1,68 @@
+package com.example.trading_service.config;
+
+import com.example.trading_service.service.BinaryQuoteSubscriptionRegistry;
+import com.example.trading_service.service.MarketDataBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 구독별 시세 인코딩 협상
+ * - SUBSCRIBE 프레임에 x-quote-encoding: binary 헤더가 있으면 호가/현재가 토픽을 바이너리 토픽으로 바꿔서 구독
+ *   (/topic/orderbook/{code} -> /topic/bin/orderbook/{code}, 구독ID는 그대로라 클라이언트 코드 변경 최소화)
+ * - 헤더가 없으면 기존 JSON 토픽 그대로
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuoteEncodingChannelInterceptor implements ChannelInterceptor {
+
+    public static final String ENCODING_HEADER = "x-quote-encoding";
+    private static final String BINARY_ENCODING = "binary";
+
+    private final BinaryQuoteSubscriptionRegistry binaryQuoteSubscriptionRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+        if (command == null) {
+            return message;
+        }
+
+        switch (command) {
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (destination != null && isQuoteTopic(destination)
+                        && BINARY_ENCODING.equalsIgnoreCase(accessor.getFirstNativeHeader(ENCODING_HEADER))) {
+                    String binaryDestination = BinaryQuoteSubscriptionRegistry.toBinaryDestination(destination);
+                    binaryQuoteSubscriptionRegistry.subscribe(
+                            accessor.getSessionId(), accessor.getSubscriptionId(), binaryDestination);
+                    accessor.setDestination(binaryDestination);
+                    log.debug("바이너리 시세 구독: {} -> {}", destination, binaryDestination);
+                    return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+                }
+            }
+            case UNSUBSCRIBE -> binaryQuoteSubscriptionRegistry.unsubscribe(
+                    accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> binaryQuoteSubscriptionRegistry.disconnect(accessor.getSessionId());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private boolean isQuoteTopic(String destination) {
+        if (destination.equals(MarketDataBroadcaster.ORDER_BOOK_TOPIC + "status")) {
+            return false; // 구독 상태 응답은 JSON 유지
+        }
+        return destination.startsWith(MarketDataBroadcaster.ORDER_BOOK_TOPIC)
+                || destination.startsWith(MarketDataBroadcaster.STOCK_PRICE_TOPIC);
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.trading_service.config;
 
+import com.example.trading_service.security.StompAuthChannelInterceptor;
+import com.example.trading_service.security.UserIdHandshakeHandler;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -18,9 +22,15 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 @Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final QuoteEncodingChannelInterceptor quoteEncodingChannelInterceptor;
+    private final PortfolioSubscriptionChannelInterceptor portfolioSubscriptionChannelInterceptor;
+    private final UserIdHandshakeHandler userIdHandshakeHandler;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 클라이언트로 메시지 전송할 때 사용할 prefix
@@ -33,10 +43,18 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.setUserDestinationPrefix("/user");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // CONNECT JWT 인증(가장 먼저), 구독별 시세 인코딩(JSON/바이너리) 협상, 실시간 포트폴리오 구독 등록
+        registration.interceptors(stompAuthChannelInterceptor, quoteEncodingChannelInterceptor,
+                portfolioSubscriptionChannelInterceptor);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // WebSocket 연결 엔드포인트
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(userIdHandshakeHandler) // JWT(?token=)로 세션 사용자 지정 (/user/... 목적지용)
                 .setAllowedOrigins("*"); // 모든 Origin 허용
     }
 
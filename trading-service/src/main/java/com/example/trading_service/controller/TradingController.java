@@ -267,6 +267,23 @@ public class TradingController {
         return ResponseEntity.ok(ApiResponse.success(chartInfo));
     }
 
+    @Operation(summary = "주식 캔들 배열 조회", description = "캔들/이동평균/거래량을 필드별 배열로 조회합니다. 분봉은 periodDiv=1m, 5m 등 (당일 실시간 체결로 생성).")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "캔들 조회 성공"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "차트 데이터 없음")
+    })
+    @GetMapping("/stocks/{stockCode}/candles")
+    public ResponseEntity<ApiResponse<CandleSeriesResponse>> getCandles(@PathVariable String stockCode,
+                                                                        @RequestParam(defaultValue = "D") String periodDiv,
+                                                                        @RequestParam(defaultValue = "200") int limit) {
+        CandleSeriesResponse candles = chartService.getCandleSeries(stockCode, periodDiv, limit);
+        if (candles == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("차트 데이터를 가져올 수 없습니다: " + stockCode, "CHART_NOT_FOUND"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(candles));
+    }
+
     @Operation(summary = "전체 주문 조회", description = "사용자의 모든 주문(대기, 체결, 취소 등)을 조회합니다.")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "주문 조회 성공"),
@@ -1,7 +1,11 @@
 package com.example.trading_service.controller;
 
+import com.example.trading_service.dto.OrderBookDeltaResponse;
+import com.example.trading_service.service.KisFeedLeaderElection;
 import com.example.trading_service.service.KisWebSocketClient;
-import com.example.trading_service.service.RedisCacheService;
+import com.example.trading_service.service.OrderBookDeltaEncoder;
+import com.example.trading_service.service.OrderBookDeltaSnapshotStore;
+import com.example.trading_service.service.OrderBookSnapshotStore;
 import com.example.trading_service.service.OrderBookService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -25,9 +30,12 @@ public class WebSocketController {
 
     private final KisWebSocketClient kisWebSocketClient;
     private final SimpMessagingTemplate messagingTemplate;
-    private final RedisCacheService redisCacheService;
+    private final OrderBookSnapshotStore orderBookSnapshotStore;
     private final OrderBookService orderBookService;
     private final ObjectMapper objectMapper;
+    private final OrderBookDeltaEncoder orderBookDeltaEncoder;
+    private final OrderBookDeltaSnapshotStore orderBookDeltaSnapshotStore;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
 
     /**
      * 호가 구독 요청
@@ -50,8 +58,8 @@ public class WebSocketController {
                 log.info("📊 JSON 파싱 실패, 메시지 자체를 종목코드로 사용: {}", stockCode);
             }
             
-            // 1. 캐시된 호가 데이터 조회
-            Object cachedOrderBook = redisCacheService.getCachedWebSocketOrderBook(stockCode);
+            // 1. 캐시된 호가 데이터 조회 (JVM 호가 스냅샷)
+            Object cachedOrderBook = orderBookSnapshotStore.get(stockCode);
             
             if (cachedOrderBook != null) {
                 // 캐시된 데이터가 있으면 즉시 전송
@@ -115,6 +123,31 @@ public class WebSocketController {
         return response;
     }
 
+    /**
+     * 호가 변경분 스냅샷 요청 (변경분 일련번호가 끊겼을 때 클라이언트가 요청)
+     * 응답: /user/queue/orderbook-delta
+     */
+    @MessageMapping("/orderbook-delta/snapshot")
+    @SendToUser("/queue/orderbook-delta")
+    public OrderBookDeltaResponse orderBookDeltaSnapshot(String message) {
+        String stockCode;
+        try {
+            stockCode = objectMapper.readTree(message).get("stockCode").asText();
+        } catch (Exception e) {
+            // JSON이 아니면 메시지 자체를 stockCode로 사용
+            stockCode = message;
+        }
+        log.debug("📡 호가 변경분 스냅샷 요청: {}", stockCode);
+
+        // redis fan-out이면 팔로워는 리더가 공유한 스냅샷으로 응답 (변경분과 같은 일련번호)
+        OrderBookDeltaResponse snapshot = orderBookDeltaSnapshotStore.get(stockCode);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // 아직 변경분을 보낸 적 없는 종목은 현재 호가로 seq 0 스냅샷 생성
+        return orderBookDeltaEncoder.snapshotOf(orderBookService.getOrderBook(stockCode));
+    }
+
     /**
      * WebSocket 연결 상태 조회
      */
@@ -157,6 +190,11 @@ public class WebSocketController {
     @Scheduled(fixedRate = 30000)
     public void monitorWebSocketConnection() {
         try {
+            // 한투 피드 리더가 아닌 파드는 연결하지 않음 (appkey 중복 사용 방지)
+            if (!kisFeedLeaderElection.isLeader()) {
+                return;
+            }
+
             // 이미 연결되어 있으면 모니터링만 하고 재연결하지 않음
             if (kisWebSocketClient.isConnected()) {
                 log.debug("✅ 웹소켓 연결 상태 양호");
@@ -179,7 +217,7 @@ public class WebSocketController {
     @Scheduled(fixedRate = 30000)
     public void ensureAllStocksSubscribed() {
         try {
-            if (kisWebSocketClient.isHealthy()) {
+            if (kisFeedLeaderElection.isLeader() && kisWebSocketClient.isHealthy()) {
                 kisWebSocketClient.ensureAllStocksSubscribed();
             }
         } catch (Exception e) {
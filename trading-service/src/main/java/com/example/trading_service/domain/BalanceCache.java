@@ -10,7 +10,9 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "balance_cache")
+@Table(name = "balance_cache", indexes = {
+        @Index(name = "idx_balance_cache_updated", columnList = "updated_at, balance_id")
+})
 public class BalanceCache {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,46 @@
+package com.example.trading_service.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 자정 배치 진행 위치 (캐시 테이블별 워터마크)
+ * - 마지막으로 반영한 캐시 행의 (updated_at, PK) 위치 → 다음 실행은 그 이후에 바뀐 행만 읽음
+ * - 청크 묶음이 반영될 때마다 앞으로 이동하므로 중간에 실패해도 그 위치부터 이어서 처리
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "batch_checkpoint")
+public class BatchCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 50, nullable = false, updatable = false)
+    private String jobName; // 배치 작업 이름 (캐시 테이블명)
+
+    @Column(name = "last_updated_at", nullable = false)
+    private LocalDateTime lastUpdatedAt; // 마지막으로 반영한 행의 updated_at
+
+    @Column(name = "last_key", nullable = false)
+    private UUID lastKey; // 마지막으로 반영한 행의 PK (같은 updated_at 안에서의 위치)
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // 마지막 갱신 시간
+
+    public BatchCheckpoint(String jobName, LocalDateTime lastUpdatedAt, UUID lastKey) {
+        this.jobName = jobName;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.lastKey = lastKey;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
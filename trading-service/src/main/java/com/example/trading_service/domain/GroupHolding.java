@@ -1,5 +1,6 @@
 package com.example.trading_service.domain;
 
+import com.example.trading_service.util.FixedPoint;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +11,9 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "group_holding")
+@Table(name = "group_holding", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_group_holding_group_stock", columnNames = {"group_id", "stock_id"})
+})
 public class GroupHolding {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -24,11 +27,13 @@ public class GroupHolding {
     @JoinColumn(name = "stock_id", nullable = false)
     private Stock stock;
 
-    @Column(name = "total_quantity", nullable = false)
-    private float totalQuantity; // 그룹 전체 보유 수량
+    @Convert(converter = QuantityMicrosConverter.class)
+    @Column(name = "total_quantity", nullable = false, precision = 19, scale = 6)
+    private long totalQuantityMicros; // 그룹 전체 보유 수량 (마이크로주, 1주 = 1,000,000)
 
-    @Column(name = "avg_cost", nullable = false)
-    private float avgCost; // 평균 매입 단가
+    @Convert(converter = WonAmountConverter.class)
+    @Column(name = "avg_cost", nullable = false, precision = 19)
+    private long avgCostWon; // 평균 매입 단가 (원)
 
     @Column(name = "profit")
     private Float profit; // 평가손익 (optional)
@@ -45,6 +50,23 @@ public class GroupHolding {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt; // 마지막 수정 시간
 
+    // 주 단위/float 접근자 (응답 변환용)
+    public float getTotalQuantity() {
+        return FixedPoint.toQuantity(totalQuantityMicros);
+    }
+
+    public void setTotalQuantity(float totalQuantity) {
+        this.totalQuantityMicros = FixedPoint.toMicros(totalQuantity);
+    }
+
+    public float getAvgCost() {
+        return avgCostWon;
+    }
+
+    public void setAvgCost(float avgCost) {
+        this.avgCostWon = FixedPoint.toWon(avgCost);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -1,5 +1,6 @@
 package com.example.trading_service.domain;
 
+import com.example.trading_service.util.FixedPoint;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +11,9 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "holding")
+@Table(name = "holding", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_holding_account_stock", columnNames = {"investment_account_id", "stock_id"})
+})
 public class Holding {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -25,11 +28,13 @@ public class Holding {
     @JoinColumn(name = "stock_id", nullable = false)
     private Stock stock;
 
-    @Column(name = "quantity", nullable = false)
-    private float quantity; // 현재 보유 수량
+    @Convert(converter = QuantityMicrosConverter.class)
+    @Column(name = "quantity", nullable = false, precision = 19, scale = 6)
+    private long quantityMicros; // 현재 보유 수량 (마이크로주, 1주 = 1,000,000)
 
-    @Column(name = "avg_cost", nullable = false)
-    private float avgCost; // 평균 매입 단가
+    @Convert(converter = WonAmountConverter.class)
+    @Column(name = "avg_cost", nullable = false, precision = 19)
+    private long avgCostWon; // 평균 매입 단가 (원)
 
     @Column(name = "profit")
     private Float profit; // 평가손익 (optional)
@@ -43,6 +48,23 @@ public class Holding {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt; // 마지막 수정 시간
 
+    // 주 단위/float 접근자 (응답 변환용)
+    public float getQuantity() {
+        return FixedPoint.toQuantity(quantityMicros);
+    }
+
+    public void setQuantity(float quantity) {
+        this.quantityMicros = FixedPoint.toMicros(quantity);
+    }
+
+    public float getAvgCost() {
+        return avgCostWon;
+    }
+
+    public void setAvgCost(float avgCost) {
+        this.avgCostWon = FixedPoint.toWon(avgCost);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -1,5 +1,6 @@
 package com.example.trading_service.domain;
 
+import com.example.trading_service.util.FixedPoint;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +11,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "holding_cache")
+@Table(name = "holding_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_holding_cache_account_stock", columnNames = {"investment_account_id", "stock_id"})
+}, indexes = {
+        @Index(name = "idx_holding_cache_updated", columnList = "updated_at, holding_id")
+})
 public class HoldingCache {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -25,11 +30,17 @@ public class HoldingCache {
     @JoinColumn(name = "stock_id", nullable = false)
     private Stock stock;
 
-    @Column(name = "quantity", nullable = false)
-    private float quantity; // 현재 보유 수량
+    @Convert(converter = QuantityMicrosConverter.class)
+    @Column(name = "quantity", nullable = false, precision = 19, scale = 6)
+    private long quantityMicros; // 현재 보유 수량 (마이크로주, 1주 = 1,000,000)
 
-    @Column(name = "avg_cost", nullable = false)
-    private float avgCost; // 평균 매입 단가
+    @Convert(converter = WonAmountConverter.class)
+    @Column(name = "avg_cost", nullable = false, precision = 19)
+    private long avgCostWon; // 평균 매입 단가 (원)
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version; // 낙관적 잠금 버전 (평균단가 갱신 충돌 감지)
 
     @Column(name = "profit")
     private Float profit; // 평가손익 (optional)
@@ -40,6 +51,23 @@ public class HoldingCache {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt; // 마지막 수정 시간
 
+    // 주 단위/float 접근자 (응답 변환용, 체결/평가 계산은 quantityMicros/avgCostWon 사용)
+    public float getQuantity() {
+        return FixedPoint.toQuantity(quantityMicros);
+    }
+
+    public void setQuantity(float quantity) {
+        this.quantityMicros = FixedPoint.toMicros(quantity);
+    }
+
+    public float getAvgCost() {
+        return avgCostWon;
+    }
+
+    public void setAvgCost(float avgCost) {
+        this.avgCostWon = FixedPoint.toWon(avgCost);
+    }
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
@@ -1,5 +1,6 @@
 package com.example.trading_service.domain;
 
+import com.example.trading_service.util.FixedPoint;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -29,11 +30,13 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderType orderType; // 주문 종류
 
-    @Column(name = "quantity", nullable = false)
-    private float quantity; // 주문 수량
+    @Convert(converter = QuantityMicrosConverter.class)
+    @Column(name = "quantity", nullable = false, precision = 19, scale = 6)
+    private long quantityMicros; // 주문 수량 (마이크로주, 1주 = 1,000,000)
 
-    @Column(name = "price", nullable = false)
-    private float price; // 주문가(지정가/시장가)
+    @Convert(converter = WonAmountConverter.class)
+    @Column(name = "price", nullable = false, precision = 19)
+    private long priceWon; // 주문가(지정가/시장가) (원)
 
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
@@ -48,6 +51,23 @@ public class Order {
     @Column(name = "group_id")
     private UUID groupId; // 그룹 ID (그룹 거래인 경우)
 
+    // 주 단위/float 접근자 (응답 변환용, 체결/평가 계산은 quantityMicros/priceWon 사용)
+    public float getQuantity() {
+        return FixedPoint.toQuantity(quantityMicros);
+    }
+
+    public void setQuantity(float quantity) {
+        this.quantityMicros = FixedPoint.toMicros(quantity);
+    }
+
+    public float getPrice() {
+        return priceWon;
+    }
+
+    public void setPrice(float price) {
+        this.priceWon = FixedPoint.toWon(price);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
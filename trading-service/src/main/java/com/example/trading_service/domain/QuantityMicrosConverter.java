@@ -0,0 +1,28 @@
+package com.example.trading_service.domain;
+
+import com.example.trading_service.util.FixedPoint;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 마이크로주(long) <-> 주 단위 DECIMAL 컬럼
+ * - DB에는 기존과 같은 주 단위로 저장하므로 기존 FLOAT 컬럼 데이터도 그대로 읽힘
+ */
+@Converter
+public class QuantityMicrosConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long quantityMicros) {
+        return quantityMicros == null ? null : BigDecimal.valueOf(quantityMicros, FixedPoint.QUANTITY_DECIMALS);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal quantity) {
+        return quantity == null ? null : quantity.movePointRight(FixedPoint.QUANTITY_DECIMALS)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
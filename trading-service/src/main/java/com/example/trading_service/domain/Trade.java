@@ -1,5 +1,6 @@
 package com.example.trading_service.domain;
 
+import com.example.trading_service.util.FixedPoint;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,15 +22,34 @@ public class Trade {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
-    @Column(name = "quantity", nullable = false)
-    private float quantity; // 체결 수량
+    @Convert(converter = QuantityMicrosConverter.class)
+    @Column(name = "quantity", nullable = false, precision = 19, scale = 6)
+    private long quantityMicros; // 체결 수량 (마이크로주, 1주 = 1,000,000)
 
-    @Column(name = "price", nullable = false)
-    private float price; // 체결가
+    @Convert(converter = WonAmountConverter.class)
+    @Column(name = "price", nullable = false, precision = 19)
+    private long priceWon; // 체결가 (원)
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt; // 생성일자
 
+    // 주 단위/float 접근자 (응답 변환용, 체결/평가 계산은 quantityMicros/priceWon 사용)
+    public float getQuantity() {
+        return FixedPoint.toQuantity(quantityMicros);
+    }
+
+    public void setQuantity(float quantity) {
+        this.quantityMicros = FixedPoint.toMicros(quantity);
+    }
+
+    public float getPrice() {
+        return priceWon;
+    }
+
+    public void setPrice(float price) {
+        this.priceWon = FixedPoint.toWon(price);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
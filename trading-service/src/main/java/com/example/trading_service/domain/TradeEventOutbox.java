@@ -0,0 +1,57 @@
+package com.example.trading_service.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 그룹 거래 체결 후속 처리 outbox
+ * - 체결 트랜잭션 안에서 함께 기록 → 커밋된 체결은 후속 처리(그룹 보유량 갱신)가 유실되지 않음
+ * - processedAt이 null이면 미처리 (재시작/장애 후 복구 대상)
+ * - 같은 그룹은 (createdAt, outboxId) 순으로만 처리 (앞선 행이 남아 있으면 뒤 행은 대기)
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "trade_event_outbox", indexes = {
+        @Index(name = "idx_trade_event_outbox_pending", columnList = "processed_at, created_at"),
+        @Index(name = "idx_trade_event_outbox_group_pending", columnList = "group_id, processed_at, created_at")
+})
+public class TradeEventOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "outbox_id", nullable = false, updatable = false)
+    private UUID outboxId;
+
+    @Column(name = "group_id", nullable = false)
+    private UUID groupId; // 파티션 키 (같은 그룹은 순서대로 처리)
+
+    @Column(name = "stock_id", nullable = false)
+    private UUID stockId;
+
+    @Column(name = "order_id")
+    private UUID orderId; // 원인 주문 (일괄 체결이면 첫 주문, 로그용)
+
+    @Column(name = "quantity_change_micros", nullable = false)
+    private long quantityChangeMicros; // 그룹 수량 변화 (마이크로주, 매도면 음수)
+
+    @Column(name = "execution_price_won", nullable = false)
+    private long executionPriceWon; // 체결가 (원)
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts; // 처리 실패 횟수
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
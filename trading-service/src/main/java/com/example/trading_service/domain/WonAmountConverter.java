@@ -0,0 +1,25 @@
+package com.example.trading_service.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 원 단위 금액(long) <-> DECIMAL 컬럼
+ * - 기존 FLOAT 컬럼 값(예: 73499.99)은 원 단위로 반올림해서 읽음
+ */
+@Converter
+public class WonAmountConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long amountWon) {
+        return amountWon == null ? null : BigDecimal.valueOf(amountWon);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : amount.setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
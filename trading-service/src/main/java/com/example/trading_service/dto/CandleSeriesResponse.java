@@ -0,0 +1,22 @@
+package com.example.trading_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 차트 병렬 배열 응답 - 봉마다 객체를 만들지 않고 필드별 배열로 전달 (같은 인덱스가 같은 봉)
+ */
+@Getter
+@AllArgsConstructor
+public class CandleSeriesResponse {
+    private String stockCode;      // 종목코드
+    private String period;         // 기간 (D/W/M/Y, 분봉은 1m/5m 등)
+    private int[] maPeriods;       // 이동평균 기간 (ma 배열 순서와 같음)
+    private String[] time;         // 봉 시간 (일봉 이상 yyyyMMdd, 분봉 yyyyMMddHHmm)
+    private float[] open;          // 시가
+    private float[] high;          // 고가
+    private float[] low;           // 저가
+    private float[] close;         // 종가
+    private long[] volume;         // 거래량
+    private float[][] ma;          // 이동평균 (기간별 배열, 데이터가 부족한 봉은 0)
+}
@@ -0,0 +1,27 @@
+package com.example.trading_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 호가 변경분 (/topic/orderbook-delta/{stockCode})
+ * - seq가 직전 수신값 + 1이 아니면 /app/orderbook-delta/snapshot 으로 전체 호가 재요청
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class OrderBookDeltaResponse {
+    private String stockCode;
+    private long seq; // 종목별 일련번호
+    private boolean snapshot; // true면 전체 호가, false면 변경분
+    private Float currentPrice; // 변경된 경우에만 포함
+    private Float changeAmount;
+    private Float changeRate;
+    private List<OrderBookLevel> asks; // 변경된 매도 호가 단계
+    private List<OrderBookLevel> bids; // 변경된 매수 호가 단계
+}
@@ -0,0 +1,14 @@
+package com.example.trading_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBookLevel {
+    private int level; // 호가 단계 (0 = 1호가)
+    private float price; // 호가
+    private long quantity; // 잔량 (0이면 해당 단계 삭제)
+}
@@ -0,0 +1,24 @@
+package com.example.trading_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * 실시간 포트폴리오 평가 (/user/queue/portfolio, /topic/group/{groupId}/portfolio)
+ * - 금액은 정수로 반올림, 수익률은 소수점 2자리 (포트폴리오 요약 API와 동일)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValuationMessage {
+    private UUID ownerId; // 계좌ID 또는 그룹ID
+    private float totalInvested; // 총 투자금액
+    private float totalValue; // 총 평가금액
+    private float totalProfit; // 총 평가손익
+    private float totalProfitRate; // 총 수익률
+    private int totalHoldings; // 보유 종목 수
+    private long timestamp;
+}
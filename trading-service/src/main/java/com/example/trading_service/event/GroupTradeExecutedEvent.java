@@ -0,0 +1,39 @@
+package com.example.trading_service.event;
+
+import com.example.trading_service.domain.Order;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 그룹 분할 주문 일괄 체결 이벤트
+ * - 같은 그룹/종목/방향/가격의 멤버 주문이 한 번에 체결되었을 때 발행 (멤버별 TradeExecutedEvent 대신)
+ */
+@Getter
+public class GroupTradeExecutedEvent extends ApplicationEvent {
+
+    private final UUID groupId;
+    private final UUID stockId;
+    private final Order.OrderType orderType;
+    private final List<Order> orders;
+    private final long executionPriceWon; // 체결가 (원)
+
+    public GroupTradeExecutedEvent(Object source, List<Order> orders, long executionPriceWon) {
+        super(source);
+        Order first = orders.get(0);
+        this.groupId = first.getGroupId();
+        this.stockId = first.getStock().getId();
+        this.orderType = first.getOrderType();
+        this.orders = List.copyOf(orders);
+        this.executionPriceWon = executionPriceWon;
+    }
+
+    /**
+     * 체결된 멤버 주문 수량 합계 (마이크로주)
+     */
+    public long getTotalQuantityMicros() {
+        return orders.stream().mapToLong(Order::getQuantityMicros).sum();
+    }
+}
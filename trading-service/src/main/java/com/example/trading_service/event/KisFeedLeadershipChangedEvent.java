@@ -0,0 +1,19 @@
+package com.example.trading_service.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 한투 실시간 피드 리더 변경 이벤트
+ * - 이 파드가 리더 lease를 얻거나 잃었을 때 발행
+ */
+@Getter
+public class KisFeedLeadershipChangedEvent extends ApplicationEvent {
+
+    private final boolean leader;
+
+    public KisFeedLeadershipChangedEvent(Object source, boolean leader) {
+        super(source);
+        this.leader = leader;
+    }
+}
@@ -14,13 +14,13 @@ import java.util.UUID;
 public class TradeExecutedEvent extends ApplicationEvent {
     
     private final Order order;
-    private final float executionPrice;
+    private final long executionPriceWon; // 체결가 (원)
     private final UUID groupId;
     
-    public TradeExecutedEvent(Object source, Order order, float executionPrice) {
+    public TradeExecutedEvent(Object source, Order order, long executionPriceWon) {
         super(source);
         this.order = order;
-        this.executionPrice = executionPrice;
+        this.executionPriceWon = executionPriceWon;
         this.groupId = order.getGroupId();
     }
 }
@@ -3,11 +3,15 @@ package com.example.trading_service.repository;
 import com.example.trading_service.domain.BalanceCache;
 import com.example.trading_service.domain.InvestmentAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.swing.text.html.Option;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,9 +22,31 @@ public interface BalanceCacheRepository extends JpaRepository<BalanceCache, UUID
     @Query("SELECT b FROM BalanceCache b WHERE b.investmentAccount.investmentAccountId = :accountId")
     Optional<BalanceCache> findByAccountId(@Param("accountId") UUID accountId);
 
+    // 여러 계좌의 잔고 일괄 조회 (그룹 주문/체결용)
+    @Query("SELECT b FROM BalanceCache b JOIN FETCH b.investmentAccount a WHERE a.investmentAccountId IN :accountIds")
+    List<BalanceCache> findByAccountIdIn(@Param("accountIds") Collection<UUID> accountIds);
+
+    // 현재 잔고 값만 조회 (영속성 컨텍스트의 엔티티가 아닌 DB 값, 원자적 증감 후 확인용)
+    @Query("SELECT b.balance FROM BalanceCache b WHERE b.investmentAccount.investmentAccountId = :accountId")
+    Optional<Integer> findBalanceAmountByAccountId(@Param("accountId") UUID accountId);
+
+    // 잔고 원자적 증감 (DB에서 balance = balance + amount, 동시 체결 시 갱신 유실 없음)
+    @Modifying
+    @Query("UPDATE BalanceCache b SET b.balance = b.balance + :amount, b.updatedAt = :now WHERE b.investmentAccount.investmentAccountId = :accountId")
+    int addBalance(@Param("accountId") UUID accountId, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    // 잔고가 충분할 때만 원자적 차감 (부족하면 0)
+    @Modifying
+    @Query("UPDATE BalanceCache b SET b.balance = b.balance - :amount, b.updatedAt = :now WHERE b.investmentAccount.investmentAccountId = :accountId AND b.balance >= :amount")
+    int subtractBalanceIfSufficient(@Param("accountId") UUID accountId, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
     @Query("SELECT b FROM BalanceCache b WHERE b.investmentAccount = :investmentAccount")
     Optional<BalanceCache> findByInvestmentAccount(@Param("investmentAccount") InvestmentAccount investmentAccount);
 
+    // 이후에 잔고가 바뀐 계좌 (체결마다 갱신되므로 보유 종목 행이 삭제된 계좌도 포함)
+    @Query("SELECT b.investmentAccount.investmentAccountId FROM BalanceCache b WHERE b.updatedAt > :since")
+    List<UUID> findAccountIdsUpdatedAfter(@Param("since") LocalDateTime since);
+
 }
 
 
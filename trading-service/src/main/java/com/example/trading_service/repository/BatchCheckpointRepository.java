@@ -0,0 +1,9 @@
+package com.example.trading_service.repository;
+
+import com.example.trading_service.domain.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,16 +20,26 @@ public interface GroupHoldingCacheRepository extends JpaRepository<GroupHoldingC
     // 특정 그룹의 특정 종목 보유 조회
     Optional<GroupHoldingCache> findByGroupIdAndStock_Id(UUID groupId, UUID stockId);
     
-    // 보유 수량이 0보다 큰 그룹 보유 종목만 조회
-    List<GroupHoldingCache> findByGroupIdAndTotalQuantityGreaterThan(UUID groupId, float quantity);
+    // 보유 수량이 0보다 큰 그룹 보유 종목만 조회 (수량은 마이크로주)
+    @Query("SELECT ghc FROM GroupHoldingCache ghc WHERE ghc.groupId = :groupId AND ghc.totalQuantityMicros > :quantityMicros")
+    List<GroupHoldingCache> findByGroupIdAndTotalQuantityGreaterThan(@Param("groupId") UUID groupId, @Param("quantityMicros") long quantityMicros);
 
-    @Query("SELECT ghc FROM GroupHoldingCache ghc JOIN FETCH ghc.stock s WHERE ghc.groupId = :groupId AND ghc.totalQuantity > :quantity ORDER BY ghc.updatedAt DESC")
-    List<GroupHoldingCache> findByGroupIdAndTotalQuantityGreaterThanWithStock(@Param("groupId") UUID groupId, @Param("quantity") float quantity);
+    @Query("SELECT ghc FROM GroupHoldingCache ghc JOIN FETCH ghc.stock s WHERE ghc.groupId = :groupId AND ghc.totalQuantityMicros > :quantityMicros ORDER BY ghc.updatedAt DESC")
+    List<GroupHoldingCache> findByGroupIdAndTotalQuantityGreaterThanWithStock(@Param("groupId") UUID groupId, @Param("quantityMicros") long quantityMicros);
+
+    // 전체 그룹 보유 종목 조회 (평가 엔진 적재용)
+    @Query("SELECT ghc FROM GroupHoldingCache ghc JOIN FETCH ghc.stock s WHERE ghc.totalQuantityMicros > :quantityMicros")
+    List<GroupHoldingCache> findAllByTotalQuantityGreaterThanWithStock(@Param("quantityMicros") long quantityMicros);
     
     // 모든 그룹의 특정 종목 보유 현황 조회
-    List<GroupHoldingCache> findByStock_IdAndTotalQuantityGreaterThan(UUID stockId, float quantity);
+    @Query("SELECT ghc FROM GroupHoldingCache ghc WHERE ghc.stock.id = :stockId AND ghc.totalQuantityMicros > :quantityMicros")
+    List<GroupHoldingCache> findByStock_IdAndTotalQuantityGreaterThan(@Param("stockId") UUID stockId, @Param("quantityMicros") long quantityMicros);
     
     // 그룹별 총 보유 종목 수 조회
-    @Query("SELECT COUNT(ghc) FROM GroupHoldingCache ghc WHERE ghc.groupId = :groupId AND ghc.totalQuantity > :quantity")
-    long countByGroupIdAndTotalQuantityGreaterThan(@Param("groupId") UUID groupId, @Param("quantity") float quantity);
+    @Query("SELECT COUNT(ghc) FROM GroupHoldingCache ghc WHERE ghc.groupId = :groupId AND ghc.totalQuantityMicros > :quantityMicros")
+    long countByGroupIdAndTotalQuantityGreaterThan(@Param("groupId") UUID groupId, @Param("quantityMicros") long quantityMicros);
+
+    // 이후에 보유 종목이 바뀐 그룹 (평가 엔진 변경분 재적재용)
+    @Query("SELECT DISTINCT ghc.groupId FROM GroupHoldingCache ghc WHERE ghc.updatedAt > :since")
+    List<UUID> findGroupIdsUpdatedAfter(@Param("since") LocalDateTime since);
 }
@@ -2,10 +2,13 @@ package com.example.trading_service.repository;
 
 import com.example.trading_service.domain.HoldingCache;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,12 +24,44 @@ public interface HoldingCacheRepository extends JpaRepository<HoldingCache, UUID
     @Query("SELECT h FROM HoldingCache h WHERE h.investmentAccount.investmentAccountId = :accountId AND h.stock.id = :stockId")
     Optional<HoldingCache> findByAccountIdAndStockId(@Param("accountId") UUID accountId, @Param("stockId") UUID stockId);
     
-    // 보유 수량이 0보다 큰 종목만 조회
-    @Query("SELECT h FROM HoldingCache h WHERE h.investmentAccount.investmentAccountId = :accountId AND h.quantity > :quantity")
-    List<HoldingCache> findByAccountIdAndQuantityGreaterThan(@Param("accountId") UUID accountId, @Param("quantity") float quantity);
+    // 여러 계좌의 특정 종목 보유 일괄 조회 (그룹 주문/체결용)
+    @Query("SELECT h FROM HoldingCache h JOIN FETCH h.investmentAccount a WHERE a.investmentAccountId IN :accountIds AND h.stock.id = :stockId")
+    List<HoldingCache> findByAccountIdInAndStockId(@Param("accountIds") Collection<UUID> accountIds, @Param("stockId") UUID stockId);
+    
+    // 보유 수량이 충분할 때만 원자적 차감 (매도 체결, 마이크로주, 부족하면 0 → 동시 매도 중 하나만 성공)
+    @Modifying
+    @Query("UPDATE HoldingCache h SET h.quantityMicros = h.quantityMicros - :quantityMicros, h.version = h.version + 1, h.updatedAt = :now " +
+           "WHERE h.investmentAccount.investmentAccountId = :accountId AND h.stock.id = :stockId AND h.quantityMicros >= :quantityMicros")
+    int subtractQuantityIfSufficient(@Param("accountId") UUID accountId, @Param("stockId") UUID stockId,
+                         @Param("quantityMicros") long quantityMicros, @Param("now") LocalDateTime now);
+
+    // 버전이 그대로일 때만 수량/평균단가 갱신 (매수 체결, 다른 트랜잭션이 먼저 바꿨으면 0)
+    @Modifying
+    @Query("UPDATE HoldingCache h SET h.quantityMicros = :quantityMicros, h.avgCostWon = :avgCostWon, h.version = h.version + 1, h.updatedAt = :now " +
+           "WHERE h.holdingId = :holdingId AND h.version = :version")
+    int updatePositionIfVersion(@Param("holdingId") UUID holdingId, @Param("version") long version,
+                                @Param("quantityMicros") long quantityMicros, @Param("avgCostWon") long avgCostWon,
+                                @Param("now") LocalDateTime now);
+
+    // 수량이 0 이하가 된 보유 종목 삭제
+    @Modifying
+    @Query("DELETE FROM HoldingCache h WHERE h.investmentAccount.investmentAccountId = :accountId AND h.stock.id = :stockId AND h.quantityMicros <= 0")
+    int deleteEmpty(@Param("accountId") UUID accountId, @Param("stockId") UUID stockId);
+
+    // 보유 수량이 0보다 큰 종목만 조회 (수량은 마이크로주)
+    @Query("SELECT h FROM HoldingCache h WHERE h.investmentAccount.investmentAccountId = :accountId AND h.quantityMicros > :quantityMicros")
+    List<HoldingCache> findByAccountIdAndQuantityGreaterThan(@Param("accountId") UUID accountId, @Param("quantityMicros") long quantityMicros);
 
     @Query("SELECT h FROM HoldingCache h JOIN FETCH h.stock s WHERE h.investmentAccount.investmentAccountId = :accountId ORDER BY h.updatedAt DESC")
     List<HoldingCache> findByAccountIdWithStock(@Param("accountId") UUID accountId);
+
+    // 전체 보유 종목 조회 (평가 엔진 적재용)
+    @Query("SELECT h FROM HoldingCache h JOIN FETCH h.stock s JOIN FETCH h.investmentAccount a WHERE h.quantityMicros > :quantityMicros")
+    List<HoldingCache> findAllByQuantityGreaterThanWithStock(@Param("quantityMicros") long quantityMicros);
+
+    // 이후에 보유 종목이 바뀐 계좌 (평가 엔진 변경분 재적재용)
+    @Query("SELECT DISTINCT h.investmentAccount.investmentAccountId FROM HoldingCache h WHERE h.updatedAt > :since")
+    List<UUID> findAccountIdsUpdatedAfter(@Param("since") LocalDateTime since);
 }
 
 
@@ -22,8 +22,8 @@ public interface HoldingRepository extends JpaRepository<Holding, UUID> {
     Optional<Holding> findByAccountIdAndStockId(@Param("accountId") UUID accountId, @Param("stockId") UUID stockId);
     
     // 보유 수량이 0보다 큰 종목만 조회
-    @Query("SELECT h FROM Holding h WHERE h.investmentAccount.investmentAccountId = :accountId AND h.quantity > :quantity")
-    List<Holding> findByAccountIdAndQuantityGreaterThan(@Param("accountId") UUID accountId, @Param("quantity") float quantity);
+    @Query("SELECT h FROM Holding h WHERE h.investmentAccount.investmentAccountId = :accountId AND h.quantityMicros > :quantityMicros")
+    List<Holding> findByAccountIdAndQuantityGreaterThan(@Param("accountId") UUID accountId, @Param("quantityMicros") long quantityMicros);
 }
 
 
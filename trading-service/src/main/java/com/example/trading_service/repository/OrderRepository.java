@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +27,14 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     // 특정 종목의 대기 중인 주문 조회 (PENDING 상태) - JOIN FETCH로 Stock 즉시 로딩
     @Query("SELECT o FROM Order o JOIN FETCH o.stock s WHERE s.stockCode = :stockCode AND o.status = :status")
     List<Order> findByStock_StockCodeAndStatus(@Param("stockCode") String stockCode, @Param("status") Status status);
+    
+    // 상태별 주문 전체 조회 - 대기 주문 인덱스 초기 적재용 (Stock 즉시 로딩)
+    @Query("SELECT o FROM Order o JOIN FETCH o.stock WHERE o.status = :status")
+    List<Order> findAllByStatusWithStock(@Param("status") Status status);
+    
+    // 주문ID 목록 중 특정 상태인 주문 조회 - JOIN FETCH로 Stock 즉시 로딩
+    @Query("SELECT o FROM Order o JOIN FETCH o.stock WHERE o.orderId IN :orderIds AND o.status = :status")
+    List<Order> findByOrderIdInAndStatus(@Param("orderIds") Collection<UUID> orderIds, @Param("status") Status status);
 }
 
 
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,9 @@ public interface StockRepository extends JpaRepository<Stock, UUID> {
     
     // 종목 코드로 조회
     Optional<Stock> findByStockCode(String stockCode);
+
+    // 종목 코드 목록으로 조회
+    List<Stock> findByStockCodeIn(Collection<String> stockCodes);
     
     // 종목명으로 검색 (부분 일치)
     @Query("SELECT s FROM Stock s WHERE s.enabled = true AND (s.stockName LIKE %:search% OR s.stockCode LIKE %:search%)")
@@ -0,0 +1,59 @@
+package com.example.trading_service.repository;
+
+import com.example.trading_service.domain.TradeEventOutbox;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TradeEventOutboxRepository extends JpaRepository<TradeEventOutbox, UUID> {
+
+    // 처리 완료 표시 (이미 처리된 행이면 0 → 다른 파드/재시도와 중복 처리 방지)
+    @Modifying
+    @Query("UPDATE TradeEventOutbox e SET e.processedAt = :processedAt WHERE e.outboxId = :outboxId AND e.processedAt IS NULL")
+    int markProcessed(@Param("outboxId") UUID outboxId, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TradeEventOutbox e SET e.attempts = e.attempts + 1 WHERE e.outboxId = :outboxId")
+    int incrementAttempts(@Param("outboxId") UUID outboxId);
+
+    // 복구 대상: 일정 시간 이상 미처리 + 재시도 한도 미만 (오래된 순)
+    @Query("SELECT e FROM TradeEventOutbox e WHERE e.processedAt IS NULL AND e.createdAt < :createdBefore AND e.attempts < :maxAttempts ORDER BY e.createdAt ASC")
+    List<TradeEventOutbox> findPending(@Param("createdBefore") LocalDateTime createdBefore,
+                                       @Param("maxAttempts") int maxAttempts,
+                                       Pageable pageable);
+
+    // 그룹의 가장 오래된 미처리 행 (행 잠금 → 같은 그룹은 파드 간에도 한 번에 하나씩 순서대로 처리)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM TradeEventOutbox e WHERE e.groupId = :groupId AND e.processedAt IS NULL ORDER BY e.createdAt ASC, e.outboxId ASC")
+    List<TradeEventOutbox> findPendingHeadForUpdate(@Param("groupId") UUID groupId, Pageable pageable);
+
+    // 같은 조회를 잠금 없이 (트랜잭션 전에 현재가를 미리 조회할 종목 확인용)
+    @Query("SELECT e FROM TradeEventOutbox e WHERE e.groupId = :groupId AND e.processedAt IS NULL ORDER BY e.createdAt ASC, e.outboxId ASC")
+    List<TradeEventOutbox> findPendingHead(@Param("groupId") UUID groupId, Pageable pageable);
+
+    // 재시도 한도를 넘어 그룹 레인을 막고 있는 행 수
+    long countByProcessedAtIsNullAndAttemptsGreaterThanEqual(int attempts);
+
+    long countByProcessedAtIsNull();
+
+    // 이후에 보유량 갱신이 반영된 그룹 (보유 종목 행이 삭제된 그룹도 포함, 평가 엔진 변경분 재적재용)
+    @Query("SELECT DISTINCT e.groupId FROM TradeEventOutbox e WHERE e.processedAt > :since")
+    List<UUID> findGroupIdsProcessedAfter(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TradeEventOutbox e WHERE e.processedAt < :processedBefore")
+    int deleteProcessedBefore(@Param("processedBefore") LocalDateTime processedBefore);
+}
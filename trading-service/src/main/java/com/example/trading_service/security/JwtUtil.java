@@ -0,0 +1,60 @@
+package com.example.trading_service.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.UUID;
+
+/**
+ * JWT 토큰 처리 유틸리티
+ * - HTTP 요청은 API Gateway가 검증하지만, /ws는 게이트웨이 인증을 거치지 않으므로 WebSocket 연결에서 직접 검증
+ */
+@Slf4j
+@Component
+public class JwtUtil {
+
+    // 비어 있으면 모든 토큰 검증 실패 → 익명 세션 (시세 토픽만 구독 가능)
+    @Value("${JWT_SECRET_KEY:}")
+    private String secret;
+
+    /**
+     * JWT 시크릿 키 생성
+     */
+    private SecretKey getSigningKey() {
+        return Keys.hmacShaKeyFor(secret.getBytes());
+    }
+
+    /**
+     * JWT 토큰 검증 후 사용자 ID 반환
+     * - 토큰이 유효하지 않으면 예외 발생
+     */
+    public UUID verifyAndGetUserId(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            return UUID.fromString(claims.getSubject());
+        } catch (Exception e) {
+            log.warn("JWT 토큰 검증 실패: {}", e.getMessage());
+            throw new IllegalArgumentException("유효하지 않은 JWT 토큰입니다.", e);
+        }
+    }
+
+    /**
+     * "Bearer xxx" 형식이면 토큰만 추출
+     */
+    public static String stripBearer(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.regionMatches(true, 0, "Bearer ", 0, 7) ? trimmed.substring(7).trim() : trimmed;
+    }
+}
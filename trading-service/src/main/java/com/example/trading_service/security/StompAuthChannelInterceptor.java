@@ -0,0 +1,46 @@
+package com.example.trading_service.security;
+
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP CONNECT 프레임의 Authorization 헤더(JWT)로 세션 사용자 지정
+ * - 핸드셰이크에서 토큰을 보내지 않은 클라이언트용 (STOMP 클라이언트는 CONNECT 헤더를 설정할 수 있음)
+ * - 토큰이 있는데 유효하지 않으면 연결 거부, 없으면 익명 세션 (시세 토픽만 구독 가능)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+        String token = JwtUtil.stripBearer(accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION));
+        if (token == null || token.isBlank()) {
+            return message;
+        }
+        try {
+            UUID userId = jwtUtil.verifyAndGetUserId(token);
+            accessor.setUser(UserIdHandshakeHandler.authenticated(userId));
+            return message;
+        } catch (IllegalArgumentException e) {
+            throw new MessagingException(message, "유효하지 않은 JWT 토큰입니다.");
+        }
+    }
+}
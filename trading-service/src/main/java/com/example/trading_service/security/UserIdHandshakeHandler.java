@@ -0,0 +1,52 @@
+package com.example.trading_service.security;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * WebSocket 핸드셰이크에서 JWT를 검증해 세션 사용자 지정
+ * - /ws는 게이트웨이 JWT 필터와 UserIdAuthFilter를 모두 건너뛰므로 클라이언트가 보낸 X-User-Id는 신뢰하지 않음
+ * - 브라우저 WebSocket은 헤더를 설정할 수 없으므로 ?token= 쿼리 파라미터 사용 (Authorization 헤더도 허용)
+ * - 토큰이 없으면 익명 세션 (STOMP CONNECT의 Authorization 헤더로 인증 가능, StompAuthChannelInterceptor)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdHandshakeHandler extends DefaultHandshakeHandler {
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+        if (token == null || token.isBlank()) {
+            token = JwtUtil.stripBearer(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        }
+        if (token == null || token.isBlank()) {
+            return super.determineUser(request, wsHandler, attributes);
+        }
+        try {
+            UUID userId = jwtUtil.verifyAndGetUserId(token);
+            return authenticated(userId);
+        } catch (IllegalArgumentException e) {
+            log.warn("WebSocket 핸드셰이크 JWT 검증 실패 - 익명 세션으로 연결");
+            return super.determineUser(request, wsHandler, attributes);
+        }
+    }
+
+    static Principal authenticated(UUID userId) {
+        return UsernamePasswordAuthenticationToken.authenticated(userId, null, Collections.emptyList());
+    }
+}
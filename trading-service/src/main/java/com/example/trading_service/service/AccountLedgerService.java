@@ -0,0 +1,138 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.HoldingCache;
+import com.example.trading_service.domain.InvestmentAccount;
+import com.example.trading_service.domain.Stock;
+import com.example.trading_service.exception.InsufficientBalanceException;
+import com.example.trading_service.exception.InsufficientHoldingException;
+import com.example.trading_service.repository.BalanceCacheRepository;
+import com.example.trading_service.repository.HoldingCacheRepository;
+import com.example.trading_service.util.FixedPoint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 잔고/보유 종목 동시 갱신
+ * - 잔고 증감, 매도 수량 차감: DB에서 원자적으로 더하고 빼는 UPDATE (읽고-계산하고-저장하지 않음)
+ * - 매수 대금 차감/매도 수량 차감은 충분할 때만 (조건부 UPDATE가 0행이면 체결 실패 → 동시 체결로 음수가 되거나 매도 대금이 두 번 들어오지 않음)
+ * - 매수 평균단가: 버전 비교 UPDATE로 낙관적 잠금, 충돌하면 최신 값을 다시 읽어 제한된 횟수만큼 재시도
+ * - 호가 틱 체결, 그룹 일괄 체결, 개인 주문이 같은 계좌를 동시에 갱신해도 갱신이 유실되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AccountLedgerService {
+
+    static final int MAX_HOLDING_ATTEMPTS = 3;
+
+    private final BalanceCacheRepository balanceCacheRepository;
+    private final HoldingCacheRepository holdingCacheRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 잔고 증감 (원, 차감이면 음수)
+     */
+    public void addBalance(UUID accountId, long amountWon) {
+        int updated = balanceCacheRepository.addBalance(accountId, Math.toIntExact(amountWon), LocalDateTime.now());
+        if (updated == 0) {
+            throw new RuntimeException("잔고 정보를 찾을 수 없습니다");
+        }
+    }
+
+    /**
+     * 잔고가 충분할 때만 차감
+     * @return 잔고 부족이면 false
+     */
+    public boolean subtractBalanceIfSufficient(UUID accountId, long amountWon) {
+        return balanceCacheRepository.subtractBalanceIfSufficient(
+                accountId, Math.toIntExact(amountWon), LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * 매수 체결 대금 차감 - 잔고가 부족하면 체결 실패
+     * @throws InsufficientBalanceException 잔고 부족 (동시 체결/송금이 먼저 차감한 경우 포함)
+     */
+    public void debitBalance(UUID accountId, long amountWon) {
+        if (!subtractBalanceIfSufficient(accountId, amountWon)) {
+            int available = balanceCacheRepository.findBalanceAmountByAccountId(accountId).orElse(0);
+            throw new InsufficientBalanceException(amountWon, available);
+        }
+    }
+
+    /**
+     * 매수 체결 - 보유 수량 증가 + 평균단가 재계산 (수량은 마이크로주, 단가는 원)
+     */
+    public void addToHolding(InvestmentAccount account, Stock stock, long quantityMicros, long priceWon) {
+        UUID accountId = account.getInvestmentAccountId();
+        HoldingCache holding = holdingCacheRepository.findByAccountIdAndStockId(accountId, stock.getId()).orElse(null);
+        if (holding == null) {
+            // 첫 매수 - (계좌, 종목) 유니크 제약으로 동시 첫 매수 중 하나만 성공, 나머지는 트랜잭션 롤백
+            // (대기 주문 인덱스 제거는 커밋 후에만 일어나므로 롤백된 주문은 PENDING으로 남아 다음 틱에 재체결)
+            HoldingCache newHolding = new HoldingCache();
+            newHolding.setInvestmentAccount(account);
+            newHolding.setStock(stock);
+            newHolding.setQuantityMicros(quantityMicros);
+            newHolding.setAvgCostWon(priceWon);
+            holdingCacheRepository.saveAndFlush(newHolding);
+            return;
+        }
+
+        for (int attempt = 1; attempt <= MAX_HOLDING_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                // MySQL REPEATABLE READ에서는 일반 재조회가 트랜잭션 시작 시점 스냅샷을 돌려주므로 잠금 읽기로 최신 커밋 값을 읽음
+                entityManager.refresh(holding, LockModeType.PESSIMISTIC_WRITE);
+            }
+            long newAvgCost = FixedPoint.averageCost(
+                    holding.getQuantityMicros(), holding.getAvgCostWon(), quantityMicros, priceWon);
+            long newQuantity = holding.getQuantityMicros() + quantityMicros;
+            int updated = holdingCacheRepository.updatePositionIfVersion(
+                    holding.getHoldingId(), holding.getVersion(), newQuantity, newAvgCost, LocalDateTime.now());
+            if (updated > 0) {
+                // 영속성 컨텍스트의 옛 값이 나중에 flush되지 않도록 분리 (이후 조회는 DB에서 새로 읽음)
+                entityManager.detach(holding);
+                return;
+            }
+            log.debug("보유 종목 버전 충돌, 재시도 {}/{} - 계좌ID: {}, 종목ID: {}",
+                    attempt, MAX_HOLDING_ATTEMPTS, accountId, stock.getId());
+        }
+        throw new ObjectOptimisticLockingFailureException(HoldingCache.class, holding.getHoldingId());
+    }
+
+    /**
+     * 매도 체결 - 보유 수량 원자적 차감, 0 이하가 되면 삭제
+     * @throws InsufficientHoldingException 보유 수량 부족 (동시 매도가 먼저 차감한 경우 포함)
+     */
+    public void removeFromHolding(UUID accountId, UUID stockId, long quantityMicros) {
+        if (!tryRemoveFromHolding(accountId, stockId, quantityMicros)) {
+            float available = holdingCacheRepository.findByAccountIdAndStockId(accountId, stockId)
+                    .map(HoldingCache::getQuantity)
+                    .orElse(0f);
+            throw new InsufficientHoldingException(FixedPoint.toQuantity(quantityMicros), available);
+        }
+    }
+
+    /**
+     * 보유 수량이 충분할 때만 차감 (그룹 일괄 체결에서 부족한 멤버만 제외할 때)
+     * @return 보유 수량 부족이면 false (아무것도 바뀌지 않음)
+     */
+    public boolean tryRemoveFromHolding(UUID accountId, UUID stockId, long quantityMicros) {
+        int updated = holdingCacheRepository.subtractQuantityIfSufficient(accountId, stockId, quantityMicros, LocalDateTime.now());
+        if (updated == 0) {
+            return false;
+        }
+        holdingCacheRepository.deleteEmpty(accountId, stockId);
+        return true;
+    }
+}
@@ -1,46 +1,190 @@
 package com.example.trading_service.service;
 
-import com.example.trading_service.domain.*;
+import com.example.trading_service.domain.BatchCheckpoint;
 import com.example.trading_service.repository.*;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * 자정 배치 - 캐싱 테이블의 데이터를 실제 테이블로 반영
+ * - 지난 실행 이후 바뀐 캐시 행만 (updated_at, PK) 키셋 순서로 청크 단위 조회 (전체 테이블 로딩/행별 조회 없음)
+ * - 청크마다 INSERT ... ON DUPLICATE KEY UPDATE 배치 한 번으로 반영 (rewriteBatchedStatements로 다중 행 INSERT)
+ * - 청크는 각자 짧은 트랜잭션으로 병렬 반영, 청크 묶음이 끝날 때마다 워터마크 저장 → 실패 시 그 위치부터 재개
+ * - 처리 시간과 잠금 범위가 전체 행 수가 아니라 하루 동안 바뀐 행 수에 비례
+ * - upsert 대상 테이블에 유니크 키가 없으면 (새 PK로 매번 INSERT → 중복 행) 반영하지 않고 실패 처리
+ *   (기존 중복 행 정리 + 키 추가: scripts/migrate-batch-unique-keys.sql)
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BatchProcessingService {
 
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID INITIAL_KEY = new UUID(0L, 0L);
+
+    // 개인 보유 주식: holding_cache → holding (계좌+종목 유니크 키로 upsert)
+    private static final SyncJob HOLDING_JOB = new SyncJob(
+            "holding_cache",
+            "holding",
+            Set.of("investment_account_id", "stock_id"),
+            "SELECT holding_id, investment_account_id, stock_id, quantity, avg_cost, evaluated_price, updated_at " +
+                    "FROM holding_cache " +
+                    "WHERE updated_at <= ? AND (updated_at > ? OR (updated_at = ? AND holding_id > ?)) " +
+                    "ORDER BY updated_at, holding_id LIMIT ?",
+            "INSERT INTO holding (holding_id, investment_account_id, stock_id, quantity, avg_cost, evaluated_price, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, NOW(6), NOW(6)) " +
+                    "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), avg_cost = VALUES(avg_cost), " +
+                    "evaluated_price = VALUES(evaluated_price), updated_at = VALUES(updated_at)",
+            (rs, rowNum) -> new ChunkRow(
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    toUuid(rs.getBytes("holding_id")),
+                    new Object[]{
+                            toBytes(UUID.randomUUID()),
+                            rs.getBytes("investment_account_id"),
+                            rs.getBytes("stock_id"),
+                            toDecimal(rs, "quantity"),
+                            toDecimal(rs, "avg_cost"),
+                            rs.getObject("evaluated_price", Float.class)
+                    })
+    );
+
+    // 그룹 보유 주식: group_holding_cache → group_holding (그룹+종목 유니크 키로 upsert)
+    private static final SyncJob GROUP_HOLDING_JOB = new SyncJob(
+            "group_holding_cache",
+            "group_holding",
+            Set.of("group_id", "stock_id"),
+            "SELECT group_holding_id, group_id, stock_id, total_quantity, avg_cost, member_count, updated_at " +
+                    "FROM group_holding_cache " +
+                    "WHERE updated_at <= ? AND (updated_at > ? OR (updated_at = ? AND group_holding_id > ?)) " +
+                    "ORDER BY updated_at, group_holding_id LIMIT ?",
+            "INSERT INTO group_holding (group_holding_id, group_id, stock_id, total_quantity, avg_cost, member_count, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, NOW(6), NOW(6)) " +
+                    "ON DUPLICATE KEY UPDATE total_quantity = VALUES(total_quantity), avg_cost = VALUES(avg_cost), " +
+                    "member_count = VALUES(member_count), updated_at = VALUES(updated_at)",
+            (rs, rowNum) -> new ChunkRow(
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    toUuid(rs.getBytes("group_holding_id")),
+                    new Object[]{
+                            toBytes(UUID.randomUUID()),
+                            rs.getBytes("group_id"),
+                            rs.getBytes("stock_id"),
+                            toDecimal(rs, "total_quantity"),
+                            toDecimal(rs, "avg_cost"),
+                            rs.getInt("member_count")
+                    })
+    );
+
+    // 잔고: balance_cache → balance (계좌 유니크 키로 upsert)
+    private static final SyncJob BALANCE_JOB = new SyncJob(
+            "balance_cache",
+            "balance",
+            Set.of("investment_account_id"),
+            "SELECT balance_id, investment_account_id, balance, updated_at " +
+                    "FROM balance_cache " +
+                    "WHERE updated_at <= ? AND (updated_at > ? OR (updated_at = ? AND balance_id > ?)) " +
+                    "ORDER BY updated_at, balance_id LIMIT ?",
+            "INSERT INTO balance (balance_id, investment_account_id, balance, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, NOW(6), NOW(6)) " +
+                    "ON DUPLICATE KEY UPDATE balance = VALUES(balance), updated_at = VALUES(updated_at)",
+            (rs, rowNum) -> new ChunkRow(
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    toUuid(rs.getBytes("balance_id")),
+                    new Object[]{
+                            toBytes(UUID.randomUUID()),
+                            rs.getBytes("investment_account_id"),
+                            rs.getInt("balance")
+                    })
+    );
+
     // 캐싱 테이블 Repository
     private final HoldingCacheRepository holdingCacheRepository;
     private final GroupHoldingCacheRepository groupHoldingCacheRepository;
     private final BalanceCacheRepository balanceCacheRepository;
-    
-    // 실제 테이블 Repository
-    private final HoldingRepository holdingRepository;
-    private final GroupHoldingRepository groupHoldingRepository;
-    private final BalanceRepository balanceRepository;
     // private final HistoryRepository historyRepository; // 히스토리 기능 주석
 
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${batch.parallelism:4}")
+    private int parallelism;
+
+    // 아직 커밋되지 않은 갱신을 건너뛰지 않도록 이 시간보다 최근에 바뀐 행은 다음 실행에서 처리
+    @Value("${batch.watermark-lag-seconds:60}")
+    private long watermarkLagSeconds;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 서버 시작 시 upsert 대상 테이블의 유니크 키 확인 (ddl-auto는 중복 행이 있으면 키 추가에 실패해도 조용히 넘어감)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyUniqueKeys() {
+        for (SyncJob job : List.of(HOLDING_JOB, GROUP_HOLDING_JOB, BALANCE_JOB)) {
+            try {
+                if (!hasUniqueKey(job)) {
+                    log.error("❌ {} 테이블에 {} 유니크 키 없음 - 자정 배치가 이 테이블을 반영하지 않음 "
+                            + "(scripts/migrate-batch-unique-keys.sql 실행 필요)", job.targetTable(), job.uniqueKey());
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ {} 유니크 키 확인 실패: {}", job.targetTable(), e.getMessage());
+            }
+        }
+    }
+
     /**
      * 매일 자정에 실행되는 배치 처리
      * 캐싱 테이블의 데이터를 실제 테이블로 이동
-     * 
-     * 주의: @Transactional 제거 - 각 처리 메서드가 독립적인 트랜잭션을 가짐
+     *
+     * 주의: @Transactional 없음 - 청크마다 독립적인 트랜잭션을 가짐
      * 한 처리가 실패해도 다른 처리는 계속 진행됨
      */
     @Scheduled(cron = "0 0 0 * * ?") // 매일 자정
     public void processDailyBatch() {
         log.info("=== 자정 배치 처리 시작 ===");
-        
+
         int successCount = 0;
         int failCount = 0;
-        
+
         // 1. 개인 보유 주식 처리
         try {
             processHoldingCache();
@@ -49,7 +193,7 @@ public class BatchProcessingService {
             failCount++;
             log.error("❌ 개인 보유 주식 배치 처리 실패", e);
         }
-        
+
         // 2. 그룹 보유 주식 처리
         try {
             processGroupHoldingCache();
@@ -58,7 +202,7 @@ public class BatchProcessingService {
             failCount++;
             log.error("❌ 그룹 보유 주식 배치 처리 실패", e);
         }
-        
+
         // 3. 잔고 처리
         try {
             processBalanceCache();
@@ -67,173 +211,40 @@ public class BatchProcessingService {
             failCount++;
             log.error("❌ 잔고 배치 처리 실패", e);
         }
-        
+
         log.info("=== 자정 배치 처리 완료 - 성공: {}, 실패: {} ===", successCount, failCount);
     }
 
     /**
      * 개인 보유 주식 캐싱 → 실제 테이블 이동
      */
-    @Transactional
     public void processHoldingCache() {
         log.info("개인 보유 주식 배치 처리 시작");
-        
-        List<HoldingCache> cacheHoldings = holdingCacheRepository.findAll();
-        int processedCount = 0;
-        
-        for (HoldingCache cacheHolding : cacheHoldings) {
-            try {
-                // 기존 실제 테이블 데이터 조회
-                Holding existingHolding = holdingRepository
-                        .findByAccountIdAndStockId(
-                                cacheHolding.getInvestmentAccount().getInvestmentAccountId(),
-                                cacheHolding.getStock().getId())
-                        .orElse(null);
-                
-                if (existingHolding != null) {
-                    // 기존 데이터 업데이트
-                    existingHolding.setQuantity(cacheHolding.getQuantity());
-                    existingHolding.setAvgCost(cacheHolding.getAvgCost());
-                    existingHolding.setEvaluatedPrice(cacheHolding.getEvaluatedPrice());
-                    existingHolding.setUpdatedAt(LocalDateTime.now());
-                    holdingRepository.save(existingHolding);
-                } else {
-                    // 새 데이터 생성
-                    Holding newHolding = new Holding();
-                    newHolding.setInvestmentAccount(cacheHolding.getInvestmentAccount());
-                    newHolding.setStock(cacheHolding.getStock());
-                    newHolding.setQuantity(cacheHolding.getQuantity());
-                    newHolding.setAvgCost(cacheHolding.getAvgCost());
-                    newHolding.setEvaluatedPrice(cacheHolding.getEvaluatedPrice());
-                    newHolding.setCreatedAt(LocalDateTime.now());
-                    newHolding.setUpdatedAt(LocalDateTime.now());
-                    holdingRepository.save(newHolding);
-                }
-                
-                processedCount++;
-                
-            } catch (Exception e) {
-                log.error("개인 보유 주식 처리 실패 - 계좌ID: {}, 주식ID: {}", 
-                        cacheHolding.getInvestmentAccount().getInvestmentAccountId(),
-                        cacheHolding.getStock().getId(), e);
-            }
-        }
-        
+        int processedCount = syncChangedRows(HOLDING_JOB);
         log.info("개인 보유 주식 배치 처리 완료 - 처리된 건수: {}", processedCount);
     }
 
     /**
      * 그룹 보유 주식 캐싱 → 실제 테이블 이동
      */
-    @Transactional
     public void processGroupHoldingCache() {
         log.info("그룹 보유 주식 배치 처리 시작");
-        
-        List<GroupHoldingCache> cacheGroupHoldings = groupHoldingCacheRepository.findAll();
-        int processedCount = 0;
-        
-        for (GroupHoldingCache cacheGroupHolding : cacheGroupHoldings) {
-            try {
-                // 기존 실제 테이블 데이터 조회
-                GroupHolding existingGroupHolding = groupHoldingRepository
-                        .findByGroupIdAndStock_Id(
-                                cacheGroupHolding.getGroupId(),
-                                cacheGroupHolding.getStock().getId())
-                        .orElse(null);
-                
-                if (existingGroupHolding != null) {
-                    // 기존 데이터 업데이트
-                    existingGroupHolding.setTotalQuantity(cacheGroupHolding.getTotalQuantity());
-                    existingGroupHolding.setAvgCost(cacheGroupHolding.getAvgCost());
-                    existingGroupHolding.setMemberCount(cacheGroupHolding.getMemberCount());
-                    existingGroupHolding.setUpdatedAt(LocalDateTime.now());
-                    groupHoldingRepository.save(existingGroupHolding);
-                } else {
-                    // 새 데이터 생성
-                    GroupHolding newGroupHolding = new GroupHolding();
-                    newGroupHolding.setGroupId(cacheGroupHolding.getGroupId());
-                    newGroupHolding.setStock(cacheGroupHolding.getStock());
-                    newGroupHolding.setTotalQuantity(cacheGroupHolding.getTotalQuantity());
-                    newGroupHolding.setAvgCost(cacheGroupHolding.getAvgCost());
-                    newGroupHolding.setMemberCount(cacheGroupHolding.getMemberCount());
-                    newGroupHolding.setCreatedAt(LocalDateTime.now());
-                    newGroupHolding.setUpdatedAt(LocalDateTime.now());
-                    groupHoldingRepository.save(newGroupHolding);
-                }
-                
-                processedCount++;
-                
-            } catch (Exception e) {
-                log.error("그룹 보유 주식 처리 실패 - 그룹ID: {}, 주식ID: {}", 
-                        cacheGroupHolding.getGroupId(),
-                        cacheGroupHolding.getStock().getId(), e);
-            }
-        }
-        
+        int processedCount = syncChangedRows(GROUP_HOLDING_JOB);
         log.info("그룹 보유 주식 배치 처리 완료 - 처리된 건수: {}", processedCount);
     }
 
     /**
      * 잔고 캐싱 → 실제 테이블 이동
      */
-    @Transactional
     public void processBalanceCache() {
         log.info("잔고 배치 처리 시작");
-        
-        List<BalanceCache> cacheBalances = balanceCacheRepository.findAll();
-        int processedCount = 0;
-        int failedCount = 0;
-        
-        for (BalanceCache cacheBalance : cacheBalances) {
-            try {
-                // 투자 계좌 존재 여부 확인 (null 체크 추가)
-                if (cacheBalance.getInvestmentAccount() == null) {
-                    log.warn("⚠️ BalanceCache에 투자 계좌가 없음 - 스킵");
-                    failedCount++;
-                    continue;
-                }
-                
-                // 기존 실제 테이블 데이터 조회
-                Balance existingBalance = balanceRepository
-                        .findByAccountId(
-                                cacheBalance.getInvestmentAccount().getInvestmentAccountId())
-                        .orElse(null);
-                
-                if (existingBalance != null) {
-                    // 기존 데이터 업데이트
-                    existingBalance.setBalance(cacheBalance.getBalance());
-                    existingBalance.setUpdatedAt(LocalDateTime.now());
-                    balanceRepository.save(existingBalance);
-                    processedCount++;
-                } else {
-                    // 새 데이터 생성 (investment_account가 실제로 존재하는지 확인 불가능하므로 시도)
-                    // FK 제약 조건 위반 시 catch로 처리
-                    Balance newBalance = new Balance();
-                    newBalance.setInvestmentAccount(cacheBalance.getInvestmentAccount());
-                    newBalance.setBalance(cacheBalance.getBalance());
-                    newBalance.setCreatedAt(LocalDateTime.now());
-                    newBalance.setUpdatedAt(LocalDateTime.now());
-                    balanceRepository.save(newBalance);
-                    processedCount++;
-                }
-                
-            } catch (Exception e) {
-                failedCount++;
-                log.error("❌ 잔고 처리 실패 - 계좌ID: {} (존재하지 않는 계좌일 수 있음. BalanceCache 데이터 확인 필요)", 
-                        cacheBalance.getInvestmentAccount() != null ? 
-                        cacheBalance.getInvestmentAccount().getInvestmentAccountId() : "NULL", e);
-                // FK 제약 조건 위반 시 해당 BalanceCache는 스킵하고 계속 진행
-            }
-        }
-        
-        log.info("잔고 배치 처리 완료 - 성공: {}, 실패: {}, 전체: {}", 
-                processedCount, failedCount, cacheBalances.size());
+        int processedCount = syncChangedRows(BALANCE_JOB);
+        log.info("잔고 배치 처리 완료 - 처리된 건수: {}", processedCount);
     }
 
     /**
      * 수동 배치 처리 실행 (테스트용)
      */
-    @Transactional
     public void executeManualBatch() {
         log.info("수동 배치 처리 시작");
         processDailyBatch();
@@ -246,20 +257,168 @@ public class BatchProcessingService {
     @Transactional
     public void clearCacheTables() {
         log.info("캐싱 테이블 초기화 시작");
-        
+
         try {
             holdingCacheRepository.deleteAll();
             groupHoldingCacheRepository.deleteAll();
             balanceCacheRepository.deleteAll();
-            
+
             log.info("캐싱 테이블 초기화 완료");
         } catch (Exception e) {
             log.error("캐싱 테이블 초기화 실패", e);
             throw e;
         }
     }
-}
 
+    /**
+     * 워터마크 이후 바뀐 캐시 행을 청크 단위로 실제 테이블에 반영
+     * - 조회는 키셋 순서로 이어서 읽고, 반영은 최대 parallelism개 청크를 동시에 실행
+     * - 묶음의 모든 청크가 커밋된 뒤에만 워터마크를 옮김 (upsert라 재실행해도 결과 동일)
+     * @return 반영한 행 수
+     */
+    private int syncChangedRows(SyncJob job) {
+        if (!hasUniqueKey(job)) {
+            throw new IllegalStateException(job.targetTable() + " 테이블에 " + job.uniqueKey()
+                    + " 유니크 키가 없어 반영 중단 (scripts/migrate-batch-unique-keys.sql 실행 필요)");
+        }
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(job.name())
+                .orElseGet(() -> new BatchCheckpoint(job.name(), INITIAL_WATERMARK, INITIAL_KEY));
+        LocalDateTime upperBound = LocalDateTime.now().minusSeconds(watermarkLagSeconds);
+        if (!checkpoint.getLastUpdatedAt().isBefore(upperBound)) {
+            return 0;
+        }
+        log.info("{} 변경분 반영 시작 - 워터마크: {}, 상한: {}", job.name(), checkpoint.getLastUpdatedAt(), upperBound);
+
+        int waveSize = Math.max(1, parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(waveSize);
+        int processedCount = 0;
+        try {
+            LocalDateTime lastUpdatedAt = checkpoint.getLastUpdatedAt();
+            UUID lastKey = checkpoint.getLastKey();
+            boolean exhausted = false;
+            while (!exhausted) {
+                List<Future<Integer>> writes = new ArrayList<>(waveSize);
+                for (int i = 0; i < waveSize; i++) {
+                    List<ChunkRow> chunk = jdbcTemplate.query(job.selectSql(), job.rowMapper(),
+                            upperBound, lastUpdatedAt, lastUpdatedAt, toBytes(lastKey), chunkSize);
+                    if (chunk.isEmpty()) {
+                        exhausted = true;
+                        break;
+                    }
+                    ChunkRow last = chunk.get(chunk.size() - 1);
+                    lastUpdatedAt = last.updatedAt();
+                    lastKey = last.key();
+                    writes.add(executor.submit(() -> writeChunk(job, chunk)));
+                    if (chunk.size() < chunkSize) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+                if (writes.isEmpty()) {
+                    break;
+                }
+                processedCount += awaitAll(writes);
 
+                checkpoint.setLastUpdatedAt(lastUpdatedAt);
+                checkpoint.setLastKey(lastKey);
+                checkpoint = batchCheckpointRepository.save(checkpoint);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return processedCount;
+    }
 
+    private int writeChunk(SyncJob job, List<ChunkRow> chunk) {
+        List<Object[]> params = new ArrayList<>(chunk.size());
+        for (ChunkRow row : chunk) {
+            params.add(row.params());
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(job.upsertSql(), params));
+        return chunk.size();
+    }
 
+    /**
+     * 묶음의 청크 반영을 모두 기다림 - 하나라도 실패하면 나머지가 끝난 뒤 예외 (워터마크는 그대로)
+     */
+    private static int awaitAll(List<Future<Integer>> writes) {
+        int written = 0;
+        RuntimeException failure = null;
+        for (Future<Integer> write : writes) {
+            try {
+                written += write.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("배치 처리 중단", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IllegalStateException("청크 반영 실패: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return written;
+    }
+
+    /**
+     * upsert 대상 테이블에 uniqueKey 컬럼 조합과 정확히 같은 유니크 인덱스가 있는지 확인
+     */
+    private boolean hasUniqueKey(SyncJob job) {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // MySQL은 소문자, H2 등은 대문자로 테이블명을 보관
+            for (String table : List.of(job.targetTable(), job.targetTable().toUpperCase(Locale.ROOT))) {
+                Map<String, Set<String>> uniqueIndexes = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, false)) {
+                    while (rs.next()) {
+                        String indexName = rs.getString("INDEX_NAME");
+                        String column = rs.getString("COLUMN_NAME");
+                        if (indexName != null && column != null) {
+                            uniqueIndexes.computeIfAbsent(indexName, name -> new HashSet<>())
+                                    .add(column.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                if (uniqueIndexes.containsValue(job.uniqueKey())) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    // DECIMAL 그대로 전달 (float 변환 시 7자리 정밀도로 잘림)
+    private static BigDecimal toDecimal(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    // UUID 컬럼은 BINARY(16) (Hibernate 기본 매핑과 같은 상위/하위 비트 순서)
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * 캐시 테이블 하나의 반영 정의 (대상 테이블과 upsert가 기대는 유니크 키, 키셋 조회 SQL, upsert SQL, 행 변환)
+     */
+    private record SyncJob(String name, String targetTable, Set<String> uniqueKey,
+                           String selectSql, String upsertSql, RowMapper<ChunkRow> rowMapper) {
+    }
+
+    /**
+     * 조회한 캐시 행 - 키셋 위치(updated_at, PK)와 upsert 파라미터
+     */
+    private record ChunkRow(LocalDateTime updatedAt, UUID key, Object[] params) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.trading_service.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 바이너리 시세 구독 현황 (destination별 구독 수)
+ * - 구독자가 없는 destination은 바이너리 인코딩 자체를 건너뛰기 위해 사용
+ */
+@Service
+public class BinaryQuoteSubscriptionRegistry {
+
+    public static final String BINARY_TOPIC_PREFIX = "/topic/bin/";
+
+    // destination -> 구독 수
+    private final Map<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+    // 세션ID -> (구독ID -> destination)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * JSON 토픽을 바이너리 토픽으로 변환 (/topic/orderbook/005930 -> /topic/bin/orderbook/005930)
+     */
+    public static String toBinaryDestination(String destination) {
+        return BINARY_TOPIC_PREFIX + destination.substring("/topic/".length());
+    }
+
+    public void subscribe(String sessionId, String subscriptionId, String binaryDestination) {
+        String previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, binaryDestination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.computeIfAbsent(binaryDestination, d -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    public void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    public boolean hasSubscribers(String binaryDestination) {
+        AtomicInteger count = subscriberCounts.get(binaryDestination);
+        return count != null && count.get() > 0;
+    }
+
+    private void decrement(String destination) {
+        subscriberCounts.computeIfPresent(destination, (d, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
@@ -0,0 +1,449 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.dto.ChartData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목/기간별 OHLCV 캔들 메모리 저장소
+ * - 일/주/월/년봉(D/W/M/Y)은 한투 차트 API로 채우고, 이후 실시간 현재가 틱(H0STCNT0)으로 최신 봉만 갱신
+ * - 분봉(예: 1m, 5m)은 틱으로만 생성 (당일 장중 데이터)
+ * - 이동평균은 창별 누적합으로 유지: 틱마다 최신 봉의 이동평균만 O(창 수)로 다시 계산, 새 봉 추가 시에만 누적합 재계산
+ * - 봉 데이터는 기간별 병렬 배열(시간/시고저종/거래량/이동평균)로 보관, 종목당 최대 max-bars개
+ * - 쓰기는 종목 레인 스레드(종목별 단일 스레드), 읽기는 요청 스레드 → 시리즈 단위 동기화
+ */
+@Component
+public class CandleStore {
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final String[] DAILY_PERIODS = {"D", "W", "M", "Y"};
+
+    @Value("${chart.candle.max-bars:600}")
+    private int maxBars;
+
+    // 틱으로 만드는 분봉 간격 (분)
+    @Value("${chart.candle.intraday-minutes:1,5}")
+    private int[] intradayMinutes;
+
+    // "종목코드:기간" -> 캔들 시리즈
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    // 종목코드 -> 직전 틱의 누적 거래량 (분봉 거래량 = 누적 거래량 증가분)
+    private final Map<String, Long> lastCumulativeVolume = new ConcurrentHashMap<>();
+
+    /**
+     * 기간분류코드별 이동평균 기간
+     */
+    public static int[] maPeriods(String period) {
+        if (isIntraday(period)) { // 분봉: 5, 10, 20, 60개 봉
+            return new int[]{5, 10, 20, 60};
+        }
+        switch (period.toUpperCase()) {
+            case "D": // 일봉: 5일, 10일, 20일, 60일
+                return new int[]{5, 10, 20, 60};
+            case "W": // 주봉: 4주, 8주, 12주, 24주
+                return new int[]{4, 8, 12, 24};
+            case "M": // 월봉: 3개월, 6개월, 12개월, 24개월
+                return new int[]{3, 6, 12, 24};
+            case "Y": // 연봉: 2년, 3년, 5년, 10년
+                return new int[]{2, 3, 5, 10};
+            default: // 기본값 (일봉)
+                return new int[]{5, 10, 20, 60};
+        }
+    }
+
+    /**
+     * 저장하지 않고 이동평균만 계산 (샘플 데이터 등, 오래된 봉부터 정렬된 목록)
+     */
+    public static List<ChartData> withMovingAverages(List<ChartData> bars, String period) {
+        Series s = Series.of(bars, maPeriods(period), bars.size());
+        return s.toChartData(0);
+    }
+
+    /**
+     * 분봉 기간 키 여부 (예: "1m", "5m")
+     */
+    public static boolean isIntraday(String period) {
+        return period != null && period.endsWith("m") && period.length() > 1;
+    }
+
+    /**
+     * 기간 키 정규화 - 분봉은 소문자("5m"), 일/주/월/년봉은 대문자("D")
+     */
+    public static String normalizePeriod(String period) {
+        return isIntraday(period) ? period.toLowerCase() : period.toUpperCase();
+    }
+
+    /**
+     * 저장된 시리즈가 있는지 (한투 차트로 채운 적이 있거나 틱으로 만들어진 경우)
+     */
+    public boolean contains(String stockCode, String period) {
+        return series.containsKey(key(stockCode, period));
+    }
+
+    /**
+     * 마지막으로 한투 차트로 채운 시각 (millis, 채운 적 없으면 0)
+     */
+    public long loadedAt(String stockCode, String period) {
+        Series s = series.get(key(stockCode, period));
+        return s == null ? 0L : s.loadedAt;
+    }
+
+    /**
+     * 마지막 틱 반영 시각 (millis, 틱이 없었으면 0)
+     */
+    public long lastTickAt(String stockCode, String period) {
+        Series s = series.get(key(stockCode, period));
+        return s == null ? 0L : s.lastTickAt;
+    }
+
+    /**
+     * 한투 차트 데이터로 시리즈 교체 (오래된 봉부터 정렬된 목록)
+     * - 교체 후 모든 봉의 이동평균을 누적합으로 한 번에 계산 (O(봉 수 × 창 수))
+     */
+    public void load(String stockCode, String period, List<ChartData> bars) {
+        Series loaded = Series.of(bars, maPeriods(period), Math.max(maxBars, bars.size()));
+        loaded.loadedAt = System.currentTimeMillis();
+        series.put(key(stockCode, period), loaded);
+    }
+
+    /**
+     * 실시간 현재가 틱 반영 - 종목의 모든 기간 시리즈에서 최신 봉만 갱신 (또는 새 봉 추가)
+     * - dayOpen/dayHigh/dayLow/cumulativeVolume: 당일 시가/고가/저가/누적 거래량
+     */
+    public void onTick(String stockCode, long price, long dayOpen, long dayHigh, long dayLow, long cumulativeVolume) {
+        onTick(stockCode, price, dayOpen, dayHigh, dayLow, cumulativeVolume, LocalDateTime.now(MARKET_ZONE));
+    }
+
+    /**
+     * 틱 시각(장 기준 시각)을 지정해서 반영 (기간 경계 테스트용)
+     */
+    void onTick(String stockCode, long price, long dayOpen, long dayHigh, long dayLow, long cumulativeVolume,
+                LocalDateTime now) {
+        if (price <= 0) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        float open = dayOpen > 0 ? dayOpen : price;
+        float high = Math.max(dayHigh, price);
+        float low = dayLow > 0 ? Math.min(dayLow, price) : price;
+
+        // 일/주/월/년봉 - 한투 차트로 채운 시리즈만 갱신 (틱만으로는 과거 봉이 없어 이동평균이 의미 없음)
+        for (String period : DAILY_PERIODS) {
+            Series s = series.get(key(stockCode, period));
+            if (s == null) {
+                continue;
+            }
+            synchronized (s) {
+                s.onDailyTick(period, now.toLocalDate(), price, open, high, low, cumulativeVolume);
+                s.lastTickAt = nowMillis;
+            }
+        }
+
+        // 분봉 - 거래량은 누적 거래량 증가분 (장 시작/재연결로 누적값이 줄어들면 0)
+        Long previous = lastCumulativeVolume.put(stockCode, cumulativeVolume);
+        long volumeDelta = previous == null ? 0L : Math.max(0L, cumulativeVolume - previous);
+        for (int minutes : intradayMinutes) {
+            if (minutes <= 0) {
+                continue;
+            }
+            Series s = series.computeIfAbsent(key(stockCode, minutes + "m"), k -> new Series(maPeriods(minutes + "m"), maxBars));
+            int bucketMinute = (now.getMinute() / minutes) * minutes;
+            String bucket = now.withMinute(bucketMinute).format(MINUTE_FORMAT);
+            synchronized (s) {
+                s.onIntradayTick(bucket, price, volumeDelta);
+                s.lastTickAt = nowMillis;
+            }
+        }
+    }
+
+    /**
+     * 최근 limit개 봉을 ChartData 목록으로 (오래된 것부터, 시리즈가 없으면 빈 목록)
+     */
+    public List<ChartData> getChartData(String stockCode, String period, int limit) {
+        Series s = series.get(key(stockCode, period));
+        if (s == null) {
+            return List.of();
+        }
+        synchronized (s) {
+            return s.toChartData(Math.max(0, s.size - Math.max(0, limit)));
+        }
+    }
+
+    /**
+     * 최근 limit개 봉을 병렬 배열 그대로 복사 (시리즈가 없으면 null)
+     */
+    public Snapshot getSnapshot(String stockCode, String period, int limit) {
+        Series s = series.get(key(stockCode, period));
+        if (s == null) {
+            return null;
+        }
+        synchronized (s) {
+            int from = Math.max(0, s.size - Math.max(0, limit));
+            float[][] ma = new float[s.maPeriods.length][];
+            for (int k = 0; k < ma.length; k++) {
+                ma[k] = Arrays.copyOfRange(s.ma[k], from, s.size);
+            }
+            return new Snapshot(
+                    s.maPeriods.clone(),
+                    Arrays.copyOfRange(s.time, from, s.size),
+                    Arrays.copyOfRange(s.open, from, s.size),
+                    Arrays.copyOfRange(s.high, from, s.size),
+                    Arrays.copyOfRange(s.low, from, s.size),
+                    Arrays.copyOfRange(s.close, from, s.size),
+                    Arrays.copyOfRange(s.volume, from, s.size),
+                    ma
+            );
+        }
+    }
+
+    private static String key(String stockCode, String period) {
+        return stockCode + ":" + normalizePeriod(period);
+    }
+
+    private static float value(Float f) {
+        return f != null ? f : 0f;
+    }
+
+    /**
+     * 병렬 배열 복사본 (응답 변환용)
+     */
+    public record Snapshot(int[] maPeriods, String[] time, float[] open, float[] high, float[] low,
+                           float[] close, long[] volume, float[][] ma) {
+    }
+
+    /**
+     * 한 종목/기간의 캔들 시리즈
+     * - 배열은 max-bars의 2배까지 쓰고, 넘치면 오래된 절반을 한 번에 잘라냄 (봉 추가당 분할 상환 O(1))
+     * - sums[k]: 최신 maPeriods[k]개 봉 종가 합계
+     */
+    private static final class Series {
+        private final int[] maPeriods;
+        private final int maxBars;
+        private final double[] sums;
+
+        private String[] time;
+        private float[] open;
+        private float[] high;
+        private float[] low;
+        private float[] close;
+        private long[] volume;
+        private float[][] ma;
+        private int size;
+
+        // 주/월/년봉: 최신 봉의 오늘 이전 거래량 (여기에 당일 누적 거래량을 더함)
+        private LocalDate tickDay;
+        private long volumeBeforeTickDay;
+
+        private volatile long loadedAt;
+        private volatile long lastTickAt;
+
+        private Series(int[] maPeriods, int maxBars) {
+            this.maPeriods = maPeriods.clone();
+            this.maxBars = Math.max(maxBars, maxPeriod(maPeriods));
+            this.sums = new double[maPeriods.length];
+            int capacity = Math.min(64, this.maxBars * 2);
+            this.time = new String[capacity];
+            this.open = new float[capacity];
+            this.high = new float[capacity];
+            this.low = new float[capacity];
+            this.close = new float[capacity];
+            this.volume = new long[capacity];
+            this.ma = new float[maPeriods.length][capacity];
+        }
+
+        private static Series of(List<ChartData> bars, int[] maPeriods, int maxBars) {
+            Series s = new Series(maPeriods, maxBars);
+            for (ChartData bar : bars) {
+                s.append(bar.getTime(), value(bar.getOpen()), value(bar.getHigh()), value(bar.getLow()),
+                        value(bar.getClose()), bar.getTrading_volume() != null ? bar.getTrading_volume() : 0L);
+            }
+            return s;
+        }
+
+        private List<ChartData> toChartData(int from) {
+            List<ChartData> result = new ArrayList<>(size - from);
+            for (int i = from; i < size; i++) {
+                result.add(new ChartData(time[i], open[i], high[i], low[i], close[i],
+                        maAt(0, i), maAt(1, i), maAt(2, i), maAt(3, i), volume[i]));
+            }
+            return result;
+        }
+
+        private float maAt(int k, int index) {
+            return k < ma.length ? ma[k][index] : 0f;
+        }
+
+        /**
+         * 새 봉 추가 - 누적합을 최신 창 기준으로 다시 계산하고 새 봉의 이동평균 기록
+         */
+        private void append(String barTime, float o, float h, float l, float c, long v) {
+            ensureCapacity();
+            time[size] = barTime;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+            // 봉이 바뀔 때마다 정확한 합계로 다시 맞춤 (틱 증분 누적으로 생기는 부동소수 오차 제거)
+            for (int k = 0; k < maPeriods.length; k++) {
+                double sum = 0;
+                for (int i = Math.max(0, size - maPeriods[k]); i < size; i++) {
+                    sum += close[i];
+                }
+                sums[k] = sum;
+            }
+            updateLatestMa();
+        }
+
+        /**
+         * 최신 봉 종가 변경 - 누적합에 차이만 더하고 최신 봉 이동평균만 다시 계산
+         */
+        private void updateLatestClose(float c) {
+            int last = size - 1;
+            float delta = c - close[last];
+            close[last] = c;
+            for (int k = 0; k < maPeriods.length; k++) {
+                sums[k] += delta;
+            }
+            updateLatestMa();
+        }
+
+        private void updateLatestMa() {
+            int last = size - 1;
+            for (int k = 0; k < maPeriods.length; k++) {
+                // 요청된 기간의 데이터가 충분하지 않으면 0 (기존 차트 응답과 동일)
+                ma[k][last] = size >= maPeriods[k] ? (float) (sums[k] / maPeriods[k]) : 0f;
+            }
+        }
+
+        /**
+         * 일/주/월/년봉 틱 반영 - 오늘이 최신 봉 기간에 속하면 갱신, 아니면 새 봉 추가
+         */
+        private void onDailyTick(String period, LocalDate today, float price, float dayOpen, float dayHigh,
+                                 float dayLow, long cumulativeVolume) {
+            String todayText = today.format(DATE_FORMAT);
+            if (size == 0 || !samePeriod(period, time[size - 1], today)) {
+                append(todayText, dayOpen, dayHigh, dayLow, price, cumulativeVolume);
+                tickDay = today;
+                volumeBeforeTickDay = 0L;
+                return;
+            }
+
+            int last = size - 1;
+            if (!today.equals(tickDay)) {
+                // 오늘 첫 틱 - 최신 봉에서 오늘 이전 거래량을 기준으로 잡음
+                tickDay = today;
+                if ("D".equals(period)) {
+                    // 일봉은 당일 시가/고가/저가/누적 거래량이 그대로 봉 값
+                    volumeBeforeTickDay = 0L;
+                    open[last] = dayOpen;
+                    high[last] = dayHigh;
+                    low[last] = dayLow;
+                } else if (loadedAt > 0 && today.equals(Instant.ofEpochMilli(loadedAt).atZone(MARKET_ZONE).toLocalDate())) {
+                    // 오늘 장중에 차트를 채웠으면 최신 봉에 오늘 거래량이 일부 포함됨 (근사치로 제외)
+                    volumeBeforeTickDay = Math.max(0L, volume[last] - cumulativeVolume);
+                } else {
+                    volumeBeforeTickDay = volume[last];
+                }
+            }
+            high[last] = Math.max(high[last], dayHigh);
+            low[last] = low[last] > 0 ? Math.min(low[last], dayLow) : dayLow;
+            volume[last] = volumeBeforeTickDay + cumulativeVolume;
+            updateLatestClose(price);
+        }
+
+        /**
+         * 분봉 틱 반영 - 같은 구간이면 갱신, 새 구간이면 새 봉 추가
+         */
+        private void onIntradayTick(String bucket, float price, long volumeDelta) {
+            if (size == 0 || !bucket.equals(time[size - 1])) {
+                append(bucket, price, price, price, price, volumeDelta);
+                return;
+            }
+            int last = size - 1;
+            high[last] = Math.max(high[last], price);
+            low[last] = Math.min(low[last], price);
+            volume[last] += volumeDelta;
+            updateLatestClose(price);
+        }
+
+        private void ensureCapacity() {
+            if (size < time.length) {
+                return;
+            }
+            if (size >= maxBars * 2) {
+                // 오래된 봉을 잘라 maxBars개만 남김 (이미 계산된 이동평균은 그대로 유지)
+                int drop = size - maxBars;
+                shift(drop);
+                return;
+            }
+            int capacity = Math.min(maxBars * 2, time.length * 2);
+            time = Arrays.copyOf(time, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            for (int k = 0; k < ma.length; k++) {
+                ma[k] = Arrays.copyOf(ma[k], capacity);
+            }
+        }
+
+        private void shift(int drop) {
+            int remain = size - drop;
+            System.arraycopy(time, drop, time, 0, remain);
+            System.arraycopy(open, drop, open, 0, remain);
+            System.arraycopy(high, drop, high, 0, remain);
+            System.arraycopy(low, drop, low, 0, remain);
+            System.arraycopy(close, drop, close, 0, remain);
+            System.arraycopy(volume, drop, volume, 0, remain);
+            for (float[] values : ma) {
+                System.arraycopy(values, drop, values, 0, remain);
+            }
+            Arrays.fill(time, remain, size, null);
+            size = remain;
+        }
+
+        private static int maxPeriod(int[] periods) {
+            int max = 1;
+            for (int p : periods) {
+                max = Math.max(max, p);
+            }
+            return max;
+        }
+
+        /**
+         * 봉 날짜(yyyyMMdd)와 오늘이 같은 기간(일/주/월/년)인지
+         */
+        private static boolean samePeriod(String period, String barTime, LocalDate today) {
+            LocalDate barDate;
+            try {
+                barDate = LocalDate.parse(barTime, DATE_FORMAT);
+            } catch (Exception e) {
+                return false;
+            }
+            return switch (period) {
+                case "W" -> barDate.get(IsoFields.WEEK_BASED_YEAR) == today.get(IsoFields.WEEK_BASED_YEAR)
+                        && barDate.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR) == today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                case "M" -> barDate.getYear() == today.getYear() && barDate.getMonth() == today.getMonth();
+                case "Y" -> barDate.getYear() == today.getYear();
+                default -> barDate.equals(today);
+            };
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.trading_service.service;
 
+import com.example.trading_service.dto.CandleSeriesResponse;
 import com.example.trading_service.dto.ChartData;
+import com.example.trading_service.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -10,6 +13,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,182 +22,139 @@ import java.util.stream.Collectors;
 public class ChartService {
 
     private final StockPriceService stockPriceService;
+    private final CandleStore candleStore;
+
+    // "종목코드:기간" 단위 차트 적재 병합 (비어 있거나 오래된 시리즈에 동시 요청이 몰려도 한투 호출은 한 번)
+    private final SingleFlight<String, Boolean> chartLoads = new SingleFlight<>();
+
+    // 실시간 틱이 없는 종목의 차트 재조회 주기
+    @Value("${chart.candle.refresh-ms:60000}")
+    private long refreshMs;
+
+    // 실시간 틱을 받는 종목의 과거 봉 보정 주기
+    @Value("${chart.candle.reload-ms:3600000}")
+    private long reloadMs;
 
     // 주식 차트 데이터 조회 (이동평균선 포함)
     public List<ChartData> getStockChart(String stockCode, int days) {
         try {
-            Map<String, Object> chartResponse = stockPriceService.getStockChart(stockCode, "D");
-            
-            if (chartResponse != null && chartResponse.containsKey("output2")) {
-                List<Map<String, Object>> chartList = (List<Map<String, Object>>) chartResponse.get("output2");
-                
-                if (chartList != null && !chartList.isEmpty()) {
-                    // 원본 데이터를 날짜 순으로 정렬 (오래된 것부터)
-                    List<ChartData> rawData = chartList.stream()
-                            .map(item -> convertToChartData(item))
-                            .sorted((a, b) -> a.getTime().compareTo(b.getTime()))
-                            .collect(Collectors.toList());
-                    
-                    // 이동평균선 계산
-                    List<ChartData> chartDataWithMA = calculateMovingAverages(rawData, "D");
-                    
-                    // 최근 데이터만 반환 (지정된 기간만큼)
-                    return chartDataWithMA.stream()
-                            .skip(Math.max(0, chartDataWithMA.size() - days))
-                            .collect(Collectors.toList());
-                }
+            if (ensureLoaded(stockCode, "D")) {
+                // 최근 데이터만 반환 (지정된 기간만큼)
+                return candleStore.getChartData(stockCode, "D", days);
             }
-            
+
             log.warn("차트 데이터를 가져올 수 없습니다. 종목코드: {}", stockCode);
             return getSampleChartData();
-            
+
         } catch (Exception e) {
             log.error("차트 데이터 조회 중 오류 발생. 종목코드: {}, 오류: {}", stockCode, e.getMessage());
             return getSampleChartData();
         }
     }
 
-    // 주식 차트 데이터 조회 (기간분류코드 사용)
+    // 주식 차트 데이터 조회 (기간분류코드 사용, 분봉은 "1m"/"5m" 등)
     public List<ChartData> getStockChartByPeriod(String stockCode, String periodDiv) {
         try {
-            Map<String, Object> chartResponse = stockPriceService.getStockChart(stockCode, periodDiv);
-            
-            if (chartResponse != null && chartResponse.containsKey("output2")) {
-                List<Map<String, Object>> chartList = (List<Map<String, Object>>) chartResponse.get("output2");
-                
-                if (chartList != null && !chartList.isEmpty()) {
-                    // 원본 데이터를 날짜 순으로 정렬 (오래된 것부터)
-                    List<ChartData> rawData = chartList.stream()
-                            .map(item -> convertToChartData(item))
-                            .sorted((a, b) -> a.getTime().compareTo(b.getTime()))
-                            .collect(Collectors.toList());
-                    
-                    // 이동평균선 계산
-                    List<ChartData> chartDataWithMA = calculateMovingAverages(rawData, periodDiv);
-                    
-                    return chartDataWithMA;
-                }
+            if (CandleStore.isIntraday(periodDiv)) {
+                // 분봉은 실시간 틱으로만 만들어짐 (구독 중이 아닌 종목이나 장 시작 전이면 빈 목록)
+                return candleStore.getChartData(stockCode, periodDiv, Integer.MAX_VALUE);
             }
-            
+            if (ensureLoaded(stockCode, periodDiv)) {
+                return candleStore.getChartData(stockCode, periodDiv, Integer.MAX_VALUE);
+            }
+
             log.warn("차트 데이터를 가져올 수 없습니다. 종목코드: {}, 기간분류코드: {}", stockCode, periodDiv);
             return getSampleChartData();
-            
+
         } catch (Exception e) {
             log.error("차트 데이터 조회 중 오류 발생. 종목코드: {}, 기간분류코드: {}, 오류: {}", stockCode, periodDiv, e.getMessage());
             return getSampleChartData();
         }
     }
 
-    // 한투 API 차트 데이터를 ChartData로 변환
-    private ChartData convertToChartData(Map<String, Object> chartItem) {
-        String time = (String) chartItem.get("stck_bsop_date"); // 날짜
-        float open = parseFloat(chartItem.get("stck_oprc")); // 시가
-        float high = parseFloat(chartItem.get("stck_hgpr")); // 고가
-        float low = parseFloat(chartItem.get("stck_lwpr")); // 저가
-        float close = parseFloat(chartItem.get("stck_clpr")); // 종가
-        long trading_volume = parseLong(chartItem.get("acml_vol")); // 거래량
-        
-        // 이동평균선은 나중에 계산하므로 0으로 초기화
-        return new ChartData(time, open, high, low, close, 0f, 0f, 0f, 0f, trading_volume);
-    }
-
-    // 이동평균선 계산 (기간분류코드별)
-    private List<ChartData> calculateMovingAverages(List<ChartData> rawData, String periodDiv) {
-        List<ChartData> result = new ArrayList<>();
-        
-        // 기간분류코드별 이동평균 기간 설정
-        int[] maPeriods = getMovingAveragePeriods(periodDiv);
-        
-        log.info("이동평균선 계산 시작 - periodDiv: {}, 데이터 크기: {}, 이동평균 기간: [{}, {}, {}, {}]", 
-                periodDiv, rawData.size(), maPeriods[0], maPeriods[1], maPeriods[2], maPeriods[3]);
-        
-        // 첫 번째와 마지막 데이터의 종가 로그
-        if (!rawData.isEmpty()) {
-            log.info("첫 번째 데이터: 날짜={}, 종가={}", rawData.get(0).getTime(), rawData.get(0).getClose());
-            log.info("마지막 데이터: 날짜={}, 종가={}", rawData.get(rawData.size()-1).getTime(), rawData.get(rawData.size()-1).getClose());
+    /**
+     * 차트 병렬 배열 조회 (시간/시고저종/거래량/이동평균을 필드별 배열로)
+     * @return 데이터를 가져올 수 없으면 null
+     */
+    public CandleSeriesResponse getCandleSeries(String stockCode, String periodDiv, int limit) {
+        if (!CandleStore.isIntraday(periodDiv) && !ensureLoaded(stockCode, periodDiv)) {
+            return null;
         }
-        
-        for (int i = 0; i < rawData.size(); i++) {
-            ChartData current = rawData.get(i);
-            
-            // 각 기간별 이동평균 계산
-            float ma1 = calculateMA(rawData, i, maPeriods[0]);
-            float ma2 = calculateMA(rawData, i, maPeriods[1]);
-            float ma3 = calculateMA(rawData, i, maPeriods[2]);
-            float ma4 = calculateMA(rawData, i, maPeriods[3]);
-            
-            // 새로운 ChartData 생성 (이동평균선 포함)
-            ChartData chartDataWithMA = new ChartData(
-                    current.getTime(),
-                    current.getOpen(),
-                    current.getHigh(),
-                    current.getLow(),
-                    current.getClose(),
-                    ma1,  // ma_5
-                    ma2,  // ma_10
-                    ma3,  // ma_20
-                    ma4,  // ma_60
-                    current.getTrading_volume()
-            );
-            
-            result.add(chartDataWithMA);
-        }
-        
-        log.info("이동평균선 계산 완료 - 결과 데이터 크기: {}", result.size());
-        
-        // 계산 결과 샘플 로그 (마지막 3개 데이터)
-        if (result.size() >= 3) {
-            for (int i = result.size() - 3; i < result.size(); i++) {
-                ChartData data = result.get(i);
-                log.info("결과 데이터[{}]: 날짜={}, 종가={}, MA5={}, MA10={}, MA20={}, MA60={}", 
-                        i, data.getTime(), data.getClose(), data.getMa_5(), data.getMa_10(), 
-                        data.getMa_20(), data.getMa_60());
-            }
+        CandleStore.Snapshot snapshot = candleStore.getSnapshot(stockCode, periodDiv, limit);
+        if (snapshot == null) {
+            return null;
         }
-        
-        return result;
+        return new CandleSeriesResponse(stockCode, CandleStore.normalizePeriod(periodDiv), snapshot.maPeriods(),
+                snapshot.time(), snapshot.open(), snapshot.high(), snapshot.low(), snapshot.close(),
+                snapshot.volume(), snapshot.ma());
     }
-    
-    // 기간분류코드별 이동평균 기간 설정
-    private int[] getMovingAveragePeriods(String periodDiv) {
-        switch (periodDiv.toUpperCase()) {
-            case "D": // 일봉: 5일, 10일, 20일, 60일 (더 현실적인 기간)
-                return new int[]{5, 10, 20, 60};
-            case "W": // 주봉: 4주, 8주, 12주, 24주
-                return new int[]{4, 8, 12, 24};
-            case "M": // 월봉: 3개월, 6개월, 12개월, 24개월
-                return new int[]{3, 6, 12, 24};
-            case "Y": // 연봉: 2년, 3년, 5년, 10년
-                return new int[]{2, 3, 5, 10};
-            default: // 기본값 (일봉)
-                return new int[]{5, 10, 20, 60};
+
+    /**
+     * 캔들 저장소에 시리즈가 없거나 오래됐으면 한투 차트로 채움
+     * - 실시간 틱을 받는 종목: 최신 봉은 틱으로 갱신되므로 reload-ms마다만 다시 채움 (과거 봉 보정)
+     * - 틱이 없는 종목: refresh-ms마다 다시 채움
+     * - 같은 종목/기간의 동시 적재는 하나로 병합 (나머지 요청은 그 결과를 기다림)
+     * @return 저장소에서 응답할 수 있으면 true
+     */
+    private boolean ensureLoaded(String stockCode, String periodDiv) {
+        if (isFresh(stockCode, periodDiv)) {
+            return true;
         }
+        String key = stockCode + ":" + CandleStore.normalizePeriod(periodDiv);
+        return chartLoads.execute(key, () -> CompletableFuture.completedFuture(load(stockCode, periodDiv))).join();
     }
 
-    // 특정 기간의 이동평균 계산
-    private float calculateMA(List<ChartData> data, int currentIndex, int period) {
-        // 요청된 기간의 데이터가 충분하지 않으면 0 반환
-        if (currentIndex < period - 1) {
-            return 0f;
+    private boolean isFresh(String stockCode, String periodDiv) {
+        long loadedAt = candleStore.loadedAt(stockCode, periodDiv);
+        boolean live = candleStore.lastTickAt(stockCode, periodDiv) > loadedAt;
+        return loadedAt > 0 && System.currentTimeMillis() - loadedAt < (live ? reloadMs : refreshMs);
+    }
+
+    private boolean load(String stockCode, String periodDiv) {
+        // 앞선 적재가 끝난 직후 들어온 요청이면 다시 호출하지 않음
+        if (isFresh(stockCode, periodDiv)) {
+            return true;
         }
-        
-        // 계산 시작 인덱스 (정확히 period 개의 데이터 사용)
-        int startIndex = currentIndex - period + 1;
-        
-        float sum = 0f;
-        for (int i = startIndex; i <= currentIndex; i++) {
-            sum += data.get(i).getClose();
+        long loadedAt = candleStore.loadedAt(stockCode, periodDiv);
+        List<ChartData> rawData = fetchChart(stockCode, periodDiv);
+        if (rawData.isEmpty()) {
+            // 다시 채우지 못해도 이전에 채운 시리즈가 있으면 그대로 응답
+            return loadedAt > 0;
         }
-        
-        float result = sum / period;
-        
-        // 디버그 로그 (처음 몇 개만)
-        if (currentIndex < 10) {
-            log.info("이동평균 계산: period: {}, currentIndex: {}, startIndex: {}, sum: {}, result: {}", 
-                     period, currentIndex, startIndex, sum, result);
+        candleStore.load(stockCode, periodDiv, rawData);
+        log.debug("캔들 저장소 적재 - 종목: {}, 기간: {}, 봉 수: {}", stockCode, periodDiv, rawData.size());
+        return true;
+    }
+
+    // 한투 차트 조회 후 날짜 순으로 정렬 (오래된 것부터, 실패하면 빈 목록)
+    private List<ChartData> fetchChart(String stockCode, String periodDiv) {
+        Map<String, Object> chartResponse = stockPriceService.getStockChart(stockCode, periodDiv);
+
+        if (chartResponse != null && chartResponse.containsKey("output2")) {
+            List<Map<String, Object>> chartList = (List<Map<String, Object>>) chartResponse.get("output2");
+
+            if (chartList != null && !chartList.isEmpty()) {
+                return chartList.stream()
+                        .map(item -> convertToChartData(item))
+                        .filter(item -> item.getTime() != null)
+                        .sorted((a, b) -> a.getTime().compareTo(b.getTime()))
+                        .collect(Collectors.toList());
+            }
         }
+        return List.of();
+    }
+
+    // 한투 API 차트 데이터를 ChartData로 변환
+    private ChartData convertToChartData(Map<String, Object> chartItem) {
+        String time = (String) chartItem.get("stck_bsop_date"); // 날짜
+        float open = parseFloat(chartItem.get("stck_oprc")); // 시가
+        float high = parseFloat(chartItem.get("stck_hgpr")); // 고가
+        float low = parseFloat(chartItem.get("stck_lwpr")); // 저가
+        float close = parseFloat(chartItem.get("stck_clpr")); // 종가
+        long trading_volume = parseLong(chartItem.get("acml_vol")); // 거래량
         
-        return result;
+        // 이동평균선은 캔들 저장소에서 계산하므로 0으로 초기화
+        return new ChartData(time, open, high, low, close, 0f, 0f, 0f, 0f, trading_volume);
     }
 
     // 샘플 차트 데이터 (API 실패 시 사용)
@@ -221,7 +182,7 @@ public class ChartService {
         }
         
         // 이동평균선 계산
-        return calculateMovingAverages(sampleData, "D");
+        return CandleStore.withMovingAverages(sampleData, "D");
     }
 
     // 유틸리티 메서드들
@@ -0,0 +1,164 @@
+package com.example.trading_service.service;
+
+import com.example.module_common.dto.InvestmentAccountDto;
+import com.example.trading_service.client.UserServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 그룹 멤버 계좌 로컬 캐시
+ * - 그룹ID -> 멤버 투자 계좌 목록 (LRU 크기 제한 + TTL)
+ * - user-service가 멤버 변경(그룹 생성/멤버 추가/초대 수락) 커밋 후 Redis 채널로 그룹ID를 발행하면 해당 항목 무효화
+ * - 캐시에 없거나 만료되면 user-service Feign 호출로 다시 적재 (이벤트 유실 시에도 TTL 이후에는 최신화)
+ * - 계좌 조회에 실패한(또는 아직 계좌가 없는) 멤버가 빠진 목록은 캐시하지 않음
+ * - 투자 계좌 개설 커밋 후 그 사용자가 속한 그룹도 같은 채널로 무효화 (모든 파드 반영)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GroupMembershipCache implements MessageListener {
+
+    // user-service GroupMembershipEventPublisher.CHANNEL 과 동일해야 함
+    public static final String CHANGED_CHANNEL = "group-membership:changed";
+
+    private final UserServiceClient userServiceClient;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${group-membership.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${group-membership.cache.max-size:10000}")
+    private int maxSize;
+
+    // 접근 순서 LinkedHashMap (가장 오래 안 쓴 그룹부터 제거)
+    private final Map<UUID, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > maxSize;
+        }
+    });
+
+    // 무효화 세대 - 적재 중에 무효화가 일어났으면 적재 결과를 넣지 않음 (무효화 이전 목록이 덮어쓰지 않도록)
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 그룹 멤버 투자 계좌 목록 (캐시 우선, 없으면 user-service 조회)
+     */
+    public List<InvestmentAccountDto> getMemberAccounts(UUID groupId) {
+        Entry entry = entries.get(groupId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < ttlMs) {
+            return entry.accounts();
+        }
+
+        // Feign 호출은 락 밖에서 (같은 그룹 동시 미스는 중복 조회될 수 있지만 결과는 같음)
+        long loadGeneration = generation.get();
+        List<InvestmentAccountDto> accounts = userServiceClient.getGroupMemberAccounts(groupId);
+        if (accounts == null) {
+            return List.of();
+        }
+        List<InvestmentAccountDto> snapshot = List.copyOf(accounts);
+        if (!isComplete(groupId, snapshot)) {
+            return snapshot;
+        }
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                entries.put(groupId, new Entry(snapshot, System.currentTimeMillis()));
+            }
+        }
+        log.debug("그룹 멤버 캐시 적재 - groupId: {}, 멤버 수: {}", groupId, snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * 모든 멤버의 계좌가 목록에 있는지 확인 (user-service는 계좌 조회 실패 멤버를 빼고 응답함)
+     */
+    private boolean isComplete(UUID groupId, List<InvestmentAccountDto> accounts) {
+        Integer memberCount = userServiceClient.getGroupMemberCount(groupId);
+        if (memberCount == null || accounts.size() < memberCount) {
+            log.warn("⚠️ 그룹 멤버 계좌 목록 누락 - 캐시하지 않음 groupId: {}, 멤버 수: {}, 계좌 수: {}",
+                    groupId, memberCount, accounts.size());
+            return false;
+        }
+        return true;
+    }
+
+    public int getMemberCount(UUID groupId) {
+        return getMemberAccounts(groupId).size();
+    }
+
+    public boolean isMember(UUID groupId, UUID userId) {
+        return getMemberAccounts(groupId).stream()
+                .anyMatch(account -> userId.equals(account.getUserId()));
+    }
+
+    public void invalidate(UUID groupId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(groupId);
+        }
+    }
+
+    /**
+     * 투자 계좌 개설 커밋 후 사용자가 속한 그룹 무효화를 발행 (모든 파드가 구독해서 각자 무효화)
+     */
+    public void invalidateGroupsOfUserAfterCommit(UUID userId) {
+        Runnable action = () -> {
+            try {
+                List<UUID> groupIds = userServiceClient.getUserGroups(userId);
+                if (groupIds == null) {
+                    return;
+                }
+                for (UUID groupId : groupIds) {
+                    invalidate(groupId);
+                    stringRedisTemplate.convertAndSend(CHANGED_CHANNEL, groupId.toString());
+                }
+            } catch (Exception e) {
+                // TTL이 지나면 다시 적재되므로 로그만 남김
+                log.warn("⚠️ 계좌 개설 후 그룹 멤버 캐시 무효화 실패 - userId: {} - {}", userId, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * user-service 멤버 변경 이벤트 수신 (payload: 그룹ID)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        try {
+            UUID groupId = UUID.fromString(payload);
+            invalidate(groupId);
+            log.info("👥 그룹 멤버 변경 - 캐시 무효화 groupId: {}", groupId);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ 잘못된 그룹 멤버 변경 이벤트: {}", payload);
+        }
+    }
+
+    private record Entry(List<InvestmentAccountDto> accounts, long loadedAt) {
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.Order;
+import com.example.trading_service.domain.TradeEventOutbox;
+import com.example.trading_service.event.GroupTradeExecutedEvent;
+import com.example.trading_service.event.TradeExecutedEvent;
+import com.example.trading_service.repository.TradeEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 그룹 거래 체결 후속 처리 파이프라인 (transactional outbox)
+ * - 체결 트랜잭션 안에서는 outbox 행만 기록하고, 커밋 후 그룹ID 해시로 고정된 레인에 등록
+ * - 레인 스레드가 그룹 보유량 갱신(멤버 수 조회, 현재가 조회 포함)을 별도 트랜잭션에서 처리
+ *   → 주문/체결 지연이 user-service 응답 시간이나 그룹 집계에 묶이지 않음
+ * - 같은 그룹은 항상 같은 레인에서 처리하고, 등록된 행이 아니라 그룹의 가장 오래된 미처리 행부터 차례로 처리
+ *   (그 행을 잠그고 처리하므로 여러 파드가 같은 그룹을 동시에 처리하지 않음, 앞선 행이 실패하면 뒤 행은 대기)
+ * - 커밋 후 등록 전에 죽었거나 처리에 실패한 행은 주기적으로 다시 등록 (처리 완료 표시는 조건부 UPDATE라 중복 처리 없음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GroupTradeEventPipeline {
+
+    private final TradeEventOutboxRepository tradeEventOutboxRepository;
+    private final GroupTradingService groupTradingService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trade-events.lanes:4}")
+    private int laneCount;
+
+    @Value("${trade-events.lane-capacity:10000}")
+    private int laneCapacity;
+
+    // 커밋 후 바로 등록된 행과 겹치지 않도록 이 시간 이상 미처리된 행만 복구
+    @Value("${trade-events.recovery-delay-ms:10000}")
+    private long recoveryDelayMs;
+
+    @Value("${trade-events.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${trade-events.retention-days:7}")
+    private int retentionDays;
+
+    // 레인에 등록되어 아직 처리 중인 outbox ID (복구 폴링이 같은 행을 다시 넣지 않도록)
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong stuckHeads = new AtomicLong();
+
+    private TransactionTemplate transactionTemplate;
+    private Lane[] lanes;
+    private volatile boolean running;
+    private Timer lag;
+    private Counter failed;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        lag = Timer.builder("trading.trade-events.lag")
+                .description("체결 커밋부터 그룹 후속 처리 완료까지 걸린 시간")
+                .register(meterRegistry);
+        failed = Counter.builder("trading.trade-events.failed")
+                .description("그룹 후속 처리 실패 수")
+                .register(meterRegistry);
+        Gauge.builder("trading.trade-events.backlog", backlog, AtomicLong::get)
+                .description("미처리 outbox 행 수")
+                .register(meterRegistry);
+        Gauge.builder("trading.trade-events.stuck", stuckHeads, AtomicLong::get)
+                .description("재시도 한도를 넘어 그룹 레인을 막고 있는 행 수 (0보다 크면 수동 확인 필요)")
+                .register(meterRegistry);
+
+        running = true;
+        lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].thread.start();
+        }
+        log.info("🚦 그룹 체결 후속 처리 레인 시작: {}개 (레인당 큐 {}건)", lanes.length, laneCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+    }
+
+    /**
+     * 개별 체결 (그룹 주문만) - 체결 트랜잭션 안에서 outbox 기록
+     */
+    @EventListener
+    public void onTradeExecuted(TradeExecutedEvent event) {
+        if (event.getGroupId() == null) {
+            return;
+        }
+        Order order = event.getOrder();
+        long quantity = order.getQuantityMicros();
+        record(event.getGroupId(), order.getStock().getId(), order.getOrderId(),
+                order.getOrderType() == Order.OrderType.BUY ? quantity : -quantity,
+                event.getExecutionPriceWon());
+    }
+
+    /**
+     * 그룹 일괄 체결 - 그룹 거래당 outbox 한 행
+     */
+    @EventListener
+    public void onGroupTradeExecuted(GroupTradeExecutedEvent event) {
+        long quantity = event.getTotalQuantityMicros();
+        record(event.getGroupId(), event.getStockId(), event.getOrders().get(0).getOrderId(),
+                event.getOrderType() == Order.OrderType.BUY ? quantity : -quantity,
+                event.getExecutionPriceWon());
+    }
+
+    /**
+     * 재시작 시 이전 파드가 남긴 미처리 행 복구
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recoverPending(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${trade-events.recovery-interval-ms:5000}")
+    public void recover() {
+        recoverPending(LocalDateTime.now().minus(Duration.ofMillis(recoveryDelayMs)));
+    }
+
+    /**
+     * 처리 완료 후 보관 기간이 지난 행 정리
+     */
+    @Scheduled(cron = "${trade-events.cleanup-cron:0 30 4 * * *}")
+    public void cleanup() {
+        try {
+            int deleted = tradeEventOutboxRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+            if (deleted > 0) {
+                log.info("🧹 처리 완료 outbox 정리: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.error("❌ outbox 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void record(UUID groupId, UUID stockId, UUID orderId, long quantityChangeMicros, long executionPriceWon) {
+        TradeEventOutbox entry = new TradeEventOutbox();
+        entry.setGroupId(groupId);
+        entry.setStockId(stockId);
+        entry.setOrderId(orderId);
+        entry.setQuantityChangeMicros(quantityChangeMicros);
+        entry.setExecutionPriceWon(executionPriceWon);
+        tradeEventOutboxRepository.save(entry);
+
+        UUID outboxId = entry.getOutboxId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 롤백된 체결은 outbox 행도 함께 롤백되므로 커밋된 경우에만 레인에 등록
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(outboxId, groupId);
+                }
+            });
+        } else {
+            submit(outboxId, groupId);
+        }
+    }
+
+    private void recoverPending(LocalDateTime createdBefore) {
+        try {
+            backlog.set(tradeEventOutboxRepository.countByProcessedAtIsNull());
+            long stuck = tradeEventOutboxRepository.countByProcessedAtIsNullAndAttemptsGreaterThanEqual(maxAttempts);
+            if (stuck > 0 && stuckHeads.get() == 0) {
+                log.error("🚨 재시도 한도를 넘은 outbox 행 {}건 - 해당 그룹의 후속 처리가 막혀 있음 (수동 확인 필요)", stuck);
+            }
+            stuckHeads.set(stuck);
+            List<TradeEventOutbox> pending = tradeEventOutboxRepository.findPending(
+                    createdBefore, maxAttempts, PageRequest.of(0, 500));
+            if (pending.isEmpty()) {
+                return;
+            }
+            log.info("♻️ 미처리 그룹 체결 후속 처리 재등록: {}건", pending.size());
+            pending.forEach(entry -> submit(entry.getOutboxId(), entry.getGroupId()));
+        } catch (Exception e) {
+            log.error("❌ 미처리 outbox 복구 실패: {}", e.getMessage());
+        }
+    }
+
+    private void submit(UUID outboxId, UUID groupId) {
+        if (!inFlight.add(outboxId)) {
+            return;
+        }
+        Lane lane = lanes[Math.floorMod(groupId.hashCode(), lanes.length)];
+        if (!lane.queue.offer(outboxId)) {
+            // 버리지 않고 outbox에 남겨서 복구 폴링이 다시 등록
+            inFlight.remove(outboxId);
+            log.warn("⚠️ 레인 {} 큐가 가득 차서 복구 폴링으로 미룸 - outboxId: {}", lane.index, outboxId);
+        }
+    }
+
+    /**
+     * 등록된 행이 처리될 때까지 그룹의 미처리 행을 오래된 순으로 처리
+     * - 앞선 행이 실패하면 거기서 멈춤 (뒤 행을 먼저 반영하면 평균단가/수량이 체결 순서와 달라짐)
+     */
+    private void process(UUID outboxId) {
+        TradeEventOutbox entry = tradeEventOutboxRepository.findById(outboxId).orElse(null);
+        if (entry == null || entry.getProcessedAt() != null) {
+            return;
+        }
+        UUID groupId = entry.getGroupId();
+        AtomicReference<TradeEventOutbox> head = new AtomicReference<>();
+        try {
+            // 멤버 수 조회(캐시 미스 시 Feign)는 트랜잭션 밖에서
+            int memberCount = groupTradingService.getGroupMemberCount(groupId);
+
+            while (running) {
+                head.set(null);
+                // 현재가(한투 REST까지 갈 수 있음)는 행을 잠그기 전에 조회
+                PricedHead priced = priceHead(groupId);
+                TradeEventOutbox applied = transactionTemplate.execute(status -> processHead(groupId, memberCount, priced, head));
+                if (applied == null) {
+                    return; // 남은 행 없음 (다른 파드가 처리) 또는 앞선 행이 재시도 한도 초과로 막힘
+                }
+                portfolioValuationEngine.refreshGroup(groupId);
+                lag.record(Duration.between(applied.getCreatedAt(), LocalDateTime.now()));
+                log.info("✅ 그룹 보유량 업데이트 완료 - 그룹ID: {}, 종목ID: {}, 주문ID: {}",
+                        groupId, applied.getStockId(), applied.getOrderId());
+                if (applied.getOutboxId().equals(outboxId)) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            failed.increment();
+            TradeEventOutbox failedEntry = head.get() != null ? head.get() : entry;
+            tradeEventOutboxRepository.incrementAttempts(failedEntry.getOutboxId());
+            log.error("❌ 그룹 체결 후속 처리 실패 (재시도 예정, 그룹의 이후 행은 대기) - outboxId: {}, 그룹ID: {} - {}",
+                    failedEntry.getOutboxId(), groupId, e.getMessage());
+        }
+    }
+
+    /**
+     * 그룹의 가장 오래된 미처리 행을 잠그고 반영 (트랜잭션 안)
+     * @return 반영한 행, 없거나 막혀 있으면 null
+     */
+    private TradeEventOutbox processHead(UUID groupId, int memberCount, PricedHead priced,
+                                         AtomicReference<TradeEventOutbox> head) {
+        List<TradeEventOutbox> heads = tradeEventOutboxRepository.findPendingHeadForUpdate(groupId, PageRequest.of(0, 1));
+        if (heads.isEmpty()) {
+            return null;
+        }
+        TradeEventOutbox next = heads.get(0);
+        head.set(next);
+        if (next.getAttempts() >= maxAttempts) {
+            log.error("❌ 재시도 한도를 넘은 행 때문에 그룹 후속 처리 중단 (수동 확인 필요) - outboxId: {}, 그룹ID: {}",
+                    next.getOutboxId(), groupId);
+            return null;
+        }
+        if (tradeEventOutboxRepository.markProcessed(next.getOutboxId(), LocalDateTime.now()) == 0) {
+            return null; // 잠금을 기다리는 동안 다른 파드가 처리함 → 복구 폴링에서 다시 확인
+        }
+        // 잠그는 사이에 head가 바뀌었으면 미리 조회한 가격을 쓰지 않음 (평균 매입가로 평가, 다음 재평가 때 갱신)
+        Long currentPriceWon = priced != null && priced.outboxId().equals(next.getOutboxId()) ? priced.priceWon() : null;
+        groupTradingService.updateGroupHoldingAfterTrade(groupId, next.getStockId(),
+                next.getQuantityChangeMicros(), next.getExecutionPriceWon(), memberCount, currentPriceWon);
+        return next;
+    }
+
+    /**
+     * 잠금 없이 head를 확인하고 그 종목 현재가를 조회
+     * @return head가 없으면 null
+     */
+    private PricedHead priceHead(UUID groupId) {
+        List<TradeEventOutbox> heads = tradeEventOutboxRepository.findPendingHead(groupId, PageRequest.of(0, 1));
+        if (heads.isEmpty()) {
+            return null;
+        }
+        TradeEventOutbox next = heads.get(0);
+        return new PricedHead(next.getOutboxId(), groupTradingService.resolveCurrentPriceWon(next.getStockId()));
+    }
+
+    private record PricedHead(UUID outboxId, Long priceWon) {
+    }
+
+    private final class Lane implements Runnable {
+        private final int index;
+        private final BlockingQueue<UUID> queue;
+        private final Thread thread;
+
+        private Lane(int index) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(laneCapacity);
+            this.thread = new Thread(this, "trade-events-lane-" + index);
+            this.thread.setDaemon(true);
+            Gauge.builder("trading.trade-events.lane.queue.depth", queue, BlockingQueue::size)
+                    .description("레인 대기 이벤트 수")
+                    .tag("lane", String.valueOf(index))
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                UUID outboxId;
+                try {
+                    outboxId = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (outboxId == null) {
+                    continue;
+                }
+                try {
+                    process(outboxId);
+                } finally {
+                    inFlight.remove(outboxId);
+                }
+            }
+            log.info("그룹 체결 후속 처리 레인 {} 종료", index);
+        }
+    }
+}
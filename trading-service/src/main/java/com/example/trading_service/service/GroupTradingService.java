@@ -1,7 +1,6 @@
 package com.example.trading_service.service;
 
 import com.example.module_common.dto.InvestmentAccountDto;
-import com.example.trading_service.client.UserServiceClient;
 import com.example.trading_service.domain.*;
 import com.example.trading_service.dto.BuyRequest;
 import com.example.trading_service.dto.GroupHoldingResponse;
@@ -9,20 +8,20 @@ import com.example.trading_service.dto.HoldingResponse;
 import com.example.trading_service.dto.PortfolioSummaryResponse;
 import com.example.trading_service.dto.OrderBookResponse;
 import com.example.trading_service.dto.SellRequest;
+import com.example.trading_service.dto.StockPriceResponse;
 import com.example.trading_service.exception.BusinessException;
 import com.example.trading_service.repository.*;
-import com.example.trading_service.event.TradeExecutedEvent;
+import com.example.trading_service.util.FixedPoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -43,7 +42,9 @@ public class GroupTradingService {
     @Lazy
     private final OrderBookService orderBookService;
     private final PortfolioCalculationService portfolioCalculationService;
-    private final UserServiceClient userServiceClient;
+    private final PriceSnapshotService priceSnapshotService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final GroupMembershipCache groupMembershipCache;
     private final HistoryRepository historyRepository;
 
     /**
@@ -71,20 +72,17 @@ public class GroupTradingService {
 
         int memberCount = groupMembers.size();
         
-        // 3. 총 투자 금액 계산
-        BigDecimal totalInvestment = pricePerShare.multiply(new BigDecimal(totalQuantity));
+        // 3. 총 투자 금액 계산 (단가는 원, 수량은 마이크로주)
+        long priceWon = FixedPoint.toWon(pricePerShare.doubleValue());
+        long totalQuantityMicros = FixedPoint.toMicros(totalQuantity);
+        long totalInvestment = FixedPoint.amount(totalQuantityMicros, priceWon);
         
-        // 4. 멤버당 부담금 계산 (총 투자 금액 ÷ 멤버 수)
-        // HALF_UP: 반올림 (0.5 이상이면 올림, 미만이면 내림)
-        BigDecimal costPerMember = totalInvestment.divide(new BigDecimal(memberCount), 2, RoundingMode.HALF_UP);
+        // 4. 멤버당 수량 계산 (총 수량 ÷ 멤버 수)
+        // 마이크로주 단위로 나누고 나머지는 앞 멤버부터 1씩 배분 → 멤버 수량 합계가 정확히 총 수량
+        long[] quantityPerMember = FixedPoint.split(totalQuantityMicros, memberCount);
         
-        // 5. 멤버당 수량 계산 (총 수량 ÷ 멤버 수)
-        // 소수점 8자리까지 정밀하게 계산 (반올림)
-        BigDecimal quantityPerMember = new BigDecimal(String.valueOf(totalQuantity))
-                .divide(new BigDecimal(memberCount), 8, RoundingMode.HALF_UP);
-        
-        log.info("👥 그룹 분할 매매 - 멤버수: {}, 총 투자: {}원, 멤버당 부담금: {}원, 멤버당 수량: {}주", 
-                memberCount, totalInvestment, costPerMember, quantityPerMember);
+        log.info("👥 그룹 분할 매매 - 멤버수: {}, 총 투자: {}원, 멤버당 수량: {}주", 
+                memberCount, totalInvestment, FixedPoint.toQuantity(quantityPerMember[0]));
 
         // 6. 현재 호가 조회 (참고용)
         OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
@@ -94,33 +92,15 @@ public class GroupTradingService {
                     stock.getStockName(), currentMarketPrice, pricePerShare);
         }
 
-        // 7. 각 멤버별로 개인 주문 생성 및 실행
-        List<Order> executedOrders = new ArrayList<>();
+        // 7. 멤버별 지정가 주문 일괄 생성 (잔고 일괄 조회 + saveAll)
         List<Exception> failedOrders = new ArrayList<>();
-        int processedCount = 0;
-
-        for (InvestmentAccount memberAccount : groupMembers) {
-            try {
-                // 개인 매수 주문 생성 (요청 가격으로 지정가 주문)
-                BuyRequest buyRequest = new BuyRequest(
-                    stockId, 
-                    null, 
-                    quantityPerMember.floatValue(), // 소수점 수량 지원
-                    pricePerShare, 
-                    false // 지정가 주문
-                );
-
-                Order createdOrder = orderService.buyStock(memberAccount.getUserId(), buyRequest, groupId);
-                executedOrders.add(createdOrder);
-                processedCount++;
-
-                log.info("✅ 멤버 {} 매수 주문 생성 - 수량: {}주, 주당가격: {}원, 부담금: {}원", 
-                        memberAccount.getInvestmentAccountId(), quantityPerMember, pricePerShare, costPerMember);
-
-            } catch (Exception e) {
-                log.error("❌ 멤버 {} 매수 실패: {}", memberAccount.getInvestmentAccountId(), e.getMessage());
-                failedOrders.add(e);
-            }
+        List<Order> executedOrders = orderService.placeGroupOrders(
+                groupId, stock, Order.OrderType.BUY, groupMembers, quantityPerMember, priceWon, failedOrders);
+        int processedCount = executedOrders.size();
+
+        // 호가가 이미 지정가를 넘었으면 다음 호가 틱을 기다리지 않고 같은 트랜잭션에서 일괄 체결
+        if (processedCount > 0) {
+            tradeExecutionService.checkGroupLimitOrderExecution(executedOrders, orderBook);
         }
 
         // 7-1. 그룹 거래 실패 시 하나의 히스토리만 저장
@@ -180,7 +160,8 @@ public class GroupTradingService {
                 .findByGroupIdAndStock_Id(groupId, stockId)
                 .orElseThrow(() -> new BusinessException("그룹 보유 주식을 찾을 수 없습니다.", "GROUP_HOLDING_NOT_FOUND"));
 
-        if (groupHolding.getTotalQuantity() < totalQuantity) {
+        long totalQuantityMicros = FixedPoint.toMicros(totalQuantity);
+        if (groupHolding.getTotalQuantityMicros() < totalQuantityMicros) {
             throw new BusinessException(
                     String.format("그룹 보유 수량이 부족합니다. 보유: %.2f, 요청: %.2f", 
                             groupHolding.getTotalQuantity(), totalQuantity),
@@ -191,20 +172,16 @@ public class GroupTradingService {
         List<InvestmentAccount> groupMembers = getGroupMembers(groupId);
         int memberCount = groupMembers.size();
         
-        // 4. 총 매도 금액 계산
-        BigDecimal totalRevenue = price.multiply(BigDecimal.valueOf(totalQuantity));
+        // 4. 총 매도 금액 계산 (단가는 원, 수량은 마이크로주)
+        long priceWon = FixedPoint.toWon(price.doubleValue());
+        long totalRevenue = FixedPoint.amount(totalQuantityMicros, priceWon);
         
-        // 5. 멤버당 수령액 계산 (총 매도 금액 ÷ 멤버 수)
-        // HALF_UP: 반올림 (0.5 이상이면 올림, 미만이면 내림)
-        BigDecimal revenuePerMember = totalRevenue.divide(new BigDecimal(memberCount), 2, RoundingMode.HALF_UP);
-        
-        // 6. 멤버당 수량 계산 (총 수량 ÷ 멤버 수)
-        // 소수점 8자리까지 정밀하게 계산 (반올림)
-        BigDecimal quantityPerMember = new BigDecimal(String.valueOf(totalQuantity))
-                .divide(new BigDecimal(memberCount), 8, RoundingMode.HALF_UP);
+        // 5. 멤버당 수량 계산 (총 수량 ÷ 멤버 수)
+        // 마이크로주 단위로 나누고 나머지는 앞 멤버부터 1씩 배분 → 멤버 수량 합계가 정확히 총 수량
+        long[] quantityPerMember = FixedPoint.split(totalQuantityMicros, memberCount);
         
-        log.info("👥 그룹 분할 매도 - 멤버수: {}, 총 매도금액: {}원, 멤버당 수령액: {}원, 멤버당 수량: {}주", 
-                memberCount, totalRevenue, revenuePerMember, quantityPerMember);
+        log.info("👥 그룹 분할 매도 - 멤버수: {}, 총 매도금액: {}원, 멤버당 수량: {}주", 
+                memberCount, totalRevenue, FixedPoint.toQuantity(quantityPerMember[0]));
 
         // 7. 현재 호가 조회 (참고용)
         OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
@@ -214,33 +191,15 @@ public class GroupTradingService {
                     stock.getStockName(), currentMarketPrice, price);
         }
 
-        // 8. 각 멤버별로 개인 매도 주문 생성 및 실행
-        List<Order> executedOrders = new ArrayList<>();
+        // 8. 멤버별 지정가 매도 주문 일괄 생성 (보유 일괄 조회 + saveAll)
         List<Exception> failedOrders = new ArrayList<>();
-        int processedCount = 0;
-
-        for (InvestmentAccount memberAccount : groupMembers) {
-            try {
-                // 개인 매도 주문 생성 (요청 가격으로 지정가 주문)
-                SellRequest sellRequest = new SellRequest(
-                    stockId, 
-                    null, 
-                    quantityPerMember.floatValue(), // 소수점 수량 지원
-                    price, 
-                    false // 지정가 주문
-                );
-
-                Order createdOrder = orderService.sellStock(memberAccount.getUserId(), sellRequest, groupId);
-                executedOrders.add(createdOrder);
-                processedCount++;
-
-                log.info("✅ 멤버 {} 매도 주문 생성 - 수량: {}주, 주당가격: {}원, 수령액: {}원", 
-                        memberAccount.getInvestmentAccountId(), quantityPerMember, price, revenuePerMember);
-
-            } catch (Exception e) {
-                log.error("❌ 멤버 {} 매도 실패: {}", memberAccount.getInvestmentAccountId(), e.getMessage());
-                failedOrders.add(e);
-            }
+        List<Order> executedOrders = orderService.placeGroupOrders(
+                groupId, stock, Order.OrderType.SELL, groupMembers, quantityPerMember, priceWon, failedOrders);
+        int processedCount = executedOrders.size();
+
+        // 호가가 이미 지정가를 넘었으면 다음 호가 틱을 기다리지 않고 같은 트랜잭션에서 일괄 체결
+        if (processedCount > 0) {
+            tradeExecutionService.checkGroupLimitOrderExecution(executedOrders, orderBook);
         }
 
         // 8-1. 그룹 거래 실패 시 하나의 히스토리만 저장
@@ -275,53 +234,12 @@ public class GroupTradingService {
     }
 
 
-    /**
-     * 거래 체결 이벤트 리스너 - 그룹 보유량 업데이트
-     */
-    @EventListener
-    @Transactional
-    public void handleTradeExecutedEvent(TradeExecutedEvent event) {
-        try {
-            Order order = event.getOrder();
-            float executionPrice = event.getExecutionPrice();
-            UUID groupId = event.getGroupId();
-            
-            if (groupId != null) {
-                log.info("🔍 그룹 거래 체결 이벤트 처리 - 그룹ID: {}, 주문ID: {}", groupId, order.getOrderId());
-                
-                UUID stockId = order.getStock().getId();
-                float quantity = order.getQuantity();
-                
-                // 매수/매도에 따라 수량 조정
-                float quantityChange = (order.getOrderType() == Order.OrderType.BUY) ? quantity : -quantity;
-                
-                // 그룹 멤버 수 조회
-                int memberCount = getGroupMemberCount(groupId);
-                
-                // 그룹 보유량 업데이트
-                updateGroupHoldingAfterTrade(
-                    groupId, stockId, quantityChange, executionPrice, memberCount
-                );
-                
-                log.info("✅ 그룹 보유량 업데이트 완료 - 그룹ID: {}, 종목ID: {}, 수량변화: {}", 
-                    groupId, stockId, quantityChange);
-            } else {
-                log.debug("🔍 개인 거래 - 그룹 보유량 업데이트 건너뜀");
-            }
-            
-        } catch (Exception e) {
-            log.error("❌ 그룹 거래 체결 이벤트 처리 실패 - 주문ID: {} - {}", 
-                event.getOrder().getOrderId(), e.getMessage());
-        }
-    }
-
     /**
      * 그룹 멤버 수 조회
      */
     public int getGroupMemberCount(UUID groupId) {
         try {
-            List<InvestmentAccountDto> memberDtos = userServiceClient.getGroupMemberAccounts(groupId);
-            return memberDtos.size();
+            return groupMembershipCache.getMemberCount(groupId);
         } catch (Exception e) {
             log.error("그룹 멤버 수 조회 실패 - 그룹ID: {} - {}", groupId, e.getMessage());
             return 0;
@@ -333,17 +251,24 @@ public class GroupTradingService {
      */
     public List<InvestmentAccount> getGroupMembers(UUID groupId) {
         try {
-            List<InvestmentAccountDto> memberDtos = userServiceClient.getGroupMemberAccounts(groupId);
+            List<InvestmentAccountDto> memberDtos = groupMembershipCache.getMemberAccounts(groupId);
             
             if (memberDtos.isEmpty()) {
                 log.warn("그룹에 실제 멤버가 없습니다 - groupId: {}", groupId);
                 throw new BusinessException("그룹에 멤버가 없습니다.");
             }
             
+            // 멤버 계좌는 IN 쿼리 한 번으로 조회하고 user-service 응답 순서대로 정렬
+            Map<UUID, InvestmentAccount> accountsById = investmentAccountRepository.findAllById(
+                            memberDtos.stream().map(InvestmentAccountDto::getInvestmentAccountId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(InvestmentAccount::getInvestmentAccountId, account -> account));
             List<InvestmentAccount> members = new ArrayList<>();
             for (InvestmentAccountDto dto : memberDtos) {
-                InvestmentAccount account = investmentAccountRepository.findById(dto.getInvestmentAccountId())
-                        .orElseThrow(() -> new BusinessException("투자 계좌를 찾을 수 없습니다."));
+                InvestmentAccount account = accountsById.get(dto.getInvestmentAccountId());
+                if (account == null) {
+                    throw new BusinessException("투자 계좌를 찾을 수 없습니다.");
+                }
                 members.add(account);
             }
             
@@ -400,16 +325,43 @@ public class GroupTradingService {
 
     /**
      * 그룹 보유량 업데이트 (외부 호출용 - public)
+     * @param quantityChangeMicros 수량 변화 (마이크로주, 매도면 음수)
+     * @param priceWon 체결가 (원)
+     * @param currentPriceWon 트랜잭션 전에 미리 조회한 현재가 (원, 없으면 평균 매입가로 평가)
      */
     @Transactional
-    public void updateGroupHoldingAfterTrade(UUID groupId, UUID stockId, float totalQuantity, float price, int memberCount) {
-        updateGroupHolding(groupId, stockId, totalQuantity, BigDecimal.valueOf(price), memberCount);
+    public void updateGroupHoldingAfterTrade(UUID groupId, UUID stockId, long quantityChangeMicros, long priceWon,
+                                             int memberCount, Long currentPriceWon) {
+        updateGroupHolding(groupId, stockId, quantityChangeMicros, priceWon, memberCount, currentPriceWon);
+    }
+
+    /**
+     * 그룹 보유 종목 평가용 현재가 (실시간 데이터 → Redis → 한투 API 순)
+     * - 한투 REST까지 갈 수 있으므로 outbox 행을 잠그는 트랜잭션 밖에서 호출
+     * @return 조회 실패 시 null
+     */
+    public Long resolveCurrentPriceWon(UUID stockId) {
+        try {
+            Stock stock = stockRepository.findById(stockId).orElse(null);
+            if (stock == null) {
+                return null;
+            }
+            StockPriceResponse quote = priceSnapshotService.getQuote(stock.getStockCode());
+            if (quote == null || quote.getCurrentPrice() == null) {
+                return null;
+            }
+            return FixedPoint.toWon(quote.getCurrentPrice().doubleValue());
+        } catch (Exception e) {
+            log.warn("주가 조회 실패, 평균 매입가로 대체 예정 - 종목ID: {} - {}", stockId, e.getMessage());
+            return null;
+        }
     }
     
     /**
      * 그룹 보유량 업데이트 (내부용 - private)
      */
-    private void updateGroupHolding(UUID groupId, UUID stockId, float quantityChange, BigDecimal price, int memberCount) {
+    private void updateGroupHolding(UUID groupId, UUID stockId, long quantityChange, long priceWon, int memberCount,
+                                    Long currentPriceWon) {
         Optional<GroupHoldingCache> existingHolding = groupHoldingCacheRepository
                 .findByGroupIdAndStock_Id(groupId, stockId);
 
@@ -419,31 +371,20 @@ public class GroupTradingService {
         if (existingHolding.isPresent()) {
             // 기존 보유량 업데이트
             GroupHoldingCache holding = existingHolding.get();
-            float newQuantity = holding.getTotalQuantity() + quantityChange;
+            long newQuantity = holding.getTotalQuantityMicros() + quantityChange;
             
             if (newQuantity <= 0) {
                 groupHoldingCacheRepository.delete(holding);
             } else {
-                // 평균 매입가 계산
-                float newAvgCost = calculateNewAverageCost(
-                        holding.getTotalQuantity(), holding.getAvgCost(),
-                        quantityChange, price.floatValue());
+                // 평균 매입가 계산 (매수일 때만 변경, 매도는 기존 평균 매입가 유지)
+                long newAvgCost = quantityChange > 0
+                        ? FixedPoint.averageCost(holding.getTotalQuantityMicros(), holding.getAvgCostWon(), quantityChange, priceWon)
+                        : holding.getAvgCostWon();
                 
-                holding.setTotalQuantity(newQuantity);
-                holding.setAvgCost(newAvgCost);
+                holding.setTotalQuantityMicros(newQuantity);
+                holding.setAvgCostWon(newAvgCost);
                 holding.setMemberCount(memberCount);
-                
-                // 평가금액과 손익 계산
-                try {
-                    OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
-                    float currentPrice = orderBook.getCurrentPrice();
-                    holding.setEvaluatedPrice(currentPrice * newQuantity);
-                    holding.setProfit((currentPrice - newAvgCost) * newQuantity);
-                } catch (Exception e) {
-                    log.warn("주가 조회 실패, 평균 매입가로 대체 - 종목: {}", stock.getStockCode());
-                    holding.setEvaluatedPrice(newAvgCost * newQuantity);
-                    holding.setProfit(0f);
-                }
+                updateGroupHoldingValuation(holding, currentPriceWon);
                 
                 groupHoldingCacheRepository.save(holding);
             }
@@ -452,37 +393,30 @@ public class GroupTradingService {
             GroupHoldingCache newHolding = new GroupHoldingCache();
             newHolding.setGroupId(groupId);
             newHolding.setStock(stock);
-            newHolding.setTotalQuantity(quantityChange);
-            newHolding.setAvgCost(price.floatValue());
+            newHolding.setTotalQuantityMicros(quantityChange);
+            newHolding.setAvgCostWon(priceWon);
             newHolding.setMemberCount(memberCount);
-            
-            // 평가금액과 손익 계산
-            try {
-                OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
-                float currentPrice = orderBook.getCurrentPrice();
-                newHolding.setEvaluatedPrice(currentPrice * quantityChange);
-                newHolding.setProfit((currentPrice - price.floatValue()) * quantityChange);
-            } catch (Exception e) {
-                log.warn("주가 조회 실패, 평균 매입가로 대체 - 종목: {}", stock.getStockCode());
-                newHolding.setEvaluatedPrice(price.floatValue() * quantityChange);
-                newHolding.setProfit(0f);
-            }
+            updateGroupHoldingValuation(newHolding, currentPriceWon);
             
             groupHoldingCacheRepository.save(newHolding);
         }
     }
 
     /**
-     * 새로운 평균 매입가 계산
+     * 그룹 보유 종목 평가금액과 손익 계산 (현재가가 없으면 평균 매입가로 대체)
+     * - 외부 조회 없이 미리 조회한 현재가만 사용 (outbox 행 잠금을 쥔 채 한투 REST를 기다리지 않도록)
      */
-    private float calculateNewAverageCost(float currentQuantity, float currentAvgCost, 
-                                        float newQuantity, float newPrice) {
-        if (currentQuantity <= 0) return newPrice;
-        
-        float totalCost = currentQuantity * currentAvgCost + newQuantity * newPrice;
-        float totalQuantity = currentQuantity + newQuantity;
-        
-        return totalCost / totalQuantity;
+    private void updateGroupHoldingValuation(GroupHoldingCache holding, Long currentPriceWon) {
+        long quantity = holding.getTotalQuantityMicros();
+        long avgCost = holding.getAvgCostWon();
+        if (currentPriceWon == null) {
+            holding.setEvaluatedPrice((float) FixedPoint.amount(quantity, avgCost));
+            holding.setProfit(0f);
+            return;
+        }
+        long evaluatedPrice = FixedPoint.amount(quantity, currentPriceWon);
+        holding.setEvaluatedPrice((float) evaluatedPrice);
+        holding.setProfit((float) (evaluatedPrice - FixedPoint.amount(quantity, avgCost)));
     }
 
     /**
@@ -555,20 +489,21 @@ public class GroupTradingService {
             OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
             Float currentPrice = orderBook.getCurrentPrice();
             
-            // 평가금액 계산
-            float evaluatedPrice = currentPrice * holding.getTotalQuantity();
-            
-            // 평가손익 계산
-            float totalCost = holding.getAvgCost() * holding.getTotalQuantity();
-            float profit = evaluatedPrice - totalCost;
+            // 평가금액/평가손익 계산 (원/마이크로주 정수 연산)
+            long quantity = holding.getTotalQuantityMicros();
+            long avgCost = holding.getAvgCostWon();
+            long priceWon = FixedPoint.toWon(currentPrice);
+            long evaluatedAmount = FixedPoint.amount(quantity, priceWon);
+            long totalCost = FixedPoint.amount(quantity, avgCost);
+            float evaluatedPrice = evaluatedAmount;
+            float profit = evaluatedAmount - totalCost;
             
             // 수익률 계산
-            float profitRate = totalCost > 0 ? (profit / totalCost) * 100 : 0;
+            float profitRate = FixedPoint.percent(evaluatedAmount - totalCost, totalCost);
             
             // 처음 구매한 가격 대비 변동 정보 (평균 매입가 기준)
-            float changeAmount = (currentPrice - holding.getAvgCost()) * holding.getTotalQuantity();
-            float changeRate = holding.getAvgCost() > 0 ? 
-                    ((currentPrice - holding.getAvgCost()) / holding.getAvgCost()) * 100 : 0;
+            float changeAmount = profit;
+            float changeRate = FixedPoint.percent(priceWon - avgCost, avgCost);
             
             // 변동 방향 (평균 매입가 대비)
             String changeDirection;
@@ -655,42 +590,18 @@ public class GroupTradingService {
         // 그룹의 보유 수량이 0보다 큰 종목들만 조회
         List<GroupHoldingCache> groupHoldings = groupHoldingCacheRepository
                 .findByGroupIdAndTotalQuantityGreaterThan(groupId, 0);
+
+        // 보유 종목 현재가를 한 번에 조회 (실시간 데이터 → Redis → 한투 API 순)
+        Map<String, StockPriceResponse> quotes = priceSnapshotService.getQuotes(groupHoldings.stream()
+                .map(holding -> holding.getStock().getStockCode())
+                .collect(Collectors.toSet()));
         
-        BigDecimal totalInvestedBD = BigDecimal.ZERO;
-        BigDecimal totalValueBD = BigDecimal.ZERO;
-        
-        for (GroupHoldingCache holding : groupHoldings) {
-            BigDecimal avgCost = BigDecimal.valueOf(holding.getAvgCost());
-            BigDecimal quantity = BigDecimal.valueOf(holding.getTotalQuantity());
-            
-            totalInvestedBD = totalInvestedBD.add(avgCost.multiply(quantity));
-            
-            // evaluatedPrice가 null이거나 0이면 실시간으로 계산
-            Float evaluatedPrice = holding.getEvaluatedPrice();
-            if (evaluatedPrice == null || evaluatedPrice == 0) {
-                try {
-                    OrderBookResponse orderBook = orderBookService.getOrderBook(holding.getStock().getStockCode());
-                    evaluatedPrice = orderBook.getCurrentPrice() * holding.getTotalQuantity();
-                    log.info("💰 실시간 evaluatedPrice 계산: {}원 ({} × {})", 
-                            evaluatedPrice, orderBook.getCurrentPrice(), holding.getTotalQuantity());
-                } catch (Exception e) {
-                    log.warn("⚠️ 실시간 가격 조회 실패, 평균 매입가로 대체: {}", e.getMessage());
-                    evaluatedPrice = holding.getAvgCost() * holding.getTotalQuantity();
-                }
-            }
-            totalValueBD = totalValueBD.add(BigDecimal.valueOf(evaluatedPrice != null ? evaluatedPrice : 0));
-        }
-        
-        BigDecimal totalProfitBD = totalValueBD.subtract(totalInvestedBD);
-        BigDecimal totalProfitRateBD = totalInvestedBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            totalProfitBD.divide(totalInvestedBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림
-        float totalInvested = totalInvestedBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalValue = totalValueBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalProfit = totalProfitBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalProfitRate = totalProfitRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
+        // 실시간 평가 엔진의 합계 사용 (가격 틱마다 갱신된 값)
+        PortfolioValuationEngine.Valuation valuation = portfolioValuationEngine.getGroupValuation(groupId);
+        float totalInvested = valuation.roundedInvested();
+        float totalValue = valuation.roundedValue();
+        float totalProfit = valuation.roundedProfit();
+        float totalProfitRate = valuation.roundedProfitRate();
         
         // 모든 보유 종목 (평가금액 기준 내림차순 정렬)
         List<HoldingResponse> topHoldings = groupHoldings.stream()
@@ -698,7 +609,7 @@ public class GroupTradingService {
                     (h2.getEvaluatedPrice() != null ? h2.getEvaluatedPrice() : 0),
                     (h1.getEvaluatedPrice() != null ? h1.getEvaluatedPrice() : 0)
                 ))
-                .map(holding -> convertToHoldingResponse(holding))
+                .map(holding -> convertToHoldingResponse(holding, quotes.get(holding.getStock().getStockCode())))
                 .collect(Collectors.toList());
         
         // 그룹 멤버들의 총 예수금 계산
@@ -718,38 +629,29 @@ public class GroupTradingService {
     /**
      * GroupHoldingCache를 HoldingResponse로 변환 (PortfolioSummaryResponse용)
      */
-    private HoldingResponse convertToHoldingResponse(GroupHoldingCache holding) {
+    private HoldingResponse convertToHoldingResponse(GroupHoldingCache holding, StockPriceResponse quote) {
         Stock stock = holding.getStock();
         
-        // 현재가 조회 (OrderBookService 사용)
-        OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
-        Float currentPrice = orderBook.getCurrentPrice();
-        
-        // 평가금액 및 수익률 계산 (BigDecimal 사용으로 정밀도 개선)
-        BigDecimal currentPriceBD = BigDecimal.valueOf(currentPrice);
-        BigDecimal quantityBD = BigDecimal.valueOf(holding.getTotalQuantity());
-        BigDecimal avgCostBD = BigDecimal.valueOf(holding.getAvgCost());
-        
-        BigDecimal evaluatedPriceBD = currentPriceBD.multiply(quantityBD);
-        BigDecimal totalCostBD = avgCostBD.multiply(quantityBD);
-        BigDecimal profitBD = evaluatedPriceBD.subtract(totalCostBD);
-        BigDecimal profitRateBD = totalCostBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            profitBD.divide(totalCostBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 처음 구매한 가격 대비 변동 정보 (평균 매입가 기준)
-        BigDecimal changeAmountBD = currentPriceBD.subtract(avgCostBD).multiply(quantityBD);
-        BigDecimal changeRateBD = avgCostBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            currentPriceBD.subtract(avgCostBD).divide(avgCostBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림
-        float evaluatedPrice = evaluatedPriceBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalCost = totalCostBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float profit = profitBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float profitRate = profitRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
-        float changeAmount = changeAmountBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float changeRate = changeRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
+        // 현재가 (일괄 조회 결과, 조회 실패 시 평균 매입가로 대체)
+        Float currentPrice = quote != null && quote.getCurrentPrice() != null
+                ? quote.getCurrentPrice().floatValue()
+                : holding.getAvgCost();
+        
+        // 평가금액 및 수익률 계산 (원/마이크로주 정수 연산)
+        long quantity = holding.getTotalQuantityMicros();
+        long avgCost = holding.getAvgCostWon();
+        long priceWon = FixedPoint.toWon(currentPrice);
+        long evaluatedAmount = FixedPoint.amount(quantity, priceWon);
+        long totalCost = FixedPoint.amount(quantity, avgCost);
+        long profitAmount = evaluatedAmount - totalCost;
+        
+        // 금액은 원 단위, 수익률은 소수점 2자리
+        // 처음 구매한 가격 대비 변동 정보 (평균 매입가 기준) - 변동금액은 평가손익과 같음
+        float evaluatedPrice = evaluatedAmount;
+        float profit = profitAmount;
+        float profitRate = FixedPoint.percent(profitAmount, totalCost);
+        float changeAmount = profitAmount;
+        float changeRate = FixedPoint.percent(priceWon - avgCost, avgCost);
         
         // 변동 방향 (평균 매입가 대비)
         String changeDirection;
@@ -768,7 +670,7 @@ public class GroupTradingService {
                 stock.getStockName(),
                 stock.getStockImage(),
                 holding.getTotalQuantity(),
-                avgCostBD.setScale(0, RoundingMode.HALF_UP).floatValue(), // 매입금액도 정수로 반올림
+                (float) avgCost, // 평균 매입가 (원)
                 currentPrice,
                 changeAmount,
                 changeRate,
@@ -789,31 +691,21 @@ public class GroupTradingService {
         OrderBookResponse orderBook = orderBookService.getOrderBook(stock.getStockCode());
         Float currentPrice = orderBook.getCurrentPrice();
         
-        // 평가금액 및 수익률 계산 (BigDecimal 사용으로 정밀도 개선)
-        BigDecimal currentPriceBD = BigDecimal.valueOf(currentPrice);
-        BigDecimal quantityBD = BigDecimal.valueOf(holding.getTotalQuantity());
-        BigDecimal avgCostBD = BigDecimal.valueOf(holding.getAvgCost());
-        
-        BigDecimal evaluatedPriceBD = currentPriceBD.multiply(quantityBD);
-        BigDecimal totalCostBD = avgCostBD.multiply(quantityBD);
-        BigDecimal profitBD = evaluatedPriceBD.subtract(totalCostBD);
-        BigDecimal profitRateBD = totalCostBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            profitBD.divide(totalCostBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 처음 구매한 가격 대비 변동 정보 (평균 매입가 기준)
-        BigDecimal changeAmountBD = currentPriceBD.subtract(avgCostBD).multiply(quantityBD);
-        BigDecimal changeRateBD = avgCostBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            currentPriceBD.subtract(avgCostBD).divide(avgCostBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림
-        float evaluatedPrice = evaluatedPriceBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalCost = totalCostBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float profit = profitBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float profitRate = profitRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
-        float changeAmount = changeAmountBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float changeRate = changeRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
+        // 평가금액 및 수익률 계산 (원/마이크로주 정수 연산)
+        long quantity = holding.getTotalQuantityMicros();
+        long avgCost = holding.getAvgCostWon();
+        long priceWon = FixedPoint.toWon(currentPrice);
+        long evaluatedAmount = FixedPoint.amount(quantity, priceWon);
+        long totalCost = FixedPoint.amount(quantity, avgCost);
+        long profitAmount = evaluatedAmount - totalCost;
+        
+        // 금액은 원 단위, 수익률은 소수점 2자리
+        // 처음 구매한 가격 대비 변동 정보 (평균 매입가 기준) - 변동금액은 평가손익과 같음
+        float evaluatedPrice = evaluatedAmount;
+        float profit = profitAmount;
+        float profitRate = FixedPoint.percent(profitAmount, totalCost);
+        float changeAmount = profitAmount;
+        float changeRate = FixedPoint.percent(priceWon - avgCost, avgCost);
         
         // 변동 방향 (평균 매입가 대비)
         String changeDirection;
@@ -837,7 +729,7 @@ public class GroupTradingService {
                 stock.getStockName(),
                 stock.getStockImage(),
                 holding.getTotalQuantity(),
-                avgCostBD.setScale(0, RoundingMode.HALF_UP).floatValue(), // 매입금액도 정수로 반올림
+                (float) avgCost, // 평균 매입가 (원)
                 currentPrice,
                 changeAmount,
                 changeRate,
@@ -857,7 +749,7 @@ public class GroupTradingService {
     private int getGroupTotalBalance(UUID groupId) {
         try {
             // 1. 그룹 멤버들의 투자 계좌 정보 조회
-            List<InvestmentAccountDto> accounts = userServiceClient.getGroupMemberAccounts(groupId);
+            List<InvestmentAccountDto> accounts = groupMembershipCache.getMemberAccounts(groupId);
             
             if (accounts.isEmpty()) {
                 log.warn("그룹 멤버 계좌가 없음 - groupId: {}", groupId);
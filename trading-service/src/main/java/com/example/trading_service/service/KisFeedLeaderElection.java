@@ -0,0 +1,165 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.event.KisFeedLeadershipChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한투 실시간 피드 리더 선출 (Redis lease)
+ * - 한투 appkey는 WebSocket 연결 하나만 허용하므로 레플리카 중 lease를 가진 파드만 연결/구독
+ * - 리더는 주기적으로 lease를 갱신하고, 리더 파드가 죽으면 TTL 만료 후 다른 파드가 이어받음
+ * - 비활성화(기본값)면 항상 리더로 동작 (단일 파드 기존 동작)
+ * - lease 갱신은 공용 스케줄러(배치/정산 작업과 공유)가 아닌 전용 스레드에서 실행
+ *   → 긴 배치가 스케줄러 스레드를 모두 차지해도 갱신이 밀려 TTL이 만료되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KisFeedLeaderElection {
+
+    public static final String LEADER_KEY = "market-data:kis-feed:leader";
+
+    // 내 lease일 때만 갱신/삭제 (다른 파드가 이미 가져간 lease는 건드리지 않음)
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${market-data.leader-election.enabled:false}")
+    private boolean enabled;
+
+    @Value("${market-data.leader-election.lease-ttl-ms:6000}")
+    private long leaseTtlMs;
+
+    @Value("${market-data.leader-election.renew-interval-ms:2000}")
+    private long renewIntervalMs;
+
+    private final String instanceId = resolveInstanceId();
+
+    private volatile boolean leader;
+    private volatile long lastRenewedAt;
+    private ScheduledExecutorService renewer;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이 파드가 한투 피드를 담당하는지 여부 (선출 비활성화 시 항상 true)
+     */
+    public boolean isLeader() {
+        return !enabled || leader;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * 리더 전환 이벤트를 받을 빈이 모두 준비된 뒤 갱신 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kis-feed-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewer.scheduleWithFixedDelay(this::renewOrAcquire, 0, renewIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * lease 갱신 또는 획득 시도 (TTL보다 충분히 짧은 주기로 실행)
+     */
+    public void renewOrAcquire() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (leader) {
+                Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(LEADER_KEY),
+                        instanceId, String.valueOf(leaseTtlMs));
+                if (renewed != null && renewed > 0) {
+                    lastRenewedAt = System.currentTimeMillis();
+                } else {
+                    log.warn("⚠️ 한투 피드 리더 lease 상실 - instance: {}", instanceId);
+                    changeLeadership(false);
+                }
+                return;
+            }
+
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LEADER_KEY, instanceId, Duration.ofMillis(leaseTtlMs));
+            if (Boolean.TRUE.equals(acquired)) {
+                lastRenewedAt = System.currentTimeMillis();
+                log.info("👑 한투 피드 리더 lease 획득 - instance: {}", instanceId);
+                changeLeadership(true);
+            }
+        } catch (Exception e) {
+            log.error("❌ 한투 피드 리더 lease 갱신 실패: {}", e.getMessage());
+            // Redis에 닿지 못한 채 TTL이 지나면 다른 파드가 리더가 됐을 수 있으므로 스스로 내려옴
+            if (leader && System.currentTimeMillis() - lastRenewedAt > leaseTtlMs) {
+                log.warn("⚠️ lease 만료 시간 경과 - 한투 피드 리더 해제");
+                changeLeadership(false);
+            }
+        }
+    }
+
+    /**
+     * 종료 시 lease 즉시 반납 (다음 리더가 TTL 만료를 기다리지 않도록)
+     */
+    @PreDestroy
+    public void release() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+        if (!enabled || !leader) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), instanceId);
+            log.info("👋 한투 피드 리더 lease 반납 - instance: {}", instanceId);
+        } catch (Exception e) {
+            log.warn("⚠️ 한투 피드 리더 lease 반납 실패: {}", e.getMessage());
+        }
+        changeLeadership(false);
+    }
+
+    private void changeLeadership(boolean nowLeader) {
+        if (leader == nowLeader) {
+            return;
+        }
+        leader = nowLeader;
+        eventPublisher.publishEvent(new KisFeedLeadershipChangedEvent(this, nowLeader));
+    }
+
+    private static String resolveInstanceId() {
+        // k8s에서는 HOSTNAME이 파드 이름
+        String hostname = System.getenv("HOSTNAME");
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return (hostname != null && !hostname.isBlank() ? hostname : "trading-service") + ":" + suffix;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.util.SingleFlight;
+import com.example.trading_service.util.TokenBucketRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한투 시세 REST 클라이언트
+ * - 모든 스레드가 공유하는 토큰 버킷으로 초당 호출 수 제한 (대기는 스레드 sleep 대신 지연 실행)
+ * - 호출 제한 대기가 최대 대기 시간을 넘으면 바로 실패 (밀린 요청이 응답 없이 쌓이지 않도록)
+ * - 같은 종목/같은 API 요청이 동시에 들어오면 한 번만 호출하고 결과를 공유 (single-flight)
+ * - 토큰 만료 응답이면 토큰을 갱신하고 한 번 재시도
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KisQuotationClient {
+
+    private static final String TR_CURRENT_PRICE = "FHKST01010100";
+    private static final String TR_ORDER_BOOK = "FHKST01010200";
+    private static final String TR_DAILY_CHART = "FHKST03010100";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final RestTemplate restTemplate;
+    private final KisTokenService kisTokenService;
+
+    @Value("${kis.base-url}")
+    private String baseUrl;
+
+    @Value("${kis.appkey}")
+    private String appKey;
+
+    @Value("${kis.appsecret}")
+    private String appSecret;
+
+    @Value("${kis.rest.permits-per-second:10}")
+    private double permitsPerSecond;
+
+    @Value("${kis.rest.burst:5}")
+    private int burst;
+
+    @Value("${kis.rest.threads:4}")
+    private int threads;
+
+    @Value("${kis.rest.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    private final SingleFlight<String, Map<String, Object>> singleFlight = new SingleFlight<>();
+
+    private TokenBucketRateLimiter rateLimiter;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new TokenBucketRateLimiter(permitsPerSecond, burst);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "kis-rest-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("📡 한투 REST 클라이언트 시작 - 초당 {}회, 버스트 {}회, 스레드 {}개, 최대 대기 {}ms",
+                permitsPerSecond, burst, threads, maxWaitMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 현재가 조회 (주식/ETF 모두 시장 구분 J, 현재가와 상세 정보가 같은 API라 같은 요청으로 병합)
+     */
+    public CompletableFuture<Map<String, Object>> getCurrentPriceAsync(String stockCode) {
+        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-price"
+                + "?FID_COND_MRKT_DIV_CODE=J&FID_INPUT_ISCD=" + stockCode;
+        return request("price:" + stockCode, "시세 조회", url, TR_CURRENT_PRICE);
+    }
+
+    /**
+     * 호가 조회
+     */
+    public CompletableFuture<Map<String, Object>> getOrderBookAsync(String stockCode) {
+        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-asking-price-exp-ccn"
+                + "?FID_COND_MRKT_DIV_CODE=J&FID_INPUT_ISCD=" + stockCode;
+        return request("orderbook:" + stockCode, "호가 데이터 조회", url, TR_ORDER_BOOK);
+    }
+
+    /**
+     * 기간별 차트 조회 (D: 1년, W: 2년, M: 5년, Y: 10년)
+     */
+    public CompletableFuture<Map<String, Object>> getStockChartAsync(String stockCode, String period) {
+        String periodCode = period.toUpperCase();
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = switch (periodCode) {
+            case "W" -> today.minusYears(2);
+            case "M" -> today.minusYears(5);
+            case "Y" -> today.minusYears(10);
+            default -> today.minusYears(1);
+        };
+        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice"
+                + "?FID_COND_MRKT_DIV_CODE=J&FID_INPUT_ISCD=" + stockCode
+                + "&FID_INPUT_DATE_1=" + startDate.format(DATE_FORMAT) + "&FID_INPUT_DATE_2=" + today.format(DATE_FORMAT)
+                + "&FID_PERIOD_DIV_CODE=" + periodCode + "&FID_ORG_ADJ_PRC=0";
+
+        log.info("차트 데이터 요청 - 종목코드: {}, 기간: {}, 조회기간: {} ~ {}",
+                stockCode, periodCode, startDate.format(DATE_FORMAT), today.format(DATE_FORMAT));
+        return request("chart:" + stockCode + ":" + periodCode, "차트 데이터 조회", url, TR_DAILY_CHART);
+    }
+
+    /**
+     * 동기 호출용 - 비동기 결과를 기다리고 원래 예외를 그대로 던짐
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int getInFlightCount() {
+        return singleFlight.inFlightCount();
+    }
+
+    private CompletableFuture<Map<String, Object>> request(String key, String label, String url, String trId) {
+        return singleFlight.execute(key, () -> submit(label, url, trId, 1));
+    }
+
+    private CompletableFuture<Map<String, Object>> submit(String label, String url, String trId, int attempt) {
+        long waitNanos = rateLimiter.tryReserve(TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+        if (waitNanos < 0) {
+            log.warn("⚠️ API 호출 제한 대기 초과 ({}ms), 요청 거절 - {}", maxWaitMs, label);
+            return CompletableFuture.failedFuture(new RuntimeException(label + " 실패: 호출 제한 대기 시간 초과"));
+        }
+        Executor target = waitNanos > 0
+                ? CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, executor)
+                : executor;
+        if (waitNanos > 0) {
+            log.debug("API 호출 제한 적용: {}ms 후 실행 - {}", TimeUnit.NANOSECONDS.toMillis(waitNanos), label);
+        }
+        return CompletableFuture.supplyAsync(() -> exchange(label, url, trId), target)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof TokenExpiredException && attempt <= 1) {
+                        log.warn("🔄 토큰 만료 감지, 토큰 갱신 후 재시도: {}", label);
+                        kisTokenService.invalidateToken();
+                        return submit(label, url, trId, attempt + 1);
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> exchange(String label, String url, String trId) {
+        // 유효한 토큰을 자동으로 가져옵니다
+        String accessToken = kisTokenService.getValidAccessToken();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("authorization", "Bearer " + accessToken);
+        headers.add("appkey", appKey);
+        headers.add("appsecret", appSecret);
+        headers.add("tr_id", trId);
+        headers.add("custtype", "P");
+
+        try {
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                    url, HttpMethod.GET, new HttpEntity<Void>(headers), (Class<Map<String, Object>>) (Class<?>) Map.class
+            );
+
+            if (response.getStatusCode().is2xxSuccessful()) {
+                return response.getBody();
+            }
+            if (isTokenExpiredError(response.getBody())) {
+                throw new TokenExpiredException();
+            }
+            log.error("{} 실패: HTTP {} - {}", label, response.getStatusCode(), response.getBody());
+            throw new RuntimeException(label + " 실패: " + response.getStatusCode());
+        } catch (TokenExpiredException e) {
+            throw e;
+        } catch (Exception e) {
+            if (isTokenExpiredError(e.getMessage())) {
+                throw new TokenExpiredException();
+            }
+            log.error("{} 중 오류 발생: {}", label, e.getMessage());
+            throw new RuntimeException(label + " 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 토큰 만료 에러인지 확인
+     */
+    private boolean isTokenExpiredError(Object responseBody) {
+        if (responseBody == null) return false;
+
+        try {
+            if (responseBody instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> body = (Map<String, Object>) responseBody;
+                String rtCd = (String) body.get("rt_cd");
+                String msgCd = (String) body.get("msg_cd");
+                String msg1 = (String) body.get("msg1");
+
+                return "1".equals(rtCd) &&
+                       ("EGW00123".equals(msgCd) ||
+                        (msg1 != null && msg1.contains("기간이 만료된 token")));
+            }
+        } catch (Exception e) {
+            log.debug("토큰 만료 에러 체크 중 예외: {}", e.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * 토큰 만료 에러인지 확인 (에러 메시지 기반)
+     */
+    private boolean isTokenExpiredError(String errorMessage) {
+        if (errorMessage == null) return false;
+
+        return errorMessage.contains("EGW00123") ||
+               errorMessage.contains("기간이 만료된 token") ||
+               errorMessage.contains("token 입니다");
+    }
+
+    private static final class TokenExpiredException extends RuntimeException {
+        private TokenExpiredException() {
+            super("한투 접근 토큰 만료", null, false, false);
+        }
+    }
+}
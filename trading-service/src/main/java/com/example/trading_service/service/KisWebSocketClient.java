@@ -1,8 +1,11 @@
 package com.example.trading_service.service;
 
+import com.example.trading_service.event.KisFeedLeadershipChangedEvent;
 import com.example.trading_service.repository.StockRepository;
+import com.example.trading_service.util.KisRealtimeParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
@@ -20,7 +23,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class KisWebSocketClient {
 
     private final KisTokenService kisTokenService;
-    private final WebSocketOrderBookService webSocketOrderBookService;
+    private final MarketDataDispatcher marketDataDispatcher;
     private final StockRepository stockRepository;
 
     private WebSocket webSocket;
@@ -97,10 +100,10 @@ public class KisWebSocketClient {
 
                         @Override
                         public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
-                            log.info("📩 한투 WebSocket 메시지 수신: {}", data);
+                            log.debug("📩 한투 WebSocket 메시지 수신: {}", data);
                             hasReceivedResponse = true; // 응답 수신 플래그 설정
                             lastMessageTime = System.currentTimeMillis(); // 마지막 메시지 시간 업데이트
-                            handleMessage(data.toString());
+                            handleMessage(data);
                             // 수신 루프 계속 요청
                             webSocket.request(1);
                             return WebSocket.Listener.super.onText(webSocket, data, last);
@@ -221,16 +224,20 @@ public class KisWebSocketClient {
     /**
      * WebSocket 메시지 처리
      */
-    private void handleMessage(String message) {
+    private void handleMessage(CharSequence data) {
         try {
-            // AppKey 중복 사용 오류 체크
-            if (message.contains("OPSP8996") && message.contains("ALREADY IN USE appkey")) {
+            // 수신 버퍼는 onText 반환 후 재사용되므로 레인에 넘기기 전에 복사
+            String message = data.toString();
+
+            // AppKey 중복 사용 오류 체크 (JSON 제어 메시지에만 해당)
+            if (!KisRealtimeParser.isRealtimeFrame(message)
+                    && message.contains("OPSP8996") && message.contains("ALREADY IN USE appkey")) {
                 appKeyInUseError = true;
                 log.error("🚫 AppKey 중복 사용 오류 감지 - 구독 중단");
             }
 
-            // WebSocketOrderBookService에 메시지 전달
-            webSocketOrderBookService.handleOrderBookMessage(message);
+            // 종목별 처리 레인에 등록 (수신 스레드는 큐잉만 하고 바로 다음 메시지 요청)
+            marketDataDispatcher.dispatch(message);
         } catch (Exception e) {
             log.error("❌ WebSocket 메시지 처리 실패: {}", e.getMessage(), e);
         }
@@ -453,6 +460,20 @@ public class KisWebSocketClient {
         }
     }
 
+    /**
+     * 한투 피드 리더가 바뀌면 연결/해제 (리더만 appkey로 WebSocket 연결)
+     */
+    @EventListener
+    public void onLeadershipChanged(KisFeedLeadershipChangedEvent event) {
+        if (event.isLeader()) {
+            log.info("👑 한투 피드 리더 - WebSocket 연결 시작");
+            CompletableFuture.runAsync(this::connect);
+        } else {
+            log.info("🔌 한투 피드 리더 해제 - WebSocket 연결 종료");
+            disconnect();
+        }
+    }
+
     /**
      * WebSocket 상태 정보 조회
      */
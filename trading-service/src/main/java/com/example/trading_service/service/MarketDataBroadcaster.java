@@ -0,0 +1,134 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.dto.OrderBookDeltaResponse;
+import com.example.trading_service.dto.OrderBookResponse;
+import com.example.trading_service.dto.StockPriceResponse;
+import com.example.trading_service.util.QuoteBinaryEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 시세 STOMP 브로드캐스터 (conflation)
+ * - 틱마다 바로 보내지 않고 destination별 최신 스냅샷만 보관
+ * - 설정된 주기(기본 150ms ≒ 6~7Hz)마다 변경된 destination만 한 번 직렬화해서 전송
+ *   (SimpleBroker는 같은 byte[] 메시지를 모든 구독 세션에 그대로 전달)
+ * - 호가는 전체 스냅샷과 함께 변경분(/topic/orderbook-delta/{code})도 전송
+ * - 바이너리로 구독한 클라이언트가 있으면 /topic/bin/... 으로 고정 레이아웃 프레임도 전송
+ * - Redis fan-out 중이면 한투 피드 리더만 발행 (팔로워는 리더 발행분을 받아 전달)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketDataBroadcaster {
+
+    public static final String ORDER_BOOK_TOPIC = "/topic/orderbook/";
+    public static final String STOCK_PRICE_TOPIC = "/topic/stockprice/";
+    public static final String ORDER_BOOK_DELTA_TOPIC = "/topic/orderbook-delta/";
+
+    private final MarketDataFanout marketDataFanout;
+    private final ObjectMapper objectMapper;
+    private final OrderBookDeltaEncoder orderBookDeltaEncoder;
+    private final OrderBookDeltaSnapshotStore orderBookDeltaSnapshotStore;
+    private final BinaryQuoteSubscriptionRegistry binaryQuoteSubscriptionRegistry;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
+
+    // destination -> 아직 전송하지 않은 최신 스냅샷
+    private final ConcurrentHashMap<String, Object> latestSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 호가 스냅샷 등록 (다음 flush 때 최신 값만 전송)
+     */
+    public void publishOrderBook(OrderBookResponse orderBook) {
+        if (!isPublisher()) {
+            return;
+        }
+        latestSnapshots.put(ORDER_BOOK_TOPIC + orderBook.getStockCode(), orderBook);
+    }
+
+    /**
+     * 현재가 스냅샷 등록 (다음 flush 때 최신 값만 전송)
+     */
+    public void publishStockPrice(StockPriceResponse priceResponse) {
+        if (!isPublisher()) {
+            return;
+        }
+        latestSnapshots.put(STOCK_PRICE_TOPIC + priceResponse.getStockCode(), priceResponse);
+    }
+
+    /**
+     * 이 파드가 시세를 발행하는지 여부 (로컬 fan-out이면 각 파드가 자기 세션에 직접 전송)
+     */
+    private boolean isPublisher() {
+        return !marketDataFanout.isDistributed() || kisFeedLeaderElection.isLeader();
+    }
+
+    @Scheduled(fixedRateString = "${market-data.broadcast-interval-ms:150}")
+    public void flush() {
+        if (latestSnapshots.isEmpty()) {
+            return;
+        }
+        for (String destination : latestSnapshots.keySet()) {
+            Object snapshot = latestSnapshots.remove(destination);
+            if (snapshot == null) {
+                continue;
+            }
+            try {
+                send(destination, objectMapper.writeValueAsBytes(snapshot), MimeTypeUtils.APPLICATION_JSON);
+                publishBinary(destination, snapshot);
+                if (snapshot instanceof OrderBookResponse orderBook) {
+                    publishOrderBookDelta(orderBook);
+                }
+            } catch (Exception e) {
+                log.error("❌ 시세 브로드캐스트 실패 - destination: {} - {}", destination, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 직전 전송분 대비 바뀐 호가 단계만 변경분 토픽으로 전송 (flush 주기마다 종목별 1회)
+     */
+    private void publishOrderBookDelta(OrderBookResponse orderBook) throws Exception {
+        OrderBookDeltaResponse delta = orderBookDeltaEncoder.diff(orderBook);
+        if (delta != null) {
+            // 팔로워가 같은 일련번호로 스냅샷을 응답할 수 있도록 변경분보다 먼저 공유
+            orderBookDeltaSnapshotStore.share(orderBook.getStockCode());
+            send(ORDER_BOOK_DELTA_TOPIC + orderBook.getStockCode(), objectMapper.writeValueAsBytes(delta),
+                    MimeTypeUtils.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * 바이너리 구독자가 있는 경우에만 고정 레이아웃으로 한 번 인코딩해서 전송
+     */
+    private void publishBinary(String destination, Object snapshot) {
+        String binaryDestination = BinaryQuoteSubscriptionRegistry.toBinaryDestination(destination);
+        // 분산 fan-out이면 다른 파드의 구독 현황을 알 수 없으므로 항상 인코딩
+        if (!marketDataFanout.isDistributed() && !binaryQuoteSubscriptionRegistry.hasSubscribers(binaryDestination)) {
+            return;
+        }
+        byte[] frame;
+        if (snapshot instanceof OrderBookResponse orderBook) {
+            frame = QuoteBinaryEncoder.encodeOrderBook(orderBook);
+        } else if (snapshot instanceof StockPriceResponse priceResponse) {
+            frame = QuoteBinaryEncoder.encodeStockPrice(priceResponse);
+        } else {
+            return;
+        }
+        // application/octet-stream이면 STOMP MESSAGE가 WebSocket 바이너리 프레임으로 전송됨
+        send(binaryDestination, frame, MimeTypeUtils.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * 직렬화된 payload를 그대로 전송 (메시지 컨버터 재직렬화 없음, fan-out 모드에 따라 전체 파드로 발행)
+     */
+    private void send(String destination, byte[] payload, MimeType contentType) {
+        marketDataFanout.publish(destination, payload, contentType);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.util.KisRealtimeParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한투 실시간 데이터 종목별 처리 레인
+ * - 종목코드 해시로 고정된 단일 스레드 레인에 배정 (같은 종목은 항상 같은 레인 → 순서 보장)
+ * - WebSocket 수신 스레드는 큐에 넣기만 하고, 캐시/브로드캐스트/체결 확인은 레인 스레드에서 처리
+ * - 호가(H0STASP0)는 매번 전체 호가라 종목별 최신 프레임만 보관하고 큐에는 종목당 표시 하나만 둠
+ *   (밀리면 중간 호가를 건너뛰고 최신 호가로 합쳐서 처리, 큐 초과로 버리지 않음)
+ * - 레인 큐가 가득 차면 가장 오래된 현재가/기타 프레임을 버림 (최신 시세 우선)
+ * - 리더 선출 사용 시 리더는 수신 프레임을 Redis 틱 채널로 재발행하고, 팔로워는 이를 받아 같은 레인에서 처리
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketDataDispatcher implements MessageListener {
+
+    public static final String TICK_CHANNEL = "market-data:ticks";
+
+    private final WebSocketOrderBookService webSocketOrderBookService;
+    private final MeterRegistry meterRegistry;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
+
+    @Value("${market-data.lanes:4}")
+    private int laneCount;
+
+    @Value("${market-data.lane-capacity:1024}")
+    private int laneCapacity;
+
+    private Lane[] lanes;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].thread.start();
+        }
+        log.info("🚦 실시간 데이터 처리 레인 시작: {}개 (레인당 큐 {}건)", lanes.length, laneCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+    }
+
+    /**
+     * 한투 WebSocket 수신 프레임을 종목 레인에 등록 (종목코드가 없는 제어 메시지는 0번 레인)
+     */
+    public void dispatch(String frame) {
+        boolean relay = kisFeedLeaderElection.isEnabled() && KisRealtimeParser.isRealtimeFrame(frame);
+        enqueue(frame, relay);
+    }
+
+    /**
+     * 리더가 재발행한 틱 수신 (팔로워만 처리, 리더는 자기 발행분 무시)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (kisFeedLeaderElection.isLeader()) {
+            return;
+        }
+        enqueue(new String(message.getBody(), StandardCharsets.UTF_8), false);
+    }
+
+    private void enqueue(String frame, boolean relay) {
+        // 종목코드가 없는 제어 메시지는 0번 레인
+        String stockCode = KisRealtimeParser.stockCode(frame);
+        Lane lane = lanes[stockCode == null ? 0 : Math.floorMod(stockCode.hashCode(), lanes.length)];
+        Task task = new Task(frame, System.nanoTime(), relay, null);
+        if (stockCode != null && KisRealtimeParser.trType(frame) == KisRealtimeParser.TR_ORDER_BOOK) {
+            lane.enqueueOrderBook(stockCode, task);
+        } else {
+            lane.enqueue(task);
+        }
+    }
+
+    /**
+     * 팔로워 파드로 틱 재발행 (레인 스레드에서 호출 → 수신 스레드는 Redis 왕복을 기다리지 않음)
+     */
+    private void relay(String frame) {
+        try {
+            stringRedisTemplate.convertAndSend(TICK_CHANNEL, frame);
+        } catch (Exception e) {
+            log.warn("⚠️ 실시간 틱 재발행 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * orderBookStockCode가 있으면 호가 표시 (처리 시점에 그 종목의 최신 호가 프레임을 꺼내 처리)
+     */
+    private record Task(String frame, long enqueuedAt, boolean relay, String orderBookStockCode) {
+        static Task orderBookMarker(String stockCode) {
+            return new Task(null, 0L, false, stockCode);
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final int index;
+        private final BlockingQueue<Task> queue;
+        private final Thread thread;
+        private final Timer latency;
+        private final Counter dropped;
+        private final Counter conflated;
+        // 종목코드 -> 아직 처리하지 않은 최신 호가 프레임 (큐에는 종목당 표시 하나)
+        private final ConcurrentHashMap<String, Task> pendingOrderBooks = new ConcurrentHashMap<>();
+
+        private Lane(int index) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(laneCapacity);
+            this.thread = new Thread(this, "market-data-lane-" + index);
+            this.thread.setDaemon(true);
+
+            String lane = String.valueOf(index);
+            Gauge.builder("kis.marketdata.lane.queue.depth", queue, BlockingQueue::size)
+                    .description("레인 대기 프레임 수")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            this.latency = Timer.builder("kis.marketdata.lane.latency")
+                    .description("수신부터 처리 완료까지 걸린 시간")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("kis.marketdata.lane.dropped")
+                    .description("큐 초과로 버린 프레임 수")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            this.conflated = Counter.builder("kis.marketdata.lane.conflated")
+                    .description("처리 전에 더 새로운 호가로 대체된 호가 프레임 수")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 호가 프레임 등록 - 이미 대기 중인 표시가 있으면 프레임만 최신으로 교체
+         */
+        private void enqueueOrderBook(String stockCode, Task task) {
+            if (pendingOrderBooks.put(stockCode, task) != null) {
+                conflated.increment();
+                return;
+            }
+            enqueue(Task.orderBookMarker(stockCode));
+        }
+
+        private void enqueue(Task task) {
+            // 넣는 스레드가 하나(한투 수신 스레드 또는 Redis 리스너)이므로 poll 후 offer는 실패하지 않음
+            int requeued = 0;
+            while (!queue.offer(task)) {
+                Task oldest = queue.poll();
+                if (oldest == null) {
+                    continue;
+                }
+                if (oldest.orderBookStockCode() != null && requeued++ < laneCapacity) {
+                    // 호가 표시는 종목당 하나라 큐를 채우지 못함 → 버리지 않고 뒤로 보냄
+                    queue.offer(oldest);
+                    continue;
+                }
+                if (oldest.orderBookStockCode() != null) {
+                    pendingOrderBooks.remove(oldest.orderBookStockCode());
+                }
+                dropped.increment();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Task task;
+                try {
+                    task = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (task == null) {
+                    continue;
+                }
+                if (task.orderBookStockCode() != null) {
+                    task = pendingOrderBooks.remove(task.orderBookStockCode());
+                    if (task == null) {
+                        continue;
+                    }
+                }
+                try {
+                    if (task.relay()) {
+                        relay(task.frame());
+                    }
+                    webSocketOrderBookService.handleOrderBookMessage(task.frame());
+                } catch (Exception e) {
+                    log.error("❌ 레인 {} 실시간 데이터 처리 실패: {}", index, e.getMessage(), e);
+                } finally {
+                    latency.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                }
+            }
+            log.info("레인 {} 종료", index);
+        }
+    }
+}
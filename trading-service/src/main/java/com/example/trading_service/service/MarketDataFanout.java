@@ -0,0 +1,108 @@
+package com.example.trading_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 실시간 시세 fan-out
+ * - local: 이 파드에 연결된 세션에만 전송 (기본값, 기존 SimpleBroker 동작)
+ * - redis: Redis pub/sub 채널로 한 번 발행하고, 모든 파드가 구독해서 각자 로컬 세션에 전송
+ *   (KIS 소켓을 가진 파드 하나만 발행해도 모든 레플리카의 구독자가 시세를 받음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketDataFanout implements MessageListener {
+
+    public static final String FANOUT_CHANNEL = "market-data:fanout";
+
+    private static final byte CONTENT_JSON = 0;
+    private static final byte CONTENT_BINARY = 1;
+    private static final byte[] FANOUT_CHANNEL_BYTES = FANOUT_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${market-data.fanout:local}")
+    private String fanoutMode;
+
+    public boolean isDistributed() {
+        return "redis".equalsIgnoreCase(fanoutMode);
+    }
+
+    /**
+     * 직렬화된 시세 전송 (redis 모드면 모든 파드로 발행)
+     */
+    public void publish(String destination, byte[] payload, MimeType contentType) {
+        if (!isDistributed()) {
+            deliverLocally(destination, payload, contentType);
+            return;
+        }
+        try {
+            byte[] envelope = encodeEnvelope(destination, payload, contentType);
+            stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(FANOUT_CHANNEL_BYTES, envelope));
+        } catch (Exception e) {
+            // Redis 장애 시 최소한 이 파드의 구독자에게는 전송
+            log.warn("⚠️ 시세 fan-out 발행 실패, 로컬 전송으로 대체 - destination: {} - {}", destination, e.getMessage());
+            deliverLocally(destination, payload, contentType);
+        }
+    }
+
+    /**
+     * Redis 채널에서 받은 시세를 이 파드의 세션에 전송
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(message.getBody());
+            byte contentCode = buffer.get();
+            byte[] destinationBytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(destinationBytes);
+            byte[] payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+
+            MimeType contentType = contentCode == CONTENT_BINARY
+                    ? MimeTypeUtils.APPLICATION_OCTET_STREAM
+                    : MimeTypeUtils.APPLICATION_JSON;
+            deliverLocally(new String(destinationBytes, StandardCharsets.UTF_8), payload, contentType);
+        } catch (Exception e) {
+            log.error("❌ 시세 fan-out 수신 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void deliverLocally(String destination, byte[] payload, MimeType contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 형식: u8 콘텐츠타입 | u16 destination 길이 | destination(UTF-8) | payload
+     */
+    private byte[] encodeEnvelope(String destination, byte[] payload, MimeType contentType) {
+        byte[] destinationBytes = destination.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + destinationBytes.length + payload.length);
+        buffer.put(MimeTypeUtils.APPLICATION_OCTET_STREAM.equals(contentType) ? CONTENT_BINARY : CONTENT_JSON);
+        buffer.putShort((short) destinationBytes.length);
+        buffer.put(destinationBytes);
+        buffer.put(payload);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.dto.OrderBookDeltaResponse;
+import com.example.trading_service.dto.OrderBookItem;
+import com.example.trading_service.dto.OrderBookLevel;
+import com.example.trading_service.dto.OrderBookResponse;
+import com.example.trading_service.util.KisRealtimeParser;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호가 변경분 인코더
+ * - 종목별로 마지막으로 전송한 호가 단계를 기억하고, 달라진 단계만 일련번호와 함께 생성
+ * - 클라이언트가 일련번호 누락을 감지하면 snapshot()으로 전체 호가를 다시 받음
+ */
+@Service
+public class OrderBookDeltaEncoder {
+
+    private static final int LEVELS = KisRealtimeParser.LEVELS;
+
+    private final ConcurrentHashMap<String, BookState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 직전 전송분과 비교한 변경분 생성
+     * @return 바뀐 내용이 없으면 null
+     */
+    public OrderBookDeltaResponse diff(OrderBookResponse orderBook) {
+        BookState state = states.computeIfAbsent(orderBook.getStockCode(), code -> new BookState());
+        synchronized (state) {
+            List<OrderBookLevel> asks = diffSide(state.askPrices, state.askQuantities, orderBook.getAskPrices());
+            List<OrderBookLevel> bids = diffSide(state.bidPrices, state.bidQuantities, orderBook.getBidPrices());
+            boolean priceChanged = !Objects.equals(state.currentPrice, orderBook.getCurrentPrice())
+                    || !Objects.equals(state.changeAmount, orderBook.getChangeAmount())
+                    || !Objects.equals(state.changeRate, orderBook.getChangeRate());
+
+            if (asks.isEmpty() && bids.isEmpty() && !priceChanged) {
+                return null;
+            }
+
+            state.seq++;
+            state.currentPrice = orderBook.getCurrentPrice();
+            state.changeAmount = orderBook.getChangeAmount();
+            state.changeRate = orderBook.getChangeRate();
+
+            return new OrderBookDeltaResponse(
+                    orderBook.getStockCode(),
+                    state.seq,
+                    false,
+                    priceChanged ? state.currentPrice : null,
+                    priceChanged ? state.changeAmount : null,
+                    priceChanged ? state.changeRate : null,
+                    asks,
+                    bids
+            );
+        }
+    }
+
+    /**
+     * 마지막으로 전송한 상태의 전체 호가 (일련번호 포함)
+     * @return 아직 전송한 적 없는 종목이면 null
+     */
+    public OrderBookDeltaResponse snapshot(String stockCode) {
+        BookState state = states.get(stockCode);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return new OrderBookDeltaResponse(
+                    stockCode,
+                    state.seq,
+                    true,
+                    state.currentPrice,
+                    state.changeAmount,
+                    state.changeRate,
+                    toLevels(state.askPrices, state.askQuantities),
+                    toLevels(state.bidPrices, state.bidQuantities)
+            );
+        }
+    }
+
+    /**
+     * 아직 변경분 스트림이 없는 종목용 전체 호가 (seq 0, 다음 변경분부터 이어 받음)
+     */
+    public OrderBookDeltaResponse snapshotOf(OrderBookResponse orderBook) {
+        float[] askPrices = new float[LEVELS];
+        long[] askQuantities = new long[LEVELS];
+        float[] bidPrices = new float[LEVELS];
+        long[] bidQuantities = new long[LEVELS];
+        diffSide(askPrices, askQuantities, orderBook.getAskPrices());
+        diffSide(bidPrices, bidQuantities, orderBook.getBidPrices());
+        return new OrderBookDeltaResponse(
+                orderBook.getStockCode(),
+                0L,
+                true,
+                orderBook.getCurrentPrice(),
+                orderBook.getChangeAmount(),
+                orderBook.getChangeRate(),
+                toLevels(askPrices, askQuantities),
+                toLevels(bidPrices, bidQuantities)
+        );
+    }
+
+    /**
+     * 단계별로 비교해서 달라진 단계만 반환하고 상태 배열을 갱신 (빠진 단계는 0원/0주로 삭제 표시)
+     */
+    private List<OrderBookLevel> diffSide(float[] prices, long[] quantities, List<OrderBookItem> items) {
+        List<OrderBookLevel> changes = new ArrayList<>();
+        for (int level = 0; level < LEVELS; level++) {
+            float price = 0f;
+            long quantity = 0L;
+            if (items != null && level < items.size()) {
+                OrderBookItem item = items.get(level);
+                price = item.getPrice() != null ? item.getPrice() : 0f;
+                quantity = item.getQuantity() != null ? item.getQuantity() : 0L;
+            }
+            if (prices[level] != price || quantities[level] != quantity) {
+                prices[level] = price;
+                quantities[level] = quantity;
+                changes.add(new OrderBookLevel(level, price, quantity));
+            }
+        }
+        return changes;
+    }
+
+    private List<OrderBookLevel> toLevels(float[] prices, long[] quantities) {
+        List<OrderBookLevel> levels = new ArrayList<>(LEVELS);
+        for (int level = 0; level < LEVELS; level++) {
+            if (quantities[level] > 0) {
+                levels.add(new OrderBookLevel(level, prices[level], quantities[level]));
+            }
+        }
+        return levels;
+    }
+
+    private static final class BookState {
+        private long seq;
+        private Float currentPrice;
+        private Float changeAmount;
+        private Float changeRate;
+        private final float[] askPrices = new float[LEVELS];
+        private final long[] askQuantities = new long[LEVELS];
+        private final float[] bidPrices = new float[LEVELS];
+        private final long[] bidQuantities = new long[LEVELS];
+    }
+}
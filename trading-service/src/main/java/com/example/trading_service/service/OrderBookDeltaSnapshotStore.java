@@ -0,0 +1,68 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.dto.OrderBookDeltaResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 호가 변경분 스냅샷 조회 (일련번호 포함)
+ * - local fan-out: 각 파드가 자기 인코더로 변경분을 만들므로 로컬 인코더 상태가 기준
+ * - redis fan-out: 변경분은 리더 인코더만 만들므로, 리더가 변경분 발행 직전에 전체 호가를 Redis에 기록하고
+ *   팔로워는 그 값을 그대로 응답 (팔로워 인코더는 비어 있어 seq 0 스냅샷을 주면 클라이언트가 끝없이 재요청)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBookDeltaSnapshotStore {
+
+    private static final String KEY_PREFIX = "orderbook-delta:snapshot:";
+    // 리더가 바뀌면 새 리더의 첫 변경분에서 덮어씀, 피드가 멈춘 종목은 만료
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final OrderBookDeltaEncoder orderBookDeltaEncoder;
+    private final MarketDataFanout marketDataFanout;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 변경분을 만든 뒤 현재 전체 호가를 공유 (redis fan-out 리더만 기록)
+     */
+    public void share(String stockCode) {
+        if (!marketDataFanout.isDistributed()) {
+            return;
+        }
+        OrderBookDeltaResponse snapshot = orderBookDeltaEncoder.snapshot(stockCode);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + stockCode, objectMapper.writeValueAsString(snapshot), TTL);
+        } catch (Exception e) {
+            // 다음 변경분 때 다시 기록되므로 로그만 남김
+            log.warn("⚠️ 호가 변경분 스냅샷 공유 실패 - 종목: {} - {}", stockCode, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 파드에 연결된 클라이언트에게 줄 스냅샷
+     * @return 아직 변경분이 발행된 적 없는 종목이면 null
+     */
+    public OrderBookDeltaResponse get(String stockCode) {
+        if (!marketDataFanout.isDistributed() || kisFeedLeaderElection.isLeader()) {
+            return orderBookDeltaEncoder.snapshot(stockCode);
+        }
+        try {
+            String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + stockCode);
+            return json != null ? objectMapper.readValue(json, OrderBookDeltaResponse.class) : null;
+        } catch (Exception e) {
+            log.warn("⚠️ 공유된 호가 변경분 스냅샷 조회 실패 - 종목: {} - {}", stockCode, e.getMessage());
+            return null;
+        }
+    }
+}
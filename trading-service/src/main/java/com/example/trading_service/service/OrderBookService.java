@@ -23,22 +23,21 @@ public class OrderBookService {
 
     private final StockRepository stockRepository;
     private final StockPriceService stockPriceService;
-    private final RedisCacheService redisCacheService;
+    private final OrderBookSnapshotStore orderBookSnapshotStore;
 
     // 주식 호가 정보 조회 (WebSocket 우선, REST API 폴백)
     public OrderBookResponse getOrderBook(String stockCode) {
         Stock stock = stockRepository.findByStockCode(stockCode)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주식입니다: " + stockCode));
 
-        // 1. Redis WebSocket 캐시에서 먼저 조회
-        Object cachedOrderBook = redisCacheService.getCachedWebSocketOrderBook(stockCode);
-        log.debug("🔍 Redis 캐시 조회 결과 - 종목코드: {}, 캐시 존재: {}", 
-                stockCode, cachedOrderBook != null);
+        // 1. JVM 호가 스냅샷에서 먼저 조회 (없으면 Redis write-behind 데이터)
+        OrderBookResponse orderBook = orderBookSnapshotStore.get(stockCode);
+        log.debug("🔍 호가 스냅샷 조회 결과 - 종목코드: {}, 스냅샷 존재: {}", 
+                stockCode, orderBook != null);
         
-        if (cachedOrderBook instanceof OrderBookResponse) {
-            OrderBookResponse orderBook = (OrderBookResponse) cachedOrderBook;
+        if (orderBook != null) {
             if (!orderBook.getAskPrices().isEmpty()) {
-                log.debug("🚀 Redis WebSocket 캐시에서 호가 데이터 반환: {} (매도: {}, 매수: {})", 
+                log.debug("🚀 WebSocket 호가 스냅샷 반환: {} (매도: {}, 매수: {})", 
                         stockCode, orderBook.getAskPrices().size(), orderBook.getBidPrices().size());
                 
                 // 실제 현재가를 Redis 캐시에서 가져와서 새 객체 생성 (호가 중간값 대신 실제 거래가 사용)
@@ -0,0 +1,152 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.dto.OrderBookResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 종목별 실시간 호가 스냅샷 저장소 (JVM 내부)
+ * - 틱마다 Redis 왕복 대신 AtomicReference로 불변 스냅샷을 교체, 조회는 락 없이 바로 읽음
+ * - Redis에는 주기적으로 변경분만 write-behind (콜드 스타트/다른 인스턴스용)
+ * - Redis에도 없던 종목은 잠시 기억해서 조회마다 Redis를 다시 두드리지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBookSnapshotStore {
+
+    // Redis 캐시 TTL(2분)과 동일하게, 오래된 스냅샷은 없는 것으로 취급 (REST 폴백 유도)
+    private static final long STALE_AFTER_MILLIS = 2 * 60 * 1000L;
+    // Redis 미스 재확인 간격 (실시간 틱이 들어오면 바로 해제)
+    private static final long REDIS_MISS_TTL_MILLIS = 1000L;
+
+    private final RedisCacheService redisCacheService;
+
+    private final ConcurrentHashMap<String, AtomicReference<Snapshot>> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> dirtyStockCodes = ConcurrentHashMap.newKeySet();
+    // 종목코드 -> Redis 재확인 가능 시각
+    private final ConcurrentHashMap<String, Long> redisMissUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 최신 호가 스냅샷으로 교체 (호가 리스트는 복사본으로 보관, 조회 측에서 수정 금지)
+     * - List.copyOf 등 불변 컬렉션은 Redis JSON 직렬화 시 타입 정보 문제로 ArrayList 사용
+     */
+    public void put(String stockCode, OrderBookResponse orderBook) {
+        OrderBookResponse copy = new OrderBookResponse(
+                orderBook.getStockCode(),
+                orderBook.getStockName(),
+                orderBook.getCurrentPrice(),
+                orderBook.getChangeAmount(),
+                orderBook.getChangeRate(),
+                orderBook.getChangeDirection(),
+                new ArrayList<>(orderBook.getAskPrices()),
+                new ArrayList<>(orderBook.getBidPrices())
+        );
+        snapshots.computeIfAbsent(stockCode, code -> new AtomicReference<>())
+                .set(new Snapshot(copy, System.currentTimeMillis()));
+        dirtyStockCodes.add(stockCode);
+        redisMissUntil.remove(stockCode);
+    }
+
+    /**
+     * 호가 스냅샷 조회 (JVM 우선, 없으면 Redis에서 적재)
+     * @return 스냅샷이 없거나 오래되었으면 null
+     */
+    public OrderBookResponse get(String stockCode) {
+        AtomicReference<Snapshot> ref = snapshots.get(stockCode);
+        Snapshot snapshot = ref != null ? ref.get() : null;
+        if (snapshot != null && !snapshot.isStale()) {
+            return snapshot.orderBook();
+        }
+        // 로컬에 없거나 오래된 경우 다른 인스턴스가 기록한 Redis 데이터 확인
+        return loadFromRedis(stockCode, snapshot);
+    }
+
+    /**
+     * JVM 내부 스냅샷만 조회 (Redis 적재 없음)
+     */
+    public OrderBookResponse getLocal(String stockCode) {
+        AtomicReference<Snapshot> ref = snapshots.get(stockCode);
+        Snapshot snapshot = ref != null ? ref.get() : null;
+        return snapshot == null || snapshot.isStale() ? null : snapshot.orderBook();
+    }
+
+    /**
+     * 변경된 종목의 스냅샷만 Redis에 write-behind
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void flushToRedis() {
+        if (dirtyStockCodes.isEmpty()) {
+            return;
+        }
+        int flushed = 0;
+        for (String stockCode : dirtyStockCodes) {
+            // 제거 후 기록: 기록 중 들어온 틱은 다시 dirty로 표시되어 다음 주기에 반영
+            dirtyStockCodes.remove(stockCode);
+            OrderBookResponse orderBook = getLocal(stockCode);
+            if (orderBook != null) {
+                redisCacheService.cacheWebSocketOrderBook(stockCode, orderBook);
+                flushed++;
+            }
+        }
+        log.debug("💾 호가 스냅샷 Redis write-behind 완료: {}건", flushed);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flushToRedis();
+        } catch (Exception e) {
+            log.debug("종료 중 호가 스냅샷 flush 실패: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Redis 스냅샷 적재 - 기록 시각을 그대로 유지 (적재 시각으로 바꾸면 오래된 호가가 2분 더 살아남음)
+     */
+    private OrderBookResponse loadFromRedis(String stockCode, Snapshot expected) {
+        Long missUntil = redisMissUntil.get(stockCode);
+        if (missUntil != null && missUntil > System.currentTimeMillis()) {
+            return null;
+        }
+        Object cached = redisCacheService.getCachedWebSocketOrderBook(stockCode);
+        Long writtenAt = cached instanceof OrderBookResponse
+                ? redisCacheService.getWebSocketOrderBookWrittenAt(stockCode)
+                : null;
+        if (!(cached instanceof OrderBookResponse orderBook) || writtenAt == null) {
+            markRedisMiss(stockCode);
+            return null;
+        }
+        // 그사이 실시간 틱이 먼저 들어왔으면 그 값을 유지
+        AtomicReference<Snapshot> ref = snapshots.computeIfAbsent(stockCode, code -> new AtomicReference<>());
+        ref.compareAndSet(expected, new Snapshot(orderBook, writtenAt));
+        Snapshot current = ref.get();
+        if (current.isStale()) {
+            markRedisMiss(stockCode);
+            return null;
+        }
+        return current.orderBook();
+    }
+
+    private void markRedisMiss(String stockCode) {
+        redisMissUntil.put(stockCode, System.currentTimeMillis() + REDIS_MISS_TTL_MILLIS);
+    }
+
+    private record Snapshot(OrderBookResponse orderBook, long updatedAt) {
+        boolean isStale() {
+            return System.currentTimeMillis() - updatedAt > STALE_AFTER_MILLIS;
+        }
+    }
+}
@@ -5,14 +5,16 @@ import com.example.trading_service.domain.*;
 import com.example.trading_service.dto.*;
 import com.example.trading_service.exception.*;
 import com.example.trading_service.repository.*;
+import com.example.trading_service.util.FixedPoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,6 +30,7 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final StockRepository stockRepository;
     private final TradeExecutionService tradeExecutionService;
+    private final PendingOrderIndex pendingOrderIndex;
     private final VoteServiceClient voteServiceClient;
     // private final HistoryRepository historyRepository; // 히스토리 기능 주석
 
@@ -38,6 +41,11 @@ public class OrderService {
 
     // 주식 매수 주문 (그룹 거래 포함)
     public Order buyStock(UUID userId, BuyRequest request, UUID groupId) {
+        return buyStock(userId, request, groupId, FixedPoint.toMicros(request.getQuantity()));
+    }
+
+    // 주식 매수 주문 (수량을 마이크로주로 직접 지정 - 그룹 분할 매수용)
+    public Order buyStock(UUID userId, BuyRequest request, UUID groupId, long quantityMicros) {
         // 투자 계좌 조회
         InvestmentAccount account = getInvestmentAccountByUserId(userId);
         
@@ -52,15 +60,16 @@ public class OrderService {
         BalanceCache balance = balanceCacheRepository.findByAccountId(account.getInvestmentAccountId())
                 .orElseThrow(() -> new BusinessException("잔고 정보를 찾을 수 없습니다", "BALANCE_NOT_FOUND"));
 
-        BigDecimal totalAmount = request.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
+        long priceWon = FixedPoint.toWon(request.getPrice().doubleValue());
+        long totalAmount = FixedPoint.amount(quantityMicros, priceWon);
         
-        if (balance.getBalance() < totalAmount.floatValue()) {
+        if (balance.getBalance() < totalAmount) {
             // 그룹 거래가 아닌 경우에만 개별 히스토리 저장
             if (groupId == null) {
                 saveTradeFailedHistory(account.getUserId(), stock, request, "BUY", "잔고가 부족합니다.", groupId);
             }
             
-            throw new InsufficientBalanceException(totalAmount.floatValue(), balance.getBalance());
+            throw new InsufficientBalanceException(totalAmount, balance.getBalance());
         }
 
         // 주문 생성
@@ -68,16 +77,18 @@ public class OrderService {
         order.setInvestmentAccount(account);
         order.setStock(stock);
         order.setOrderType(Order.OrderType.BUY);
-        order.setQuantity(request.getQuantity());
-        order.setPrice(request.getPrice().floatValue());
+        order.setQuantityMicros(quantityMicros);
+        order.setPriceWon(priceWon);
         order.setStatus(Order.Status.PENDING);
         order.setGroupId(groupId); // 그룹 ID 설정
         
         Order savedOrder = orderRepository.save(order);
 
-        // 시장가 주문인 경우 즉시 체결 처리
+        // 시장가 주문인 경우 즉시 체결 처리, 지정가 주문은 대기 주문 인덱스에 등록
         if (request.getIsMarketOrder()) {
             tradeExecutionService.processMarketOrder(savedOrder);
+        } else {
+            pendingOrderIndex.add(savedOrder);
         }
 
         log.info("매수 주문이 생성되었습니다. 사용자: {}, 종목: {}, 수량: {}, 가격: {}", 
@@ -93,6 +104,11 @@ public class OrderService {
 
     // 주식 매도 주문 (그룹 거래 포함)
     public Order sellStock(UUID userId, SellRequest request, UUID groupId) {
+        return sellStock(userId, request, groupId, FixedPoint.toMicros(request.getQuantity()));
+    }
+
+    // 주식 매도 주문 (수량을 마이크로주로 직접 지정 - 그룹 분할 매도용)
+    public Order sellStock(UUID userId, SellRequest request, UUID groupId, long quantityMicros) {
         // 투자 계좌 조회
         InvestmentAccount account = getInvestmentAccountByUserId(userId);
         
@@ -104,13 +120,13 @@ public class OrderService {
                 .findByAccountIdAndStockId(account.getInvestmentAccountId(), stock.getId())
                 .orElseThrow(() -> new BusinessException("보유하지 않은 종목입니다", "HOLDING_NOT_FOUND"));
 
-        if (holding.getQuantity() < request.getQuantity()) {
+        if (holding.getQuantityMicros() < quantityMicros) {
             // 그룹 거래가 아닌 경우에만 개별 히스토리 저장
             if (groupId == null) {
                 saveTradeFailedHistory(account.getUserId(), stock, request, "SELL", "보유수량이 부족합니다.", groupId);
             }
             
-            throw new InsufficientHoldingException(request.getQuantity(), holding.getQuantity());
+            throw new InsufficientHoldingException(FixedPoint.toQuantity(quantityMicros), holding.getQuantity());
         }
 
         // 주문 생성
@@ -118,16 +134,18 @@ public class OrderService {
         order.setInvestmentAccount(account);
         order.setStock(stock);
         order.setOrderType(Order.OrderType.SELL);
-        order.setQuantity(request.getQuantity());
-        order.setPrice(request.getPrice().floatValue());
+        order.setQuantityMicros(quantityMicros);
+        order.setPriceWon(FixedPoint.toWon(request.getPrice().doubleValue()));
         order.setStatus(Order.Status.PENDING);
         order.setGroupId(groupId); // 그룹 ID 설정
         
         Order savedOrder = orderRepository.save(order);
 
-        // 시장가 주문인 경우 즉시 체결 처리
+        // 시장가 주문인 경우 즉시 체결 처리, 지정가 주문은 대기 주문 인덱스에 등록
         if (request.getIsMarketOrder()) {
             tradeExecutionService.processMarketOrder(savedOrder);
+        } else {
+            pendingOrderIndex.add(savedOrder);
         }
 
         log.info("매도 주문이 생성되었습니다. 사용자: {}, 종목: {}, 수량: {}, 가격: {}", 
@@ -136,6 +154,83 @@ public class OrderService {
         return savedOrder;
     }
 
+    /**
+     * 그룹 분할 주문 일괄 생성 (지정가)
+     * - 멤버 잔고/보유를 한 번에 조회해서 검증하고, 통과한 주문만 saveAll로 일괄 저장
+     * - 검증 실패한 멤버는 개별 주문과 같은 예외를 failures에 담고 건너뜀
+     * @param quantities 멤버별 수량 (마이크로주, members와 같은 순서)
+     * @return 생성된 주문 (대기 주문 인덱스 등록 완료)
+     */
+    public List<Order> placeGroupOrders(UUID groupId, Stock stock, Order.OrderType orderType,
+                                        List<InvestmentAccount> members, long[] quantities, long priceWon,
+                                        List<Exception> failures) {
+        if (orderType == Order.OrderType.BUY && !stock.isEnabled()) {
+            throw new BusinessException("거래가 중단된 종목입니다", "STOCK_DISABLED");
+        }
+
+        List<UUID> accountIds = members.stream()
+                .map(InvestmentAccount::getInvestmentAccountId)
+                .toList();
+        Map<UUID, BalanceCache> balances = orderType == Order.OrderType.BUY
+                ? balanceCacheRepository.findByAccountIdIn(accountIds).stream()
+                        .collect(Collectors.toMap(b -> b.getInvestmentAccount().getInvestmentAccountId(), b -> b))
+                : Map.of();
+        Map<UUID, HoldingCache> holdings = orderType == Order.OrderType.SELL
+                ? holdingCacheRepository.findByAccountIdInAndStockId(accountIds, stock.getId()).stream()
+                        .collect(Collectors.toMap(h -> h.getInvestmentAccount().getInvestmentAccountId(), h -> h))
+                : Map.of();
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            InvestmentAccount account = members.get(i);
+            long quantityMicros = quantities[i];
+            try {
+                if (orderType == Order.OrderType.BUY) {
+                    BalanceCache balance = balances.get(account.getInvestmentAccountId());
+                    if (balance == null) {
+                        throw new BusinessException("잔고 정보를 찾을 수 없습니다", "BALANCE_NOT_FOUND");
+                    }
+                    long totalAmount = FixedPoint.amount(quantityMicros, priceWon);
+                    if (balance.getBalance() < totalAmount) {
+                        throw new InsufficientBalanceException(totalAmount, balance.getBalance());
+                    }
+                } else {
+                    HoldingCache holding = holdings.get(account.getInvestmentAccountId());
+                    if (holding == null) {
+                        throw new BusinessException("보유하지 않은 종목입니다", "HOLDING_NOT_FOUND");
+                    }
+                    if (holding.getQuantityMicros() < quantityMicros) {
+                        throw new InsufficientHoldingException(FixedPoint.toQuantity(quantityMicros), holding.getQuantity());
+                    }
+                }
+            } catch (Exception e) {
+                log.error("❌ 멤버 {} {} 주문 검증 실패: {}", account.getInvestmentAccountId(), orderType, e.getMessage());
+                failures.add(e);
+                continue;
+            }
+
+            Order order = new Order();
+            order.setInvestmentAccount(account);
+            order.setStock(stock);
+            order.setOrderType(orderType);
+            order.setQuantityMicros(quantityMicros);
+            order.setPriceWon(priceWon);
+            order.setStatus(Order.Status.PENDING);
+            order.setGroupId(groupId);
+            orders.add(order);
+        }
+
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        savedOrders.forEach(pendingOrderIndex::add);
+
+        log.info("그룹 {} 주문 {}건 일괄 생성 - 그룹: {}, 종목: {}, 가격: {}원",
+                orderType, savedOrders.size(), groupId, stock.getStockName(), priceWon);
+        return savedOrders;
+    }
+
     // 대기 중인 주문 조회
     @Transactional(readOnly = true)
     // 전체 주문 조회 (모든 상태)
@@ -196,6 +291,7 @@ public class OrderService {
         
         order.setStatus(Order.Status.CANCELLED);
         orderRepository.save(order);
+        pendingOrderIndex.remove(orderId);
         
         log.info("주문이 취소되었습니다. 사용자: {}, 주문ID: {}", userId, orderId);
     }
@@ -0,0 +1,267 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.Order;
+import com.example.trading_service.event.KisFeedLeadershipChangedEvent;
+import com.example.trading_service.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 종목별 대기 지정가 주문 인덱스 (JVM 내부)
+ * - 매수: 지정가 내림차순, 매도: 지정가 오름차순으로 정렬 보관
+ * - 호가 틱마다 DB 전체 조회 대신 최우선 매도/매수호가를 넘은 주문만 골라냄
+ * - 서버 시작 시 DB에서 적재, 주문 생성/체결/취소 시 갱신 (등록/제거 모두 커밋 후)
+ *   - 등록을 커밋 전에 하면 체결 확인이 아직 PENDING으로 보이지 않는 주문을 인덱스에서 빼버리고, 롤백된 주문은 남음
+ *   - 제거를 커밋 전에 하면 롤백된 체결 주문이 인덱스에서 빠짐 (커밋 후 제거 → 다음 틱에 재확인)
+ * - 리더 선출 사용 시 체결 확인은 리더만 하므로, 팔로워에서 생성된 주문은 커밋 후 Redis로 리더에게 알림
+ *   (수신 후 DB 조회는 전용 스레드에서 → 같은 구독 스레드의 시세 전달이 DB 왕복에 막히지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PendingOrderIndex implements MessageListener {
+
+    public static final String ADDED_CHANNEL = "pending-orders:added";
+
+    private final OrderRepository orderRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
+
+    private final Map<String, StockOrders> ordersByStock = new ConcurrentHashMap<>();
+    private final Map<UUID, IndexedOrder> indexedOrders = new ConcurrentHashMap<>();
+
+    // 알림 수신/리더 전환 시 DB 적재 전용 스레드 (구독 스레드와 lease 갱신 스레드를 막지 않도록)
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pending-order-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 서버 시작 시 대기 주문 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingOrders() {
+        try {
+            List<Order> pendingOrders = orderRepository.findAllByStatusWithStock(Order.Status.PENDING);
+            pendingOrders.forEach(order -> index(IndexedOrder.of(order)));
+            log.info("📚 대기 지정가 주문 인덱스 적재 완료: {}건", pendingOrders.size());
+        } catch (Exception e) {
+            log.error("❌ 대기 지정가 주문 인덱스 적재 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 리더가 되면 그동안 다른 파드에서 생성된 주문까지 다시 적재 (이미 있는 주문은 무시)
+     */
+    @EventListener
+    public void onLeadershipChanged(KisFeedLeadershipChangedEvent event) {
+        if (event.isLeader()) {
+            loader.execute(this::loadPendingOrders);
+        }
+    }
+
+    /**
+     * 대기 주문 등록 (PENDING 상태만, 중복 등록 무시) - 주문 트랜잭션 커밋 후 등록
+     */
+    public void add(Order order) {
+        if (order.getOrderId() == null || order.getStatus() != Order.Status.PENDING) {
+            return;
+        }
+        // 종목코드 등은 지금 읽어둠 (커밋 후에는 지연 로딩 불가)
+        IndexedOrder indexed = IndexedOrder.of(order);
+        runAfterCommit(() -> index(indexed));
+        if (!kisFeedLeaderElection.isLeader()) {
+            notifyLeader(order.getOrderId());
+        }
+    }
+
+    /**
+     * 팔로워에서 생성된 주문 수신 (리더만 처리)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!kisFeedLeaderElection.isLeader()) {
+            return;
+        }
+        UUID orderId;
+        try {
+            orderId = UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.error("❌ 대기 주문 알림 처리 실패: {}", e.getMessage());
+            return;
+        }
+        loader.execute(() -> {
+            try {
+                orderRepository.findByOrderIdInAndStatus(List.of(orderId), Order.Status.PENDING)
+                        .forEach(order -> index(IndexedOrder.of(order)));
+            } catch (Exception e) {
+                log.error("❌ 대기 주문 알림 처리 실패 - 주문ID: {} - {}", orderId, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * 주문 트랜잭션 커밋 후 리더에게 알림 (커밋 전에 보내면 리더가 조회하지 못함)
+     */
+    private void notifyLeader(UUID orderId) {
+        runAfterCommit(() -> {
+            try {
+                stringRedisTemplate.convertAndSend(ADDED_CHANNEL, orderId.toString());
+            } catch (Exception e) {
+                // 리더가 바뀔 때 전체 재적재되므로 로그만 남김
+                log.warn("⚠️ 대기 주문 알림 발행 실패 - 주문ID: {} - {}", orderId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후 실행 (롤백되면 실행하지 않음), 밖이면 바로 실행
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void index(IndexedOrder indexed) {
+        if (indexedOrders.putIfAbsent(indexed.orderId(), indexed) != null) {
+            return;
+        }
+        StockOrders stockOrders = ordersByStock.computeIfAbsent(indexed.stockCode(), code -> new StockOrders());
+        synchronized (stockOrders) {
+            stockOrders.side(indexed.orderType())
+                    .computeIfAbsent(indexed.price(), price -> new LinkedHashSet<>())
+                    .add(indexed.orderId());
+        }
+    }
+
+    /**
+     * 대기 주문 제거 (체결/취소 시) - 트랜잭션 커밋 후 제거
+     * - 커밋 전에 지우면 체결이 롤백됐을 때 DB에는 PENDING인데 인덱스에서 빠져 재시작 전까지 다시 체결되지 않음
+     */
+    public void remove(UUID orderId) {
+        runAfterCommit(() -> removeNow(orderId));
+    }
+
+    public void removeAll(Collection<UUID> orderIds) {
+        List<UUID> ids = List.copyOf(orderIds);
+        runAfterCommit(() -> ids.forEach(this::removeNow));
+    }
+
+    public boolean contains(UUID orderId) {
+        return indexedOrders.containsKey(orderId);
+    }
+
+    private void removeNow(UUID orderId) {
+        IndexedOrder indexed = indexedOrders.remove(orderId);
+        if (indexed == null) {
+            return;
+        }
+        StockOrders stockOrders = ordersByStock.get(indexed.stockCode());
+        if (stockOrders == null) {
+            return;
+        }
+        synchronized (stockOrders) {
+            NavigableMap<Float, Set<UUID>> side = stockOrders.side(indexed.orderType());
+            Set<UUID> orderIds = side.get(indexed.price());
+            if (orderIds != null) {
+                orderIds.remove(orderId);
+                if (orderIds.isEmpty()) {
+                    side.remove(indexed.price());
+                }
+            }
+        }
+    }
+
+    /**
+     * 최우선 호가를 넘은 주문ID 조회 (가격 우선, 같은 가격은 등록 순)
+     * - 매수: 지정가 >= 최우선 매도호가
+     * - 매도: 지정가 <= 최우선 매수호가
+     * @param bestAsk 최우선 매도호가 (0 이하면 매수 주문 확인 안 함)
+     * @param bestBid 최우선 매수호가 (0 이하면 매도 주문 확인 안 함)
+     */
+    public List<UUID> findCrossedOrderIds(String stockCode, float bestAsk, float bestBid) {
+        StockOrders stockOrders = ordersByStock.get(stockCode);
+        if (stockOrders == null) {
+            return Collections.emptyList();
+        }
+        List<UUID> crossed = new ArrayList<>();
+        synchronized (stockOrders) {
+            if (bestAsk > 0) {
+                // 내림차순 맵이므로 headMap = 최우선 매도호가 이상인 매수 주문
+                stockOrders.buys.headMap(bestAsk, true).values().forEach(crossed::addAll);
+            }
+            if (bestBid > 0) {
+                stockOrders.sells.headMap(bestBid, true).values().forEach(crossed::addAll);
+            }
+        }
+        return crossed;
+    }
+
+    public boolean hasPendingOrders(String stockCode) {
+        StockOrders stockOrders = ordersByStock.get(stockCode);
+        if (stockOrders == null) {
+            return false;
+        }
+        synchronized (stockOrders) {
+            return !stockOrders.buys.isEmpty() || !stockOrders.sells.isEmpty();
+        }
+    }
+
+    public int size() {
+        return indexedOrders.size();
+    }
+
+    private record IndexedOrder(UUID orderId, String stockCode, Order.OrderType orderType, float price) {
+        static IndexedOrder of(Order order) {
+            return new IndexedOrder(order.getOrderId(), order.getStock().getStockCode(), order.getOrderType(), order.getPrice());
+        }
+    }
+
+    private static final class StockOrders {
+        private final NavigableMap<Float, Set<UUID>> buys = new TreeMap<>(Comparator.reverseOrder());
+        private final NavigableMap<Float, Set<UUID>> sells = new TreeMap<>();
+
+        private NavigableMap<Float, Set<UUID>> side(Order.OrderType orderType) {
+            return orderType == Order.OrderType.BUY ? buys : sells;
+        }
+    }
+}
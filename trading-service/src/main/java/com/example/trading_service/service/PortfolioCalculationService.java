@@ -3,15 +3,16 @@ package com.example.trading_service.service;
 import com.example.trading_service.domain.*;
 import com.example.trading_service.dto.*;
 import com.example.trading_service.repository.*;
+import com.example.trading_service.util.FixedPoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -24,7 +25,8 @@ public class PortfolioCalculationService {
     private final HoldingCacheRepository holdingCacheRepository;
     private final InvestmentAccountRepository investmentAccountRepository;
     private final StockRepository stockRepository;
-    private final StockPriceService stockPriceService;
+    private final PriceSnapshotService priceSnapshotService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
     private final BalanceCacheRepository balanceCacheRepository;
     private final RedisCacheService redisCacheService;
 
@@ -95,37 +97,22 @@ public class PortfolioCalculationService {
         List<HoldingCache> holdings = holdingCacheRepository
                 .findByAccountIdAndQuantityGreaterThan(account.getInvestmentAccountId(), 0);
         
-        BigDecimal totalInvestedBD = BigDecimal.ZERO;
-        BigDecimal totalValueBD = BigDecimal.ZERO;
+        // 실시간 평가 엔진의 합계 사용 (가격 틱마다 갱신된 값)
+        PortfolioValuationEngine.Valuation valuation =
+                portfolioValuationEngine.getAccountValuation(account.getInvestmentAccountId());
+        float totalInvested = valuation.roundedInvested();
+        float totalValue = valuation.roundedValue();
+        float totalProfit = valuation.roundedProfit();
+        float totalProfitRate = valuation.roundedProfitRate();
         
-        for (HoldingCache holding : holdings) {
-            BigDecimal avgCost = BigDecimal.valueOf(holding.getAvgCost());
-            BigDecimal quantity = BigDecimal.valueOf(holding.getQuantity());
-            BigDecimal evaluatedPrice = holding.getEvaluatedPrice() != null ? 
-                BigDecimal.valueOf(holding.getEvaluatedPrice()) : BigDecimal.ZERO;
-            
-            totalInvestedBD = totalInvestedBD.add(avgCost.multiply(quantity));
-            totalValueBD = totalValueBD.add(evaluatedPrice);
-        }
-        
-        BigDecimal totalProfitBD = totalValueBD.subtract(totalInvestedBD);
-        BigDecimal totalProfitRateBD = totalInvestedBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            totalProfitBD.divide(totalInvestedBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림
-        float totalInvested = totalInvestedBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalValue = totalValueBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalProfit = totalProfitBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalProfitRate = totalProfitRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
-        
-        // 모든 보유 종목 (평가금액 기준 내림차순 정렬)
+        // 모든 보유 종목 (평가금액 기준 내림차순 정렬) - 현재가는 한 번에 조회
+        Map<String, StockPriceResponse> quotes = getQuotes(holdings);
         List<HoldingResponse> topHoldings = holdings.stream()
                 .sorted((h1, h2) -> Float.compare(
                     (h2.getEvaluatedPrice() != null ? h2.getEvaluatedPrice() : 0),
                     (h1.getEvaluatedPrice() != null ? h1.getEvaluatedPrice() : 0)
                 ))
-                .map(this::convertToHoldingResponse)
+                .map(holding -> convertToHoldingResponse(holding, quotes.get(holding.getStock().getStockCode())))
                 .collect(Collectors.toList());
         
         return new PortfolioSummaryResponse(
@@ -146,8 +133,10 @@ public class PortfolioCalculationService {
         List<HoldingCache> holdings = holdingCacheRepository
                 .findByAccountIdAndQuantityGreaterThan(account.getInvestmentAccountId(), 0);
         
+        // 보유 종목 현재가를 한 번에 조회
+        Map<String, StockPriceResponse> quotes = getQuotes(holdings);
         return holdings.stream()
-                .map(this::convertToHoldingResponse)
+                .map(holding -> convertToHoldingResponse(holding, quotes.get(holding.getStock().getStockCode())))
                 .collect(Collectors.toList());
     }
 
@@ -158,32 +147,13 @@ public class PortfolioCalculationService {
         BalanceCache balance = balanceCacheRepository.findByAccountId(account.getInvestmentAccountId())
                 .orElseThrow(() -> new RuntimeException("잔고 정보를 찾을 수 없습니다"));
 
-        // 보유 종목들의 총 평가금액 계산
-        List<HoldingCache> holdings = holdingCacheRepository.findByAccountId(account.getInvestmentAccountId());
-        
-        BigDecimal totalInvestedBD = BigDecimal.ZERO;
-        BigDecimal totalValueBD = BigDecimal.ZERO;
-        
-        for (HoldingCache holding : holdings) {
-            BigDecimal avgCost = BigDecimal.valueOf(holding.getAvgCost());
-            BigDecimal quantity = BigDecimal.valueOf(holding.getQuantity());
-            BigDecimal evaluatedPrice = holding.getEvaluatedPrice() != null ? 
-                BigDecimal.valueOf(holding.getEvaluatedPrice()) : BigDecimal.ZERO;
-            
-            totalInvestedBD = totalInvestedBD.add(avgCost.multiply(quantity));
-            totalValueBD = totalValueBD.add(evaluatedPrice);
-        }
-        
-        BigDecimal totalProfitBD = totalValueBD.subtract(totalInvestedBD);
-        BigDecimal totalProfitRateBD = totalInvestedBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            totalProfitBD.divide(totalInvestedBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림
-        float totalInvested = totalInvestedBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalValue = totalValueBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalProfit = totalProfitBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalProfitRate = totalProfitRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
+        // 보유 종목들의 총 평가금액 (실시간 평가 엔진의 합계)
+        PortfolioValuationEngine.Valuation valuation =
+                portfolioValuationEngine.getAccountValuation(account.getInvestmentAccountId());
+        float totalInvested = valuation.roundedInvested();
+        float totalValue = valuation.roundedValue();
+        float totalProfit = valuation.roundedProfit();
+        float totalProfitRate = valuation.roundedProfitRate();
         
         return new BalanceResponse(
                 balance.getBalanceId(),
@@ -196,34 +166,38 @@ public class PortfolioCalculationService {
         );
     }
 
-    // HoldingResponse 변환 (실시간 가격 정보 포함)
-    private HoldingResponse convertToHoldingResponse(HoldingCache holding) {
+    // 보유 종목 현재가 일괄 조회 (실시간 데이터 → Redis → 한투 API 순)
+    private Map<String, StockPriceResponse> getQuotes(List<HoldingCache> holdings) {
+        Set<String> stockCodes = holdings.stream()
+                .map(holding -> holding.getStock().getStockCode())
+                .collect(Collectors.toSet());
+        return priceSnapshotService.getQuotes(stockCodes);
+    }
+
+    // HoldingResponse 변환 (실시간 가격 정보 포함, 가격 조회 실패 시 0)
+    private HoldingResponse convertToHoldingResponse(HoldingCache holding, StockPriceResponse quote) {
         // 주식 정보 조회
         Stock stock = holding.getStock();
         
-        // 실시간 주식 가격 및 변동률 조회
-        float currentPrice = getCurrentStockPrice(stock.getStockCode());
-        Map<String, Float> changeInfo = getStockChangeInfo(stock.getStockCode());
-        float changeAmount = changeInfo.get("changeAmount");
-        float changeRate = changeInfo.get("changeRate");
-        
-        // 평가금액 및 수익률 계산 (BigDecimal 사용으로 정밀도 개선)
-        BigDecimal currentPriceBD = BigDecimal.valueOf(currentPrice);
-        BigDecimal quantityBD = BigDecimal.valueOf(holding.getQuantity());
-        BigDecimal avgCostBD = BigDecimal.valueOf(holding.getAvgCost());
-        
-        BigDecimal evaluatedPriceBD = currentPriceBD.multiply(quantityBD);
-        BigDecimal totalCostBD = avgCostBD.multiply(quantityBD);
-        BigDecimal profitBD = evaluatedPriceBD.subtract(totalCostBD);
-        BigDecimal profitRateBD = totalCostBD.compareTo(BigDecimal.ZERO) > 0 ? 
-            profitBD.divide(totalCostBD, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) : 
-            BigDecimal.ZERO;
-        
-        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림
-        float evaluatedPrice = evaluatedPriceBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float totalCost = totalCostBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float profit = profitBD.setScale(0, RoundingMode.HALF_UP).floatValue();
-        float profitRate = profitRateBD.setScale(2, RoundingMode.HALF_UP).floatValue();
+        // 실시간 주식 가격 및 변동률
+        if (quote == null) {
+            log.warn("주식 가격 정보를 가져올 수 없습니다. 종목코드: {}", stock.getStockCode());
+        }
+        float currentPrice = quote != null && quote.getCurrentPrice() != null ? quote.getCurrentPrice().floatValue() : 0.0f;
+        float changeAmount = quote != null && quote.getChangePrice() != null ? quote.getChangePrice().floatValue() : 0.0f;
+        float changeRate = quote != null && quote.getChangeRate() != null ? quote.getChangeRate() : 0.0f;
+        
+        // 평가금액 및 수익률 계산 (원/마이크로주 정수 연산)
+        long quantity = holding.getQuantityMicros();
+        long avgCost = holding.getAvgCostWon();
+        long evaluatedAmount = FixedPoint.amount(quantity, FixedPoint.toWon(currentPrice));
+        long totalCost = FixedPoint.amount(quantity, avgCost);
+        long profitAmount = evaluatedAmount - totalCost;
+        
+        // 금액은 원 단위, 수익률은 소수점 2자리
+        float evaluatedPrice = evaluatedAmount;
+        float profit = profitAmount;
+        float profitRate = FixedPoint.percent(profitAmount, totalCost);
         
         // 변동 방향 결정
         String changeDirection = "unchanged";
@@ -240,7 +214,7 @@ public class PortfolioCalculationService {
                 stock.getStockName(),
                 stock.getStockImage(),
                 holding.getQuantity(),
-                avgCostBD.setScale(0, RoundingMode.HALF_UP).floatValue(), // 매입금액도 정수로 반올림
+                (float) avgCost, // 평균 매입가 (원)
                 currentPrice,
                 changeAmount,
                 changeRate,
@@ -251,72 +225,6 @@ public class PortfolioCalculationService {
         );
     }
 
-    // 실시간 주식 가격 조회
-    private float getCurrentStockPrice(String stockCode) {
-        try {
-            Map<String, Object> priceData = stockPriceService.getCurrentPrice(stockCode);
-            
-            // 한투 API 응답에서 현재가 추출
-            if (priceData != null && priceData.containsKey("output")) {
-                Map<String, Object> output = (Map<String, Object>) priceData.get("output");
-                if (output != null && output.containsKey("stck_prpr")) {
-                    String priceStr = (String) output.get("stck_prpr");
-                    return Float.parseFloat(priceStr.replace(",", ""));
-                }
-            }
-            
-            log.warn("주식 가격 정보를 가져올 수 없습니다. 종목코드: {}", stockCode);
-            return 0.0f;
-        } catch (Exception e) {
-            log.error("주식 가격 조회 중 오류 발생. 종목코드: {}, 오류: {}", stockCode, e.getMessage());
-            return 0.0f;
-        }
-    }
-
-    // 주식 변동률 정보 조회
-    private Map<String, Float> getStockChangeInfo(String stockCode) {
-        try {
-            Map<String, Object> priceData = stockPriceService.getCurrentPrice(stockCode);
-            
-            if (priceData != null && priceData.containsKey("output")) {
-                Map<String, Object> output = (Map<String, Object>) priceData.get("output");
-                if (output != null) {
-                    float changeAmount = 0.0f;
-                    float changeRate = 0.0f;
-                    
-                    if (output.containsKey("prdy_vrss")) {
-                        String changeAmountStr = (String) output.get("prdy_vrss");
-                        changeAmount = Float.parseFloat(changeAmountStr.replace(",", ""));
-                    }
-                    
-                    if (output.containsKey("prdy_vrss_sign")) {
-                        String sign = (String) output.get("prdy_vrss_sign");
-                        if ("2".equals(sign)) { // 하락
-                            changeAmount = -Math.abs(changeAmount);
-                        }
-                    }
-                    
-                    if (output.containsKey("prdy_ctrt")) {
-                        String changeRateStr = (String) output.get("prdy_ctrt");
-                        changeRate = Float.parseFloat(changeRateStr.replace(",", ""));
-                        
-                        if (changeAmount < 0) {
-                            changeRate = -Math.abs(changeRate);
-                        }
-                    }
-                    
-                    return Map.of("changeAmount", changeAmount, "changeRate", changeRate);
-                }
-            }
-            
-            log.warn("주식 변동률 정보를 가져올 수 없습니다. 종목코드: {}", stockCode);
-            return Map.of("changeAmount", 0.0f, "changeRate", 0.0f);
-        } catch (Exception e) {
-            log.error("주식 변동률 조회 중 오류 발생. 종목코드: {}, 오류: {}", stockCode, e.getMessage());
-            return Map.of("changeAmount", 0.0f, "changeRate", 0.0f);
-        }
-    }
-
     private InvestmentAccount getInvestmentAccountByUserId(UUID userId) {
         return investmentAccountRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("투자 계좌를 찾을 수 없습니다"));
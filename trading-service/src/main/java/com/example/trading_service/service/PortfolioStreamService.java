@@ -0,0 +1,227 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.InvestmentAccount;
+import com.example.trading_service.dto.PortfolioValuationMessage;
+import com.example.trading_service.repository.InvestmentAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실시간 포트폴리오 평가 스트리밍
+ * - /user/queue/portfolio: 내 계좌 평가금액/손익/수익률
+ * - /topic/group/{groupId}/portfolio: 그룹 평가금액/손익/수익률 (그룹 멤버만 구독 가능)
+ * - 평가 엔진의 미리 계산된 합계를 주기(기본 1초)마다 읽어서, 값이 바뀐 구독 대상에만 전송
+ *   (구독 대상별 최대 주기당 1회, DB 조회 없음)
+ * - 각 파드가 자기 세션의 구독만 관리 (모든 파드가 틱을 받아 평가 엔진을 갱신하므로 fan-out 불필요)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioStreamService {
+
+    public static final String USER_QUEUE = "/queue/portfolio";
+    public static final String USER_DESTINATION = "/user" + USER_QUEUE;
+    private static final String GROUP_TOPIC_PREFIX = "/topic/group/";
+    private static final String GROUP_TOPIC_SUFFIX = "/portfolio";
+
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final InvestmentAccountRepository investmentAccountRepository;
+    private final GroupMembershipCache groupMembershipCache;
+
+    // 구독 대상 키 -> 대상 (같은 사용자/그룹의 여러 구독은 한 번만 계산)
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+    // 세션ID -> (구독ID -> 구독 대상 키)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    public boolean isPortfolioDestination(String destination) {
+        return USER_DESTINATION.equals(destination) || parseGroupId(destination) != null;
+    }
+
+    /**
+     * 다른 그룹/사용자의 포트폴리오 전송까지 받을 수 있는 구독인지 확인
+     * - SimpleBroker는 구독 destination을 Ant 패턴으로 매칭하므로 /topic/** 구독이나 그룹ID 자리에 * 를 쓴 구독은 모든 그룹 전송을 받음
+     * - /topic/group/ 아래는 정확한 /topic/group/{groupId}/portfolio만 허용 (멤버 확인은 subscribe에서)
+     */
+    public boolean isForbiddenDestination(String destination) {
+        if (destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0) {
+            log.warn("⚠️ 와일드카드 구독 거부 - destination: {}", destination);
+            return true;
+        }
+        if (destination.startsWith(GROUP_TOPIC_PREFIX) && parseGroupId(destination) == null) {
+            log.warn("⚠️ 허용되지 않은 그룹 토픽 구독 거부 - destination: {}", destination);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 구독 등록
+     * @return 구독 권한이 없으면 false (사용자 정보 없음, 계좌 없음, 그룹 멤버 아님)
+     */
+    public boolean subscribe(String sessionId, String subscriptionId, String destination, Principal user) {
+        if (user == null) {
+            log.warn("⚠️ 사용자 정보 없는 포트폴리오 구독 거부 - 세션: {}, destination: {}", sessionId, destination);
+            return false;
+        }
+        UUID userId;
+        try {
+            userId = UUID.fromString(user.getName());
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ 잘못된 사용자ID로 포트폴리오 구독 거부 - {}", user.getName());
+            return false;
+        }
+
+        String key;
+        Target candidate;
+        if (USER_DESTINATION.equals(destination)) {
+            InvestmentAccount account = investmentAccountRepository.findByUserId(userId).orElse(null);
+            if (account == null) {
+                log.warn("⚠️ 투자 계좌가 없는 사용자의 포트폴리오 구독 거부 - userId: {}", userId);
+                return false;
+            }
+            key = "user:" + user.getName();
+            candidate = new Target(false, account.getInvestmentAccountId(), user.getName());
+        } else {
+            UUID groupId = parseGroupId(destination);
+            if (!isGroupMember(groupId, userId)) {
+                log.warn("⚠️ 그룹 멤버가 아닌 사용자의 그룹 포트폴리오 구독 거부 - groupId: {}, userId: {}", groupId, userId);
+                return false;
+            }
+            key = "group:" + groupId;
+            candidate = new Target(true, groupId, destination);
+        }
+
+        targets.compute(key, (k, existing) -> {
+            Target target = existing != null ? existing : candidate;
+            target.subscribers.incrementAndGet();
+            // 새 구독자가 바로 현재 값을 받도록 다음 주기에 변경 여부와 관계없이 전송
+            target.lastSent = null;
+            return target;
+        });
+        String previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, key);
+        if (previous != null) {
+            release(previous);
+        }
+        return true;
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String key = subscriptions.remove(subscriptionId);
+        if (key != null) {
+            release(key);
+        }
+    }
+
+    public void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * 구독 중인 계좌/그룹의 평가 합계를 읽어서 바뀐 것만 전송
+     */
+    @Scheduled(fixedRateString = "${portfolio.stream.interval-ms:1000}")
+    public void flush() {
+        if (targets.isEmpty()) {
+            return;
+        }
+        for (Target target : targets.values()) {
+            try {
+                PortfolioValuationEngine.Valuation valuation = target.group
+                        ? portfolioValuationEngine.getGroupValuation(target.ownerId)
+                        : portfolioValuationEngine.getAccountValuation(target.ownerId);
+                PortfolioValuationMessage message = new PortfolioValuationMessage(
+                        target.ownerId,
+                        valuation.roundedInvested(),
+                        valuation.roundedValue(),
+                        valuation.roundedProfit(),
+                        valuation.roundedProfitRate(),
+                        valuation.holdingCount(),
+                        System.currentTimeMillis()
+                );
+                if (sameValues(target.lastSent, message)) {
+                    continue;
+                }
+                target.lastSent = message;
+                if (target.group) {
+                    messagingTemplate.convertAndSend(target.destination, message);
+                } else {
+                    messagingTemplate.convertAndSendToUser(target.destination, USER_QUEUE, message);
+                }
+            } catch (Exception e) {
+                log.error("❌ 포트폴리오 평가 전송 실패 - {}: {} - {}",
+                        target.group ? "그룹" : "계좌", target.ownerId, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isGroupMember(UUID groupId, UUID userId) {
+        try {
+            return groupMembershipCache.isMember(groupId, userId);
+        } catch (Exception e) {
+            log.error("❌ 그룹 멤버 조회 실패 - groupId: {} - {}", groupId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String key) {
+        targets.computeIfPresent(key, (k, target) -> target.subscribers.decrementAndGet() <= 0 ? null : target);
+    }
+
+    /**
+     * /topic/group/{groupId}/portfolio 에서 그룹ID 추출 (형식이 다르면 null)
+     * - 전송은 표준 표기 UUID로 하므로 대소문자/자릿수가 다른 표기는 받지 않음
+     */
+    private static UUID parseGroupId(String destination) {
+        if (destination == null || !destination.startsWith(GROUP_TOPIC_PREFIX) || !destination.endsWith(GROUP_TOPIC_SUFFIX)) {
+            return null;
+        }
+        String id = destination.substring(GROUP_TOPIC_PREFIX.length(), destination.length() - GROUP_TOPIC_SUFFIX.length());
+        try {
+            UUID groupId = UUID.fromString(id);
+            return groupId.toString().equals(id) ? groupId : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean sameValues(PortfolioValuationMessage previous, PortfolioValuationMessage current) {
+        return previous != null
+                && previous.getTotalInvested() == current.getTotalInvested()
+                && previous.getTotalValue() == current.getTotalValue()
+                && previous.getTotalHoldings() == current.getTotalHoldings();
+    }
+
+    private static final class Target {
+        private final boolean group;
+        private final UUID ownerId;
+        // 그룹이면 토픽, 계좌면 사용자 이름 (convertAndSendToUser 대상)
+        private final String destination;
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private volatile PortfolioValuationMessage lastSent;
+
+        private Target(boolean group, UUID ownerId, String destination) {
+            this.group = group;
+            this.ownerId = ownerId;
+            this.destination = destination;
+        }
+    }
+}
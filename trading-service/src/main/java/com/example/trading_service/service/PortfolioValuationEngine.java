@@ -0,0 +1,393 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.GroupHoldingCache;
+import com.example.trading_service.domain.HoldingCache;
+import com.example.trading_service.event.GroupTradeExecutedEvent;
+import com.example.trading_service.event.TradeExecutedEvent;
+import com.example.trading_service.repository.BalanceCacheRepository;
+import com.example.trading_service.repository.GroupHoldingCacheRepository;
+import com.example.trading_service.repository.HoldingCacheRepository;
+import com.example.trading_service.repository.TradeEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 평가금액 엔진 (JVM 내부)
+ * - 종목코드 -> 해당 종목을 보유한 계좌/그룹 포지션 인덱스 유지
+ * - 가격 틱마다 포지션별 (수량 × 가격 변동분)만 계좌/그룹 합계에 더함
+ * - 요약 API는 미리 계산된 합계를 바로 읽음 (보유 종목 반복/BigDecimal 계산 없음)
+ * - 체결 커밋 후 해당 계좌/그룹만 다시 적재하고 Redis로 다른 레플리카에도 무효화 발행
+ *   (요약 합계가 같은 응답의 DB 보유 종목 목록과 어긋나지 않도록)
+ * - 발행이 유실된 경우를 대비해 주기적으로 바뀐 계좌/그룹만 재적재 (전체 재적재는 서버 시작 시 한 번)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioValuationEngine implements MessageListener {
+
+    public static final String INVALIDATE_CHANNEL = "portfolio-valuation:invalidate";
+    private static final String ACCOUNT = "account";
+    private static final String GROUP = "group";
+
+    // 커밋이 늦은 갱신(updated_at은 커밋 전 시각)을 놓치지 않도록 이전 재적재 시작 시각보다 이만큼 앞부터 조회
+    private static final Duration RESYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final HoldingCacheRepository holdingCacheRepository;
+    private final GroupHoldingCacheRepository groupHoldingCacheRepository;
+    private final BalanceCacheRepository balanceCacheRepository;
+    private final TradeEventOutboxRepository tradeEventOutboxRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 자기가 발행한 무효화는 이미 반영했으므로 구독 시 건너뜀
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 종목코드 -> 마지막 가격
+    private final ConcurrentHashMap<String, Float> lastPrices = new ConcurrentHashMap<>();
+    // 종목코드 -> 보유 포지션
+    private final ConcurrentHashMap<String, Set<Position>> positionsByStock = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Book> accountBooks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Book> groupBooks = new ConcurrentHashMap<>();
+
+    // 마지막 재적재 시작 시각 (이후 바뀐 계좌/그룹만 다시 적재, null이면 아직 전체 적재 전)
+    private volatile LocalDateTime lastSyncedAt;
+
+    /**
+     * 서버 시작 시 전체 보유 종목 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        reloadAll();
+    }
+
+    /**
+     * 다른 레플리카에서 체결된 보유 종목 반영 - 지난 재적재 이후 바뀐 계좌/그룹만 다시 적재
+     * - 계좌: 보유 종목 또는 잔고가 바뀐 계좌 (전량 매도로 보유 행이 삭제돼도 잔고는 갱신됨)
+     * - 그룹: 보유 종목 행이 바뀌었거나 보유량 갱신이 반영된 그룹
+     */
+    @Scheduled(fixedDelayString = "${portfolio.valuation.resync-interval-ms:60000}",
+            initialDelayString = "${portfolio.valuation.resync-interval-ms:60000}")
+    public void resyncChanged() {
+        LocalDateTime since = lastSyncedAt;
+        if (since == null) {
+            reloadAll();
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            LocalDateTime from = since.minus(RESYNC_OVERLAP);
+            Set<UUID> accountIds = new HashSet<>(holdingCacheRepository.findAccountIdsUpdatedAfter(from));
+            accountIds.addAll(balanceCacheRepository.findAccountIdsUpdatedAfter(from));
+            Set<UUID> groupIds = new HashSet<>(groupHoldingCacheRepository.findGroupIdsUpdatedAfter(from));
+            groupIds.addAll(tradeEventOutboxRepository.findGroupIdsProcessedAfter(from));
+
+            accountIds.forEach(this::reloadAccount);
+            groupIds.forEach(this::reloadGroup);
+            lastSyncedAt = startedAt;
+            log.debug("📈 평가 엔진 변경분 재적재 - 계좌: {}개, 그룹: {}개", accountIds.size(), groupIds.size());
+        } catch (Exception e) {
+            log.error("❌ 평가 엔진 변경분 재적재 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 전체 보유 종목 재적재
+     */
+    public void reloadAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            Map<UUID, List<PositionSource>> byAccount = new HashMap<>();
+            for (HoldingCache holding : holdingCacheRepository.findAllByQuantityGreaterThanWithStock(0)) {
+                byAccount.computeIfAbsent(holding.getInvestmentAccount().getInvestmentAccountId(), id -> new ArrayList<>())
+                        .add(PositionSource.of(holding));
+            }
+            Map<UUID, List<PositionSource>> byGroup = new HashMap<>();
+            for (GroupHoldingCache holding : groupHoldingCacheRepository.findAllByTotalQuantityGreaterThanWithStock(0)) {
+                byGroup.computeIfAbsent(holding.getGroupId(), id -> new ArrayList<>())
+                        .add(PositionSource.of(holding));
+            }
+
+            rebuildAll(accountBooks, byAccount);
+            rebuildAll(groupBooks, byGroup);
+            lastSyncedAt = startedAt;
+            log.info("📈 평가 엔진 적재 완료 - 계좌: {}개, 그룹: {}개, 종목: {}개",
+                    accountBooks.size(), groupBooks.size(), positionsByStock.size());
+        } catch (Exception e) {
+            log.error("❌ 평가 엔진 적재 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 체결 커밋 후 해당 계좌의 보유 종목만 다시 적재
+     * (그룹 보유량은 GroupTradeEventPipeline이 갱신한 뒤 그룹을 다시 적재)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTradeExecuted(TradeExecutedEvent event) {
+        try {
+            UUID accountId = event.getOrder().getInvestmentAccount().getInvestmentAccountId();
+            reloadAccount(accountId);
+            publishInvalidation(ACCOUNT, accountId);
+        } catch (Exception e) {
+            log.error("❌ 체결 후 평가 엔진 갱신 실패 - 주문ID: {} - {}", event.getOrder().getOrderId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 그룹 일괄 체결 커밋 후 체결된 멤버 계좌를 한 번씩 다시 적재
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGroupTradeExecuted(GroupTradeExecutedEvent event) {
+        try {
+            event.getOrders().stream()
+                    .map(order -> order.getInvestmentAccount().getInvestmentAccountId())
+                    .distinct()
+                    .forEach(accountId -> {
+                        reloadAccount(accountId);
+                        publishInvalidation(ACCOUNT, accountId);
+                    });
+        } catch (Exception e) {
+            log.error("❌ 그룹 체결 후 평가 엔진 갱신 실패 - 그룹ID: {} - {}", event.getGroupId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 그룹 보유량 반영 커밋 후 그룹을 다시 적재하고 다른 레플리카에도 알림
+     */
+    public void refreshGroup(UUID groupId) {
+        reloadGroup(groupId);
+        publishInvalidation(GROUP, groupId);
+    }
+
+    /**
+     * 다른 레플리카의 무효화 수신 - 해당 계좌/그룹만 다시 적재
+     * (DB 조회라 구독 스레드가 아닌 전용 리스너 스레드에서 실행)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3 || instanceId.equals(parts[0])) {
+                return;
+            }
+            UUID id = UUID.fromString(parts[2]);
+            if (ACCOUNT.equals(parts[1])) {
+                reloadAccount(id);
+            } else if (GROUP.equals(parts[1])) {
+                reloadGroup(id);
+            }
+        } catch (Exception e) {
+            log.error("❌ 평가 엔진 무효화 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 발행 형식: {instanceId}:{account|group}:{id}
+     */
+    private void publishInvalidation(String type, UUID id) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, instanceId + ":" + type + ":" + id);
+        } catch (Exception e) {
+            // 주기적 변경분 재적재가 결국 반영하므로 로그만 남김
+            log.warn("⚠️ 평가 엔진 무효화 발행 실패 - {}: {} - {}", type, id, e.getMessage());
+        }
+    }
+
+    public void reloadAccount(UUID accountId) {
+        List<PositionSource> sources = holdingCacheRepository.findByAccountIdWithStock(accountId).stream()
+                .filter(holding -> holding.getQuantity() > 0)
+                .map(PositionSource::of)
+                .toList();
+        rebuild(accountBooks, accountId, sources);
+    }
+
+    public void reloadGroup(UUID groupId) {
+        List<PositionSource> sources = groupHoldingCacheRepository
+                .findByGroupIdAndTotalQuantityGreaterThanWithStock(groupId, 0).stream()
+                .map(PositionSource::of)
+                .toList();
+        rebuild(groupBooks, groupId, sources);
+    }
+
+    /**
+     * 가격 틱 반영 - 해당 종목 포지션의 (수량 × 가격 변동분)만 합계에 더함
+     */
+    public void onPrice(String stockCode, float price) {
+        if (price <= 0) {
+            return;
+        }
+        lastPrices.put(stockCode, price);
+        Set<Position> positions = positionsByStock.get(stockCode);
+        if (positions == null) {
+            return;
+        }
+        for (Position position : positions) {
+            position.book.mark(position, price);
+        }
+    }
+
+    /**
+     * 계좌 평가 합계 (아직 적재되지 않은 계좌면 이때 적재)
+     */
+    public Valuation getAccountValuation(UUID accountId) {
+        Book book = accountBooks.get(accountId);
+        if (book == null) {
+            reloadAccount(accountId);
+            book = accountBooks.get(accountId);
+        }
+        return book.snapshot();
+    }
+
+    /**
+     * 그룹 평가 합계 (아직 적재되지 않은 그룹이면 이때 적재)
+     */
+    public Valuation getGroupValuation(UUID groupId) {
+        Book book = groupBooks.get(groupId);
+        if (book == null) {
+            reloadGroup(groupId);
+            book = groupBooks.get(groupId);
+        }
+        return book.snapshot();
+    }
+
+    private void rebuildAll(ConcurrentHashMap<UUID, Book> books, Map<UUID, List<PositionSource>> sourcesByOwner) {
+        sourcesByOwner.forEach((ownerId, sources) -> rebuild(books, ownerId, sources));
+        // 보유 종목이 모두 사라진 계좌/그룹은 0으로 남김 (조회 시 빈 합계)
+        Set<UUID> emptied = new HashSet<>(books.keySet());
+        emptied.removeAll(sourcesByOwner.keySet());
+        emptied.forEach(ownerId -> rebuild(books, ownerId, List.of()));
+    }
+
+    private void rebuild(ConcurrentHashMap<UUID, Book> books, UUID ownerId, List<PositionSource> sources) {
+        Book book = books.computeIfAbsent(ownerId, id -> new Book());
+        List<Position> added = new ArrayList<>(sources.size());
+        List<Position> removed;
+        synchronized (book) {
+            removed = book.positions;
+            removed.forEach(position -> position.detached = true);
+
+            double invested = 0;
+            double value = 0;
+            for (PositionSource source : sources) {
+                float markPrice = lastPrices.getOrDefault(source.stockCode(), source.fallbackPrice());
+                Position position = new Position(book, source.stockCode(), source.quantity(), markPrice);
+                invested += (double) source.quantity() * source.avgCost();
+                value += (double) source.quantity() * markPrice;
+                added.add(position);
+            }
+            book.positions = added;
+            book.invested = invested;
+            book.value = value;
+            // 락 안에서 등록 (등록 직후 들어온 틱은 락이 풀린 뒤 변동분으로 반영)
+            added.forEach(position -> positionsByStock
+                    .computeIfAbsent(position.stockCode, code -> ConcurrentHashMap.newKeySet())
+                    .add(position));
+        }
+        removed.forEach(position -> {
+            Set<Position> positions = positionsByStock.get(position.stockCode);
+            if (positions != null) {
+                positions.remove(position);
+            }
+        });
+    }
+
+    /**
+     * 계좌/그룹 평가 합계 스냅샷
+     */
+    public record Valuation(double totalInvested, double totalValue, int holdingCount) {
+        public double totalProfit() {
+            return totalValue - totalInvested;
+        }
+
+        public double totalProfitRate() {
+            return totalInvested > 0 ? totalProfit() / totalInvested * 100 : 0;
+        }
+
+        // 금액은 정수로 반올림, 수익률은 소수점 2자리로 반올림 (기존 응답 형식과 동일)
+        public float roundedInvested() {
+            return Math.round(totalInvested);
+        }
+
+        public float roundedValue() {
+            return Math.round(totalValue);
+        }
+
+        public float roundedProfit() {
+            return Math.round(totalProfit());
+        }
+
+        public float roundedProfitRate() {
+            return Math.round(totalProfitRate() * 100) / 100.0f;
+        }
+    }
+
+    private record PositionSource(String stockCode, float quantity, float avgCost, float fallbackPrice) {
+        private static PositionSource of(HoldingCache holding) {
+            return new PositionSource(holding.getStock().getStockCode(), holding.getQuantity(), holding.getAvgCost(),
+                    fallbackPrice(holding.getEvaluatedPrice(), holding.getQuantity(), holding.getAvgCost()));
+        }
+
+        private static PositionSource of(GroupHoldingCache holding) {
+            return new PositionSource(holding.getStock().getStockCode(), holding.getTotalQuantity(), holding.getAvgCost(),
+                    fallbackPrice(holding.getEvaluatedPrice(), holding.getTotalQuantity(), holding.getAvgCost()));
+        }
+
+        // 아직 가격 틱이 없으면 저장된 평가금액 기준 단가, 그것도 없으면 평균 매입가
+        private static float fallbackPrice(Float evaluatedPrice, float quantity, float avgCost) {
+            return evaluatedPrice != null && evaluatedPrice > 0 && quantity > 0 ? evaluatedPrice / quantity : avgCost;
+        }
+    }
+
+    private static final class Position {
+        private final Book book;
+        private final String stockCode;
+        private final float quantity;
+        private float markPrice;
+        private boolean detached;
+
+        private Position(Book book, String stockCode, float quantity, float markPrice) {
+            this.book = book;
+            this.stockCode = stockCode;
+            this.quantity = quantity;
+            this.markPrice = markPrice;
+        }
+    }
+
+    private static final class Book {
+        private List<Position> positions = List.of();
+        private double invested;
+        private double value;
+
+        private synchronized void mark(Position position, float price) {
+            // 재적재로 교체된 포지션은 무시 (새 포지션이 이미 최신 가격으로 평가됨)
+            if (position.detached) {
+                return;
+            }
+            value += (double) position.quantity * (price - position.markPrice);
+            position.markPrice = price;
+        }
+
+        private synchronized Valuation snapshot() {
+            return new Valuation(invested, value, positions.size());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.Stock;
+import com.example.trading_service.dto.OrderBookResponse;
+import com.example.trading_service.dto.StockPriceResponse;
+import com.example.trading_service.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 여러 종목 현재가 일괄 조회
+ * - 1순위: JVM 내부 실시간 데이터 (현재가 틱, 호가 스냅샷)
+ * - 2순위: Redis 가격 캐시 (MGET 한 번)
+ * - 3순위: 남은 종목만 한투 REST 병렬 호출 (동일 종목 동시 요청은 클라이언트에서 병합)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceSnapshotService {
+
+    // Redis 가격 캐시 TTL(5분)과 동일
+    private static final long TICK_STALE_AFTER_MILLIS = 5 * 60 * 1000L;
+
+    private final OrderBookSnapshotStore orderBookSnapshotStore;
+    private final RedisCacheService redisCacheService;
+    private final StockPriceService stockPriceService;
+    private final StockRepository stockRepository;
+
+    // 종목코드 -> 최신 현재가 틱
+    private final ConcurrentHashMap<String, PriceTick> priceTicks = new ConcurrentHashMap<>();
+    // 종목코드 -> 종목ID (Redis 가격 키가 종목ID 기준이라 보관, 종목은 거의 바뀌지 않음)
+    private final ConcurrentHashMap<String, UUID> stockIdsByCode = new ConcurrentHashMap<>();
+
+    /**
+     * 실시간 현재가 틱 반영 (JVM 보관 + Redis 가격 캐시 갱신)
+     */
+    public void recordTick(StockPriceResponse priceResponse) {
+        String stockCode = priceResponse.getStockCode();
+        priceTicks.put(stockCode, new PriceTick(priceResponse, System.currentTimeMillis()));
+
+        UUID stockId = resolveStockIds(List.of(stockCode)).get(stockCode);
+        if (stockId == null) {
+            log.warn("⚠️ 주식 정보를 찾을 수 없음: {}", stockCode);
+            return;
+        }
+        redisCacheService.cacheStockPrice(stockId, priceResponse);
+    }
+
+    /**
+     * 단일 종목 현재가 조회
+     * @return 조회 실패 시 null
+     */
+    public StockPriceResponse getQuote(String stockCode) {
+        return getQuotes(List.of(stockCode)).get(stockCode);
+    }
+
+    /**
+     * 여러 종목 현재가 일괄 조회
+     * @return 종목코드 -> 현재가 (모든 경로에서 실패한 종목은 빠짐)
+     */
+    public Map<String, StockPriceResponse> getQuotes(Collection<String> stockCodes) {
+        Map<String, StockPriceResponse> quotes = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+
+        // 1. JVM 내부 실시간 데이터
+        for (String stockCode : stockCodes) {
+            StockPriceResponse live = getLiveQuote(stockCode);
+            if (live != null) {
+                quotes.put(stockCode, live);
+            } else {
+                misses.add(stockCode);
+            }
+        }
+        if (misses.isEmpty()) {
+            return quotes;
+        }
+
+        // 2. Redis 가격 캐시 (한 번에 조회)
+        Map<String, UUID> stockIds = resolveStockIds(misses);
+        List<UUID> ids = new ArrayList<>(stockIds.values());
+        Map<UUID, StockPriceResponse> cached = redisCacheService.getCachedStockPrices(ids);
+        stockIds.forEach((stockCode, stockId) -> {
+            StockPriceResponse price = cached.get(stockId);
+            if (price != null) {
+                quotes.put(stockCode, price);
+                misses.remove(stockCode);
+            }
+        });
+        if (misses.isEmpty()) {
+            return quotes;
+        }
+
+        // 3. 남은 종목만 한투 REST 병렬 호출
+        log.info("📡 캐시에 없는 종목 현재가 API 조회: {}개 {}", misses.size(), misses);
+        Map<String, CompletableFuture<Map<String, Object>>> requests = new HashMap<>();
+        misses.forEach(stockCode -> requests.put(stockCode, stockPriceService.getCurrentPriceAsync(stockCode)));
+        requests.forEach((stockCode, request) -> {
+            try {
+                StockPriceResponse price = stockPriceService.convertToStockPriceResponse(
+                        KisQuotationClient.await(request), stockCode);
+                quotes.put(stockCode, price);
+                UUID stockId = stockIds.get(stockCode);
+                if (stockId != null) {
+                    redisCacheService.cacheStockPrice(stockId, price);
+                }
+            } catch (Exception e) {
+                log.error("주식 가격 조회 중 오류 발생. 종목코드: {}, 오류: {}", stockCode, e.getMessage());
+            }
+        });
+        return quotes;
+    }
+
+    /**
+     * JVM 내부 실시간 데이터 조회 (현재가 틱 우선, 없으면 호가 스냅샷의 현재가)
+     */
+    private StockPriceResponse getLiveQuote(String stockCode) {
+        PriceTick tick = priceTicks.get(stockCode);
+        if (tick != null && System.currentTimeMillis() - tick.receivedAt() < TICK_STALE_AFTER_MILLIS) {
+            return tick.price();
+        }
+        OrderBookResponse orderBook = orderBookSnapshotStore.getLocal(stockCode);
+        if (orderBook == null || orderBook.getCurrentPrice() == null || orderBook.getCurrentPrice() <= 0) {
+            return null;
+        }
+        StockPriceResponse price = new StockPriceResponse();
+        price.setStockCode(stockCode);
+        price.setCurrentPrice(BigDecimal.valueOf(orderBook.getCurrentPrice()));
+        price.setChangePrice(BigDecimal.valueOf(orderBook.getChangeAmount() != null ? orderBook.getChangeAmount() : 0f));
+        price.setChangeRate(orderBook.getChangeRate() != null ? orderBook.getChangeRate() : 0f);
+        return price;
+    }
+
+    private Map<String, UUID> resolveStockIds(Collection<String> stockCodes) {
+        Map<String, UUID> result = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String stockCode : stockCodes) {
+            UUID stockId = stockIdsByCode.get(stockCode);
+            if (stockId != null) {
+                result.put(stockCode, stockId);
+            } else {
+                unknown.add(stockCode);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Stock stock : stockRepository.findByStockCodeIn(unknown)) {
+                stockIdsByCode.put(stock.getStockCode(), stock.getId());
+                result.put(stock.getStockCode(), stock.getId());
+            }
+        }
+        return result;
+    }
+
+    private record PriceTick(StockPriceResponse price, long receivedAt) {
+    }
+}
@@ -9,6 +9,9 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -77,6 +80,33 @@ public class RedisCacheService {
         return null;
     }
 
+    /**
+     * 여러 종목 가격을 한 번에 조회 (MGET 1회 왕복)
+     * @return 캐시에 있는 종목만 담긴 맵
+     */
+    public Map<UUID, StockPriceResponse> getCachedStockPrices(List<UUID> stockIds) {
+        Map<UUID, StockPriceResponse> result = new HashMap<>();
+        if (stockIds.isEmpty()) {
+            return result;
+        }
+        try {
+            List<String> keys = stockIds.stream().map(stockId -> STOCK_PRICE_KEY + stockId).toList();
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < stockIds.size(); i++) {
+                if (values.get(i) instanceof StockPriceResponse price) {
+                    result.put(stockIds.get(i), price);
+                }
+            }
+            log.debug("주식 가격 일괄 캐시 조회 - 요청: {}건, 히트: {}건", stockIds.size(), result.size());
+        } catch (Exception e) {
+            log.error("주식 가격 일괄 캐시 조회 실패 - {}건", stockIds.size(), e);
+        }
+        return result;
+    }
+
     /**
      * 사용자 잔고 캐싱
      */
@@ -216,7 +246,7 @@ public class RedisCacheService {
     }
 
     /**
-     * WebSocket 호가 데이터 캐싱
+     * WebSocket 호가 데이터 캐싱 (OrderBookSnapshotStore write-behind 전용)
      */
     public void cacheWebSocketOrderBook(String stockCode, Object orderBookData) {
         String key = WEBSOCKET_ORDERBOOK_KEY + stockCode;
@@ -227,24 +257,9 @@ public class RedisCacheService {
                 return;
             }
             
-            // 기존 캐시 삭제 (직렬화 문제 해결을 위해)
-            redisTemplate.delete(key);
-            
+            // SET 한 번으로 덮어쓰기 (write-behind 주기마다 호출되므로 삭제/재조회 검증 없음)
             redisTemplate.opsForValue().set(key, orderBookData, WEBSOCKET_ORDERBOOK_TTL);
-            log.info("✅ WebSocket 호가 데이터 캐싱 완료 - 종목코드: {} (JSON 직렬화)", stockCode);
-            
-            // 캐싱 검증: 바로 조회해서 확인 (오류 발생해도 계속 진행)
-            try {
-                Object cached = redisTemplate.opsForValue().get(key);
-                if (cached != null) {
-                    log.info("🔍 캐싱 검증 성공 - 종목코드: {}, 타입: {}", stockCode, cached.getClass().getSimpleName());
-                } else {
-                    log.warn("⚠️ 캐싱 검증 실패 - 종목코드: {}", stockCode);
-                }
-            } catch (Exception validationError) {
-                log.warn("⚠️ 캐싱 검증 중 오류 발생 - 종목코드: {} - {}", stockCode, validationError.getMessage());
-                // 검증 오류는 무시하고 계속 진행
-            }
+            log.debug("✅ WebSocket 호가 데이터 캐싱 완료 - 종목코드: {}", stockCode);
         } catch (IllegalStateException e) {
             // Redis 연결이 종료된 상태일 때 (애플리케이션 종료 중)
             if (e.getMessage() != null && 
@@ -272,10 +287,10 @@ public class RedisCacheService {
         try {
             Object cached = redisTemplate.opsForValue().get(key);
             if (cached != null) {
-                log.info("🔍 WebSocket 호가 데이터 캐시 히트 - 종목코드: {}, 타입: {}", stockCode, cached.getClass().getSimpleName());
+                log.debug("🔍 WebSocket 호가 데이터 캐시 히트 - 종목코드: {}, 타입: {}", stockCode, cached.getClass().getSimpleName());
                 return cached;
             } else {
-                log.warn("⚠️ WebSocket 호가 데이터 캐시 미스 - 종목코드: {} (캐시 없음)", stockCode);
+                log.debug("⚠️ WebSocket 호가 데이터 캐시 미스 - 종목코드: {} (캐시 없음)", stockCode);
             }
         } catch (Exception e) {
             log.error("❌ WebSocket 호가 데이터 캐시 조회 실패 - 종목코드: {}", stockCode, e);
@@ -283,6 +298,24 @@ public class RedisCacheService {
         return null;
     }
 
+    /**
+     * WebSocket 호가 데이터 기록 시각 (남은 TTL로 역산, epoch ms)
+     * @return 키가 없거나 조회 실패 시 null
+     */
+    public Long getWebSocketOrderBookWrittenAt(String stockCode) {
+        String key = WEBSOCKET_ORDERBOOK_KEY + stockCode;
+        try {
+            Long remainingMillis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+            if (remainingMillis == null || remainingMillis < 0) {
+                return null;
+            }
+            return System.currentTimeMillis() - (WEBSOCKET_ORDERBOOK_TTL.toMillis() - remainingMillis);
+        } catch (Exception e) {
+            log.warn("⚠️ WebSocket 호가 데이터 TTL 조회 실패 - 종목코드: {} - {}", stockCode, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * WebSocket 호가 데이터 캐시 삭제
      */
@@ -3,38 +3,20 @@ package com.example.trading_service.service;
 import com.example.trading_service.dto.StockPriceResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StockPriceService {
 
-    @Value("${kis.base-url}")
-    private String baseUrl;
-
-    @Value("${kis.appkey}")
-    private String appKey;
-
-    @Value("${kis.appsecret}")
-    private String appSecret;
-
-    private final RestTemplate restTemplate;
-    private final KisTokenService kisTokenService;
+    private final KisQuotationClient kisQuotationClient;
     private final RedisCacheService redisCacheService;
-    
-    // API 호출 제한을 위한 변수들
-    private final AtomicLong lastApiCallTime = new AtomicLong(0);
-    private static final long API_CALL_INTERVAL_MS = 100; // 100ms 간격 (초당 10회 제한)
 
     /**
      * 캐싱이 적용된 주식 가격 조회 (UUID 기반) - Redis 캐시 우선
@@ -118,7 +100,7 @@ public class StockPriceService {
     /**
      * API 응답을 StockPriceResponse로 변환 (stockCode 포함)
      */
-    private StockPriceResponse convertToStockPriceResponse(Map<String, Object> apiResponse, String stockCode) {
+    public StockPriceResponse convertToStockPriceResponse(Map<String, Object> apiResponse, String stockCode) {
         try {
             @SuppressWarnings("unchecked")
             Map<String, Object> output = (Map<String, Object>) apiResponse.get("output");
@@ -153,66 +135,15 @@ public class StockPriceService {
     }
 
     public Map<String, Object> getCurrentPrice(String stockCode, String prdtTypeCd) {
-        return getCurrentPriceWithRetry(stockCode, prdtTypeCd, 1);
+        // ETF와 주식 모두 시장 구분 J 사용 - 동시에 같은 종목을 조회하면 한 번만 호출
+        return KisQuotationClient.await(kisQuotationClient.getCurrentPriceAsync(stockCode));
     }
-    
-    private Map<String, Object> getCurrentPriceWithRetry(String stockCode, String prdtTypeCd, int retryCount) {
-        // API 호출 제한 적용
-        enforceRateLimit();
-        
-        // ETF인 경우 시장 구분 코드를 다르게 설정
-        String marketDivCode = "500".equals(prdtTypeCd) ? "J" : "J"; // ETF와 주식 모두 J 사용
-        
-        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-price"
-                + "?FID_COND_MRKT_DIV_CODE=" + marketDivCode + "&FID_INPUT_ISCD=" + stockCode;
-
-        // 유효한 토큰을 자동으로 가져옵니다
-        String accessToken = kisTokenService.getValidAccessToken();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("authorization", "Bearer " + accessToken);
-        headers.add("appkey", appKey);
-        headers.add("appsecret", appSecret);
-        headers.add("tr_id", "FHKST01010100");
-        headers.add("custtype", "P");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            } else {
-                // 토큰 만료 에러 체크
-                if (isTokenExpiredError(response.getBody())) {
-                    log.warn("🔄 토큰 만료 감지, 토큰 갱신 후 재시도: {}", stockCode);
-                    kisTokenService.invalidateToken();
-                    
-                    if (retryCount <= 1) {
-                        return getCurrentPriceWithRetry(stockCode, prdtTypeCd, retryCount + 1);
-                    }
-                }
-                
-                log.error("시세 조회 실패: HTTP {} - {}", response.getStatusCode(), response.getBody());
-                throw new RuntimeException("시세 조회 실패: " + response.getStatusCode());
-            }
-        } catch (Exception e) {
-            // 토큰 만료 에러 체크
-            if (isTokenExpiredError(e.getMessage())) {
-                log.warn("🔄 토큰 만료 감지, 토큰 갱신 후 재시도: {}", stockCode);
-                kisTokenService.invalidateToken();
-                
-                if (retryCount <= 1) {
-                    return getCurrentPriceWithRetry(stockCode, prdtTypeCd, retryCount + 1);
-                }
-            }
-            
-            log.error("시세 조회 중 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("시세 조회 실패: " + e.getMessage(), e);
-        }
+    /**
+     * 현재가 비동기 조회 (요청 스레드를 묶어두지 않아야 하는 곳에서 사용)
+     */
+    public CompletableFuture<Map<String, Object>> getCurrentPriceAsync(String stockCode) {
+        return kisQuotationClient.getCurrentPriceAsync(stockCode);
     }
 
     // 주식 상세 정보 조회 (현재가 + 거래량 + 고저가 등)
@@ -220,107 +151,14 @@ public class StockPriceService {
         return getStockDetail(stockCode, "300"); // 기본값: 주식
     }
 
-    // 주식 상세 정보 조회 (prdtTypeCd 포함)
+    // 주식 상세 정보 조회 (prdtTypeCd 포함) - 현재가와 같은 API라 동시 요청은 현재가 조회와 병합
     public Map<String, Object> getStockDetail(String stockCode, String prdtTypeCd) {
-        // API 호출 제한 적용
-        enforceRateLimit();
-        
-        // ETF인 경우 시장 구분 코드를 다르게 설정
-        String marketDivCode = "500".equals(prdtTypeCd) ? "J" : "J"; // ETF와 주식 모두 J 사용
-        
-        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-price"
-                + "?FID_COND_MRKT_DIV_CODE=" + marketDivCode + "&FID_INPUT_ISCD=" + stockCode;
-
-        String accessToken = kisTokenService.getValidAccessToken();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("authorization", "Bearer " + accessToken);
-        headers.add("appkey", appKey);
-        headers.add("appsecret", appSecret);
-        headers.add("tr_id", "FHKST01010100");
-        headers.add("custtype", "P");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            } else {
-                log.error("주식 상세 조회 실패: HTTP {} - {}", response.getStatusCode(), response.getBody());
-                throw new RuntimeException("주식 상세 조회 실패: " + response.getStatusCode());
-            }
-        } catch (Exception e) {
-            log.error("주식 상세 조회 중 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("주식 상세 조회 실패: " + e.getMessage(), e);
-        }
+        return KisQuotationClient.await(kisQuotationClient.getCurrentPriceAsync(stockCode));
     }
 
     // 주식 차트 데이터 조회 (기간별 데이터)
     public Map<String, Object> getStockChart(String stockCode, String period) {
-        // API 호출 제한 적용
-        enforceRateLimit();
-        
-        // 기간별 조회 기간 설정
-        String endDate = java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String startDate;
-        
-        // 기간별 조회 기간 설정
-        switch (period.toUpperCase()) {
-            case "D": // 일봉: 최근 1년
-                startDate = java.time.LocalDate.now().minusYears(1).format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-                break;
-            case "W": // 주봉: 최근 2년
-                startDate = java.time.LocalDate.now().minusYears(2).format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-                break;
-            case "M": // 월봉: 최근 5년
-                startDate = java.time.LocalDate.now().minusYears(5).format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-                break;
-            case "Y": // 연봉: 최근 10년
-                startDate = java.time.LocalDate.now().minusYears(10).format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-                break;
-            default: // 기본값: 일봉
-                startDate = java.time.LocalDate.now().minusYears(1).format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-                break;
-        }
-        
-        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice"
-                + "?FID_COND_MRKT_DIV_CODE=J&FID_INPUT_ISCD=" + stockCode
-                + "&FID_INPUT_DATE_1=" + startDate + "&FID_INPUT_DATE_2=" + endDate
-                + "&FID_PERIOD_DIV_CODE=" + period.toUpperCase() + "&FID_ORG_ADJ_PRC=0";
-
-        log.info("차트 데이터 요청 - 종목코드: {}, 기간: {}, 조회기간: {} ~ {}", 
-                stockCode, period.toUpperCase(), startDate, endDate);
-
-        String accessToken = kisTokenService.getValidAccessToken();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("authorization", "Bearer " + accessToken);
-        headers.add("appkey", appKey);
-        headers.add("appsecret", appSecret);
-        headers.add("tr_id", "FHKST03010100");
-        headers.add("custtype", "P");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            } else {
-                log.error("차트 데이터 조회 실패: HTTP {} - {}", response.getStatusCode(), response.getBody());
-                throw new RuntimeException("차트 데이터 조회 실패: " + response.getStatusCode());
-            }
-        } catch (Exception e) {
-            log.error("차트 데이터 조회 중 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("차트 데이터 조회 실패: " + e.getMessage(), e);
-        }
+        return KisQuotationClient.await(kisQuotationClient.getStockChartAsync(stockCode, period));
     }
 
     // 주식 호가 데이터 조회
@@ -330,89 +168,16 @@ public class StockPriceService {
 
     // 주식 호가 데이터 조회 (prdtTypeCd 포함)
     public Map<String, Object> getOrderBook(String stockCode, String prdtTypeCd) {
-        return getOrderBookWithRetry(stockCode, prdtTypeCd, 1);
+        return KisQuotationClient.await(kisQuotationClient.getOrderBookAsync(stockCode));
     }
-    
-    private Map<String, Object> getOrderBookWithRetry(String stockCode, String prdtTypeCd, int retryCount) {
-        // API 호출 제한 적용
-        enforceRateLimit();
-        
-        // ETF인 경우 시장 구분 코드를 다르게 설정
-        String marketDivCode = "500".equals(prdtTypeCd) ? "J" : "J"; // ETF와 주식 모두 J 사용
-        
-        String url = baseUrl + "/uapi/domestic-stock/v1/quotations/inquire-asking-price-exp-ccn"
-                + "?FID_COND_MRKT_DIV_CODE=" + marketDivCode + "&FID_INPUT_ISCD=" + stockCode;
 
-        String accessToken = kisTokenService.getValidAccessToken();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("authorization", "Bearer " + accessToken);
-        headers.add("appkey", appKey);
-        headers.add("appsecret", appSecret);
-        headers.add("tr_id", "FHKST01010200");
-        headers.add("custtype", "P");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            } else {
-                // 토큰 만료 에러 체크
-                if (isTokenExpiredError(response.getBody())) {
-                    log.warn("🔄 토큰 만료 감지, 토큰 갱신 후 재시도: {}", stockCode);
-                    kisTokenService.invalidateToken();
-                    
-                    if (retryCount <= 1) {
-                        return getOrderBookWithRetry(stockCode, prdtTypeCd, retryCount + 1);
-                    }
-                }
-                
-                log.error("호가 데이터 조회 실패: HTTP {} - {}", response.getStatusCode(), response.getBody());
-                throw new RuntimeException("호가 데이터 조회 실패: " + response.getStatusCode());
-            }
-        } catch (Exception e) {
-            // 토큰 만료 에러 체크
-            if (isTokenExpiredError(e.getMessage())) {
-                log.warn("🔄 토큰 만료 감지, 토큰 갱신 후 재시도: {}", stockCode);
-                kisTokenService.invalidateToken();
-                
-                if (retryCount <= 1) {
-                    return getOrderBookWithRetry(stockCode, prdtTypeCd, retryCount + 1);
-                }
-            }
-            
-            log.error("호가 데이터 조회 중 오류 발생: {}", e.getMessage());
-            throw new RuntimeException("호가 데이터 조회 실패: " + e.getMessage(), e);
-        }
-    }
-    
     /**
-     * API 호출 제한을 적용하여 초당 거래건수 초과를 방지
+     * 호가 비동기 조회
      */
-    private void enforceRateLimit() {
-        long currentTime = System.currentTimeMillis();
-        long lastCallTime = lastApiCallTime.get();
-        long timeSinceLastCall = currentTime - lastCallTime;
-        
-        if (timeSinceLastCall < API_CALL_INTERVAL_MS) {
-            long sleepTime = API_CALL_INTERVAL_MS - timeSinceLastCall;
-            try {
-                log.debug("API 호출 제한 적용: {}ms 대기", sleepTime);
-                Thread.sleep(sleepTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("API 호출 제한 대기 중 인터럽트 발생", e);
-            }
-        }
-        
-        lastApiCallTime.set(System.currentTimeMillis());
+    public CompletableFuture<Map<String, Object>> getOrderBookAsync(String stockCode) {
+        return kisQuotationClient.getOrderBookAsync(stockCode);
     }
-    
+
     /**
      * API 호출 실패 시 제공할 기본 주식 가격 데이터
      */
@@ -433,42 +198,6 @@ public class StockPriceService {
         return fallback;
     }
     
-    /**
-     * 토큰 만료 에러인지 확인
-     */
-    private boolean isTokenExpiredError(Object responseBody) {
-        if (responseBody == null) return false;
-        
-        try {
-            if (responseBody instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> body = (Map<String, Object>) responseBody;
-                String rtCd = (String) body.get("rt_cd");
-                String msgCd = (String) body.get("msg_cd");
-                String msg1 = (String) body.get("msg1");
-                
-                return "1".equals(rtCd) && 
-                       ("EGW00123".equals(msgCd) || 
-                        (msg1 != null && msg1.contains("기간이 만료된 token")));
-            }
-        } catch (Exception e) {
-            log.debug("토큰 만료 에러 체크 중 예외: {}", e.getMessage());
-        }
-        
-        return false;
-    }
-    
-    /**
-     * 토큰 만료 에러인지 확인 (에러 메시지 기반)
-     */
-    private boolean isTokenExpiredError(String errorMessage) {
-        if (errorMessage == null) return false;
-        
-        return errorMessage.contains("EGW00123") || 
-               errorMessage.contains("기간이 만료된 token") ||
-               errorMessage.contains("token 입니다");
-    }
-    
     /**
      * 장외 시간인지 확인 (주말, 공휴일, 장외 시간)
      */
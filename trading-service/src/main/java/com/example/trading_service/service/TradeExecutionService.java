@@ -2,8 +2,10 @@ package com.example.trading_service.service;
 
 import com.example.trading_service.domain.*;
 import com.example.trading_service.dto.OrderBookResponse;
+import com.example.trading_service.event.GroupTradeExecutedEvent;
 import com.example.trading_service.event.TradeExecutedEvent;
 import com.example.trading_service.repository.*;
+import com.example.trading_service.util.FixedPoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -11,10 +13,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -27,10 +29,11 @@ public class TradeExecutionService {
     private final TradeRepository tradeRepository;
     private final BalanceCacheRepository balanceCacheRepository;
     private final HoldingCacheRepository holdingCacheRepository;
-    private final InvestmentAccountRepository investmentAccountRepository;
-    private final StockRepository stockRepository;
     @Lazy
     private final OrderBookService orderBookService;
+    private final OrderBookSnapshotStore orderBookSnapshotStore;
+    private final PendingOrderIndex pendingOrderIndex;
+    private final AccountLedgerService accountLedgerService;
     private final HistoryRepository historyRepository;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -43,10 +46,25 @@ public class TradeExecutionService {
 
     // 지정가 주문 체결 확인 (WebSocket 호가 데이터와 비교)
     public void checkLimitOrderExecution(Order order) {
+        OrderBookResponse orderBook;
+        try {
+            // WebSocket 호가 스냅샷 조회 (없을 때만 REST 폴백 포함 조회)
+            String stockCode = order.getStock().getStockCode();
+            orderBook = orderBookSnapshotStore.get(stockCode);
+            if (orderBook == null) {
+                orderBook = orderBookService.getOrderBook(stockCode);
+            }
+        } catch (Exception e) {
+            log.error("지정가 주문 체결 확인 중 오류 발생 - 주문ID: {} - {}", 
+                    order.getOrderId(), e.getMessage());
+            return;
+        }
+        checkLimitOrderExecution(order, orderBook);
+    }
+
+    // 지정가 주문 체결 확인 (호가 틱에서 이미 받은 호가 데이터 사용)
+    public void checkLimitOrderExecution(Order order, OrderBookResponse orderBook) {
         try {
-            // WebSocket 호가 데이터 조회
-            OrderBookResponse orderBook = orderBookService.getOrderBook(order.getStock().getStockCode());
-            
             if (orderBook == null || orderBook.getAskPrices().isEmpty() || orderBook.getBidPrices().isEmpty()) {
                 log.debug("호가 데이터가 없어 지정가 주문 체결 확인 건너뜀 - 주문ID: {}", order.getOrderId());
                 return;
@@ -96,21 +114,25 @@ public class TradeExecutionService {
         log.info("🚀 거래 체결 시작 - 주문ID: {}, 체결가: {}, 수량: {}", 
                 order.getOrderId(), executionPrice, order.getQuantity());
         
+        // 체결가는 원 단위, 수량은 마이크로주 단위로 계산
+        long priceWon = FixedPoint.toWon(executionPrice);
+        
         // 체결 기록 생성
         Trade trade = new Trade();
         trade.setOrder(order);
-        trade.setQuantity(order.getQuantity());
-        trade.setPrice(executionPrice);
+        trade.setQuantityMicros(order.getQuantityMicros());
+        trade.setPriceWon(priceWon);
         tradeRepository.save(trade);
         log.info("✅ Trade 엔티티 저장 완료 - tradeId: {}", trade.getTradeId());
 
         // 주문 상태 업데이트
         order.setStatus(Order.Status.FILLED);
         orderRepository.save(order);
+        pendingOrderIndex.remove(order.getOrderId());
         log.info("✅ 주문 상태 업데이트 완료 - status: FILLED");
 
         // 잔고 및 보유 종목 업데이트
-        updateAccountAfterTrade(order, executionPrice);
+        updateAccountAfterTrade(order, priceWon);
         log.info("✅ 계좌 업데이트 완료");
         
         // 그룹 보유량 업데이트는 이벤트로 처리 (순환 참조 방지)
@@ -121,7 +143,7 @@ public class TradeExecutionService {
         }
         
         // 거래 체결 이벤트 발행
-        eventPublisher.publishEvent(new TradeExecutedEvent(this, order, executionPrice));
+        eventPublisher.publishEvent(new TradeExecutedEvent(this, order, priceWon));
         log.info("✅ 거래 체결 이벤트 발행 완료");
         
         
@@ -129,92 +151,175 @@ public class TradeExecutionService {
         log.info("🔍 개인 거래 체결 완료 - 히스토리는 그룹 거래에서만 저장됨");
         
         log.info("거래가 체결되었습니다. 주문ID: {}, 체결가: {}, 수량: {}", 
-                order.getOrderId(), executionPrice, order.getQuantity());
+                order.getOrderId(), priceWon, order.getQuantity());
     }
 
-    // 거래 후 계좌 업데이트
-    private void updateAccountAfterTrade(Order order, float executionPrice) {
-        float totalAmount = executionPrice * order.getQuantity();
-        
-        if (order.getOrderType() == Order.OrderType.BUY) {
-            // 매수: 잔고 차감, 보유 종목 추가/업데이트
-            updateBalance(order.getInvestmentAccount().getInvestmentAccountId(), -totalAmount);
-            updateHolding(order.getInvestmentAccount().getInvestmentAccountId(), order.getStock().getId(), order.getQuantity(), executionPrice, true);
-        } else {
-            // 매도: 잔고 증가, 보유 종목 차감
-            updateBalance(order.getInvestmentAccount().getInvestmentAccountId(), totalAmount);
-            updateHolding(order.getInvestmentAccount().getInvestmentAccountId(), order.getStock().getId(), order.getQuantity(), executionPrice, false);
+    // 그룹 분할 지정가 주문 일괄 체결 확인 (같은 그룹/종목/방향/가격의 멤버 주문 묶음)
+    public int checkGroupLimitOrderExecution(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        OrderBookResponse orderBook;
+        try {
+            String stockCode = orders.get(0).getStock().getStockCode();
+            orderBook = orderBookSnapshotStore.get(stockCode);
+            if (orderBook == null) {
+                orderBook = orderBookService.getOrderBook(stockCode);
+            }
+        } catch (Exception e) {
+            log.error("그룹 지정가 주문 체결 확인 중 오류 발생 - 그룹ID: {} - {}",
+                    orders.get(0).getGroupId(), e.getMessage());
+            return 0;
         }
+        return checkGroupLimitOrderExecution(orders, orderBook);
     }
 
-    // 잔고 업데이트
-    private void updateBalance(UUID accountId, float amount) {
-        BalanceCache balance = balanceCacheRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new RuntimeException("잔고 정보를 찾을 수 없습니다"));
-        
-        balance.setBalance(balance.getBalance() + (int) amount);
-        balanceCacheRepository.save(balance);
+    // 그룹 분할 지정가 주문 일괄 체결 확인 (호가 틱에서 이미 받은 호가 데이터 사용)
+    // @return 체결된 주문 수
+    public int checkGroupLimitOrderExecution(List<Order> orders, OrderBookResponse orderBook) {
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        Order first = orders.get(0);
+        try {
+            if (orderBook == null || orderBook.getAskPrices().isEmpty() || orderBook.getBidPrices().isEmpty()) {
+                log.debug("호가 데이터가 없어 그룹 지정가 주문 체결 확인 건너뜀 - 그룹ID: {}", first.getGroupId());
+                return 0;
+            }
+
+            // 묶음 안의 주문은 방향/지정가가 같으므로 첫 주문 기준으로 한 번만 비교
+            float executionPrice;
+            if (first.getOrderType() == Order.OrderType.BUY) {
+                float lowestAskPrice = orderBook.getAskPrices().get(0).getPrice();
+                if (first.getPrice() < lowestAskPrice) {
+                    log.debug("⏳ 그룹 지정가 매수 대기 - 그룹ID: {}, 지정가: {}원 < 최저매도가: {}원",
+                            first.getGroupId(), first.getPrice(), lowestAskPrice);
+                    return 0;
+                }
+                executionPrice = lowestAskPrice;
+            } else {
+                float highestBidPrice = orderBook.getBidPrices().get(0).getPrice();
+                if (first.getPrice() > highestBidPrice) {
+                    log.debug("⏳ 그룹 지정가 매도 대기 - 그룹ID: {}, 지정가: {}원 > 최고매수가: {}원",
+                            first.getGroupId(), first.getPrice(), highestBidPrice);
+                    return 0;
+                }
+                executionPrice = highestBidPrice;
+            }
+            return executeGroupTrade(orders, executionPrice);
+
+        } catch (Exception e) {
+            log.error("그룹 지정가 주문 체결 확인 중 오류 발생 - 그룹ID: {} - {}",
+                    first.getGroupId(), e.getMessage());
+            return 0;
+        }
     }
 
-    // 보유 종목 업데이트
-    private void updateHolding(UUID accountId, UUID stockId, float quantity, float price, boolean isBuy) {
-        Optional<HoldingCache> existingHolding = holdingCacheRepository
-                .findByAccountIdAndStockId(accountId, stockId);
-        
-        if (isBuy) {
-            // 매수
-            if (existingHolding.isPresent()) {
-                HoldingCache holding = existingHolding.get();
-                
-                // BigDecimal을 사용한 정확한 계산
-                BigDecimal currentQuantity = BigDecimal.valueOf(holding.getQuantity());
-                BigDecimal currentAvgCost = BigDecimal.valueOf(holding.getAvgCost());
-                BigDecimal newQuantity = BigDecimal.valueOf(quantity);
-                BigDecimal newPrice = BigDecimal.valueOf(price);
-                
-                // 새로운 총 수량
-                BigDecimal totalQuantity = currentQuantity.add(newQuantity);
-                
-                // 새로운 평균단가 계산
-                BigDecimal currentTotalCost = currentQuantity.multiply(currentAvgCost);
-                BigDecimal newTotalCost = newQuantity.multiply(newPrice);
-                BigDecimal totalCost = currentTotalCost.add(newTotalCost);
-                BigDecimal newAvgCost = totalCost.divide(totalQuantity, 2, RoundingMode.HALF_UP);
-                
-                // 소수점 6자리로 반올림하여 저장
-                holding.setQuantity(totalQuantity.setScale(6, RoundingMode.HALF_UP).floatValue());
-                holding.setAvgCost(newAvgCost.setScale(2, RoundingMode.HALF_UP).floatValue());
-                holdingCacheRepository.save(holding);
+    /**
+     * 그룹 분할 주문 일괄 체결
+     * - 멤버 잔고/보유를 IN 쿼리 한 번씩으로 조회하고, 검증을 모두 마친 뒤에 엔티티를 변경
+     * - 잔고/보유는 계좌별 조건부 차감 → 부족한 멤버(동시 체결이 먼저 차감)는 이번 체결에서 빼고 대기 상태로 남김
+     * - 체결/주문은 saveAll로 모아서 저장 (JDBC batch)
+     * - 그룹 보유량은 GroupTradeExecutedEvent로 그룹당 한 번만 갱신
+     * @return 체결된 주문 수
+     */
+    public int executeGroupTrade(List<Order> orders, float executionPrice) {
+        long priceWon = FixedPoint.toWon(executionPrice);
+        Order first = orders.get(0);
+        boolean isBuy = first.getOrderType() == Order.OrderType.BUY;
+        log.info("🚀 그룹 거래 일괄 체결 시작 - 그룹ID: {}, 주문 수: {}, 체결가: {}원",
+                first.getGroupId(), orders.size(), priceWon);
+
+        List<UUID> accountIds = orders.stream()
+                .map(order -> order.getInvestmentAccount().getInvestmentAccountId())
+                .distinct()
+                .toList();
+        Map<UUID, BalanceCache> balances = new HashMap<>();
+        balanceCacheRepository.findByAccountIdIn(accountIds)
+                .forEach(balance -> balances.put(balance.getInvestmentAccount().getInvestmentAccountId(), balance));
+        Map<UUID, HoldingCache> holdings = new HashMap<>();
+        holdingCacheRepository.findByAccountIdInAndStockId(accountIds, first.getStock().getId())
+                .forEach(holding -> holdings.put(holding.getInvestmentAccount().getInvestmentAccountId(), holding));
+
+        // 1. 검증 (변경 전) - 잔고/보유 정보가 없는 주문은 대기 상태로 남김
+        List<Order> executable = new ArrayList<>();
+        for (Order order : orders) {
+            UUID accountId = order.getInvestmentAccount().getInvestmentAccountId();
+            if (!balances.containsKey(accountId)) {
+                log.error("❌ 잔고 정보가 없어 체결 제외 - 주문ID: {}, 계좌ID: {}", order.getOrderId(), accountId);
+            } else if (!isBuy && !holdings.containsKey(accountId)) {
+                log.error("❌ 보유 정보가 없어 체결 제외 - 주문ID: {}, 계좌ID: {}", order.getOrderId(), accountId);
             } else {
-                HoldingCache newHolding = new HoldingCache();
-                InvestmentAccount account = investmentAccountRepository.findById(accountId)
-                        .orElseThrow(() -> new RuntimeException("투자 계좌를 찾을 수 없습니다"));
-                Stock stock = stockRepository.findById(stockId)
-                        .orElseThrow(() -> new RuntimeException("주식을 찾을 수 없습니다"));
-                
-                newHolding.setInvestmentAccount(account);
-                newHolding.setStock(stock);
-                // 소수점 6자리로 반올림
-                newHolding.setQuantity(BigDecimal.valueOf(quantity).setScale(6, RoundingMode.HALF_UP).floatValue());
-                newHolding.setAvgCost(BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP).floatValue());
-                holdingCacheRepository.save(newHolding);
+                executable.add(order);
             }
-        } else {
-            // 매도
-            if (existingHolding.isPresent()) {
-                HoldingCache holding = existingHolding.get();
-                BigDecimal currentQuantity = BigDecimal.valueOf(holding.getQuantity());
-                BigDecimal sellQuantity = BigDecimal.valueOf(quantity);
-                BigDecimal newQuantity = currentQuantity.subtract(sellQuantity);
-                
-                if (newQuantity.compareTo(BigDecimal.ZERO) <= 0) {
-                    holdingCacheRepository.delete(holding);
-                } else {
-                    // 소수점 6자리로 반올림
-                    holding.setQuantity(newQuantity.setScale(6, RoundingMode.HALF_UP).floatValue());
-                    holdingCacheRepository.save(holding);
+        }
+        if (executable.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 잔고/보유는 계좌별 원자적 증감 - 차감은 충분할 때만, 실패한 주문은 아무것도 바뀌지 않으므로 제외만 함
+        List<Order> filled = new ArrayList<>();
+        for (Order order : executable) {
+            long totalAmount = FixedPoint.amount(order.getQuantityMicros(), priceWon);
+            UUID accountId = order.getInvestmentAccount().getInvestmentAccountId();
+            if (isBuy) {
+                if (!accountLedgerService.subtractBalanceIfSufficient(accountId, totalAmount)) {
+                    log.error("❌ 잔고 부족으로 체결 제외 - 주문ID: {}, 계좌ID: {}", order.getOrderId(), accountId);
+                    continue;
+                }
+                accountLedgerService.addToHolding(order.getInvestmentAccount(), order.getStock(),
+                        order.getQuantityMicros(), priceWon);
+            } else {
+                if (!accountLedgerService.tryRemoveFromHolding(accountId, order.getStock().getId(), order.getQuantityMicros())) {
+                    log.error("❌ 보유 수량 부족으로 체결 제외 - 주문ID: {}, 계좌ID: {}", order.getOrderId(), accountId);
+                    continue;
                 }
+                accountLedgerService.addBalance(accountId, totalAmount);
             }
+            filled.add(order);
+        }
+        if (filled.isEmpty()) {
+            return 0;
+        }
+
+        // 3. 체결 기록 / 주문 상태는 saveAll로 모아서 저장 (JDBC batch)
+        List<Trade> trades = new ArrayList<>();
+        for (Order order : filled) {
+            Trade trade = new Trade();
+            trade.setOrder(order);
+            trade.setQuantityMicros(order.getQuantityMicros());
+            trade.setPriceWon(priceWon);
+            trades.add(trade);
+
+            order.setStatus(Order.Status.FILLED);
+        }
+        tradeRepository.saveAll(trades);
+        orderRepository.saveAll(filled);
+        pendingOrderIndex.removeAll(filled.stream().map(Order::getOrderId).toList());
+
+        // 그룹 보유량/평가 엔진 갱신은 이벤트로 그룹당 한 번 처리
+        eventPublisher.publishEvent(new GroupTradeExecutedEvent(this, filled, priceWon));
+
+        log.info("✅ 그룹 거래 일괄 체결 완료 - 그룹ID: {}, 체결 주문 수: {}, 체결가: {}원",
+                first.getGroupId(), filled.size(), priceWon);
+        return filled.size();
+    }
+
+    // 거래 후 계좌 업데이트 (잔고/수량은 DB 원자적 증감, 평균단가는 버전 비교 갱신)
+    // 매수 대금/매도 수량이 부족하면 예외 → 체결 트랜잭션 롤백, 주문은 대기 상태로 남음
+    private void updateAccountAfterTrade(Order order, long priceWon) {
+        UUID accountId = order.getInvestmentAccount().getInvestmentAccountId();
+        long quantityMicros = order.getQuantityMicros();
+        long totalAmount = FixedPoint.amount(quantityMicros, priceWon);
+        
+        if (order.getOrderType() == Order.OrderType.BUY) {
+            // 매수: 잔고 차감(충분할 때만), 보유 종목 추가/업데이트
+            accountLedgerService.debitBalance(accountId, totalAmount);
+            accountLedgerService.addToHolding(order.getInvestmentAccount(), order.getStock(), quantityMicros, priceWon);
+        } else {
+            // 매도: 보유 종목 차감(충분할 때만) 후 잔고 증가
+            accountLedgerService.removeFromHolding(accountId, order.getStock().getId(), quantityMicros);
+            accountLedgerService.addBalance(accountId, totalAmount);
         }
     }
 
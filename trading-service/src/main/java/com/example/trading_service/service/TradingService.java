@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.example.trading_service.util.AccountNumberGenerator;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +40,7 @@ public class TradingService {
     private final TradeRepository tradeRepository;
     private final StockRepository stockRepository;
     private final StockPriceService stockPriceService;
+    private final PriceSnapshotService priceSnapshotService;
     private final ChartService chartService;
     private final OrderService orderService;
     private final PortfolioCalculationService portfolioCalculationService;
@@ -46,6 +48,8 @@ public class TradingService {
     private final HistoryRepository historyRepository;
     private final VoteTradingService voteTradingService;
     private final TradeExecutionService tradeExecutionService;
+    private final AccountLedgerService accountLedgerService;
+    private final GroupMembershipCache groupMembershipCache;
 
     // 투자 계좌 개설
     public UUID createInvestmentAccount(UUID userId) {
@@ -87,6 +91,9 @@ public class TradingService {
         balance.setInvestmentAccount(savedAccount);
         balance.setBalance(0);
         balanceCacheRepository.save(balance);
+
+        // 계좌 없이 캐시된 그룹 멤버 목록이 있으면 새 계좌가 빠지지 않도록 무효화
+        groupMembershipCache.invalidateGroupsOfUserAfterCommit(userId);
         
         log.info("✅ 투자 계좌가 생성되었습니다. 사용자: {}, 계좌번호: {}", userId, savedAccount.getAccountNo());
         return savedAccount.getInvestmentAccountId();
@@ -107,12 +114,11 @@ public class TradingService {
         // 투자 계좌 조회
         InvestmentAccount account = getInvestmentAccountByUserId(userId);
         
-        // 잔고 업데이트
-        BalanceCache balance = balanceCacheRepository.findByAccountId(account.getInvestmentAccountId())
-                .orElseThrow(() -> new IllegalArgumentException("잔고 정보를 찾을 수 없습니다."));
-        
-        balance.setBalance(balance.getBalance() + request.getAmount().intValue());
-        balanceCacheRepository.save(balance);
+        // 잔고 업데이트 (DB 원자적 증가)
+        if (balanceCacheRepository.addBalance(account.getInvestmentAccountId(),
+                request.getAmount().intValue(), LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("잔고 정보를 찾을 수 없습니다.");
+        }
         
         
         // History 테이블에 현금 입금 완료 히스토리 저장 (일단 주석 처리)
@@ -164,7 +170,7 @@ public class TradingService {
         InvestmentAccount account = getInvestmentAccountByUserId(userId);
         
         // 잔고 업데이트 (BalanceCache가 없으면 자동 생성)
-        BalanceCache balance = balanceCacheRepository.findByAccountId(account.getInvestmentAccountId())
+        balanceCacheRepository.findByAccountId(account.getInvestmentAccountId())
                 .orElseGet(() -> {
                     log.warn("⚠️ BalanceCache가 없음 - userId: {}, accountId: {}. 자동 생성 중...", 
                             userId, account.getInvestmentAccountId());
@@ -180,11 +186,13 @@ public class TradingService {
                     return saved;
                 });
         
-        balance.setBalance(balance.getBalance() + request.getAmount().intValue());
-        balanceCacheRepository.save(balance);
+        // 충전은 DB 원자적 증가 (동시 체결/충전과 겹쳐도 유실 없음)
+        accountLedgerService.addBalance(account.getInvestmentAccountId(), request.getAmount().intValue());
         
         log.info("✅ Internal 예수금 충전 완료 - 사용자: {}, 그룹: {}, 충전 금액: {}원, 현재 잔고: {}원, 설명: {}", 
-                userId, request.getGroupId(), request.getAmount(), balance.getBalance(), request.getDescription());
+                userId, request.getGroupId(), request.getAmount(),
+                balanceCacheRepository.findBalanceAmountByAccountId(account.getInvestmentAccountId()).orElse(0),
+                request.getDescription());
     }
 
     /**
@@ -691,25 +699,24 @@ public class TradingService {
             InvestmentAccount account = investmentAccountRepository.findByUserId(userId)
                     .orElseThrow(() -> new IllegalArgumentException("투자계좌를 찾을 수 없습니다."));
 
-            BalanceCache balance = balanceCacheRepository.findByAccountId(account.getInvestmentAccountId())
-                    .orElseThrow(() -> new IllegalArgumentException("잔액 정보를 찾을 수 없습니다."));
+            UUID accountId = account.getInvestmentAccountId();
+            if (balanceCacheRepository.findBalanceAmountByAccountId(accountId).isEmpty()) {
+                throw new IllegalArgumentException("잔액 정보를 찾을 수 없습니다.");
+            }
 
             if (amount > Integer.MAX_VALUE) {
                 return TransferToPayResponse.failure("송금 금액이 너무 큽니다.");
             }
 
-            int amountInt = amount.intValue();
-
-            if (balance.getBalance() < amountInt) {
+            // 잔액 확인과 차감을 한 UPDATE로 (동시 체결/송금 사이에 잔액이 바뀌어도 음수가 되지 않음)
+            if (!accountLedgerService.subtractBalanceIfSufficient(accountId, amount)) {
                 return TransferToPayResponse.failure("잔액이 부족합니다.");
             }
 
-            int newBalance = balance.getBalance() - amountInt;
-            balance.setBalance(newBalance);
-            balanceCacheRepository.save(balance);
+            int newBalance = balanceCacheRepository.findBalanceAmountByAccountId(accountId).orElse(0);
 
             log.info("투자계좌에서 송금 성공: userId={}, amount={}, balanceAfter={}",
-                    userId, amount, balance.getBalance());
+                    userId, amount, newBalance);
 
             return TransferToPayResponse.success((long) newBalance);
         } catch (Exception e) {
@@ -771,18 +778,25 @@ public class TradingService {
         
         // 보유 종목 조회
         List<HoldingCache> holdings = holdingCacheRepository.findByAccountIdWithStock(account.getInvestmentAccountId());
+
+        // 보유 종목 현재가를 한 번에 조회 (실시간 데이터 → Redis → 한투 API 순)
+        Map<String, StockPriceResponse> quotes = priceSnapshotService.getQuotes(holdings.stream()
+                .map(holding -> holding.getStock().getStockCode())
+                .collect(Collectors.toSet()));
         
         return holdings.stream()
-                .map(holding -> convertHoldingToStockResponse(holding))
+                .map(holding -> convertHoldingToStockResponse(holding, quotes.get(holding.getStock().getStockCode())))
                 .collect(Collectors.toList());
     }
 
     // HoldingCache를 StockResponse로 변환
-    private StockResponse convertHoldingToStockResponse(HoldingCache holding) {
+    private StockResponse convertHoldingToStockResponse(HoldingCache holding, StockPriceResponse priceInfo) {
         Stock stock = holding.getStock();
         
-        // 캐시된 주식 가격 정보 조회 (일관성 보장)
-        StockPriceResponse priceInfo = stockPriceService.getCachedStockPrice(stock.getId(), stock.getStockCode(), stock.getPrdtTypeCd());
+        // 조회에 실패한 종목은 기존처럼 개별 조회 (API 실패 시 기본값)
+        if (priceInfo == null) {
+            priceInfo = stockPriceService.getCachedStockPrice(stock.getId(), stock.getStockCode(), stock.getPrdtTypeCd());
+        }
         
         return new StockResponse(
                 stock.getId(),
@@ -1,25 +1,28 @@
 package com.example.trading_service.service;
 
 import com.example.trading_service.domain.Order;
-import com.example.trading_service.domain.Stock;
 import com.example.trading_service.dto.OrderBookItem;
 import com.example.trading_service.dto.OrderBookResponse;
 import com.example.trading_service.dto.StockPriceResponse;
 import com.example.trading_service.repository.OrderRepository;
 import com.example.trading_service.repository.StockRepository;
+import com.example.trading_service.util.KisRealtimeParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -27,27 +30,45 @@ import java.util.Map;
 public class WebSocketOrderBookService {
 
     private final ObjectMapper objectMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final MarketDataBroadcaster marketDataBroadcaster;
     private final RedisCacheService redisCacheService;
+    private final OrderBookSnapshotStore orderBookSnapshotStore;
     @Lazy
     private final TradeExecutionService tradeExecutionService;
     private final StockRepository stockRepository;
     private final OrderRepository orderRepository;
+    private final PendingOrderIndex pendingOrderIndex;
+    private final KisFeedLeaderElection kisFeedLeaderElection;
+    private final PriceSnapshotService priceSnapshotService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final CandleStore candleStore;
 
-    // 종목명 캐시 (성능 최적화를 위해)
-    private final Map<String, String> stockNameCache = new HashMap<>();
+    // 종목명 캐시 (성능 최적화를 위해, 여러 처리 레인에서 동시 접근)
+    private final Map<String, String> stockNameCache = new ConcurrentHashMap<>();
+
+    // 실시간 프레임 디코딩 버퍼 (스레드별 재사용)
+    private static final ThreadLocal<KisRealtimeParser.OrderBookFrame> ORDER_BOOK_FRAME =
+            ThreadLocal.withInitial(KisRealtimeParser.OrderBookFrame::new);
+    private static final ThreadLocal<KisRealtimeParser.TradePriceFrame> TRADE_PRICE_FRAME =
+            ThreadLocal.withInitial(KisRealtimeParser.TradePriceFrame::new);
 
     /**
      * 한투 WebSocket 메시지를 파싱하고 브로드캐스트
      */
-    public void handleOrderBookMessage(String message) {
+    public void handleOrderBookMessage(CharSequence frame) {
         try {
             log.debug("📨 호가 메시지 수신");
 
-            // 실시간 데이터인지 확인 (|로 구분되는 형식)
-            if (message.contains("|")) {
+            // 실시간 데이터인지 확인 (암호화유무|TR_ID|... 형식) - String 변환 없이 바로 파싱
+            if (KisRealtimeParser.isRealtimeFrame(frame)) {
                 log.debug("실시간 파이프 구분 데이터 수신");
-                handleRealtimeData(message);
+                handleRealtimeData(frame);
+                return;
+            }
+
+            String message = frame.toString();
+            if (message.contains("|")) {
+                log.warn("⚠️ 실시간 데이터 형식이 올바르지 않음: {}", message);
                 return;
             }
 
@@ -99,8 +120,8 @@ public class WebSocketOrderBookService {
             if (orderBook != null) {
                 log.debug("호가 데이터 파싱 성공: {}", orderBook.getStockCode());
 
-                // 1. Redis 캐시에 저장 (30초 TTL)
-                redisCacheService.cacheWebSocketOrderBook(orderBook.getStockCode(), orderBook);
+                // 1. 호가 스냅샷 저장 (Redis는 write-behind)
+                orderBookSnapshotStore.put(orderBook.getStockCode(), orderBook);
 
                 // 2. 클라이언트에게 브로드캐스트
                 broadcastOrderBook(orderBook);
@@ -219,31 +240,29 @@ public class WebSocketOrderBookService {
      * 실시간 파이프 구분 데이터 처리 (한투 API 문서 기준)
      * 형식: 암호화유무|TR_ID|데이터건수|응답데이터
      */
-    private void handleRealtimeData(String message) {
+    private void handleRealtimeData(CharSequence frame) {
         try {
-            String[] parts = message.split("\\|");
-            if (parts.length >= 4) {
-                String encryptionFlag = parts[0]; // 0: 암호화 안됨, 1: 암호화됨
-                String trId = parts[1];
-                String dataCount = parts[2];
-                String responseData = parts[3];
-
-                log.info("📊 실시간 데이터 파싱: 암호화={}, TR_ID={}, 건수={}",
-                        encryptionFlag, trId, dataCount);
-
-                if ("0".equals(encryptionFlag) && "H0STASP0".equals(trId)) {
+            switch (KisRealtimeParser.trType(frame)) {
+                case KisRealtimeParser.TR_ORDER_BOOK -> {
                     // 암호화되지 않은 호가 데이터 처리
-                    parseRealtimeOrderBook(responseData);
-                } else if ("0".equals(encryptionFlag) && "H0STCNT0".equals(trId)) {
+                    KisRealtimeParser.OrderBookFrame orderBookFrame = ORDER_BOOK_FRAME.get();
+                    if (KisRealtimeParser.parseOrderBook(frame, orderBookFrame)) {
+                        parseRealtimeOrderBook(orderBookFrame);
+                    } else {
+                        log.warn("⚠️ 호가 데이터 필드가 부족함: {}", orderBookFrame.getFieldCount());
+                    }
+                }
+                case KisRealtimeParser.TR_TRADE_PRICE -> {
                     // 암호화되지 않은 현재가 데이터 처리
-                    parseRealtimeCurrentPrice(responseData);
-                } else if ("1".equals(encryptionFlag)) {
-                    log.warn("⚠️ 암호화된 데이터 수신 - 복호화 로직 필요");
-                } else {
-                    log.info("📊 다른 TR_ID 수신: {}", trId);
+                    KisRealtimeParser.TradePriceFrame tradePriceFrame = TRADE_PRICE_FRAME.get();
+                    if (KisRealtimeParser.parseTradePrice(frame, tradePriceFrame)) {
+                        parseRealtimeCurrentPrice(tradePriceFrame);
+                    } else {
+                        log.warn("⚠️ 현재가 데이터 필드가 부족함: {}", tradePriceFrame.getFieldCount());
+                    }
                 }
-            } else {
-                log.warn("⚠️ 실시간 데이터 형식이 올바르지 않음: {}", message);
+                case KisRealtimeParser.TR_ENCRYPTED -> log.warn("⚠️ 암호화된 데이터 수신 - 복호화 로직 필요");
+                default -> log.debug("📊 다른 TR_ID 수신: {}", frame);
             }
         } catch (Exception e) {
             log.error("❌ 실시간 데이터 처리 실패: {}", e.getMessage(), e);
@@ -251,101 +270,39 @@ public class WebSocketOrderBookService {
     }
 
     /**
-     * 실시간 호가 데이터 파싱 (^로 구분되는 응답 데이터)
+     * 실시간 호가 데이터 처리 (KisRealtimeParser로 디코딩된 프레임)
      */
-    private void parseRealtimeOrderBook(String responseData) {
+    private void parseRealtimeOrderBook(KisRealtimeParser.OrderBookFrame frame) {
         try {
-            // ^로 구분되는 데이터 파싱
-            String[] dataParts = responseData.split("\\^");
+            String stockCode = frame.getStockCode();
 
-            if (dataParts.length < 5) {
-                log.warn("⚠️ 호가 데이터 필드가 부족함: {}", dataParts.length);
-                return;
-            }
-
-            // 첫 번째 필드에서 종목코드 추출 (예: 005930^091217^0^97400^97500...)
-            String stockCode = dataParts[0];
-
-            // 호가 데이터 파싱 (간단한 형태)
-            List<OrderBookItem> askPrices = new ArrayList<>();
-            List<OrderBookItem> bidPrices = new ArrayList<>();
+            // 호가 데이터 (0원/0주 호가는 제외)
+            List<OrderBookItem> askPrices = new ArrayList<>(KisRealtimeParser.LEVELS);
+            List<OrderBookItem> bidPrices = new ArrayList<>(KisRealtimeParser.LEVELS);
 
-            // 한투 API 호가 데이터 형식에 따른 파싱
-            // 형식: 종목코드^시간^현재가^매도호가1^매도호가2^...^매도호가10^매수호가1^매수호가2^...^매수호가10^매도수량1^매도수량2^...^매도수량10^매수수량1^매수수량2^...^매수수량10
-
-            // 매도 호가 (ASK) - 10개 (인덱스 3~12)
-            int askCount = 0;
-            for (int i = 3; i < 13 && i < dataParts.length; i++) {
-                String priceStr = dataParts[i];
-
-                // 0이 아닌 값만 처리
-                if (priceStr != null && !priceStr.equals("0") && !priceStr.isEmpty() && !priceStr.equals("")) {
-                    try {
-                        float price = Float.parseFloat(priceStr);
-                        if (price > 0) {
-                            // 수량은 나중에 파싱 (인덱스 23~32)
-                            long quantity = 0L;
-                            if (i + 20 < dataParts.length) {
-                                String quantityStr = dataParts[i + 20];
-                                if (quantityStr != null && !quantityStr.equals("0") && !quantityStr.isEmpty()) {
-                                    try {
-                                        quantity = Long.parseLong(quantityStr);
-                                    } catch (NumberFormatException e) {
-                                        log.debug("매도 수량 파싱 실패: {}", quantityStr);
-                                    }
-                                }
-                            }
-                            // 수량이 0보다 큰 경우만 추가 (0주는 제외)
-                            if (quantity > 0) {
-                                askPrices.add(new OrderBookItem(price, quantity, "ask"));
-                                askCount++;
-                            }
-                        }
-                    } catch (NumberFormatException e) {
-                        log.debug("매도 호가 파싱 실패: {} - {}", priceStr, e.getMessage());
-                    }
+            for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+                long price = frame.askPrice(level);
+                long quantity = frame.askQuantity(level);
+                if (price > 0 && quantity > 0) {
+                    askPrices.add(new OrderBookItem((float) price, quantity, "ask"));
                 }
             }
 
-            // 매수 호가 (BID) - 10개 (인덱스 13~22)
-            int bidCount = 0;
-            for (int i = 13; i < 23 && i < dataParts.length; i++) {
-                String priceStr = dataParts[i];
-
-                // 0이 아닌 값만 처리
-                if (priceStr != null && !priceStr.equals("0") && !priceStr.isEmpty() && !priceStr.equals("")) {
-                    try {
-                        float price = Float.parseFloat(priceStr);
-                        if (price > 0) {
-                            // 수량은 나중에 파싱 (인덱스 33~42)
-                            long quantity = 0L;
-                            if (i + 20 < dataParts.length) {
-                                String quantityStr = dataParts[i + 20];
-                                if (quantityStr != null && !quantityStr.equals("0") && !quantityStr.isEmpty()) {
-                                    try {
-                                        quantity = Long.parseLong(quantityStr);
-                                    } catch (NumberFormatException e) {
-                                        log.debug("매수 수량 파싱 실패: {}", quantityStr);
-                                    }
-                                }
-                            }
-                            // 수량이 0보다 큰 경우만 추가 (0주는 제외)
-                            if (quantity > 0) {
-                                bidPrices.add(new OrderBookItem(price, quantity, "bid"));
-                                bidCount++;
-                            }
-                        }
-                    } catch (NumberFormatException e) {
-                        log.debug("매수 호가 파싱 실패: {} - {}", priceStr, e.getMessage());
-                    }
+            for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+                long price = frame.bidPrice(level);
+                long quantity = frame.bidQuantity(level);
+                if (price > 0 && quantity > 0) {
+                    bidPrices.add(new OrderBookItem((float) price, quantity, "bid"));
                 }
             }
 
+            int askCount = askPrices.size();
+            int bidCount = bidPrices.size();
+
             // 호가 데이터가 비어있으면 이전 캐시 데이터 사용 (불완전한 메시지 방지)
             if (askPrices.isEmpty() || bidPrices.isEmpty()) {
-                Object cachedData = redisCacheService.getCachedWebSocketOrderBook(stockCode);
-                if (cachedData instanceof OrderBookResponse) {
-                    OrderBookResponse cached = (OrderBookResponse) cachedData;
+                OrderBookResponse cached = orderBookSnapshotStore.get(stockCode);
+                if (cached != null) {
                     if (askPrices.isEmpty() && !cached.getAskPrices().isEmpty()) {
                         askPrices = new ArrayList<>(cached.getAskPrices());
                         log.debug("이전 캐시 매도 호가 사용: {}건", askPrices.size());
@@ -374,9 +331,8 @@ public class WebSocketOrderBookService {
                         currentPrice, askPrice1, bidPrice1);
             } else {
                 // 호가 데이터가 없으면 이전 캐시 값 사용 (fallback)
-                Object cachedData = redisCacheService.getCachedWebSocketOrderBook(stockCode);
-                if (cachedData instanceof OrderBookResponse) {
-                    OrderBookResponse cached = (OrderBookResponse) cachedData;
+                OrderBookResponse cached = orderBookSnapshotStore.get(stockCode);
+                if (cached != null) {
                     if (cached.getCurrentPrice() > 0) {
                         currentPrice = cached.getCurrentPrice();
                         log.debug("이전 캐시 현재가 사용: {}원", currentPrice);
@@ -431,27 +387,24 @@ public class WebSocketOrderBookService {
                     bidPrices
             );
 
-            // Redis에 캐시
-            redisCacheService.cacheWebSocketOrderBook(stockCode, orderBook);
+            // 호가 스냅샷 교체 (Redis는 write-behind)
+            orderBookSnapshotStore.put(stockCode, orderBook);
 
-            // WebSocket으로 브로드캐스트
-            messagingTemplate.convertAndSend("/topic/orderbook/" + stockCode, orderBook);
+            // 보유 계좌/그룹 평가금액 갱신 (가격 변동분만 반영)
+            portfolioValuationEngine.onPrice(stockCode, currentPrice);
+
+            // WebSocket 브로드캐스트 등록 (conflation 후 주기적으로 전송)
+            marketDataBroadcaster.publishOrderBook(orderBook);
 
             // 호가 데이터 업데이트 시 지정가 주문 체결 확인
-            checkPendingLimitOrders(stockCode);
+            checkPendingLimitOrders(orderBook);
 
             log.info("✅ 실시간 호가 데이터 처리 완료: {} (매도: {}, 매수: {})",
                     stockCode, askPrices.size(), bidPrices.size());
 
             // 호가 데이터가 비어있으면 경고
             if (askPrices.isEmpty() && bidPrices.isEmpty()) {
-                log.warn("⚠️ 호가 데이터가 비어있음 - 종목코드: {}, 필드수: {}", stockCode, dataParts.length);
-
-                // 디버깅을 위해 모든 필드 출력
-                log.warn("🔍 전체 데이터 필드:");
-                for (int i = 0; i < Math.min(50, dataParts.length); i++) {
-                    log.warn("  [{}]: {}", i, dataParts[i]);
-                }
+                log.warn("⚠️ 호가 데이터가 비어있음 - 종목코드: {}, 필드수: {}", stockCode, frame.getFieldCount());
             }
 
         } catch (Exception e) {
@@ -460,79 +413,45 @@ public class WebSocketOrderBookService {
     }
 
     /**
-     * 실시간 현재가 데이터 파싱 (H0STCNT0)
+     * 실시간 현재가 데이터 처리 (H0STCNT0)
      * 형식: 종목코드^현재가^전일대비^등락률^거래량^거래대금^시가^고가^저가^...
      */
-    private void parseRealtimeCurrentPrice(String responseData) {
+    private void parseRealtimeCurrentPrice(KisRealtimeParser.TradePriceFrame frame) {
         try {
-            // ^로 구분되는 데이터 파싱
-            String[] dataParts = responseData.split("\\^");
-            log.info("📈 실시간 현재가 데이터: {}개 필드", dataParts.length);
+            String stockCode = frame.getStockCode();
 
-            if (dataParts.length < 10) {
-                log.warn("⚠️ 현재가 데이터 필드가 부족함: {}", dataParts.length);
-                return;
-            }
-
-            // 현재가 데이터 파싱
-            String stockCode = dataParts[0];
-            String currentPriceStr = dataParts[1];
-            String changeAmountStr = dataParts[2];
-            String changeRateStr = dataParts[3];
-            String volumeStr = dataParts[4];
-            String openPriceStr = dataParts[6];
-            String highPriceStr = dataParts[7];
-            String lowPriceStr = dataParts[8];
-
-            log.info("📊 현재가 데이터 - 종목: {}, 현재가: {}, 변동: {}, 변동률: {}%",
-                    stockCode, currentPriceStr, changeAmountStr, changeRateStr);
+            log.debug("📊 현재가 데이터 - 종목: {}, 현재가: {}, 변동: {}, 변동률: {}%",
+                    stockCode, frame.getCurrentPrice(), frame.getChangePrice(), frame.getChangeRate());
 
             // StockPriceResponse 생성
             StockPriceResponse priceResponse = new StockPriceResponse();
             priceResponse.setStockCode(stockCode);
-            priceResponse.setCurrentPrice(new java.math.BigDecimal(currentPriceStr));
-            priceResponse.setChangePrice(new java.math.BigDecimal(changeAmountStr));
-            priceResponse.setChangeRate(Float.parseFloat(changeRateStr));
-            priceResponse.setVolume(Long.parseLong(volumeStr));
-            priceResponse.setOpenPrice(new java.math.BigDecimal(openPriceStr));
-            priceResponse.setHighPrice(new java.math.BigDecimal(highPriceStr));
-            priceResponse.setLowPrice(new java.math.BigDecimal(lowPriceStr));
+            priceResponse.setCurrentPrice(java.math.BigDecimal.valueOf(frame.getCurrentPrice()));
+            priceResponse.setChangePrice(java.math.BigDecimal.valueOf(frame.getChangePrice()));
+            priceResponse.setChangeRate((float) frame.getChangeRate());
+            priceResponse.setVolume(frame.getVolume());
+            priceResponse.setOpenPrice(java.math.BigDecimal.valueOf(frame.getOpenPrice()));
+            priceResponse.setHighPrice(java.math.BigDecimal.valueOf(frame.getHighPrice()));
+            priceResponse.setLowPrice(java.math.BigDecimal.valueOf(frame.getLowPrice()));
             priceResponse.setPrevClosePrice(priceResponse.getCurrentPrice().subtract(priceResponse.getChangePrice()));
 
-            // Redis에 주식 가격 캐시 (StockPriceService에서 사용하는 키 형식)
-            cacheStockPriceFromWebSocket(stockCode, priceResponse);
+            // JVM 현재가 틱 보관 + Redis 가격 캐시 (StockPriceService에서 사용하는 키 형식)
+            priceSnapshotService.recordTick(priceResponse);
+            portfolioValuationEngine.onPrice(stockCode, (float) frame.getCurrentPrice());
+            // 캔들 저장소 최신 봉 갱신 (일/주/월/년봉 + 분봉)
+            candleStore.onTick(stockCode, frame.getCurrentPrice(), frame.getOpenPrice(),
+                    frame.getHighPrice(), frame.getLowPrice(), frame.getVolume());
 
-            // WebSocket으로 브로드캐스트
-            messagingTemplate.convertAndSend("/topic/stockprice/" + stockCode, priceResponse);
+            // WebSocket 브로드캐스트 등록 (conflation 후 주기적으로 전송)
+            marketDataBroadcaster.publishStockPrice(priceResponse);
 
-            log.info("✅ 실시간 현재가 데이터 처리 완료: {} - 현재가: {}", stockCode, currentPriceStr);
+            log.info("✅ 실시간 현재가 데이터 처리 완료: {} - 현재가: {}", stockCode, frame.getCurrentPrice());
 
         } catch (Exception e) {
             log.error("❌ 실시간 현재가 데이터 파싱 실패: {}", e.getMessage(), e);
         }
     }
 
-    /**
-     * 웹소켓에서 받은 주식 가격 데이터를 Redis에 캐시
-     */
-    private void cacheStockPriceFromWebSocket(String stockCode, StockPriceResponse priceResponse) {
-        try {
-            // Stock 엔티티에서 UUID 조회
-            Stock stock = stockRepository.findByStockCode(stockCode).orElse(null);
-            if (stock == null) {
-                log.warn("⚠️ 주식 정보를 찾을 수 없음: {}", stockCode);
-                return;
-            }
-
-            // Redis에 캐시 (StockPriceService와 동일한 키 형식 사용)
-            redisCacheService.cacheStockPrice(stock.getId(), priceResponse);
-            log.info("💾 웹소켓 주식 가격 캐시 저장: {} - 현재가: {}", stockCode, priceResponse.getCurrentPrice());
-
-        } catch (Exception e) {
-            log.error("❌ 웹소켓 주식 가격 캐시 실패: {}", stockCode, e);
-        }
-    }
-
     /**
      * 한투 호가 데이터를 OrderBookResponse로 파싱
      */
@@ -663,9 +582,8 @@ public class WebSocketOrderBookService {
      */
     private void broadcastOrderBook(OrderBookResponse orderBook) {
         try {
-            String destination = "/topic/orderbook/" + orderBook.getStockCode();
-            messagingTemplate.convertAndSend(destination, orderBook);
-            log.debug("호가 데이터 브로드캐스트 완료: {}", destination);
+            marketDataBroadcaster.publishOrderBook(orderBook);
+            log.debug("호가 데이터 브로드캐스트 등록: {}", orderBook.getStockCode());
         } catch (Exception e) {
             log.error("❌ 호가 데이터 브로드캐스트 실패: {}", e.getMessage(), e);
         }
@@ -684,10 +602,7 @@ public class WebSocketOrderBookService {
      */
     public OrderBookResponse getCachedOrderBook(String stockCode) {
         try {
-            Object cached = redisCacheService.getCachedWebSocketOrderBook(stockCode);
-            if (cached instanceof OrderBookResponse) {
-                return (OrderBookResponse) cached;
-            }
+            return orderBookSnapshotStore.get(stockCode);
         } catch (Exception e) {
             log.error("캐시된 호가 데이터 조회 실패: {}", e.getMessage());
         }
@@ -711,8 +626,7 @@ public class WebSocketOrderBookService {
             int cachedCount = 0;
 
             for (String stockCode : activeStockCodes) {
-                Object cached = redisCacheService.getCachedWebSocketOrderBook(stockCode);
-                boolean isCached = cached != null;
+                boolean isCached = orderBookSnapshotStore.get(stockCode) != null;
                 cacheStatus.put(stockCode, isCached);
                 if (isCached) {
                     cachedCount++;
@@ -823,11 +737,11 @@ public class WebSocketOrderBookService {
                     bidPrices
             );
 
-            // Redis에 캐시
-            redisCacheService.cacheWebSocketOrderBook(stockCode, orderBook);
+            // 호가 스냅샷 교체 (Redis는 write-behind)
+            orderBookSnapshotStore.put(stockCode, orderBook);
 
-            // WebSocket으로 브로드캐스트
-            messagingTemplate.convertAndSend("/topic/orderbook/" + stockCode, orderBook);
+            // WebSocket 브로드캐스트 등록 (conflation 후 주기적으로 전송)
+            marketDataBroadcaster.publishOrderBook(orderBook);
 
             log.info("✅ ^ 구분자 호가 데이터 처리 완료: {}", stockCode);
 
@@ -838,28 +752,61 @@ public class WebSocketOrderBookService {
 
     /**
      * 대기 중인 지정가 주문 체결 확인
-     * WebSocket 호가 업데이트마다 자동 호출
+     * WebSocket 호가 업데이트마다 자동 호출 - 최우선 호가를 넘은 주문만 DB에서 조회
+     * 리더 선출 사용 시 같은 주문을 여러 파드가 체결하지 않도록 리더만 확인
      */
-    @Transactional
-    private void checkPendingLimitOrders(String stockCode) {
+    private void checkPendingLimitOrders(OrderBookResponse orderBook) {
+        String stockCode = orderBook.getStockCode();
         try {
-            // 해당 종목의 대기 중인 주문들 조회
-            List<Order> pendingOrders = orderRepository.findByStock_StockCodeAndStatus(stockCode, Order.Status.PENDING);
+            if (!kisFeedLeaderElection.isLeader()) {
+                return;
+            }
+
+            if (orderBook.getAskPrices().isEmpty() || orderBook.getBidPrices().isEmpty()) {
+                return;
+            }
+
+            float bestAsk = orderBook.getAskPrices().get(0).getPrice();
+            float bestBid = orderBook.getBidPrices().get(0).getPrice();
+            List<UUID> crossedOrderIds = pendingOrderIndex.findCrossedOrderIds(stockCode, bestAsk, bestBid);
 
-            if (pendingOrders.isEmpty()) {
+            if (crossedOrderIds.isEmpty()) {
                 return;
             }
 
-            log.info("🔍 대기 중인 지정가 주문 {}건 체결 확인 - 종목: {}", pendingOrders.size(), stockCode);
+            // 인덱스에 남아있지만 이미 체결/취소(또는 롤백)된 주문은 제외
+            List<Order> pendingOrders = orderRepository.findByOrderIdInAndStatus(crossedOrderIds, Order.Status.PENDING);
+            if (pendingOrders.size() < crossedOrderIds.size()) {
+                Set<UUID> stillPending = new HashSet<>();
+                pendingOrders.forEach(order -> stillPending.add(order.getOrderId()));
+                crossedOrderIds.stream()
+                        .filter(orderId -> !stillPending.contains(orderId))
+                        .forEach(pendingOrderIndex::remove);
+            }
+
+            log.info("🔍 호가를 넘은 지정가 주문 {}건 체결 확인 - 종목: {}", pendingOrders.size(), stockCode);
 
-            // 각 주문에 대해 체결 가능 여부 확인
+            // 그룹 분할 주문은 (그룹, 방향, 지정가)별로 묶어서 한 트랜잭션에 일괄 체결, 개인 주문은 건별 체결
+            Map<String, List<Order>> groupBatches = new LinkedHashMap<>();
             for (Order order : pendingOrders) {
+                if (order.getGroupId() != null) {
+                    String batchKey = order.getGroupId() + ":" + order.getOrderType() + ":" + order.getPriceWon();
+                    groupBatches.computeIfAbsent(batchKey, key -> new ArrayList<>()).add(order);
+                    continue;
+                }
                 try {
-                    tradeExecutionService.checkLimitOrderExecution(order);
+                    tradeExecutionService.checkLimitOrderExecution(order, orderBook);
                 } catch (Exception e) {
                     log.error("주문 체결 확인 실패 - 주문ID: {} - {}", order.getOrderId(), e.getMessage());
                 }
             }
+            for (List<Order> batch : groupBatches.values()) {
+                try {
+                    tradeExecutionService.checkGroupLimitOrderExecution(batch, orderBook);
+                } catch (Exception e) {
+                    log.error("그룹 주문 체결 확인 실패 - 그룹ID: {} - {}", batch.get(0).getGroupId(), e.getMessage());
+                }
+            }
 
         } catch (Exception e) {
             log.error("지정가 주문 체결 확인 중 오류 발생 - 종목코드: {} - {}", stockCode, e.getMessage());
@@ -0,0 +1,96 @@
+package com.example.trading_service.util;
+
+/**
+ * 고정소수점 수량/금액 계산
+ * - 수량: long 마이크로주 (1주 = 1,000,000), 금액/단가: long 원
+ * - 연산마다 BigDecimal을 만들지 않고 long 정수 연산으로 처리 (반올림은 HALF_UP, 범위 초과 시 ArithmeticException)
+ */
+public final class FixedPoint {
+
+    public static final int QUANTITY_DECIMALS = 6;
+    public static final long QUANTITY_SCALE = 1_000_000L;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * 주 단위 수량 -> 마이크로주 (소수점 6자리 반올림)
+     */
+    public static long toMicros(double quantity) {
+        return Math.round(quantity * QUANTITY_SCALE);
+    }
+
+    /**
+     * 마이크로주 -> 주 단위 수량 (응답/로그용)
+     */
+    public static float toQuantity(long quantityMicros) {
+        return (float) ((double) quantityMicros / QUANTITY_SCALE);
+    }
+
+    /**
+     * 원 단위 금액으로 반올림
+     */
+    public static long toWon(double amount) {
+        return Math.round(amount);
+    }
+
+    /**
+     * 수량(마이크로주) × 단가(원) = 금액(원)
+     */
+    public static long amount(long quantityMicros, long priceWon) {
+        return divideRound(Math.multiplyExact(quantityMicros, priceWon), QUANTITY_SCALE);
+    }
+
+    /**
+     * 매수 후 평균 단가(원)
+     * - (보유수량 × 평균단가 + 매수수량 × 매수가) ÷ 합계수량, 중간 금액은 원×마이크로주 단위 그대로 유지
+     */
+    public static long averageCost(long heldMicros, long avgCostWon, long boughtMicros, long priceWon) {
+        long totalMicros = heldMicros + boughtMicros;
+        if (heldMicros <= 0 || totalMicros <= 0) {
+            return priceWon;
+        }
+        long totalCost = Math.addExact(
+                Math.multiplyExact(heldMicros, avgCostWon),
+                Math.multiplyExact(boughtMicros, priceWon));
+        return divideRound(totalCost, totalMicros);
+    }
+
+    /**
+     * total을 parts개로 나눔 - 나머지는 앞쪽부터 1씩 더해서 합계가 정확히 total
+     */
+    public static long[] split(long total, int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("parts must be positive: " + parts);
+        }
+        long base = total / parts;
+        long remainder = total % parts;
+        long[] shares = new long[parts];
+        for (int i = 0; i < parts; i++) {
+            shares[i] = base + (i < Math.abs(remainder) ? Long.signum(remainder) : 0);
+        }
+        return shares;
+    }
+
+    /**
+     * 비율(%) - 소수점 2자리 반올림, 분모가 0 이하면 0
+     */
+    public static float percent(long numerator, long denominator) {
+        if (denominator <= 0) {
+            return 0f;
+        }
+        return Math.round((double) numerator * 10_000 / denominator) / 100.0f;
+    }
+
+    /**
+     * HALF_UP 나눗셈 (0.5 이상이면 0에서 먼 쪽으로)
+     */
+    public static long divideRound(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.trading_service.util;
+
+import java.util.Arrays;
+
+/**
+ * 한투 실시간 프레임 파서 (H0STASP0 호가 / H0STCNT0 현재가)
+ * - String.split / 정규식 없이 수신한 CharSequence를 커서로 순회하며 필드를 직접 디코딩
+ * - 결과는 재사용 가능한 프레임 객체의 primitive 배열에 기록 (틱마다 중간 String/박싱 객체 생성 없음)
+ * 형식: 암호화유무|TR_ID|데이터건수|필드0^필드1^필드2^...
+ */
+public final class KisRealtimeParser {
+
+    public static final int LEVELS = 10; // 매도/매수 호가 단계 수
+
+    public static final int TR_ENCRYPTED = -1;
+    public static final int TR_UNKNOWN = 0;
+    public static final int TR_ORDER_BOOK = 1;   // H0STASP0
+    public static final int TR_TRADE_PRICE = 2;  // H0STCNT0
+
+    private static final String ORDER_BOOK_TR_ID = "H0STASP0";
+    private static final String TRADE_PRICE_TR_ID = "H0STCNT0";
+
+    private static final char PIPE = '|';
+    private static final char CARET = '^';
+
+    // 호가 필드 인덱스: 종목코드^시간^구분^매도호가1~10^매수호가1~10^매도잔량1~10^매수잔량1~10
+    private static final int ASK_PRICE_START = 3;
+    private static final int BID_PRICE_START = ASK_PRICE_START + LEVELS;
+    private static final int ASK_QTY_START = BID_PRICE_START + LEVELS;
+    private static final int BID_QTY_START = ASK_QTY_START + LEVELS;
+    private static final int ORDER_BOOK_LAST_FIELD = BID_QTY_START + LEVELS - 1;
+    private static final int ORDER_BOOK_MIN_FIELDS = 5;
+
+    // 현재가 필드 인덱스: 종목코드^현재가^전일대비^등락률^거래량^거래대금^시가^고가^저가^...
+    private static final int TRADE_PRICE_LAST_FIELD = 8;
+    private static final int TRADE_PRICE_MIN_FIELDS = 10;
+
+    private static final double[] POW10 = {1d, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12};
+
+    // 종목코드 intern 테이블 (구독 종목 수만큼만 커지므로 선형 탐색으로 충분)
+    private static volatile String[] knownStockCodes = new String[0];
+
+    private KisRealtimeParser() {
+    }
+
+    /**
+     * 실시간 파이프 구분 프레임인지 확인 (첫 글자가 암호화유무, 두 번째 글자가 |)
+     */
+    public static boolean isRealtimeFrame(CharSequence frame) {
+        if (frame == null || frame.length() < 2) {
+            return false;
+        }
+        char flag = frame.charAt(0);
+        return (flag == '0' || flag == '1') && frame.charAt(1) == PIPE;
+    }
+
+    /**
+     * 프레임의 TR 종류 판별
+     */
+    public static int trType(CharSequence frame) {
+        if (!isRealtimeFrame(frame)) {
+            return TR_UNKNOWN;
+        }
+        if (frame.charAt(0) == '1') {
+            return TR_ENCRYPTED;
+        }
+        if (trIdEquals(frame, ORDER_BOOK_TR_ID)) {
+            return TR_ORDER_BOOK;
+        }
+        if (trIdEquals(frame, TRADE_PRICE_TR_ID)) {
+            return TR_TRADE_PRICE;
+        }
+        return TR_UNKNOWN;
+    }
+
+    /**
+     * 프레임의 종목코드(응답 데이터 첫 필드)만 추출, 없으면 null
+     */
+    public static String stockCode(CharSequence frame) {
+        if (!isRealtimeFrame(frame)) {
+            return null;
+        }
+        int pos = bodyStart(frame);
+        if (pos < 0) {
+            return null;
+        }
+        return internStockCode(frame, pos, nextDelimiter(frame, pos, frame.length()));
+    }
+
+    /**
+     * H0STASP0 호가 프레임 파싱
+     * @return 필드 수가 부족하거나 응답 데이터가 없으면 false
+     */
+    public static boolean parseOrderBook(CharSequence frame, OrderBookFrame out) {
+        out.reset();
+        int pos = bodyStart(frame);
+        if (pos < 0) {
+            return false;
+        }
+
+        int end = frame.length();
+        int field = 0;
+        while (pos <= end && field <= ORDER_BOOK_LAST_FIELD) {
+            int next = nextDelimiter(frame, pos, end);
+            if (field == 0) {
+                out.stockCode = internStockCode(frame, pos, next);
+            } else if (field >= ASK_PRICE_START && field < BID_PRICE_START) {
+                out.askPrices[field - ASK_PRICE_START] = parseLong(frame, pos, next);
+            } else if (field >= BID_PRICE_START && field < ASK_QTY_START) {
+                out.bidPrices[field - BID_PRICE_START] = parseLong(frame, pos, next);
+            } else if (field >= ASK_QTY_START && field < BID_QTY_START) {
+                out.askQuantities[field - ASK_QTY_START] = parseLong(frame, pos, next);
+            } else if (field >= BID_QTY_START) {
+                out.bidQuantities[field - BID_QTY_START] = parseLong(frame, pos, next);
+            }
+            field++;
+            pos = next + 1;
+        }
+        out.fieldCount = field;
+        return out.stockCode != null && field >= ORDER_BOOK_MIN_FIELDS;
+    }
+
+    /**
+     * H0STCNT0 현재가 프레임 파싱
+     * @return 필드 수가 부족하거나 응답 데이터가 없으면 false
+     */
+    public static boolean parseTradePrice(CharSequence frame, TradePriceFrame out) {
+        out.reset();
+        int pos = bodyStart(frame);
+        if (pos < 0) {
+            return false;
+        }
+
+        int end = frame.length();
+        int field = 0;
+        while (pos <= end && field < TRADE_PRICE_MIN_FIELDS) {
+            int next = nextDelimiter(frame, pos, end);
+            switch (field) {
+                case 0 -> out.stockCode = internStockCode(frame, pos, next);
+                case 1 -> out.currentPrice = parseLong(frame, pos, next);
+                case 2 -> out.changePrice = parseLong(frame, pos, next);
+                case 3 -> out.changeRate = parseDecimal(frame, pos, next);
+                case 4 -> out.volume = parseLong(frame, pos, next);
+                case 6 -> out.openPrice = parseLong(frame, pos, next);
+                case 7 -> out.highPrice = parseLong(frame, pos, next);
+                case TRADE_PRICE_LAST_FIELD -> out.lowPrice = parseLong(frame, pos, next);
+                default -> {
+                }
+            }
+            field++;
+            pos = next + 1;
+        }
+        out.fieldCount = field;
+        return out.stockCode != null && field >= TRADE_PRICE_MIN_FIELDS;
+    }
+
+    /**
+     * 세 번째 | 다음 위치 (응답 데이터 시작점), 없으면 -1
+     */
+    private static int bodyStart(CharSequence frame) {
+        int pipes = 0;
+        for (int i = 0, len = frame.length(); i < len; i++) {
+            if (frame.charAt(i) == PIPE && ++pipes == 3) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean trIdEquals(CharSequence frame, String trId) {
+        int start = 2;
+        int end = start + trId.length();
+        if (frame.length() <= end || frame.charAt(end) != PIPE) {
+            return false;
+        }
+        for (int i = 0; i < trId.length(); i++) {
+            if (frame.charAt(start + i) != trId.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int nextDelimiter(CharSequence frame, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (frame.charAt(i) == CARET) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 정수 필드 디코딩 (부호 허용, 소수부는 버림). 비어있거나 숫자가 아니면 0
+     */
+    static long parseLong(CharSequence cs, int from, int to) {
+        if (from >= to) {
+            return 0L;
+        }
+        boolean negative = false;
+        int i = from;
+        char first = cs.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long value = 0L;
+        for (; i < to; i++) {
+            char c = cs.charAt(i);
+            if (c == '.') {
+                break;
+            }
+            if (c < '0' || c > '9') {
+                return 0L;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 소수 필드 디코딩 (예: "-1.23"). 비어있거나 숫자가 아니면 0
+     */
+    static double parseDecimal(CharSequence cs, int from, int to) {
+        if (from >= to) {
+            return 0d;
+        }
+        boolean negative = false;
+        int i = from;
+        char first = cs.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long mantissa = 0L;
+        int scale = -1;
+        for (; i < to; i++) {
+            char c = cs.charAt(i);
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return 0d;
+            }
+            if (scale >= POW10.length - 1) {
+                continue; // 표현 가능한 자릿수를 넘는 소수부는 버림
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        double value = scale > 0 ? mantissa / POW10[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * 이미 본 종목코드면 같은 String 인스턴스를 재사용
+     */
+    private static String internStockCode(CharSequence cs, int from, int to) {
+        int length = to - from;
+        if (length <= 0) {
+            return null;
+        }
+        String[] codes = knownStockCodes;
+        for (String code : codes) {
+            if (code.length() == length && regionEquals(cs, from, code)) {
+                return code;
+            }
+        }
+        return registerStockCode(cs.subSequence(from, to).toString());
+    }
+
+    private static synchronized String registerStockCode(String stockCode) {
+        String[] codes = knownStockCodes;
+        for (String code : codes) {
+            if (code.equals(stockCode)) {
+                return code;
+            }
+        }
+        String[] updated = Arrays.copyOf(codes, codes.length + 1);
+        updated[codes.length] = stockCode;
+        knownStockCodes = updated;
+        return stockCode;
+    }
+
+    private static boolean regionEquals(CharSequence cs, int from, String code) {
+        for (int i = 0; i < code.length(); i++) {
+            if (cs.charAt(from + i) != code.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 호가 프레임 디코딩 결과 (스레드별로 재사용)
+     * - 가격/잔량은 원 단위 정수, 인덱스 0이 1호가
+     */
+    public static final class OrderBookFrame {
+        private String stockCode;
+        private int fieldCount;
+        private final long[] askPrices = new long[LEVELS];
+        private final long[] bidPrices = new long[LEVELS];
+        private final long[] askQuantities = new long[LEVELS];
+        private final long[] bidQuantities = new long[LEVELS];
+
+        void reset() {
+            stockCode = null;
+            fieldCount = 0;
+            Arrays.fill(askPrices, 0L);
+            Arrays.fill(bidPrices, 0L);
+            Arrays.fill(askQuantities, 0L);
+            Arrays.fill(bidQuantities, 0L);
+        }
+
+        public String getStockCode() {
+            return stockCode;
+        }
+
+        public int getFieldCount() {
+            return fieldCount;
+        }
+
+        public long askPrice(int level) {
+            return askPrices[level];
+        }
+
+        public long bidPrice(int level) {
+            return bidPrices[level];
+        }
+
+        public long askQuantity(int level) {
+            return askQuantities[level];
+        }
+
+        public long bidQuantity(int level) {
+            return bidQuantities[level];
+        }
+    }
+
+    /**
+     * 현재가 프레임 디코딩 결과 (스레드별로 재사용)
+     */
+    public static final class TradePriceFrame {
+        private String stockCode;
+        private int fieldCount;
+        private long currentPrice;
+        private long changePrice;
+        private double changeRate;
+        private long volume;
+        private long openPrice;
+        private long highPrice;
+        private long lowPrice;
+
+        void reset() {
+            stockCode = null;
+            fieldCount = 0;
+            currentPrice = 0L;
+            changePrice = 0L;
+            changeRate = 0d;
+            volume = 0L;
+            openPrice = 0L;
+            highPrice = 0L;
+            lowPrice = 0L;
+        }
+
+        public String getStockCode() {
+            return stockCode;
+        }
+
+        public int getFieldCount() {
+            return fieldCount;
+        }
+
+        public long getCurrentPrice() {
+            return currentPrice;
+        }
+
+        public long getChangePrice() {
+            return changePrice;
+        }
+
+        public double getChangeRate() {
+            return changeRate;
+        }
+
+        public long getVolume() {
+            return volume;
+        }
+
+        public long getOpenPrice() {
+            return openPrice;
+        }
+
+        public long getHighPrice() {
+            return highPrice;
+        }
+
+        public long getLowPrice() {
+            return lowPrice;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.trading_service.util;
+
+import com.example.trading_service.dto.OrderBookItem;
+import com.example.trading_service.dto.OrderBookResponse;
+import com.example.trading_service.dto.StockPriceResponse;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 실시간 시세 바이너리 인코더 (고정 레이아웃, little-endian)
+ * - SUBSCRIBE 헤더 x-quote-encoding: binary 로 구독한 클라이언트용
+ * - 스레드별로 재사용하는 버퍼에 인코딩 후 필요한 길이만큼만 복사
+ *
+ * 호가 (type 1):
+ *   u8 type | u8 코드길이 | 코드(ASCII) | f32 현재가 | f32 변동금액 | f32 변동률
+ *   | u8 매도건수 | u8 매수건수 | (f32 가격, i64 잔량) x 매도건수 | (f32 가격, i64 잔량) x 매수건수
+ * 현재가 (type 2):
+ *   u8 type | u8 코드길이 | 코드(ASCII) | i64 현재가 | i64 전일대비 | f32 등락률 | i64 거래량
+ *   | i64 시가 | i64 고가 | i64 저가 | i64 전일종가
+ */
+public final class QuoteBinaryEncoder {
+
+    public static final byte TYPE_ORDER_BOOK = 1;
+    public static final byte TYPE_STOCK_PRICE = 2;
+
+    private static final int MAX_LEVELS = KisRealtimeParser.LEVELS;
+    private static final int BUFFER_SIZE = 512; // 호가 최대 크기(약 270바이트)보다 넉넉하게
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(
+            () -> ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+
+    private QuoteBinaryEncoder() {
+    }
+
+    public static byte[] encodeOrderBook(OrderBookResponse orderBook) {
+        ByteBuffer buffer = BUFFER.get();
+        buffer.clear();
+        buffer.put(TYPE_ORDER_BOOK);
+        putStockCode(buffer, orderBook.getStockCode());
+        buffer.putFloat(floatOrZero(orderBook.getCurrentPrice()));
+        buffer.putFloat(floatOrZero(orderBook.getChangeAmount()));
+        buffer.putFloat(floatOrZero(orderBook.getChangeRate()));
+
+        List<OrderBookItem> asks = orderBook.getAskPrices();
+        List<OrderBookItem> bids = orderBook.getBidPrices();
+        int askCount = asks == null ? 0 : Math.min(asks.size(), MAX_LEVELS);
+        int bidCount = bids == null ? 0 : Math.min(bids.size(), MAX_LEVELS);
+        buffer.put((byte) askCount);
+        buffer.put((byte) bidCount);
+        putLevels(buffer, asks, askCount);
+        putLevels(buffer, bids, bidCount);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static byte[] encodeStockPrice(StockPriceResponse price) {
+        ByteBuffer buffer = BUFFER.get();
+        buffer.clear();
+        buffer.put(TYPE_STOCK_PRICE);
+        putStockCode(buffer, price.getStockCode());
+        buffer.putLong(longOrZero(price.getCurrentPrice()));
+        buffer.putLong(longOrZero(price.getChangePrice()));
+        buffer.putFloat(floatOrZero(price.getChangeRate()));
+        buffer.putLong(price.getVolume() != null ? price.getVolume() : 0L);
+        buffer.putLong(longOrZero(price.getOpenPrice()));
+        buffer.putLong(longOrZero(price.getHighPrice()));
+        buffer.putLong(longOrZero(price.getLowPrice()));
+        buffer.putLong(longOrZero(price.getPrevClosePrice()));
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static void putStockCode(ByteBuffer buffer, String stockCode) {
+        byte[] code = stockCode != null ? stockCode.getBytes(StandardCharsets.US_ASCII) : new byte[0];
+        int length = Math.min(code.length, 32);
+        buffer.put((byte) length);
+        buffer.put(code, 0, length);
+    }
+
+    private static void putLevels(ByteBuffer buffer, List<OrderBookItem> items, int count) {
+        for (int i = 0; i < count; i++) {
+            OrderBookItem item = items.get(i);
+            buffer.putFloat(floatOrZero(item.getPrice()));
+            buffer.putLong(item.getQuantity() != null ? item.getQuantity() : 0L);
+        }
+    }
+
+    private static float floatOrZero(Float value) {
+        return value != null ? value : 0f;
+    }
+
+    private static long longOrZero(BigDecimal value) {
+        return value != null ? value.longValue() : 0L;
+    }
+}
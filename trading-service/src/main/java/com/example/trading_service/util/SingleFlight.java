@@ -0,0 +1,41 @@
+package com.example.trading_service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 요청 병합 (single-flight)
+ * - 진행 중인 호출이 있으면 새로 호출하지 않고 같은 future를 공유
+ * - 호출이 끝나면 키를 제거하므로 결과를 캐싱하지는 않음 (캐시는 호출하는 쪽에서 처리)
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            call.get().whenComplete((value, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.trading_service.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스레드 간 공유하는 토큰 버킷 호출 제한기
+ * - 초당 permitsPerSecond개씩 토큰이 채워지고 최대 burst개까지 쌓임
+ * - 토큰이 없으면 다음 토큰 시각을 예약하고 호출자가 그만큼 지연 실행 (대기 중에도 다른 스레드가 예약 가능)
+ * - 대기가 최대 대기 시간을 넘으면 예약하지 않고 실패를 돌려줌 (밀린 호출이 끝없이 쌓이지 않도록)
+ */
+public final class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long maxBurstNanos;
+
+    // 다음 토큰을 쓸 수 있는 시각 (이 시각이 과거일수록 토큰이 쌓여 있음)
+    private long nextFreeAt;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond와 burst는 양수여야 합니다");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.maxBurstNanos = intervalNanos * (burst - 1);
+        this.nextFreeAt = System.nanoTime() - maxBurstNanos;
+    }
+
+    /**
+     * 토큰 하나를 예약하고 대기해야 하는 시간(ns)을 반환 (스레드를 재우지 않고 지연 실행할 때 사용)
+     * @return maxWaitNanos보다 오래 기다려야 하면 예약하지 않고 -1
+     */
+    public long tryReserve(long maxWaitNanos) {
+        return tryReserve(System.nanoTime(), maxWaitNanos);
+    }
+
+    synchronized long tryReserve(long now, long maxWaitNanos) {
+        // 오래 쉬었더라도 burst개까지만 쌓이도록 기준 시각을 당겨둠
+        long earliest = now - maxBurstNanos;
+        if (nextFreeAt - earliest < 0) {
+            nextFreeAt = earliest;
+        }
+        long waitNanos = nextFreeAt - now;
+        if (waitNanos > maxWaitNanos) {
+            return -1L;
+        }
+        nextFreeAt += intervalNanos;
+        return Math.max(0L, waitNanos);
+    }
+}
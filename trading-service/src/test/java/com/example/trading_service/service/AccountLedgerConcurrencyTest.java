@@ -0,0 +1,240 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.BalanceCache;
+import com.example.trading_service.domain.HoldingCache;
+import com.example.trading_service.domain.InvestmentAccount;
+import com.example.trading_service.domain.Stock;
+import com.example.trading_service.exception.InsufficientHoldingException;
+import com.example.trading_service.repository.BalanceCacheRepository;
+import com.example.trading_service.repository.HoldingCacheRepository;
+import com.example.trading_service.repository.InvestmentAccountRepository;
+import com.example.trading_service.repository.StockRepository;
+import com.example.trading_service.util.FixedPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 계좌에 병렬 체결을 몰아서 잔고/보유 수량 갱신이 유실되지 않는지 확인
+ * - 스레드마다 별도 트랜잭션으로 체결 (실제 호가 틱/그룹 일괄 체결/개인 주문이 겹치는 상황)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountLedgerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int FILLS_PER_THREAD = 50;
+    private static final long INITIAL_BALANCE = 100_000_000L;
+
+    @Configuration
+    @EntityScan(basePackageClasses = HoldingCache.class)
+    @EnableJpaRepositories(basePackageClasses = HoldingCacheRepository.class)
+    @Import(AccountLedgerService.class)
+    static class Config {
+    }
+
+    @Autowired
+    private AccountLedgerService accountLedgerService;
+    @Autowired
+    private InvestmentAccountRepository investmentAccountRepository;
+    @Autowired
+    private BalanceCacheRepository balanceCacheRepository;
+    @Autowired
+    private HoldingCacheRepository holdingCacheRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private InvestmentAccount account;
+    private Stock stock;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            holdingCacheRepository.deleteAll();
+            balanceCacheRepository.deleteAll();
+            investmentAccountRepository.deleteAll();
+            stockRepository.deleteAll();
+
+            account = new InvestmentAccount();
+            account.setUserId(UUID.randomUUID());
+            account.setAccountNo("TEST-" + UUID.randomUUID());
+            investmentAccountRepository.save(account);
+
+            BalanceCache balance = new BalanceCache();
+            balance.setInvestmentAccount(account);
+            balance.setBalance((int) INITIAL_BALANCE);
+            balanceCacheRepository.save(balance);
+
+            stock = new Stock();
+            stock.setStockCode("005930");
+            stock.setStockName("삼성전자");
+            stock.setCountry(Stock.Country.KR);
+            stock.setMarket(Stock.Market.KOSPI);
+            stock.setEnabled(true);
+            stock.setPrdtTypeCd("300");
+            stockRepository.save(stock);
+
+            HoldingCache holding = new HoldingCache();
+            holding.setInvestmentAccount(account);
+            holding.setStock(stock);
+            holding.setQuantityMicros(FixedPoint.toMicros(1000));
+            holding.setAvgCostWon(1_000L);
+            holdingCacheRepository.save(holding);
+        });
+    }
+
+    @Test
+    void 병렬_매수_체결_잔고와_수량_유실_없음() throws Exception {
+        long quantityMicros = FixedPoint.toMicros(1);
+        List<Callable<Long>> fills = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long priceWon = 1_000L + t * 10;
+            fills.add(() -> {
+                long spent = 0;
+                for (int i = 0; i < FILLS_PER_THREAD; i++) {
+                    long amount = FixedPoint.amount(quantityMicros, priceWon);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        accountLedgerService.addBalance(account.getInvestmentAccountId(), -amount);
+                        accountLedgerService.addToHolding(account, stock, quantityMicros, priceWon);
+                    });
+                    spent += amount;
+                }
+                return spent;
+            });
+        }
+
+        long totalSpent = runConcurrently(fills).stream().mapToLong(Long::longValue).sum();
+
+        assertThat(currentBalance()).isEqualTo(INITIAL_BALANCE - totalSpent);
+        HoldingCache holding = currentHolding();
+        assertThat(holding.getQuantityMicros())
+                .isEqualTo(FixedPoint.toMicros(1000 + THREADS * FILLS_PER_THREAD));
+        // 체결 순서에 따라 반올림 위치는 달라도 평균단가는 기존 단가와 최고 체결가 사이
+        assertThat(holding.getAvgCostWon()).isBetween(1_000L, 1_000L + (THREADS - 1) * 10);
+        assertThat(holding.getVersion()).isEqualTo(THREADS * FILLS_PER_THREAD);
+    }
+
+    @Test
+    void 병렬_매수_매도_체결_수량과_잔고_유실_없음() throws Exception {
+        long quantityMicros = FixedPoint.toMicros(1);
+        long priceWon = 1_000L;
+        List<Callable<Long>> fills = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean isBuy = t % 2 == 0;
+            fills.add(() -> {
+                for (int i = 0; i < FILLS_PER_THREAD; i++) {
+                    long amount = FixedPoint.amount(quantityMicros, priceWon);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        UUID accountId = account.getInvestmentAccountId();
+                        if (isBuy) {
+                            accountLedgerService.addBalance(accountId, -amount);
+                            accountLedgerService.addToHolding(account, stock, quantityMicros, priceWon);
+                        } else {
+                            accountLedgerService.addBalance(accountId, amount);
+                            accountLedgerService.removeFromHolding(accountId, stock.getId(), quantityMicros);
+                        }
+                    });
+                }
+                return 0L;
+            });
+        }
+
+        runConcurrently(fills);
+
+        // 매수/매도 스레드 수가 같으므로 잔고와 수량은 처음 그대로
+        assertThat(currentBalance()).isEqualTo(INITIAL_BALANCE);
+        assertThat(currentHolding().getQuantityMicros()).isEqualTo(FixedPoint.toMicros(1000));
+    }
+
+    @Test
+    void 병렬_매도가_보유_수량을_넘으면_초과분은_실패하고_대금도_한_번만() throws Exception {
+        long quantityMicros = FixedPoint.toMicros(5);
+        long priceWon = 1_000L;
+        long amount = FixedPoint.amount(quantityMicros, priceWon);
+        List<Callable<Long>> sells = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            sells.add(() -> {
+                long succeeded = 0;
+                for (int i = 0; i < FILLS_PER_THREAD; i++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            UUID accountId = account.getInvestmentAccountId();
+                            accountLedgerService.removeFromHolding(accountId, stock.getId(), quantityMicros);
+                            accountLedgerService.addBalance(accountId, amount);
+                        });
+                        succeeded++;
+                    } catch (InsufficientHoldingException e) {
+                        // 다른 매도가 먼저 차감해서 남은 수량이 부족
+                    }
+                }
+                return succeeded;
+            });
+        }
+
+        long succeeded = runConcurrently(sells).stream().mapToLong(Long::longValue).sum();
+
+        // 보유 1000주를 5주씩 매도 → 정확히 200건만 성공, 보유는 삭제되고 대금은 성공한 매도만큼
+        assertThat(succeeded).isEqualTo(200);
+        assertThat(holdingCacheRepository.findByAccountIdAndStockId(account.getInvestmentAccountId(), stock.getId()))
+                .isEmpty();
+        assertThat(currentBalance()).isEqualTo(INITIAL_BALANCE + succeeded * amount);
+    }
+
+    private <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long currentBalance() {
+        return balanceCacheRepository.findBalanceAmountByAccountId(account.getInvestmentAccountId()).orElseThrow();
+    }
+
+    private HoldingCache currentHolding() {
+        return holdingCacheRepository.findByAccountIdAndStockId(account.getInvestmentAccountId(), stock.getId())
+                .orElseThrow();
+    }
+}
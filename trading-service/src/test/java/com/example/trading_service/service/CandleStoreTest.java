@@ -0,0 +1,188 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.dto.ChartData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 캔들 저장소 확인
+ * - 틱으로 최신 봉 종가가 바뀌어도 누적합 이동평균이 직접 계산한 값과 같은지
+ * - max-bars 2배에서 오래된 봉을 잘라내는지
+ * - 주/월/년봉 기간 경계에서 새 봉을 만드는지
+ * - 분봉 거래량이 누적 거래량 증가분으로 쌓이는지
+ */
+class CandleStoreTest {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int ALL = Integer.MAX_VALUE;
+
+    private CandleStore candleStore;
+
+    @BeforeEach
+    void setUp() {
+        candleStore = new CandleStore();
+        ReflectionTestUtils.setField(candleStore, "maxBars", 600);
+        ReflectionTestUtils.setField(candleStore, "intradayMinutes", new int[]{1});
+    }
+
+    @Test
+    void 틱으로_최신_봉_종가가_바뀌어도_이동평균은_직접_계산과_같다() {
+        LocalDate first = LocalDate.of(2024, 3, 1);
+        List<ChartData> bars = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bars.add(bar(first.plusDays(i), 100 + i * 3, 1_000));
+        }
+        candleStore.load("005930", "D", bars);
+        LocalDateTime lastDay = first.plusDays(19).atTime(10, 0);
+
+        for (long price : new long[]{150, 90, 123, 124}) {
+            candleStore.onTick("005930", price, 0, 0, 0, 0, lastDay);
+            assertMovingAveragesMatch(candleStore.getChartData("005930", "D", ALL));
+        }
+        assertThat(candleStore.getChartData("005930", "D", ALL)).hasSize(20);
+
+        // 다음 날 첫 틱은 새 봉 추가
+        candleStore.onTick("005930", 130, 125, 131, 120, 0, lastDay.plusDays(1));
+        candleStore.onTick("005930", 128, 125, 131, 120, 0, lastDay.plusDays(1));
+        List<ChartData> data = candleStore.getChartData("005930", "D", ALL);
+        assertThat(data).hasSize(21);
+        assertMovingAveragesMatch(data);
+        // 60일 창은 봉이 모자라므로 0
+        assertThat(data.get(20).getMa_60()).isZero();
+    }
+
+    @Test
+    void 봉이_max_bars_2배에_도달하면_오래된_봉을_잘라낸다() {
+        ReflectionTestUtils.setField(candleStore, "maxBars", 10); // 분봉은 최대 이동평균 창(60)이 하한
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 9, 0);
+        for (int i = 0; i <= 120; i++) {
+            candleStore.onTick("000660", 1_000 + i, 0, 0, 0, 0, start.plusMinutes(i));
+        }
+
+        List<ChartData> data = candleStore.getChartData("000660", "1m", ALL);
+        // 120개에서 60개만 남기고 새 봉 추가
+        assertThat(data).hasSize(61);
+        assertThat(data.get(0).getTime()).isEqualTo("202403041000");
+        assertThat(data.get(60).getTime()).isEqualTo("202403041100");
+        assertThat(data.get(0).getClose()).isEqualTo(1_060f);
+        // 잘라내기 전에 계산된 이동평균은 그대로, 이후 봉도 남은 봉 기준으로 정확
+        assertThat(data.get(0).getMa_5()).isCloseTo(1_058f, within(1e-3f));
+        assertThat(data.get(60).getMa_5()).isCloseTo(1_118f, within(1e-3f));
+        assertThat(data.get(60).getMa_60()).isCloseTo(1_090.5f, within(1e-3f));
+    }
+
+    @Test
+    void 주봉은_ISO_주가_바뀔_때_새_봉() {
+        candleStore.load("W1", "W", List.of(bar(LocalDate.of(2024, 12, 16), 100, 1_000),
+                bar(LocalDate.of(2024, 12, 23), 110, 1_000)));
+
+        // 일요일까지는 같은 주
+        candleStore.onTick("W1", 115, 0, 0, 0, 300, LocalDateTime.of(2024, 12, 29, 10, 0));
+        List<ChartData> data = candleStore.getChartData("W1", "W", ALL);
+        assertThat(data).hasSize(2);
+        assertThat(data.get(1).getClose()).isEqualTo(115f);
+        // 최신 봉의 기존 거래량 + 당일 누적 거래량
+        assertThat(data.get(1).getTrading_volume()).isEqualTo(1_300L);
+
+        candleStore.onTick("W1", 116, 0, 0, 0, 500, LocalDateTime.of(2024, 12, 29, 11, 0));
+        assertThat(candleStore.getChartData("W1", "W", ALL).get(1).getTrading_volume()).isEqualTo(1_500L);
+
+        // 2024-12-30 월요일은 2025년 1주차
+        candleStore.onTick("W1", 120, 0, 0, 0, 200, LocalDateTime.of(2024, 12, 30, 9, 0));
+        data = candleStore.getChartData("W1", "W", ALL);
+        assertThat(data).hasSize(3);
+        assertThat(data.get(2).getTime()).isEqualTo("20241230");
+        assertThat(data.get(2).getTrading_volume()).isEqualTo(200L);
+    }
+
+    @Test
+    void 주봉은_연도가_바뀌어도_같은_ISO_주면_같은_봉() {
+        // 2021-01-03(일)은 2020년 53주차
+        candleStore.load("W2", "W", List.of(bar(LocalDate.of(2020, 12, 28), 100, 0)));
+
+        candleStore.onTick("W2", 101, 0, 0, 0, 0, LocalDateTime.of(2021, 1, 3, 10, 0));
+        assertThat(candleStore.getChartData("W2", "W", ALL)).hasSize(1);
+
+        candleStore.onTick("W2", 102, 0, 0, 0, 0, LocalDateTime.of(2021, 1, 4, 10, 0));
+        assertThat(candleStore.getChartData("W2", "W", ALL)).hasSize(2);
+    }
+
+    @Test
+    void 월봉과_년봉은_월과_연도가_바뀔_때_새_봉() {
+        candleStore.load("M1", "M", List.of(bar(LocalDate.of(2024, 1, 31), 100, 0)));
+        candleStore.onTick("M1", 101, 0, 0, 0, 0, LocalDateTime.of(2024, 1, 31, 15, 0));
+        assertThat(candleStore.getChartData("M1", "M", ALL)).hasSize(1);
+        candleStore.onTick("M1", 102, 0, 0, 0, 0, LocalDateTime.of(2024, 2, 1, 9, 0));
+        assertThat(candleStore.getChartData("M1", "M", ALL)).hasSize(2);
+
+        candleStore.load("Y1", "Y", List.of(bar(LocalDate.of(2024, 1, 2), 100, 0)));
+        candleStore.onTick("Y1", 101, 0, 0, 0, 0, LocalDateTime.of(2024, 12, 31, 15, 0));
+        assertThat(candleStore.getChartData("Y1", "Y", ALL)).hasSize(1);
+        candleStore.onTick("Y1", 102, 0, 0, 0, 0, LocalDateTime.of(2025, 1, 2, 9, 0));
+        List<ChartData> data = candleStore.getChartData("Y1", "Y", ALL);
+        assertThat(data).hasSize(2);
+        assertThat(data.get(1).getTime()).isEqualTo("20250102");
+    }
+
+    @Test
+    void 분봉_거래량은_누적_거래량_증가분() {
+        LocalDateTime minute = LocalDateTime.of(2024, 3, 4, 9, 0);
+        // 첫 틱은 이전 누적값이 없으므로 0
+        candleStore.onTick("035720", 100, 0, 0, 0, 1_000, minute.plusSeconds(10));
+        candleStore.onTick("035720", 105, 0, 0, 0, 1_500, minute.plusSeconds(40));
+        // 다음 분 - 새 봉
+        candleStore.onTick("035720", 103, 0, 0, 0, 1_700, minute.plusSeconds(65));
+        // 재연결 등으로 누적값이 줄면 증가분 0
+        candleStore.onTick("035720", 104, 0, 0, 0, 100, minute.plusSeconds(90));
+        candleStore.onTick("035720", 102, 0, 0, 0, 400, minute.plusSeconds(110));
+
+        List<ChartData> data = candleStore.getChartData("035720", "1m", ALL);
+        assertThat(data).hasSize(2);
+        ChartData firstBar = data.get(0);
+        assertThat(firstBar.getTrading_volume()).isEqualTo(500L);
+        assertThat(firstBar.getOpen()).isEqualTo(100f);
+        assertThat(firstBar.getHigh()).isEqualTo(105f);
+        assertThat(firstBar.getLow()).isEqualTo(100f);
+        assertThat(firstBar.getClose()).isEqualTo(105f);
+        ChartData secondBar = data.get(1);
+        assertThat(secondBar.getTime()).isEqualTo("202403040901");
+        assertThat(secondBar.getTrading_volume()).isEqualTo(500L);
+        assertThat(secondBar.getLow()).isEqualTo(102f);
+        assertThat(secondBar.getClose()).isEqualTo(102f);
+    }
+
+    private static ChartData bar(LocalDate date, float close, long volume) {
+        return new ChartData(date.format(DATE_FORMAT), close, close, close, close, 0f, 0f, 0f, 0f, volume);
+    }
+
+    /**
+     * 봉마다 최근 N개 종가 평균을 직접 계산해서 비교 (봉이 모자라면 0)
+     */
+    private static void assertMovingAveragesMatch(List<ChartData> data) {
+        int[] periods = CandleStore.maPeriods("D");
+        for (int i = 0; i < data.size(); i++) {
+            float[] actual = {data.get(i).getMa_5(), data.get(i).getMa_10(), data.get(i).getMa_20(), data.get(i).getMa_60()};
+            for (int k = 0; k < periods.length; k++) {
+                float expected = 0f;
+                if (i + 1 >= periods[k]) {
+                    double sum = 0;
+                    for (int j = i + 1 - periods[k]; j <= i; j++) {
+                        sum += data.get(j).getClose();
+                    }
+                    expected = (float) (sum / periods[k]);
+                }
+                assertThat(actual[k]).as("bar %d, ma%d", i, periods[k]).isCloseTo(expected, within(1e-3f));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.trading_service.service;
+
+import com.example.trading_service.domain.Order;
+import com.example.trading_service.domain.Stock;
+import com.example.trading_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 체결 트랜잭션이 롤백되면 대기 주문이 인덱스에 남아 다음 틱에 다시 체결 확인되는지 확인
+ * 주문 생성 트랜잭션이 커밋된 뒤에만 인덱스에 등록되는지 확인
+ */
+class PendingOrderIndexTest {
+
+    private static final String STOCK_CODE = "005930";
+
+    private PendingOrderIndex pendingOrderIndex;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        KisFeedLeaderElection leaderElection = mock(KisFeedLeaderElection.class);
+        when(leaderElection.isLeader()).thenReturn(true);
+        pendingOrderIndex = new PendingOrderIndex(
+                mock(OrderRepository.class), mock(StringRedisTemplate.class), leaderElection);
+        transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @Test
+    void 체결이_롤백되면_대기_주문이_인덱스에_남는다() {
+        Order order = pendingBuyOrder(70000f);
+        pendingOrderIndex.add(order);
+
+        // 체결 처리 중 잔고 갱신 충돌 (AccountLedgerService의 낙관적 락 실패) → 롤백
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            pendingOrderIndex.remove(order.getOrderId());
+            throw new ObjectOptimisticLockingFailureException(Order.class, order.getOrderId());
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(pendingOrderIndex.contains(order.getOrderId())).isTrue();
+        assertThat(pendingOrderIndex.findCrossedOrderIds(STOCK_CODE, 69000f, 0f))
+                .containsExactly(order.getOrderId());
+    }
+
+    @Test
+    void 체결이_커밋된_뒤에만_인덱스에서_제거된다() {
+        Order first = pendingBuyOrder(70000f);
+        Order second = pendingBuyOrder(71000f);
+        pendingOrderIndex.add(first);
+        pendingOrderIndex.add(second);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pendingOrderIndex.removeAll(List.of(first.getOrderId(), second.getOrderId()));
+            // 커밋 전에는 아직 인덱스에 있음
+            assertThat(pendingOrderIndex.contains(first.getOrderId())).isTrue();
+        });
+
+        assertThat(pendingOrderIndex.contains(first.getOrderId())).isFalse();
+        assertThat(pendingOrderIndex.contains(second.getOrderId())).isFalse();
+        assertThat(pendingOrderIndex.hasPendingOrders(STOCK_CODE)).isFalse();
+    }
+
+    @Test
+    void 주문_생성이_커밋된_뒤에만_인덱스에_등록된다() {
+        Order order = pendingBuyOrder(70000f);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pendingOrderIndex.add(order);
+            // 커밋 전 체결 확인에 잡히면 DB에서 아직 PENDING이 아니라 인덱스에서 빠져버림
+            assertThat(pendingOrderIndex.contains(order.getOrderId())).isFalse();
+            assertThat(pendingOrderIndex.findCrossedOrderIds(STOCK_CODE, 69000f, 0f)).isEmpty();
+        });
+
+        assertThat(pendingOrderIndex.contains(order.getOrderId())).isTrue();
+        assertThat(pendingOrderIndex.findCrossedOrderIds(STOCK_CODE, 69000f, 0f))
+                .containsExactly(order.getOrderId());
+    }
+
+    @Test
+    void 주문_생성이_롤백되면_인덱스에_등록되지_않는다() {
+        Order order = pendingBuyOrder(70000f);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            pendingOrderIndex.add(order);
+            throw new IllegalStateException("잔고 부족");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(pendingOrderIndex.contains(order.getOrderId())).isFalse();
+        assertThat(pendingOrderIndex.hasPendingOrders(STOCK_CODE)).isFalse();
+    }
+
+    private Order pendingBuyOrder(float price) {
+        Stock stock = new Stock();
+        stock.setStockCode(STOCK_CODE);
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setStock(stock);
+        order.setOrderType(Order.OrderType.BUY);
+        order.setPrice(price);
+        order.setStatus(Order.Status.PENDING);
+        return order;
+    }
+
+    /**
+     * 트랜잭션 동기화(afterCommit 콜백)만 동작시키는 트랜잭션 매니저
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
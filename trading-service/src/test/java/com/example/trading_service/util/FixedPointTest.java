@@ -0,0 +1,104 @@
+package com.example.trading_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 고정소수점 반올림(HALF_UP)/평균 단가/나머지 배분 확인
+ */
+class FixedPointTest {
+
+    @Test
+    void 나눗셈은_0_5부터_0에서_먼_쪽으로_반올림() {
+        assertThat(FixedPoint.divideRound(14, 10)).isEqualTo(1);
+        assertThat(FixedPoint.divideRound(15, 10)).isEqualTo(2);
+        assertThat(FixedPoint.divideRound(25, 10)).isEqualTo(3);
+        assertThat(FixedPoint.divideRound(1, 3)).isEqualTo(0);
+        assertThat(FixedPoint.divideRound(2, 3)).isEqualTo(1);
+        assertThat(FixedPoint.divideRound(7, 7)).isEqualTo(1);
+        assertThat(FixedPoint.divideRound(0, 7)).isEqualTo(0);
+    }
+
+    @Test
+    void 음수_나눗셈도_0에서_먼_쪽으로_반올림() {
+        assertThat(FixedPoint.divideRound(-14, 10)).isEqualTo(-1);
+        assertThat(FixedPoint.divideRound(-15, 10)).isEqualTo(-2);
+        assertThat(FixedPoint.divideRound(15, -10)).isEqualTo(-2);
+        assertThat(FixedPoint.divideRound(-15, -10)).isEqualTo(2);
+        assertThat(FixedPoint.divideRound(-2, 3)).isEqualTo(-1);
+    }
+
+    @Test
+    void 금액은_원_단위로_반올림() {
+        // 1.5주 × 333원 = 499.5원
+        assertThat(FixedPoint.amount(1_500_000, 333)).isEqualTo(500);
+        assertThat(FixedPoint.amount(-1_500_000, 333)).isEqualTo(-500);
+        // 0.000001주 × 499,999원 = 0.499999원, × 500,000원 = 0.5원
+        assertThat(FixedPoint.amount(1, 499_999)).isEqualTo(0);
+        assertThat(FixedPoint.amount(1, 500_000)).isEqualTo(1);
+    }
+
+    @Test
+    void 금액_범위를_넘으면_예외() {
+        assertThatThrownBy(() -> FixedPoint.amount(Long.MAX_VALUE / 2, 3))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void 평균_단가는_합계_수량으로_나눠_반올림() {
+        // (1주 × 10,000원 + 2주 × 10,001원) ÷ 3주 = 10,000.67원
+        assertThat(FixedPoint.averageCost(1_000_000, 10_000, 2_000_000, 10_001)).isEqualTo(10_001);
+        // (1주 × 100원 + 1주 × 101원) ÷ 2주 = 100.5원
+        assertThat(FixedPoint.averageCost(1_000_000, 100, 1_000_000, 101)).isEqualTo(101);
+        // 소수 수량: (0.5주 × 1,000원 + 0.25주 × 1,300원) ÷ 0.75주 = 1,100원
+        assertThat(FixedPoint.averageCost(500_000, 1_000, 250_000, 1_300)).isEqualTo(1_100);
+    }
+
+    @Test
+    void 보유_수량이_없으면_평균_단가는_매수가() {
+        assertThat(FixedPoint.averageCost(0, 5_000, 1_000_000, 7_000)).isEqualTo(7_000);
+        assertThat(FixedPoint.averageCost(-1, 5_000, 1_000_000, 7_000)).isEqualTo(7_000);
+    }
+
+    @Test
+    void 나머지는_앞쪽부터_1씩_배분() {
+        assertThat(FixedPoint.split(10, 3)).containsExactly(4, 3, 3);
+        assertThat(FixedPoint.split(2, 5)).containsExactly(1, 1, 0, 0, 0);
+        assertThat(FixedPoint.split(9, 3)).containsExactly(3, 3, 3);
+        assertThat(FixedPoint.split(-10, 3)).containsExactly(-4, -3, -3);
+    }
+
+    @Test
+    void 배분_합계는_항상_원래_값() {
+        long[] totals = {0, 1, 7, 1_000_003, -1, -999_999, 123_456_789_012L};
+        int[] partsList = {1, 2, 3, 7, 10, 97};
+        for (long total : totals) {
+            for (int parts : partsList) {
+                long[] shares = FixedPoint.split(total, parts);
+                assertThat(shares).hasSize(parts);
+                assertThat(Arrays.stream(shares).sum()).as("total=%d, parts=%d", total, parts).isEqualTo(total);
+                long max = Arrays.stream(shares).max().orElseThrow();
+                long min = Arrays.stream(shares).min().orElseThrow();
+                assertThat(max - min).isLessThanOrEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void 배분_개수가_0_이하면_예외() {
+        assertThatThrownBy(() -> FixedPoint.split(10, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FixedPoint.split(10, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 비율은_소수점_2자리_반올림_분모가_0이면_0() {
+        assertThat(FixedPoint.percent(1, 3)).isEqualTo(33.33f);
+        assertThat(FixedPoint.percent(2, 3)).isEqualTo(66.67f);
+        assertThat(FixedPoint.percent(-1, 8)).isEqualTo(-12.5f);
+        assertThat(FixedPoint.percent(5, 0)).isEqualTo(0f);
+    }
+}
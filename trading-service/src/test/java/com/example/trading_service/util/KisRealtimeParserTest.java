@@ -0,0 +1,282 @@
+package com.example.trading_service.util;
+
+import com.example.trading_service.util.KisRealtimeParser.OrderBookFrame;
+import com.example.trading_service.util.KisRealtimeParser.TradePriceFrame;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 한투 실시간 프레임 파서 확인
+ * - 잘린 프레임/응답 데이터 없는 프레임/필드 수 부족은 false
+ * - 비어있거나 0이거나 숫자가 아닌 필드는 0
+ * - 프레임 객체 재사용 시 이전 값이 남지 않는지
+ */
+class KisRealtimeParserTest {
+
+    private static final String ORDER_BOOK_HEADER = "0|H0STASP0|001|";
+    private static final String TRADE_PRICE_HEADER = "0|H0STCNT0|001|";
+
+    @Test
+    void 실시간_프레임과_TR_종류_판별() {
+        assertThat(KisRealtimeParser.isRealtimeFrame(null)).isFalse();
+        assertThat(KisRealtimeParser.isRealtimeFrame("")).isFalse();
+        assertThat(KisRealtimeParser.isRealtimeFrame("0")).isFalse();
+        assertThat(KisRealtimeParser.isRealtimeFrame("{\"header\":{}}")).isFalse();
+        assertThat(KisRealtimeParser.isRealtimeFrame("2|H0STCNT0|001|005930")).isFalse();
+
+        assertThat(KisRealtimeParser.trType(orderBookFrame())).isEqualTo(KisRealtimeParser.TR_ORDER_BOOK);
+        assertThat(KisRealtimeParser.trType(tradePriceFrame())).isEqualTo(KisRealtimeParser.TR_TRADE_PRICE);
+        assertThat(KisRealtimeParser.trType("1|H0STCNT0|001|암호문")).isEqualTo(KisRealtimeParser.TR_ENCRYPTED);
+        assertThat(KisRealtimeParser.trType("0|H0STCNI0|001|005930")).isEqualTo(KisRealtimeParser.TR_UNKNOWN);
+        assertThat(KisRealtimeParser.trType("{\"header\":{}}")).isEqualTo(KisRealtimeParser.TR_UNKNOWN);
+    }
+
+    @Test
+    void TR_ID가_잘리면_알_수_없는_TR() {
+        assertThat(KisRealtimeParser.trType("0|H0STASP")).isEqualTo(KisRealtimeParser.TR_UNKNOWN);
+        assertThat(KisRealtimeParser.trType("0|H0STASP0")).isEqualTo(KisRealtimeParser.TR_UNKNOWN);
+        // TR_ID 뒤에 |가 아니면 다른 TR
+        assertThat(KisRealtimeParser.trType("0|H0STASP00|001|005930")).isEqualTo(KisRealtimeParser.TR_UNKNOWN);
+    }
+
+    @Test
+    void 응답_데이터가_없으면_파싱_실패() {
+        OrderBookFrame orderBook = new OrderBookFrame();
+        TradePriceFrame tradePrice = new TradePriceFrame();
+
+        for (String frame : new String[]{"0|H0STASP0|001", "0|H0STCNT0|001", "0|H0STCNT0", ""}) {
+            assertThat(KisRealtimeParser.parseOrderBook(frame, orderBook)).as(frame).isFalse();
+            assertThat(KisRealtimeParser.parseTradePrice(frame, tradePrice)).as(frame).isFalse();
+            assertThat(KisRealtimeParser.stockCode(frame)).as(frame).isNull();
+        }
+        // | 다음이 비어있으면 종목코드 없음
+        assertThat(KisRealtimeParser.parseTradePrice(TRADE_PRICE_HEADER, tradePrice)).isFalse();
+        assertThat(tradePrice.getStockCode()).isNull();
+        assertThat(KisRealtimeParser.stockCode(TRADE_PRICE_HEADER)).isNull();
+    }
+
+    @Test
+    void 종목코드가_비어있으면_파싱_실패() {
+        String frame = TRADE_PRICE_HEADER + "^71000^1600^2.31^2177052^35134036573^70700^71500^70400^090001";
+        TradePriceFrame tradePrice = new TradePriceFrame();
+
+        assertThat(KisRealtimeParser.parseTradePrice(frame, tradePrice)).isFalse();
+        assertThat(tradePrice.getFieldCount()).isEqualTo(10);
+        assertThat(KisRealtimeParser.stockCode(frame)).isNull();
+    }
+
+    @Test
+    void 정상_호가_프레임() {
+        OrderBookFrame out = new OrderBookFrame();
+
+        assertThat(KisRealtimeParser.parseOrderBook(orderBookFrame(), out)).isTrue();
+        assertThat(out.getStockCode()).isEqualTo("005930");
+        // 매수잔량10(인덱스 42)까지만 읽음
+        assertThat(out.getFieldCount()).isEqualTo(43);
+        for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+            assertThat(out.askPrice(level)).isEqualTo(71_100 + level * 100L);
+            assertThat(out.bidPrice(level)).isEqualTo(71_000 - level * 100L);
+            assertThat(out.askQuantity(level)).isEqualTo(100 + level);
+            assertThat(out.bidQuantity(level)).isEqualTo(200 + level);
+        }
+        assertThat(KisRealtimeParser.stockCode(orderBookFrame())).isEqualTo("005930");
+    }
+
+    @Test
+    void 정상_현재가_프레임() {
+        TradePriceFrame out = new TradePriceFrame();
+
+        assertThat(KisRealtimeParser.parseTradePrice(tradePriceFrame(), out)).isTrue();
+        assertThat(out.getStockCode()).isEqualTo("005930");
+        assertThat(out.getFieldCount()).isEqualTo(10);
+        assertThat(out.getCurrentPrice()).isEqualTo(71_000);
+        assertThat(out.getChangePrice()).isEqualTo(1_600);
+        assertThat(out.getChangeRate()).isCloseTo(2.31, within(1e-9));
+        assertThat(out.getVolume()).isEqualTo(2_177_052);
+        assertThat(out.getOpenPrice()).isEqualTo(70_700);
+        assertThat(out.getHighPrice()).isEqualTo(71_500);
+        assertThat(out.getLowPrice()).isEqualTo(70_400);
+    }
+
+    @Test
+    void 같은_종목코드는_같은_인스턴스() {
+        TradePriceFrame first = new TradePriceFrame();
+        TradePriceFrame second = new TradePriceFrame();
+        KisRealtimeParser.parseTradePrice(tradePriceFrame(), first);
+        KisRealtimeParser.parseTradePrice(new StringBuilder(tradePriceFrame()), second);
+
+        assertThat(second.getStockCode()).isSameAs(first.getStockCode());
+    }
+
+    @Test
+    void 현재가_필드가_10개_미만이면_실패() {
+        TradePriceFrame out = new TradePriceFrame();
+
+        // 저가(인덱스 8)까지 있어도 필드 9개
+        String nineFields = TRADE_PRICE_HEADER + "005930^71000^1600^2.31^2177052^35134036573^70700^71500^70400";
+        assertThat(KisRealtimeParser.parseTradePrice(nineFields, out)).isFalse();
+        assertThat(out.getFieldCount()).isEqualTo(9);
+
+        String tenFields = nineFields + "^090001";
+        assertThat(KisRealtimeParser.parseTradePrice(tenFields, out)).isTrue();
+        assertThat(out.getLowPrice()).isEqualTo(70_400);
+    }
+
+    @Test
+    void 현재가_프레임이_필드_중간에서_잘리면_실패() {
+        TradePriceFrame out = new TradePriceFrame();
+
+        assertThat(KisRealtimeParser.parseTradePrice(TRADE_PRICE_HEADER + "005930^71", out)).isFalse();
+        assertThat(out.getFieldCount()).isEqualTo(2);
+        assertThat(KisRealtimeParser.parseTradePrice(TRADE_PRICE_HEADER + "0059", out)).isFalse();
+        assertThat(out.getFieldCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 호가_필드가_5개_미만이면_실패() {
+        OrderBookFrame out = new OrderBookFrame();
+
+        assertThat(KisRealtimeParser.parseOrderBook(ORDER_BOOK_HEADER + "005930^090001^0^71100", out)).isFalse();
+        assertThat(out.getFieldCount()).isEqualTo(4);
+
+        assertThat(KisRealtimeParser.parseOrderBook(ORDER_BOOK_HEADER + "005930^090001^0^71100^71200", out)).isTrue();
+        assertThat(out.getFieldCount()).isEqualTo(5);
+        assertThat(out.askPrice(0)).isEqualTo(71_100);
+        assertThat(out.askPrice(1)).isEqualTo(71_200);
+        // 받지 못한 호가 단계는 0
+        assertThat(out.askPrice(2)).isZero();
+        assertThat(out.bidPrice(0)).isZero();
+        assertThat(out.bidQuantity(KisRealtimeParser.LEVELS - 1)).isZero();
+    }
+
+    @Test
+    void 잘린_호가_프레임은_받은_단계까지만_채운다() {
+        String full = orderBookFrame();
+        // 매도잔량3 중간에서 잘림
+        String truncated = full.substring(0, full.indexOf("^102^") + 3);
+        OrderBookFrame out = new OrderBookFrame();
+
+        assertThat(KisRealtimeParser.parseOrderBook(truncated, out)).isTrue();
+        assertThat(out.getFieldCount()).isEqualTo(26);
+        assertThat(out.bidPrice(KisRealtimeParser.LEVELS - 1)).isEqualTo(70_100);
+        assertThat(out.askQuantity(1)).isEqualTo(101);
+        assertThat(out.askQuantity(2)).isEqualTo(10);
+        assertThat(out.askQuantity(3)).isZero();
+        assertThat(out.bidQuantity(0)).isZero();
+    }
+
+    @Test
+    void 비어있거나_0인_필드는_0() {
+        String frame = TRADE_PRICE_HEADER + "005930^^0^^000^^0^^^";
+        TradePriceFrame out = new TradePriceFrame();
+
+        assertThat(KisRealtimeParser.parseTradePrice(frame, out)).isTrue();
+        assertThat(out.getFieldCount()).isEqualTo(10);
+        assertThat(out.getCurrentPrice()).isZero();
+        assertThat(out.getChangePrice()).isZero();
+        assertThat(out.getChangeRate()).isZero();
+        assertThat(out.getVolume()).isZero();
+        assertThat(out.getOpenPrice()).isZero();
+        assertThat(out.getHighPrice()).isZero();
+        assertThat(out.getLowPrice()).isZero();
+    }
+
+    @Test
+    void 숫자가_아닌_필드는_0() {
+        String frame = TRADE_PRICE_HEADER + "005930^71a00^-^1.2.3^N/A^0^70700^ ^+^090001";
+        TradePriceFrame out = new TradePriceFrame();
+
+        assertThat(KisRealtimeParser.parseTradePrice(frame, out)).isTrue();
+        assertThat(out.getCurrentPrice()).isZero();
+        assertThat(out.getChangePrice()).isZero();
+        assertThat(out.getChangeRate()).isZero();
+        assertThat(out.getVolume()).isZero();
+        assertThat(out.getOpenPrice()).isEqualTo(70_700);
+        assertThat(out.getHighPrice()).isZero();
+        assertThat(out.getLowPrice()).isZero();
+    }
+
+    @Test
+    void 부호와_소수부() {
+        String frame = TRADE_PRICE_HEADER + "005930^71000.75^-1600^-1.23^+2177052^0^70700^71500^70400^090001";
+        TradePriceFrame out = new TradePriceFrame();
+
+        assertThat(KisRealtimeParser.parseTradePrice(frame, out)).isTrue();
+        // 정수 필드의 소수부는 버림
+        assertThat(out.getCurrentPrice()).isEqualTo(71_000);
+        assertThat(out.getChangePrice()).isEqualTo(-1_600);
+        assertThat(out.getChangeRate()).isCloseTo(-1.23, within(1e-9));
+        assertThat(out.getVolume()).isEqualTo(2_177_052);
+    }
+
+    @Test
+    void 숫자_필드_디코딩() {
+        assertThat(KisRealtimeParser.parseLong("", 0, 0)).isZero();
+        assertThat(KisRealtimeParser.parseLong("0", 0, 1)).isZero();
+        assertThat(KisRealtimeParser.parseLong("-0", 0, 2)).isZero();
+        assertThat(KisRealtimeParser.parseLong("007", 0, 3)).isEqualTo(7);
+        assertThat(KisRealtimeParser.parseLong("-12.9", 0, 5)).isEqualTo(-12);
+        // 범위 밖은 읽지 않음
+        assertThat(KisRealtimeParser.parseLong("^123^", 1, 4)).isEqualTo(123);
+
+        assertThat(KisRealtimeParser.parseDecimal("", 0, 0)).isZero();
+        assertThat(KisRealtimeParser.parseDecimal("0.00", 0, 4)).isZero();
+        assertThat(KisRealtimeParser.parseDecimal(".5", 0, 2)).isCloseTo(0.5, within(1e-12));
+        assertThat(KisRealtimeParser.parseDecimal("12.", 0, 3)).isCloseTo(12d, within(1e-12));
+        assertThat(KisRealtimeParser.parseDecimal("+3.25", 0, 5)).isCloseTo(3.25, within(1e-12));
+        // 12자리를 넘는 소수부는 버림
+        assertThat(KisRealtimeParser.parseDecimal("0.12345678901299", 0, 16)).isCloseTo(0.123456789012, within(1e-15));
+    }
+
+    @Test
+    void 프레임_객체를_재사용해도_이전_값이_남지_않는다() {
+        OrderBookFrame orderBook = new OrderBookFrame();
+        KisRealtimeParser.parseOrderBook(orderBookFrame(), orderBook);
+
+        assertThat(KisRealtimeParser.parseOrderBook(ORDER_BOOK_HEADER + "000660^090002^0^184500^185000", orderBook)).isTrue();
+        assertThat(orderBook.getStockCode()).isEqualTo("000660");
+        assertThat(orderBook.askPrice(0)).isEqualTo(184_500);
+        assertThat(orderBook.askPrice(2)).isZero();
+        assertThat(orderBook.bidPrice(0)).isZero();
+        assertThat(orderBook.bidQuantity(0)).isZero();
+
+        assertThat(KisRealtimeParser.parseOrderBook("0|H0STASP0|001", orderBook)).isFalse();
+        assertThat(orderBook.getStockCode()).isNull();
+        assertThat(orderBook.getFieldCount()).isZero();
+        assertThat(orderBook.askPrice(0)).isZero();
+
+        TradePriceFrame tradePrice = new TradePriceFrame();
+        KisRealtimeParser.parseTradePrice(tradePriceFrame(), tradePrice);
+        assertThat(KisRealtimeParser.parseTradePrice(TRADE_PRICE_HEADER + "005930^70900", tradePrice)).isFalse();
+        assertThat(tradePrice.getCurrentPrice()).isEqualTo(70_900);
+        assertThat(tradePrice.getChangeRate()).isZero();
+        assertThat(tradePrice.getVolume()).isZero();
+        assertThat(tradePrice.getLowPrice()).isZero();
+    }
+
+    /**
+     * 종목코드^시간^구분^매도호가1~10^매수호가1~10^매도잔량1~10^매수잔량1~10^총잔량...
+     */
+    private static String orderBookFrame() {
+        StringBuilder frame = new StringBuilder(ORDER_BOOK_HEADER).append("005930^090001^0");
+        for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+            frame.append('^').append(71_100 + level * 100);
+        }
+        for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+            frame.append('^').append(71_000 - level * 100);
+        }
+        for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+            frame.append('^').append(100 + level);
+        }
+        for (int level = 0; level < KisRealtimeParser.LEVELS; level++) {
+            frame.append('^').append(200 + level);
+        }
+        return frame.append("^1045^2045^0^0").toString();
+    }
+
+    private static String tradePriceFrame() {
+        return TRADE_PRICE_HEADER + "005930^71000^1600^2.31^2177052^35134036573^70700^71500^70400^090001^2^323";
+    }
+}
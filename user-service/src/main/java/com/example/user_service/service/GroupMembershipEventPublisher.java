@@ -0,0 +1,48 @@
+package com.example.user_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * 그룹 멤버 변경 이벤트 발행
+ * - trading-service가 그룹 멤버 계좌를 로컬 캐시하므로, 멤버가 바뀌면 Redis 채널로 그룹ID를 발행해서 무효화
+ * - 트랜잭션 안에서 호출되면 커밋 후에 발행 (롤백된 변경은 알리지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupMembershipEventPublisher {
+
+    // trading-service GroupMembershipCache.CHANGED_CHANNEL 과 동일해야 함
+    public static final String CHANNEL = "group-membership:changed";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public void publishChanged(UUID groupId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(groupId);
+                }
+            });
+        } else {
+            publish(groupId);
+        }
+    }
+
+    private void publish(UUID groupId) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, groupId.toString());
+        } catch (Exception e) {
+            // 발행 실패해도 멤버 변경은 유지 (trading-service 캐시는 TTL 후 갱신)
+            log.warn("그룹 멤버 변경 이벤트 발행 실패 - groupId: {} - {}", groupId, e.getMessage());
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class GroupService {
     private final InvitationCodeRepository invitationCodeRepository;
     private final com.example.user_service.client.TradingServiceClient tradingServiceClient;
     private final UserRepository userRepository;
+    private final GroupMembershipEventPublisher groupMembershipEventPublisher;
 
     @Transactional
     public UUID createGroup(UUID ownerId, GroupCreateRequest request) {
@@ -46,6 +47,7 @@ public class GroupService {
 
         GroupMember leader = GroupMember.join(saved.getGroupId(), ownerId);
         groupMemberRepository.save(leader);
+        groupMembershipEventPublisher.publishChanged(saved.getGroupId());
 
         // ❌ 그룹 생성 시에는 예수금 지급 안 함!
         // ✅ 모든 멤버가 모였을 때 (ACTIVE 상태) 일괄 지급
@@ -156,6 +158,7 @@ public class GroupService {
             groupRepository.save(group);
 
             groupMemberRepository.save(GroupMember.join(invitationCode.getGroupId(), userId));
+            groupMembershipEventPublisher.publishChanged(invitationCode.getGroupId());
 
             // ✅ 그룹이 ACTIVE 상태가 되었는지 확인 (모든 멤버가 모임!)
             if (previousStatus == GroupStatus.WAITING && group.getStatus() == GroupStatus.ACTIVE) {
@@ -217,6 +220,8 @@ public class GroupService {
 
         group.addMember();
         groupRepository.save(group);
+
+        groupMembershipEventPublisher.publishChanged(groupId);
     }
 
     @Transactional(readOnly = true)
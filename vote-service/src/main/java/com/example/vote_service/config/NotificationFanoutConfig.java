@@ -0,0 +1,40 @@
+package com.example.vote_service.config;
+
+import com.example.vote_service.service.NotificationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 레플리카 간 알림 채널 구독
+ * - 모든 파드가 그룹/사용자 알림 채널을 구독해서 각자 연결된 SSE 사용자에게 전달
+ * - Jedis 구독은 스레드를 막으므로 전용 구독 스레드에서 돌리고, 리스너는 단일 스레드에서 순서대로 처리
+ *   (그룹 알림은 멤버 조회(DB)를 하므로 구독 스레드에서 직접 처리하지 않음)
+ */
+@Configuration
+public class NotificationFanoutConfig {
+
+    @Bean
+    public RedisMessageListenerContainer notificationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       NotificationService notificationService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 구독 실행기를 따로 주지 않으면 taskExecutor에서 구독하므로 막히는 Jedis 구독이 리스너 스레드를 차지함
+        container.setSubscriptionExecutor(new SimpleAsyncTaskExecutor("notification-subscription-"));
+        // 리스너 스레드는 하나라 발행 순서대로 연결별 큐에 들어감
+        // (빈으로 등록하면 스프링 기본 작업 실행기를 대신하게 되므로 컨테이너 전용으로만 생성)
+        ThreadPoolTaskExecutor listenerExecutor = new ThreadPoolTaskExecutor();
+        listenerExecutor.setCorePoolSize(1);
+        listenerExecutor.setMaxPoolSize(1);
+        listenerExecutor.setThreadNamePrefix("notification-listener-");
+        listenerExecutor.initialize();
+        container.setTaskExecutor(listenerExecutor);
+        container.addMessageListener(notificationService, new PatternTopic(NotificationService.GROUP_CHANNEL_PREFIX + "*"));
+        container.addMessageListener(notificationService, new PatternTopic(NotificationService.USER_CHANNEL_PREFIX + "*"));
+        return container;
+    }
+}
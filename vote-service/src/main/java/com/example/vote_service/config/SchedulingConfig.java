@@ -8,20 +8,20 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 /**
  * 스케줄링 설정
  * - TaskScheduler Bean 설정
- * - 정확한 시간에 투표 마감 처리
+ * - @Scheduled 작업 실행 (투표 마감 타이머 폴링 등, 마감 타이머 자체는 DB에 저장)
  */
 @Configuration
 public class SchedulingConfig {
 
     /**
      * TaskScheduler Bean 설정
-     * - 정확한 시간에 실행되는 작업을 위한 스케줄러
+     * - 주기 작업용 스케줄러 (제안마다 예약 작업을 만들지 않음)
      */
     @Bean
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(10); // 스레드 풀 크기
-        scheduler.setThreadNamePrefix("vote-expiration-");
+        scheduler.setThreadNamePrefix("vote-scheduler-");
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
         scheduler.setAwaitTerminationSeconds(60);
         scheduler.initialize();
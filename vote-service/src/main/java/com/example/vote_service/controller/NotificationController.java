@@ -33,23 +33,28 @@ public class NotificationController {
      * SSE 스트림 연결
      * GET /notification/stream
      */
-    @Operation(summary = "실시간 알림 스트림 연결", description = "SSE를 통해 실시간 알림을 받을 수 있는 스트림에 연결합니다.")
+    @Operation(summary = "실시간 알림 스트림 연결", description = "SSE를 통해 실시간 알림을 받을 수 있는 스트림에 연결합니다. "
+            + "재연결 시 Last-Event-ID(헤더 또는 lastEventId 파라미터) 이후 알림만 재전송하며, "
+            + "재전송할 수 없거나 전송이 밀려 알림을 버리면 notification-resync 이벤트(id: 현재 알림 순번)를 보냅니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "알림 스트림 연결 성공"),
         @ApiResponse(responseCode = "400", description = "잘못된 사용자 ID")
     })
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter streamNotifications(
-            @Parameter(description = "사용자 ID", required = true) @RequestHeader("X-User-Id") String userIdHeader) {
+            @Parameter(description = "사용자 ID", required = true) @RequestHeader("X-User-Id") String userIdHeader,
+            @Parameter(description = "마지막으로 받은 알림 id (EventSource 자동 재연결 시 전송)") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @Parameter(description = "마지막으로 받은 알림 id (헤더를 설정할 수 없는 클라이언트용)") @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
         UUID userId = UUID.fromString(userIdHeader);
         
         // SSE Emitter 생성 (30분 타임아웃)
         SseEmitter emitter = new SseEmitter(30 * 60 * 1000L);
         
         // 사용자 연결 등록
-        notificationService.registerUserConnection(userId, emitter);
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        notificationService.registerUserConnection(userId, emitter, lastEventId);
         
-        log.info("🔌 알림 스트림 연결 - userId: {}", userId);
+        log.info("🔌 알림 스트림 연결 - userId: {}, lastEventId: {}", userId, lastEventId);
         return emitter;
     }
     
@@ -139,7 +144,7 @@ public class NotificationController {
      * 알림 상태 조회
      * GET /notification/status
      */
-    @Operation(summary = "알림 상태 조회", description = "현재 연결된 사용자 수와 알림 시스템 상태를 조회합니다.")
+    @Operation(summary = "알림 상태 조회", description = "이 파드에 연결된 사용자 수, 전체 레플리카 기준 온라인 사용자 수를 조회합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "알림 상태 조회 성공"),
         @ApiResponse(responseCode = "500", description = "알림 상태 조회 실패")
@@ -148,9 +153,11 @@ public class NotificationController {
     public ResponseEntity<Map<String, Object>> getNotificationStatus() {
         try {
             int connectedUsers = notificationService.getConnectedUserCount();
+            long onlineUsers = notificationService.getOnlineUserCount();
             
             return ResponseEntity.ok(Map.of(
                 "connectedUsers", connectedUsers,
+                "onlineUsers", onlineUsers,
                 "timestamp", System.currentTimeMillis()
             ));
             
@@ -50,8 +50,9 @@ public class Proposal {
     @Column(name = "payload", columnDefinition = "JSON")
     private String payload; // 제안 상세 데이터 (reason 등. JSON 형태)
 
+    // 종료는 ProposalRepository.closeIfOpen 조건부 UPDATE로만 (먼저 읽은 엔티티 flush가 종료된 제안을 OPEN으로 덮어쓰지 않도록 updatable = false)
     @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false, length = 20)
+    @Column(name = "status", nullable = false, length = 20, updatable = false)
     private ProposalStatus status; // OPEN, APPROVED, REJECTED
 
     @Column(name = "open_at", nullable = false)
@@ -60,6 +61,19 @@ public class Proposal {
     @Column(name = "close_at")
     private LocalDateTime closeAt; // 제안 종료 시간
 
+    @Column(name = "vote_quorum")
+    private Integer voteQuorum; // 생성 시점 투표 정족수 (null이면 스냅샷 이전 제안)
+
+    @Column(name = "member_count")
+    private Integer memberCount; // 생성 시점 그룹원 수 (null이면 스냅샷 이전 제안)
+
+    // 찬성/반대 수 - 투표 저장과 같은 트랜잭션의 원자적 UPDATE로만 변경 (엔티티 flush로 덮어쓰지 않도록 updatable = false)
+    @Column(name = "approve_count", updatable = false)
+    private Integer approveCount; // null이면 카운터 도입 이전 제안 (첫 투표 시 COUNT로 초기화)
+
+    @Column(name = "reject_count", updatable = false)
+    private Integer rejectCount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -90,9 +104,26 @@ public class Proposal {
         proposal.payload = payload;
         proposal.closeAt = closeAt;
         proposal.status = ProposalStatus.OPEN;
+        proposal.approveCount = 0;
+        proposal.rejectCount = 0;
         return proposal;
     }
 
+    /**
+     * 정족수/그룹원 수 스냅샷 (제안 생성 시, 투표마다 user-service를 호출하지 않도록)
+     */
+    public void snapshotQuorum(int voteQuorum, int memberCount) {
+        this.voteQuorum = voteQuorum;
+        this.memberCount = memberCount;
+    }
+
+    /**
+     * 정족수 스냅샷이 있는지 확인
+     */
+    public boolean hasQuorumSnapshot() {
+        return this.voteQuorum != null && this.memberCount != null;
+    }
+
     /**
      * 제안 승인 처리 (투표 집계 후 호출)
      */
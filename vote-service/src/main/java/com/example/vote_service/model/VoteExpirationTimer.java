@@ -0,0 +1,62 @@
+package com.example.vote_service.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * VoteExpirationTimer 엔티티
+ * - 투표 마감 타이머 (제안 생성 트랜잭션에서 함께 저장 → 재시작/배포 후에도 유실되지 않음)
+ * - fireAt이 지난 행을 레플리카 중 하나가 임대(lease)해서 마감 처리, 성공하면 삭제
+ * - leaseUntil이 지나도록 삭제되지 않은 행(처리 중 죽은 파드, 실패)은 다른 레플리카가 다시 가져감
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "vote_expiration_timer", indexes = {
+        @Index(name = "idx_vote_expiration_timer_fire_at", columnList = "fire_at")
+})
+public class VoteExpirationTimer {
+
+    @Id
+    @Column(name = "proposal_id", columnDefinition = "BINARY(16)")
+    private UUID proposalId;
+
+    @Column(name = "group_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID groupId;
+
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt; // 마감 시간 (제안 closeAt, 한국 시간)
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner; // 처리 중인 레플리카
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil; // 임대 만료 시간 (이후 다른 레플리카가 다시 가져갈 수 있음)
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts; // 실패 횟수
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * 정적 팩토리 메서드 - 마감 타이머 생성
+     */
+    public static VoteExpirationTimer create(UUID proposalId, UUID groupId, LocalDateTime fireAt) {
+        VoteExpirationTimer timer = new VoteExpirationTimer();
+        timer.proposalId = proposalId;
+        timer.groupId = groupId;
+        timer.fireAt = fireAt;
+        return timer;
+    }
+}
@@ -31,6 +31,12 @@ public interface GroupMembersRepository extends JpaRepository<GroupMembers, Grou
     @Query("SELECT g.groupId FROM GroupMembers g WHERE g.userId = :userId")
     Optional<UUID> findFirstGroupIdByUserId(@Param("userId") UUID userId);
     
+    /**
+     * 특정 사용자가 속한 모든 그룹 ID 조회
+     */
+    @Query("SELECT g.groupId FROM GroupMembers g WHERE g.userId = :userId")
+    List<UUID> findGroupIdsByUserId(@Param("userId") UUID userId);
+
     /**
      * 그룹의 모든 멤버 ID 조회
      */
@@ -3,9 +3,14 @@ package com.example.vote_service.repository;
 import com.example.vote_service.model.Proposal;
 import com.example.vote_service.model.ProposalStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -34,5 +39,52 @@ public interface ProposalRepository extends JpaRepository<Proposal, UUID> {
      * 특정 상태의 모든 제안 조회
      */
     List<Proposal> findByStatus(ProposalStatus status);
+
+    /**
+     * 진행 중인 제안만 종료 (마감 타이머/정족수 도달이 동시에 종료해도 한 곳만 1행 변경, 나머지는 행 잠금 후 0행)
+     */
+    @Modifying
+    @Query("UPDATE Proposal p SET p.status = :status, p.closeAt = COALESCE(p.closeAt, :now) " +
+            "WHERE p.proposalId = :proposalId AND p.status = :open")
+    int closeIfOpen(@Param("proposalId") UUID proposalId,
+                    @Param("status") ProposalStatus status,
+                    @Param("open") ProposalStatus open,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * 찬성/반대 수 원자적 증감 (행 잠금으로 동시 투표끼리 순서대로 반영)
+     */
+    @Modifying
+    @Query("UPDATE Proposal p SET p.approveCount = p.approveCount + :approveDelta, " +
+            "p.rejectCount = p.rejectCount + :rejectDelta WHERE p.proposalId = :proposalId")
+    int addVoteCounts(@Param("proposalId") UUID proposalId,
+                      @Param("approveDelta") int approveDelta,
+                      @Param("rejectDelta") int rejectDelta);
+
+    /**
+     * 카운터 도입 이전 제안의 찬성/반대 수를 COUNT로 한 번만 초기화
+     */
+    @Modifying
+    @Query(value = "UPDATE proposal p SET " +
+            "p.approve_count = (SELECT COUNT(*) FROM vote v WHERE v.proposal_id = p.proposal_id AND v.choice = 'AGREE'), " +
+            "p.reject_count = (SELECT COUNT(*) FROM vote v WHERE v.proposal_id = p.proposal_id AND v.choice = 'DISAGREE') " +
+            "WHERE p.proposal_id = :proposalId AND (p.approve_count IS NULL OR p.reject_count IS NULL)",
+            nativeQuery = true)
+    int initializeVoteCounts(@Param("proposalId") UUID proposalId);
+
+    /**
+     * 찬성/반대 수 조회 (영속성 컨텍스트가 아닌 DB 값)
+     */
+    @Query("SELECT p.approveCount AS approveCount, p.rejectCount AS rejectCount FROM Proposal p WHERE p.proposalId = :proposalId")
+    Optional<VoteTally> findVoteTally(@Param("proposalId") UUID proposalId);
+
+    /**
+     * 찬성/반대 수 projection
+     */
+    interface VoteTally {
+        Integer getApproveCount();
+
+        Integer getRejectCount();
+    }
 }
 
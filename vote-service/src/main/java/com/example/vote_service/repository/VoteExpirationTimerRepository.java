@@ -0,0 +1,74 @@
+package com.example.vote_service.repository;
+
+import com.example.vote_service.model.VoteExpirationTimer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * VoteExpirationTimer Repository
+ * - 투표 마감 타이머 데이터 접근 인터페이스
+ */
+@Repository
+public interface VoteExpirationTimerRepository extends JpaRepository<VoteExpirationTimer, UUID> {
+
+    /**
+     * 마감 시간이 지났고 임대되지 않은(또는 임대가 만료된) 타이머 조회 + 행 잠금
+     * - SKIP LOCKED: 다른 레플리카가 잠근 행은 건너뜀 (레플리카끼리 같은 타이머를 기다리지 않음)
+     */
+    @Query(value = "SELECT * FROM vote_expiration_timer " +
+            "WHERE fire_at <= :now AND (lease_until IS NULL OR lease_until < :now) AND attempts < :maxAttempts " +
+            "ORDER BY fire_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<VoteExpirationTimer> findDueForUpdate(@Param("now") LocalDateTime now,
+                                               @Param("maxAttempts") int maxAttempts,
+                                               @Param("limit") int limit);
+
+    /**
+     * 타이머 임대 (findDueForUpdate와 같은 트랜잭션에서 호출)
+     */
+    @Modifying
+    @Query("UPDATE VoteExpirationTimer t SET t.leaseOwner = :owner, t.leaseUntil = :leaseUntil " +
+            "WHERE t.proposalId = :proposalId")
+    int lease(@Param("proposalId") UUID proposalId,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 재시도 한도를 넘겨 더 이상 가져가지 않는 타이머 수 (제안이 OPEN으로 남아 있음 → 수동 처리 필요)
+     */
+    long countByAttemptsGreaterThanEqual(int attempts);
+
+    /**
+     * 처리 완료 - 임대한 레플리카만 삭제 (임대가 만료되어 다른 레플리카가 가져간 경우 건드리지 않음)
+     */
+    @Modifying
+    @Query("DELETE FROM VoteExpirationTimer t WHERE t.proposalId = :proposalId AND t.leaseOwner = :owner")
+    int deleteLeased(@Param("proposalId") UUID proposalId, @Param("owner") String owner);
+
+    /**
+     * 처리 실패 - 실패 횟수 증가, retryAt 이후 다시 가져갈 수 있도록 임대 만료 시간 조정
+     */
+    @Modifying
+    @Query("UPDATE VoteExpirationTimer t SET t.attempts = t.attempts + 1, t.leaseUntil = :retryAt " +
+            "WHERE t.proposalId = :proposalId AND t.leaseOwner = :owner")
+    int recordFailure(@Param("proposalId") UUID proposalId,
+                      @Param("owner") String owner,
+                      @Param("retryAt") LocalDateTime retryAt);
+
+    /**
+     * 타이머 없이 남아 있는 진행 중 제안의 타이머 복구 (메모리 스케줄러 시절 제안, 여러 레플리카 동시 실행 안전)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO vote_expiration_timer (proposal_id, group_id, fire_at, attempts, created_at) " +
+            "SELECT p.proposal_id, p.group_id, p.close_at, 0, NOW() FROM proposal p " +
+            "WHERE p.status = 'OPEN' AND p.close_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM vote_expiration_timer t WHERE t.proposal_id = p.proposal_id)",
+            nativeQuery = true)
+    int restoreMissingTimers();
+}
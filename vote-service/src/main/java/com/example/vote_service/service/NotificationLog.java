@@ -0,0 +1,150 @@
+package com.example.vote_service.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 알림 재전송 로그 (Redis Stream, 채널별 최근 N건)
+ * - 모든 알림에 전역 순번(eventId)을 붙여 채널 로그에 남기고 같은 스크립트에서 발행 → SSE id로 사용
+ * - 재연결 시 Last-Event-ID 이후 알림만 로그에서 읽어 재전송 (전체 히스토리 재조회 대신)
+ * - 전역 순번이라 그룹/개인 채널의 알림을 하나의 Last-Event-ID로 이어서 받을 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationLog {
+
+    static final String SEQUENCE_KEY = "notification:log:seq";
+
+    private static final String MESSAGE_FIELD = "message";
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    // 순번 발급 → 로그 추가 → 발행을 원자적으로 (발행된 알림은 항상 로그에 먼저 남음)
+    private static final DefaultRedisScript<Long> APPEND_AND_PUBLISH_SCRIPT = new DefaultRedisScript<>(
+            "local id = redis.call('incr', KEYS[1]) "
+                    + "local message = '{\"eventId\":' .. id .. ',\"payload\":' .. ARGV[1] .. '}' "
+                    + "redis.call('xadd', KEYS[2], 'MAXLEN', ARGV[2], id .. '-0', 'message', message) "
+                    + "redis.call('publish', ARGV[3], message) "
+                    + "return id", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 채널별 보관 건수 (이보다 오래 끊겨 있던 클라이언트는 재동기화 안내)
+    @Value("${notification.replay.max-len:200}")
+    private int maxLen;
+
+    // 재연결 한 번에 재전송할 최대 건수
+    @Value("${notification.replay.max-events:100}")
+    private int maxEvents;
+
+    /**
+     * 알림 로그 추가 + 채널 발행
+     *
+     * @return 발급된 eventId
+     */
+    public long appendAndPublish(String channel, String payloadJson) {
+        Long eventId = stringRedisTemplate.execute(APPEND_AND_PUBLISH_SCRIPT,
+                List.of(SEQUENCE_KEY, logKey(channel)),
+                payloadJson, String.valueOf(maxLen), channel);
+        if (eventId == null) {
+            throw new IllegalStateException("알림 로그 추가 실패 - channel: " + channel);
+        }
+        return eventId;
+    }
+
+    /**
+     * 마지막으로 발급된 eventId (발급 전이면 0)
+     * - 재동기화 안내의 id로 써서, 전체 히스토리를 다시 읽은 클라이언트가 그 이후부터 이어 받도록 함
+     */
+    public long currentSequence() {
+        String value = stringRedisTemplate.opsForValue().get(SEQUENCE_KEY);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    /**
+     * 채널 메시지(또는 로그 항목) 해석 - {"eventId": N, "payload": {...}}
+     */
+    public LoggedNotification parse(String channel, String message) throws Exception {
+        JsonNode envelope = objectMapper.readTree(message);
+        Map<String, Object> payload = objectMapper.convertValue(envelope.get("payload"), PAYLOAD_TYPE);
+        return new LoggedNotification(channel, envelope.get("eventId").asLong(), payload);
+    }
+
+    /**
+     * lastEventId 이후 알림 조회 (여러 채널을 eventId 순으로 병합)
+     * - 로그가 잘려 나갔거나 재전송 건수를 넘으면 gap = true (클라이언트가 전체 히스토리를 다시 조회해야 함)
+     */
+    public Replay readAfter(List<String> channels, long lastEventId) {
+        String from = (lastEventId + 1) + "-0";
+        List<LoggedNotification> events = new ArrayList<>();
+        for (String channel : channels) {
+            String key = logKey(channel);
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .range(key, Range.rightUnbounded(Range.Bound.inclusive(from)), Limit.limit().count(maxEvents + 1));
+            if (records == null) {
+                continue;
+            }
+            if (isTrimmedAfter(key, lastEventId)) {
+                return new Replay(List.of(), true);
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                try {
+                    events.add(parse(channel, String.valueOf(record.getValue().get(MESSAGE_FIELD))));
+                } catch (Exception e) {
+                    log.warn("⚠️ 알림 로그 항목 해석 실패 - key: {}, id: {}, error: {}", key, record.getId(), e.getMessage());
+                }
+            }
+        }
+        if (events.size() > maxEvents) {
+            return new Replay(List.of(), true);
+        }
+        events.sort(Comparator.comparingLong(LoggedNotification::eventId));
+        return new Replay(events, false);
+    }
+
+    /**
+     * 로그가 가득 찼고 남은 가장 오래된 항목이 lastEventId 이후라면 그 사이 항목이 잘려 나갔을 수 있음
+     */
+    private boolean isTrimmedAfter(String key, long lastEventId) {
+        Long size = stringRedisTemplate.opsForStream().size(key);
+        if (size == null || size < maxLen) {
+            return false;
+        }
+        List<MapRecord<String, Object, Object>> oldest = stringRedisTemplate.opsForStream()
+                .range(key, Range.unbounded(), Limit.limit().count(1));
+        return oldest != null && !oldest.isEmpty()
+                && oldest.get(0).getId().getTimestamp() > lastEventId + 1;
+    }
+
+    private String logKey(String channel) {
+        return channel + ":log";
+    }
+
+    /**
+     * 로그에 남은 알림 (channel로 그룹/개인 알림 구분)
+     */
+    public record LoggedNotification(String channel, long eventId, Map<String, Object> payload) {
+    }
+
+    /**
+     * 재전송 결과
+     */
+    public record Replay(List<LoggedNotification> events, boolean gap) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.vote_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 알림 스트림 접속 상태 (Redis, 모든 레플리카 공유)
+ * - ZSET notification:online (member: userId, score: 만료 시각 epoch ms)
+ * - 각 파드가 자기 파드에 연결된 사용자의 만료 시각을 주기적으로 갱신 → 파드가 죽어도 TTL이 지나면 오프라인
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPresence {
+
+    static final String ONLINE_KEY = "notification:online";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 갱신이 끊긴 사용자를 오프라인으로 보는 시간 (갱신 주기보다 충분히 길게)
+    @Value("${notification.presence.ttl-seconds:90}")
+    private long ttlSeconds;
+
+    /**
+     * 접속 등록/만료 시각 갱신
+     */
+    public void markOnline(UUID userId) {
+        try {
+            stringRedisTemplate.opsForZSet().add(ONLINE_KEY, userId.toString(), expiresAt());
+        } catch (Exception e) {
+            log.warn("⚠️ 접속 상태 등록 실패 - userId: {}, error: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 접속 해제 (다른 파드에도 연결이 남아 있으면 그 파드의 다음 갱신에서 다시 등록됨)
+     */
+    public void markOffline(UUID userId) {
+        try {
+            stringRedisTemplate.opsForZSet().remove(ONLINE_KEY, userId.toString());
+        } catch (Exception e) {
+            log.warn("⚠️ 접속 상태 해제 실패 - userId: {}, error: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 파드에 연결된 사용자들의 만료 시각 일괄 갱신 + 만료된 항목 정리
+     */
+    public void refresh(Collection<UUID> userIds) {
+        long now = System.currentTimeMillis();
+        if (!userIds.isEmpty()) {
+            double expiresAt = expiresAt();
+            Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+            for (UUID userId : userIds) {
+                tuples.add(ZSetOperations.TypedTuple.of(userId.toString(), expiresAt));
+            }
+            stringRedisTemplate.opsForZSet().add(ONLINE_KEY, tuples);
+        }
+        stringRedisTemplate.opsForZSet().removeRangeByScore(ONLINE_KEY, Double.NEGATIVE_INFINITY, now);
+    }
+
+    /**
+     * 사용자가 어느 레플리카에든 연결되어 있는지 확인
+     */
+    public boolean isOnline(UUID userId) {
+        Double score = stringRedisTemplate.opsForZSet().score(ONLINE_KEY, userId.toString());
+        return score != null && score > System.currentTimeMillis();
+    }
+
+    /**
+     * 주어진 사용자 중 온라인인 사용자 수 (ZMSCORE 한 번)
+     */
+    public int countOnline(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        List<Double> scores = stringRedisTemplate.opsForZSet()
+                .score(ONLINE_KEY, userIds.stream().map(UUID::toString).toArray());
+        if (scores == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        return (int) scores.stream().filter(score -> score != null && score > now).count();
+    }
+
+    /**
+     * 전체 레플리카 기준 온라인 사용자 수
+     */
+    public long countAll() {
+        Long count = stringRedisTemplate.opsForZSet()
+                .count(ONLINE_KEY, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return count != null ? count : 0;
+    }
+
+    private double expiresAt() {
+        return System.currentTimeMillis() + ttlSeconds * 1000;
+    }
+}
@@ -1,170 +1,614 @@
 package com.example.vote_service.service;
 
 import com.example.vote_service.repository.GroupMembersRepository;
+import com.example.vote_service.service.NotificationLog.LoggedNotification;
+import com.example.vote_service.service.NotificationLog.Replay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * 실시간 알림 서비스
  * - SSE 연결 관리 및 그룹 멤버들에게 알림 전송
+ * - 알림은 Redis 채널(그룹/사용자별)로 한 번 발행하고, 모든 레플리카가 구독해서 각자 연결된 사용자에게 전송
+ * - 접속 상태는 Redis에 공유 (NotificationPresence) → 온라인 여부/온라인 멤버 수가 레플리카와 무관
+ * - 연결마다 크기 제한 큐를 두고 writer 스레드가 전송 → 느린 클라이언트가 다른 사용자 전송이나 커밋 스레드를 막지 않음
+ * - 전송 하나가 write-timeout-ms를 넘기거나 큐가 하트비트 두 번 연속 가득 차 있으면 연결을 끊음 (writer 스레드 고갈 방지)
+ * - 알림마다 전역 순번(SSE id)을 붙여 로그에 남기고, 재연결 시 Last-Event-ID 이후 알림만 재전송 (NotificationLog)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class NotificationService {
-    
-    // 🔥 사용자별 SSE 연결 관리 (userId -> SseEmitter)
-    private final Map<UUID, SseEmitter> userEmitters = new ConcurrentHashMap<>();
-    
+public class NotificationService implements MessageListener {
+
+    public static final String GROUP_CHANNEL_PREFIX = "notification:group:";
+    public static final String USER_CHANNEL_PREFIX = "notification:user:";
+
+    // 🔥 이 파드에 연결된 사용자별 SSE 연결 관리 (userId -> Connection)
+    private final Map<UUID, Connection> connections = new ConcurrentHashMap<>();
+
     private final GroupMembersRepository groupMembersRepository;
-    
+    private final NotificationPresence notificationPresence;
+    private final NotificationLog notificationLog;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 연결당 전송 대기 최대 건수 (초과 시 대기 알림을 모두 버리고 재동기화 안내)
+    @Value("${notification.sse.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${notification.sse.writer-threads:8}")
+    private int writerThreads;
+
+    // 전송 하나가 이보다 오래 끝나지 않으면 막힌 연결로 보고 끊음 (하트비트 때 확인)
+    @Value("${notification.sse.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    private ExecutorService writer;
+    private final AtomicInteger queuedEvents = new AtomicInteger();
+    private Counter droppedEvents;
+    private Counter failedSends;
+    private Counter stalledConnections;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        writer = Executors.newFixedThreadPool(Math.max(1, writerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "sse-writer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("notification.sse.connections", connections, Map::size)
+                .description("이 파드에 연결된 SSE 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.sse.queue.depth", queuedEvents, AtomicInteger::get)
+                .description("모든 연결의 전송 대기 알림 수")
+                .register(meterRegistry);
+        droppedEvents = Counter.builder("notification.sse.dropped")
+                .description("큐 초과로 버린 알림 수")
+                .register(meterRegistry);
+        failedSends = Counter.builder("notification.sse.send.failed")
+                .description("전송 실패로 끊은 연결 수")
+                .register(meterRegistry);
+        stalledConnections = Counter.builder("notification.sse.stalled")
+                .description("전송이 막혀 끊은 연결 수")
+                .register(meterRegistry);
+        log.info("📮 SSE 전송 writer 시작: {}개 (연결당 큐 {}건)", writerThreads, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.shutdownNow();
+    }
+
     /**
      * 사용자 SSE 연결 등록
+     *
+     * @param lastEventId 재연결 시 마지막으로 받은 알림 id (없으면 재전송하지 않음)
      */
-    public void registerUserConnection(UUID userId, SseEmitter emitter) {
-        userEmitters.put(userId, emitter);
-        
+    public void registerUserConnection(UUID userId, SseEmitter emitter, String lastEventId) {
+        Long resumeAfter = parseEventId(lastEventId);
+        Connection connection = new Connection(userId, emitter, resumeAfter != null);
+        Connection previous = connections.put(userId, connection);
+        if (previous != null) {
+            // 같은 사용자의 이전 연결 (새 탭/재연결) - 맵에서는 이미 교체됐으므로 접속 상태는 유지
+            previous.closeAndComplete();
+        }
+        notificationPresence.markOnline(userId);
+
         // 연결 완료 시 정리
         emitter.onCompletion(() -> {
-            userEmitters.remove(userId);
-            log.info("🔌 SSE 연결 완료 - userId: {}, 남은 연결: {}개", userId, userEmitters.size());
+            connection.close();
+            log.info("🔌 SSE 연결 완료 - userId: {}, 남은 연결: {}개", userId, connections.size());
         });
-        
+
         // 연결 타임아웃 시 정리
         emitter.onTimeout(() -> {
-            userEmitters.remove(userId);
-            log.info("⏰ SSE 연결 타임아웃 - userId: {}, 남은 연결: {}개", userId, userEmitters.size());
+            connection.close();
+            log.info("⏰ SSE 연결 타임아웃 - userId: {}, 남은 연결: {}개", userId, connections.size());
         });
-        
+
         // 연결 오류 시 정리
         emitter.onError((ex) -> {
-            userEmitters.remove(userId);
-            log.error("❌ SSE 연결 오류 - userId: {}, error: {}, 남은 연결: {}개", 
-                    userId, ex.getMessage(), userEmitters.size());
+            connection.close();
+            log.error("❌ SSE 연결 오류 - userId: {}, error: {}, 남은 연결: {}개",
+                    userId, ex.getMessage(), connections.size());
         });
-        
-        log.info("🔌 SSE 연결 등록 - userId: {}, 총 연결: {}개", userId, userEmitters.size());
+
+        log.info("🔌 SSE 연결 등록 - userId: {}, 총 연결: {}개", userId, connections.size());
+
+        if (resumeAfter != null) {
+            replayMissed(userId, connection, resumeAfter);
+        }
     }
-    
+
     /**
-     * 그룹 멤버들에게 히스토리 알림 전송
+     * 그룹 멤버들에게 히스토리 알림 전송 (모든 레플리카로 발행)
      */
     public void sendHistoryNotification(UUID groupId, String message, String historyType) {
+        Map<String, Object> payload = Map.of(
+                "type", historyType,
+                "message", message,
+                "groupId", groupId.toString(),
+                "timestamp", LocalDateTime.now().toString(),
+                "notificationId", UUID.randomUUID().toString()
+        );
+        if (!publish(GROUP_CHANNEL_PREFIX + groupId, payload)) {
+            // Redis 장애 시 최소한 이 파드에 연결된 멤버에게는 전송 (id 없음 → 재전송 대상 아님)
+            deliverToGroup(groupId, null, payload);
+        }
+    }
+
+    /**
+     * 특정 사용자에게 개별 알림 전송 (모든 레플리카로 발행)
+     */
+    public void sendNotificationToUser(UUID userId, String message, String type) {
+        Map<String, Object> payload = Map.of(
+                "type", type,
+                "message", message,
+                "timestamp", LocalDateTime.now().toString(),
+                "notificationId", UUID.randomUUID().toString()
+        );
+        if (!publish(USER_CHANNEL_PREFIX + userId, payload)) {
+            deliverToUser(userId, null, payload);
+        }
+    }
+
+    /**
+     * Redis 채널에서 받은 알림을 이 파드에 연결된 사용자에게 전송
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        try {
+            LoggedNotification notification = notificationLog.parse(channel,
+                    new String(message.getBody(), StandardCharsets.UTF_8));
+            if (channel.startsWith(GROUP_CHANNEL_PREFIX)) {
+                deliverToGroup(UUID.fromString(channel.substring(GROUP_CHANNEL_PREFIX.length())),
+                        notification.eventId(), notification.payload());
+            } else if (channel.startsWith(USER_CHANNEL_PREFIX)) {
+                deliverToUser(UUID.fromString(channel.substring(USER_CHANNEL_PREFIX.length())),
+                        notification.eventId(), notification.payload());
+            }
+        } catch (Exception e) {
+            log.error("❌ 알림 채널 수신 처리 실패 - channel: {}, error: {}", channel, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 파드에 연결된 사용자의 접속 상태 만료 시각 갱신
+     */
+    @Scheduled(fixedDelayString = "${notification.presence.refresh-interval-ms:30000}")
+    public void refreshPresence() {
         try {
-            // VOTE_EXPIRED 특별 로그
-            if ("VOTE_EXPIRED".equals(historyType)) {
-                log.info("⏰ VOTE_EXPIRED 알림 전송 시작 - groupId: {}, message: {}", groupId, message);
+            notificationPresence.refresh(connections.keySet());
+        } catch (Exception e) {
+            log.warn("⚠️ 접속 상태 갱신 실패 - 연결: {}개, error: {}", connections.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 하트비트 - 보낼 알림이 없는 연결에 SSE 주석 전송 (프록시 유휴 타임아웃 방지, 끊긴 연결 감지)
+     * - 전송이 막힌 연결은 끊어서 큐를 비우고 새 알림을 더 쌓지 않음
+     */
+    @Scheduled(fixedDelayString = "${notification.sse.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        for (Connection connection : connections.values()) {
+            if (connection.isStalled(now)) {
+                stalledConnections.increment();
+                log.warn("🐢 SSE 전송이 막혀 연결 종료 - userId: {}", connection.userId);
+                connection.closeAndComplete();
+                continue;
             }
-            
+            connection.enqueueHeartbeat();
+        }
+    }
+
+    /**
+     * 이 파드에 연결된 사용자 수 조회
+     */
+    public int getConnectedUserCount() {
+        return connections.size();
+    }
+
+    /**
+     * 전체 레플리카 기준 온라인 사용자 수 조회
+     */
+    public long getOnlineUserCount() {
+        return notificationPresence.countAll();
+    }
+
+    /**
+     * 특정 사용자가 온라인인지 확인 (어느 레플리카에 연결되어 있든)
+     */
+    public boolean isUserOnline(UUID userId) {
+        try {
+            return notificationPresence.isOnline(userId);
+        } catch (Exception e) {
+            log.warn("⚠️ 접속 상태 조회 실패, 이 파드 연결로 대체 - userId: {}, error: {}", userId, e.getMessage());
+            return connections.containsKey(userId);
+        }
+    }
+
+    /**
+     * 그룹의 온라인 멤버 수 조회
+     */
+    public int getOnlineMemberCount(UUID groupId) {
+        List<UUID> groupMemberIds = groupMembersRepository.findUserIdsByGroupId(groupId);
+        try {
+            return notificationPresence.countOnline(groupMemberIds);
+        } catch (Exception e) {
+            log.warn("⚠️ 접속 상태 조회 실패, 이 파드 연결로 대체 - groupId: {}, error: {}", groupId, e.getMessage());
+            return (int) groupMemberIds.stream()
+                    .filter(connections::containsKey)
+                    .count();
+        }
+    }
+
+    /**
+     * 재전송 로그에 남기고 모든 레플리카로 발행
+     */
+    private boolean publish(String channel, Map<String, Object> payload) {
+        try {
+            notificationLog.appendAndPublish(channel, objectMapper.writeValueAsString(payload));
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ 알림 발행 실패, 로컬 전송으로 대체 - channel: {}, error: {}", channel, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 이 파드에 연결된 그룹 멤버의 큐에 알림 등록 (소켓 쓰기는 writer 스레드에서)
+     */
+    private void deliverToGroup(UUID groupId, Long eventId, Map<String, Object> payload) {
+        // 이 파드에 연결된 사용자가 없으면 멤버 조회도 하지 않음
+        if (connections.isEmpty()) {
+            return;
+        }
+        Object historyType = payload.get("type");
+        try {
             // 그룹 멤버들 조회
             List<UUID> groupMemberIds = groupMembersRepository.findUserIdsByGroupId(groupId);
-            
+
             if (groupMemberIds.isEmpty()) {
                 log.warn("⚠️ 그룹 멤버가 없음 - groupId: {}", groupId);
                 return;
             }
-            
-            int sentCount = 0;
-            int failedCount = 0;
-            
-            // 각 멤버에게 알림 전송
+
+            int queuedCount = 0;
             for (UUID memberId : groupMemberIds) {
-                SseEmitter emitter = userEmitters.get(memberId);
-                if (emitter != null) {
-                    try {
-                        emitter.send(SseEmitter.event()
-                            .name("history-notification")
-                            .data(Map.of(
-                                "type", historyType,
-                                "message", message,
-                                "groupId", groupId.toString(),
-                                "timestamp", LocalDateTime.now().toString(),
-                                "notificationId", UUID.randomUUID().toString()
-                            )));
-                        sentCount++;
-                        
-                        log.debug("📤 알림 전송 성공 - userId: {}, message: {}", memberId, message);
-                        
-                    } catch (Exception e) {
-                        failedCount++;
-                        log.warn("❌ 알림 전송 실패 - userId: {}, error: {}", memberId, e.getMessage());
-                        userEmitters.remove(memberId); // 실패한 연결 제거
-                    }
-                } else {
-                    log.debug("👤 오프라인 사용자 - userId: {}", memberId);
+                Connection connection = connections.get(memberId);
+                if (connection != null) {
+                    connection.enqueue(new OutboundEvent(eventId, "history-notification", payload));
+                    queuedCount++;
                 }
             }
-            
-            log.info("📊 히스토리 알림 전송 완료 - groupId: {}, 전송: {}개, 실패: {}개, 그룹멤버: {}명, 온라인: {}명", 
-                    groupId, sentCount, failedCount, groupMemberIds.size(), userEmitters.size());
-            
-            // VOTE_EXPIRED 특별 로그
-            if ("VOTE_EXPIRED".equals(historyType)) {
-                log.info("⏰ VOTE_EXPIRED 알림 전송 완료 - groupId: {}, 전송: {}개, 실패: {}개", 
-                        groupId, sentCount, failedCount);
-            }
-                    
+
+            log.info("📊 히스토리 알림 전송 등록 - groupId: {}, type: {}, 등록: {}개, 그룹멤버: {}명, 이 파드 연결: {}개",
+                    groupId, historyType, queuedCount, groupMemberIds.size(), connections.size());
+
         } catch (Exception e) {
             log.error("💥 히스토리 알림 전송 중 오류 - groupId: {}, error: {}", groupId, e.getMessage(), e);
         }
     }
-    
+
+    private void deliverToUser(UUID userId, Long eventId, Map<String, Object> payload) {
+        Connection connection = connections.get(userId);
+        if (connection != null) {
+            connection.enqueue(new OutboundEvent(eventId, "user-notification", payload));
+            log.info("📤 개별 알림 전송 등록 - userId: {}, message: {}", userId, payload.get("message"));
+        }
+    }
+
     /**
-     * 특정 사용자에게 개별 알림 전송
+     * 재연결 - 끊겨 있던 동안의 알림을 로그에서 읽어 큐에 먼저 넣고, 그동안 도착한 실시간 알림을 이어서 전송
+     * - 로그가 잘려 재전송할 수 없으면 재동기화 이벤트로 전체 히스토리 재조회 안내
      */
-    public void sendNotificationToUser(UUID userId, String message, String type) {
-        SseEmitter emitter = userEmitters.get(userId);
-        if (emitter != null) {
-            try {
-                emitter.send(SseEmitter.event()
-                    .name("user-notification")
-                    .data(Map.of(
-                        "type", type,
-                        "message", message,
-                        "timestamp", LocalDateTime.now().toString(),
-                        "notificationId", UUID.randomUUID().toString()
-                    )));
-                
-                log.info("📤 개별 알림 전송 성공 - userId: {}, message: {}", userId, message);
-                
-            } catch (Exception e) {
-                log.warn("❌ 개별 알림 전송 실패 - userId: {}, error: {}", userId, e.getMessage());
-                userEmitters.remove(userId);
+    private void replayMissed(UUID userId, Connection connection, long lastEventId) {
+        List<OutboundEvent> missed = new ArrayList<>();
+        try {
+            List<String> channels = new ArrayList<>();
+            for (UUID groupId : groupMembersRepository.findGroupIdsByUserId(userId)) {
+                channels.add(GROUP_CHANNEL_PREFIX + groupId);
             }
-        } else {
-            log.debug("👤 오프라인 사용자 - userId: {}", userId);
+            channels.add(USER_CHANNEL_PREFIX + userId);
+
+            Replay replay = notificationLog.readAfter(channels, lastEventId);
+            if (replay.gap()) {
+                missed.add(resyncEvent());
+            } else {
+                for (LoggedNotification notification : replay.events()) {
+                    String eventName = notification.channel().startsWith(GROUP_CHANNEL_PREFIX)
+                            ? "history-notification" : "user-notification";
+                    missed.add(new OutboundEvent(notification.eventId(), eventName, notification.payload()));
+                }
+            }
+            log.info("🔁 알림 재전송 - userId: {}, lastEventId: {}, 재전송: {}건, 재동기화: {}",
+                    userId, lastEventId, replay.events().size(), replay.gap());
+        } catch (Exception e) {
+            log.warn("⚠️ 알림 재전송 실패, 재동기화 안내 - userId: {}, error: {}", userId, e.getMessage());
+            missed.clear();
+            missed.add(resyncEvent());
         }
+        // 재전송분과 대기 알림이 큐를 넘칠 때 쓸 재동기화 안내 (순번 조회는 연결 잠금 밖에서)
+        OutboundEvent resync = missed.size() == 1 && missed.get(0).isResync() ? missed.get(0) : resyncEvent();
+        connection.finishReplay(missed, resync);
     }
-    
+
     /**
-     * 연결된 사용자 수 조회
+     * 재동기화 안내 - id를 현재 알림 순번으로 붙여서, 다시 연결할 때 오래된 Last-Event-ID로 재동기화가 반복되지 않도록 함
+     * (순번을 읽지 못하면 id 없이 전송)
      */
-    public int getConnectedUserCount() {
-        return userEmitters.size();
+    private OutboundEvent resyncEvent() {
+        Long sequence = null;
+        try {
+            sequence = notificationLog.currentSequence();
+        } catch (Exception e) {
+            log.warn("⚠️ 알림 순번 조회 실패 - 재동기화 id 생략: {}", e.getMessage());
+        }
+        return OutboundEvent.resync(sequence);
     }
-    
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("잘못된 Last-Event-ID 무시 - {}", lastEventId);
+            return null;
+        }
+    }
+
     /**
-     * 특정 사용자가 온라인인지 확인
+     * 전송 대기 이벤트 (name이 null이면 하트비트 주석, id가 null이면 재전송 로그에 없는 이벤트)
+     * - SseEventBuilder는 build 시 내용이 바뀌므로 연결마다 전송 시점에 새로 만듦
      */
-    public boolean isUserOnline(UUID userId) {
-        return userEmitters.containsKey(userId);
+    private record OutboundEvent(Long id, String name, Map<String, Object> data) {
+
+        static final OutboundEvent HEARTBEAT = new OutboundEvent(null, null, null);
+        static final String RESYNC_NAME = "notification-resync";
+
+        static OutboundEvent resync(Long sequence) {
+            return new OutboundEvent(sequence, RESYNC_NAME, Map.of("reason", "replay-unavailable"));
+        }
+
+        boolean isResync() {
+            return RESYNC_NAME.equals(name);
+        }
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+            return id != null ? event.id(String.valueOf(id)) : event;
+        }
     }
-    
+
     /**
-     * 그룹의 온라인 멤버 수 조회
+     * SSE 연결 하나 - 크기 제한 큐 + 한 번에 하나의 writer 작업만 전송 (이벤트 순서 유지)
      */
-    public int getOnlineMemberCount(UUID groupId) {
-        List<UUID> groupMemberIds = groupMembersRepository.findUserIdsByGroupId(groupId);
-        return (int) groupMemberIds.stream()
-                .filter(userEmitters::containsKey)
-                .count();
+    private final class Connection {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Deque<OutboundEvent> queue = new ArrayDeque<>();
+        private boolean draining; // writer 작업이 예약/실행 중인지 (this로 보호)
+        private boolean closed;
+        private boolean replaying; // 재전송 중이면 실시간 알림을 큐에 넣되 writer를 시작하지 않음
+        private long sendStartedAt; // 진행 중인 전송 시작 시각 (0이면 전송 중 아님)
+        private int fullHeartbeats; // 큐가 가득 찬 채로 지난 하트비트 수
+
+        private Connection(UUID userId, SseEmitter emitter, boolean replaying) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.replaying = replaying;
+        }
+
+        /**
+         * 큐에 등록하고 바로 반환
+         * - 큐가 가득 차면 일부만 조용히 버리지 않고 대기 알림 전체를 재동기화 안내로 대체 (finishReplay와 동일)
+         */
+        private void enqueue(OutboundEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() < queueCapacity) {
+                    queue.addLast(event);
+                    queuedEvents.incrementAndGet();
+                    startDrain();
+                    return;
+                }
+            }
+            // 순번 조회(Redis)는 잠금 밖에서
+            OutboundEvent resync = resyncEvent();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                int queuedBefore = queue.size();
+                droppedEvents.increment(queuedBefore + 1);
+                queue.clear();
+                queue.addLast(resync);
+                queuedEvents.addAndGet(queue.size() - queuedBefore);
+                startDrain();
+            }
+            log.warn("⚠️ SSE 전송 대기 초과 - 재동기화 안내로 대체 userId: {}", userId);
+        }
+
+        /**
+         * 재전송 완료 - 놓친 알림을 큐 앞에 넣고, 재전송 중 도착한 알림 중 재전송에 포함된 id만 제외
+         * - 채널별로 나눠 읽는 사이에 도착한 알림은 재전송된 최대 id보다 작아도 재전송에 없을 수 있으므로 남김
+         * - 재전송분과 대기 알림을 큐에 다 담을 수 없으면 일부를 버리지 않고 재동기화 안내로 대체
+         * - 재전송 중에 큐가 넘쳐 이미 재동기화 안내로 바뀌었으면 재전송분은 넣지 않음
+         */
+        private synchronized void finishReplay(List<OutboundEvent> missed, OutboundEvent resync) {
+            replaying = false;
+            if (closed) {
+                return;
+            }
+            int queuedBefore = queue.size();
+            Set<Long> replayedIds = missed.stream()
+                    .map(OutboundEvent::id)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            queue.removeIf(event -> event.id() != null && !event.isResync() && replayedIds.contains(event.id()));
+            if (queue.stream().anyMatch(OutboundEvent::isResync)) {
+                droppedEvents.increment(missed.size());
+            } else if (missed.size() + queue.size() > queueCapacity) {
+                droppedEvents.increment(missed.size() + queue.size());
+                queue.clear();
+                queue.addLast(resync);
+            } else {
+                for (int i = missed.size() - 1; i >= 0; i--) {
+                    queue.addFirst(missed.get(i));
+                }
+            }
+            queuedEvents.addAndGet(queue.size() - queuedBefore);
+            startDrain();
+        }
+
+        private void startDrain() {
+            if (draining || replaying || queue.isEmpty()) {
+                return;
+            }
+            draining = true;
+            try {
+                // 풀 큐에 넣기만 하므로 잠금 안에서 호출해도 막히지 않음
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                draining = false;
+            }
+        }
+
+        /**
+         * 전송 하나가 write-timeout-ms를 넘겼거나 큐가 하트비트 두 번 연속 가득 차 있으면 막힌 연결
+         */
+        private synchronized boolean isStalled(long now) {
+            fullHeartbeats = queue.size() >= queueCapacity ? fullHeartbeats + 1 : 0;
+            boolean sendTimedOut = sendStartedAt > 0 && now - sendStartedAt > writeTimeoutMs;
+            return sendTimedOut || fullHeartbeats >= 2;
+        }
+
+        private void enqueueHeartbeat() {
+            synchronized (this) {
+                if (!queue.isEmpty()) {
+                    return; // 보낼 알림이 쌓여 있으면 하트비트 생략
+                }
+            }
+            enqueue(OutboundEvent.HEARTBEAT);
+        }
+
+        /**
+         * writer 스레드 - 큐가 빌 때까지 전송
+         */
+        private void drain() {
+            while (true) {
+                OutboundEvent event;
+                synchronized (this) {
+                    event = queue.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                    queuedEvents.decrementAndGet();
+                    sendStartedAt = System.currentTimeMillis();
+                }
+                try {
+                    emitter.send(event.toSseEvent());
+                    log.debug("📤 알림 전송 성공 - userId: {}, event: {}", userId, event.name());
+                } catch (Exception e) {
+                    log.warn("❌ 알림 전송 실패 - userId: {}, error: {}", userId, e.getMessage());
+                    failedSends.increment();
+                    close(); // 실패한 연결 제거
+                    return;
+                }
+                boolean closedWhileSending;
+                synchronized (this) {
+                    sendStartedAt = 0;
+                    closedWhileSending = closed;
+                }
+                if (closedWhileSending) {
+                    // 전송 중에 끊긴 연결 - emitter 종료는 전송을 마친 writer가 맡음
+                    complete();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 연결을 끊고 emitter 종료
+         * - 전송 중이면 emitter가 그 전송에 잠겨 있으므로 호출 스레드는 기다리지 않고 writer가 전송 후 종료
+         */
+        private void closeAndComplete() {
+            boolean sending;
+            synchronized (this) {
+                sending = sendStartedAt > 0;
+            }
+            close();
+            if (!sending) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("SSE 연결 종료 중 오류 무시 - userId: {}, error: {}", userId, e.getMessage());
+            }
+        }
+
+        /**
+         * 연결 정리 - 남은 이벤트를 버리고, 같은 사용자가 다시 연결한 새 연결은 지우지 않음
+         */
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queuedEvents.addAndGet(-queue.size());
+                queue.clear();
+                draining = false;
+            }
+            if (connections.remove(userId, this)) {
+                notificationPresence.markOffline(userId);
+            }
+        }
     }
 }
@@ -10,7 +10,6 @@ import com.example.vote_service.dto.UserMeResponse;
 
 import com.example.vote_service.dto.payload.PayPayload;
 import com.example.vote_service.dto.payload.TradePayload;
-import com.example.vote_service.event.VoteExpirationEvent;
 import com.example.vote_service.model.Proposal;
 import com.example.vote_service.model.ProposalAction;
 import com.example.vote_service.model.ProposalCategory;
@@ -18,14 +17,13 @@ import com.example.vote_service.model.ProposalStatus;
 import com.example.vote_service.model.HistoryType;
 import com.example.vote_service.model.*;
 import com.example.vote_service.repository.ProposalRepository;
+import com.example.vote_service.repository.ProposalRepository.VoteTally;
 import com.example.vote_service.repository.GroupMembersRepository;
 import com.example.vote_service.repository.VoteRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,8 +50,7 @@ public class ProposalService {
     private final UserServiceClient userServiceClient;
     private final TradingServiceClient tradingServiceClient;
     private final ObjectMapper objectMapper;
-    private final TaskScheduler taskScheduler;
-    private final ApplicationEventPublisher eventPublisher;
+    private final VoteExpirationTimerService voteExpirationTimerService;
     private final VoteRepository voteRepository;
 
     /**
@@ -102,18 +99,22 @@ public class ProposalService {
                 validatedPayload,
                 closeAt
         );
+
+        // 정족수/그룹원 수 스냅샷 (투표마다 user-service를 호출하지 않도록 생성 시 한 번만 조회)
+        snapshotQuorum(proposal);
         
         Proposal saved = proposalRepository.save(proposal);
         
         // 5. 히스토리 생성 (VOTE_CREATED_BUY/SELL/PAY)
         createVoteCreatedHistory(saved, request, proposerName);
         
-        // 6. 투표 마감 시간에 정확히 실행되는 작업 스케줄
-        scheduleVoteExpiration(saved.getProposalId(), closeAt, groupId);
+        // 6. 투표 마감 타이머 등록 (제안과 같은 트랜잭션 → 재시작/배포 후에도 유지)
+        voteExpirationTimerService.schedule(saved.getProposalId(), groupId, closeAt);
 
         // 7. 제안자 자동 찬성 투표
         Vote proposerVote = Vote.create(saved.getProposalId(), userId, VoteChoice.AGREE);
         voteRepository.save(proposerVote);
+        recordVote(saved.getProposalId(), null, VoteChoice.AGREE);
         log.info("제안자 자동 찬성 투표 생성 - proposalId: {}, userId: {}", saved.getProposalId(), userId);
 
         log.info("투표 생성 완료 - proposalId: {}, closeAt: {}", 
@@ -149,20 +150,91 @@ public class ProposalService {
 
     /**
      * 제안 승인 처리
+     * @return 이 호출이 진행 중인 제안을 종료했으면 true (이미 다른 곳에서 종료했으면 false → 후속 처리 생략)
      */
     @Transactional
-    public void approveProposal(UUID proposalId) {
+    public boolean approveProposal(UUID proposalId) {
         Proposal proposal = getProposal(proposalId);
-        proposal.approve();
+        if (proposalRepository.closeIfOpen(proposalId, ProposalStatus.APPROVED, ProposalStatus.OPEN, LocalDateTime.now()) == 0) {
+            log.info("이미 종료된 제안 - 승인 생략: proposalId={}", proposalId);
+            return false;
+        }
+        proposal.approve(); // 영속 엔티티도 같은 상태로 (이후 로직이 재조회 없이 상태 확인)
+        return true;
     }
 
     /**
      * 제안 거부 처리
+     * @return 이 호출이 진행 중인 제안을 종료했으면 true (이미 다른 곳에서 종료했으면 false → 후속 처리 생략)
      */
     @Transactional
-    public void rejectProposal(UUID proposalId) {
+    public boolean rejectProposal(UUID proposalId) {
         Proposal proposal = getProposal(proposalId);
+        if (proposalRepository.closeIfOpen(proposalId, ProposalStatus.REJECTED, ProposalStatus.OPEN, LocalDateTime.now()) == 0) {
+            log.info("이미 종료된 제안 - 거부 생략: proposalId={}", proposalId);
+            return false;
+        }
         proposal.reject();
+        return true;
+    }
+
+    /**
+     * 투표 반영 - 찬성/반대 카운터를 원자적으로 증감하고 반영 후 집계 반환
+     * - 투표 저장과 같은 트랜잭션에서 호출 (행 잠금으로 동시 투표도 누락 없이 반영)
+     *
+     * @param previousChoice 변경 전 선택 (새 투표면 null)
+     * @param newChoice 새 선택
+     */
+    @Transactional
+    public VoteTally recordVote(UUID proposalId, VoteChoice previousChoice, VoteChoice newChoice) {
+        int approveDelta = countDelta(VoteChoice.AGREE, previousChoice, newChoice);
+        int rejectDelta = countDelta(VoteChoice.DISAGREE, previousChoice, newChoice);
+        if (approveDelta != 0 || rejectDelta != 0) {
+            proposalRepository.addVoteCounts(proposalId, approveDelta, rejectDelta);
+        }
+        return getVoteTally(proposalId);
+    }
+
+    /**
+     * 찬성/반대 집계 조회 (카운터 도입 이전 제안은 COUNT로 한 번 초기화)
+     */
+    @Transactional
+    public VoteTally getVoteTally(UUID proposalId) {
+        VoteTally tally = proposalRepository.findVoteTally(proposalId)
+                .orElseThrow(() -> new IllegalArgumentException("제안을 찾을 수 없습니다."));
+        if (tally.getApproveCount() != null && tally.getRejectCount() != null) {
+            return tally;
+        }
+        initializeVoteCounts(proposalId);
+        return proposalRepository.findVoteTally(proposalId)
+                .orElseThrow(() -> new IllegalArgumentException("제안을 찾을 수 없습니다."));
+    }
+
+    /**
+     * 카운터 도입 이전 제안의 찬성/반대 수 초기화
+     * - 투표를 저장하기 전에 호출해야 이번 투표가 두 번 집계되지 않음
+     */
+    @Transactional
+    public void initializeVoteCounts(UUID proposalId) {
+        if (proposalRepository.initializeVoteCounts(proposalId) > 0) {
+            log.info("찬성/반대 카운터 초기화 (기존 투표 COUNT) - proposalId: {}", proposalId);
+        }
+    }
+
+    /**
+     * 정족수/그룹원 수 스냅샷 보장 - 스냅샷 이전 제안만 user-service에서 조회 후 저장
+     * - 조회 실패 시 예외 (정족수 없이 가결/부결을 판단하지 않음)
+     */
+    @Transactional
+    public void ensureQuorumSnapshot(Proposal proposal) {
+        if (proposal.hasQuorumSnapshot()) {
+            return;
+        }
+        Integer voteQuorum = userServiceClient.getVoteQuorumInternal(proposal.getGroupId());
+        Integer memberCount = userServiceClient.getGroupMemberCountInternal(proposal.getGroupId());
+        proposal.snapshotQuorum(voteQuorum, memberCount);
+        log.info("정족수 스냅샷 저장 - proposalId: {}, 정족수: {}, 그룹원수: {}",
+                proposal.getProposalId(), voteQuorum, memberCount);
     }
 
     /**
@@ -268,6 +340,28 @@ public class ProposalService {
         }
     }
 
+    /**
+     * 제안 생성 시 정족수/그룹원 수 스냅샷
+     * - 조회 실패 시 제안 생성은 계속 진행 (첫 정족수 확인 때 다시 조회)
+     */
+    private void snapshotQuorum(Proposal proposal) {
+        try {
+            Integer voteQuorum = userServiceClient.getVoteQuorumInternal(proposal.getGroupId());
+            Integer memberCount = userServiceClient.getGroupMemberCountInternal(proposal.getGroupId());
+            proposal.snapshotQuorum(voteQuorum, memberCount);
+        } catch (Exception e) {
+            log.warn("⚠️ 정족수 스냅샷 조회 실패 (첫 투표 시 재조회) - groupId: {}, error: {}",
+                    proposal.getGroupId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 선택 변경에 따른 카운터 증감값 (target 선택이 새로 생기면 +1, 없어지면 -1)
+     */
+    private int countDelta(VoteChoice target, VoteChoice previousChoice, VoteChoice newChoice) {
+        return (newChoice == target ? 1 : 0) - (previousChoice == target ? 1 : 0);
+    }
+
     /**
      * 투표 마감 시간 계산
      * - 현재는 기본값 5분 사용 (user-service에 voteDurationHours 필드가 없음)
@@ -300,41 +394,6 @@ public class ProposalService {
         return closeAt;
     }
 
-    /**
-     * 투표 마감 시간에 정확히 실행되는 작업 스케줄
-     * - closeAt 시간에 딱 한 번만 실행되어 가결/부결 판단
-     * 
-     * @param proposalId 제안 ID
-     * @param closeAt 마감 시간
-     * @param groupId 그룹 ID
-     */
-    private void scheduleVoteExpiration(UUID proposalId, LocalDateTime closeAt, UUID groupId) {
-        try {
-            // closeAt 시간을 Instant로 변환
-            var instant = closeAt.atZone(ZoneId.systemDefault()).toInstant();
-            
-            log.info("투표 마감 스케줄 등록 - proposalId: {}, closeAt: {}", proposalId, closeAt);
-            
-            // closeAt 시간에 딱 한 번 실행되는 작업 스케줄
-            taskScheduler.schedule(() -> {
-                try {
-                    log.info("투표 마감 시간 도달, 이벤트 발행 - proposalId: {}, scheduledTime: {}", 
-                            proposalId, LocalDateTime.now());
-                    
-                    // 순환 참조 없이 이벤트로 투표 마감 알림
-                    eventPublisher.publishEvent(new VoteExpirationEvent(proposalId, groupId));
-                    
-                } catch (Exception e) {
-                    log.error("투표 마감 이벤트 발행 실패 - proposalId: {}, error: {}", proposalId, e.getMessage(), e);
-                }
-            }, instant);
-            
-        } catch (Exception e) {
-            log.error("투표 마감 스케줄 등록 실패 - proposalId: {}, closeAt: {}, error: {}", 
-                    proposalId, closeAt, e.getMessage(), e);
-        }
-    }
-
     /**
      * payload를 유효한 JSON 문자열로 변환
      * - null인 경우 null 반환 (MySQL JSON 컬럼은 null 허용)
@@ -0,0 +1,177 @@
+package com.example.vote_service.service;
+
+import com.example.vote_service.event.VoteExpirationEvent;
+import com.example.vote_service.model.Proposal;
+import com.example.vote_service.model.VoteExpirationTimer;
+import com.example.vote_service.repository.ProposalRepository;
+import com.example.vote_service.repository.VoteExpirationTimerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 투표 마감 타이머 서비스
+ * - 마감 타이머를 DB 테이블에 저장하고 짧은 주기로 폴링 (타이머마다 스레드/예약 작업을 만들지 않음)
+ * - 마감된 타이머를 FOR UPDATE SKIP LOCKED로 처리 직전에 한 건씩 임대 → 레플리카 중 하나만 마감 처리
+ *   (여러 건을 한 번에 임대하면 앞 건들의 처리 시간 동안 뒤 건의 임대가 만료되어 다른 레플리카와 중복 처리)
+ * - 처리에 성공하면 삭제, 실패하거나 처리 중 파드가 죽으면 임대 만료 후 다시 처리
+ * - 임대가 만료된 뒤 다른 레플리카가 같은 제안을 처리해도 제안 종료가 조건부 UPDATE라 집계/예수금 충전은 한 번만
+ * - 재시도 한도를 넘긴 타이머는 게이지(vote.expiration.exhausted)와 에러 로그로 알림
+ * - 시작 시 타이머가 없는 진행 중 제안을 복구하고, 놓친 마감은 다음 폴링에서 바로 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteExpirationTimerService {
+
+    private static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
+
+    private final VoteExpirationTimerRepository timerRepository;
+    private final ProposalRepository proposalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    // 임대 시간 (제안 하나의 마감 처리 시간보다 길게, 이 시간 안에 처리/삭제되지 않으면 다른 레플리카가 다시 가져감)
+    @Value("${vote.expiration.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${vote.expiration.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${vote.expiration.max-attempts:10}")
+    private int maxAttempts;
+
+    // 임대 소유자 (파드 이름 + 실행마다 다른 값)
+    private final String owner = System.getenv().getOrDefault("HOSTNAME", "vote-service")
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private TransactionTemplate transactionTemplate;
+    private final AtomicLong exhaustedTimers = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("vote.expiration.exhausted", exhaustedTimers, AtomicLong::get)
+                .description("재시도 한도를 넘겨 마감 처리되지 않은 타이머 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 마감 타이머 등록 - 제안 생성 트랜잭션 안에서 호출 (제안과 함께 커밋/롤백)
+     */
+    public void schedule(UUID proposalId, UUID groupId, LocalDateTime closeAt) {
+        timerRepository.save(VoteExpirationTimer.create(proposalId, groupId, closeAt));
+        log.info("투표 마감 타이머 등록 - proposalId: {}, closeAt: {}", proposalId, closeAt);
+    }
+
+    /**
+     * 시작 시 복구 - 타이머 없이 남은 진행 중 제안에 타이머 생성 (마감이 지났으면 다음 폴링에서 바로 처리)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreMissingTimers() {
+        try {
+            Integer restored = transactionTemplate.execute(status -> timerRepository.restoreMissingTimers());
+            if (restored != null && restored > 0) {
+                log.info("♻️ 투표 마감 타이머 복구: {}건", restored);
+            }
+        } catch (Exception e) {
+            log.error("❌ 투표 마감 타이머 복구 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 마감된 타이머 처리 - 처리할 타이머가 없을 때까지 한 건씩 임대 후 처리
+     */
+    @Scheduled(fixedDelayString = "${vote.expiration.poll-interval-ms:1000}")
+    public void drainDueTimers() {
+        try {
+            VoteExpirationTimer timer;
+            while ((timer = claimNext()) != null) {
+                fire(timer);
+            }
+        } catch (Exception e) {
+            log.error("❌ 투표 마감 타이머 폴링 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 재시도 한도를 넘긴 타이머 확인 - 제안이 OPEN으로 남아 있으므로 게이지와 에러 로그로 알림
+     */
+    @Scheduled(fixedDelayString = "${vote.expiration.exhausted-check-interval-ms:60000}")
+    public void checkExhaustedTimers() {
+        try {
+            long exhausted = timerRepository.countByAttemptsGreaterThanEqual(maxAttempts);
+            exhaustedTimers.set(exhausted);
+            if (exhausted > 0) {
+                log.error("🚨 재시도 한도({}회)를 넘겨 마감되지 않은 투표 타이머 {}건 - 수동 처리 필요", maxAttempts, exhausted);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 재시도 한도 초과 타이머 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 마감된 타이머 한 건을 잠그고 임대 (짧은 트랜잭션, 커밋 후에는 잠금 없이 임대 시간으로만 보호)
+     * - 처리 직전에 한 건만 임대하므로 임대 시간은 그 한 건의 처리 시간만 감당하면 됨
+     */
+    private VoteExpirationTimer claimNext() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(KOREA_ZONE);
+            List<VoteExpirationTimer> due = timerRepository.findDueForUpdate(now, maxAttempts, 1);
+            if (due.isEmpty()) {
+                return null;
+            }
+            VoteExpirationTimer timer = due.get(0);
+            timerRepository.lease(timer.getProposalId(), owner, now.plusSeconds(leaseSeconds));
+            return timer;
+        });
+    }
+
+    private void fire(VoteExpirationTimer timer) {
+        UUID proposalId = timer.getProposalId();
+        try {
+            Proposal proposal = proposalRepository.findById(proposalId).orElse(null);
+            if (proposal != null && proposal.isOpen()) {
+                log.info("투표 마감 시간 도달, 이벤트 발행 - proposalId: {}, closeAt: {}", proposalId, timer.getFireAt());
+                // 순환 참조 없이 이벤트로 투표 마감 알림 (집계 실패 시 예외 → 재시도)
+                eventPublisher.publishEvent(new VoteExpirationEvent(proposalId, timer.getGroupId()));
+            } else {
+                // 정족수 도달로 이미 종료됐거나 삭제된 제안
+                log.debug("이미 종료된 제안의 마감 타이머 정리 - proposalId: {}", proposalId);
+            }
+            transactionTemplate.executeWithoutResult(status -> timerRepository.deleteLeased(proposalId, owner));
+        } catch (Exception e) {
+            int attempts = timer.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("🚨 투표 마감 처리 재시도 한도 도달 ({}회) - 수동 처리 필요, proposalId: {}, error: {}",
+                        attempts, proposalId, e.getMessage());
+            } else {
+                log.error("❌ 투표 마감 처리 실패 (재시도 예정, {}회째) - proposalId: {}, error: {}",
+                        attempts, proposalId, e.getMessage());
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> timerRepository.recordFailure(
+                        proposalId, owner, LocalDateTime.now(KOREA_ZONE).plusSeconds(retryDelaySeconds)));
+            } catch (Exception recordError) {
+                log.error("❌ 투표 마감 실패 기록 실패 - proposalId: {}, error: {}", proposalId, recordError.getMessage());
+            }
+        }
+    }
+}
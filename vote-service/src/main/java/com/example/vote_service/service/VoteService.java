@@ -1,6 +1,5 @@
 package com.example.vote_service.service;
 
-import com.example.vote_service.client.UserServiceClient;
 import com.example.vote_service.client.TradingServiceClient;
 import com.example.vote_service.dto.VoteRequest;
 import com.example.vote_service.dto.InternalDepositRequest;
@@ -12,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.vote_service.model.Proposal;
 import com.example.vote_service.model.Vote;
 import com.example.vote_service.model.VoteChoice;
+import com.example.vote_service.repository.ProposalRepository.VoteTally;
 import com.example.vote_service.repository.VoteRepository;
 import com.example.vote_service.repository.GroupMembersRepository;
 import lombok.RequiredArgsConstructor;
@@ -41,7 +41,6 @@ public class VoteService {
     private final ProposalService proposalService;
     private final GroupMembersRepository groupMembersRepository;
     private final HistoryService historyService;
-    private final UserServiceClient userServiceClient;
     private final TradingServiceClient tradingServiceClient;
     private final ObjectMapper objectMapper;
 
@@ -65,13 +64,20 @@ public class VoteService {
             throw new IllegalStateException("종료된 제안에는 투표할 수 없습니다.");
         }
 
+        // 카운터 도입 이전 제안은 이번 투표 저장 전에 기존 투표로 카운터 초기화
+        if (proposal.getApproveCount() == null || proposal.getRejectCount() == null) {
+            proposalService.initializeVoteCounts(proposalId);
+        }
+
         // 이미 투표했는지 확인
         Optional<Vote> existingVote = voteRepository.findByProposalIdAndUserId(proposalId, userId);
         
         Vote savedVote;
+        VoteChoice previousChoice = null;
         if (existingVote.isPresent()) {
             // 투표 변경
             Vote vote = existingVote.get();
+            previousChoice = vote.getChoice();
             vote.changeChoice(request.choice());
             savedVote = vote;
         } else {
@@ -84,7 +90,10 @@ public class VoteService {
         // 마감 시간(closeAt)에 스케줄러가 자동으로 가결/부결 판단
         log.info("투표 완료 - proposalId: {}, userId: {}", proposalId, userId);
 
-        checkAndExecuteIfQuorumReached(proposalId, proposal.getGroupId());
+        // 찬성/반대 카운터 반영 (COUNT 쿼리 없이 반영 후 집계를 바로 받음)
+        VoteTally tally = proposalService.recordVote(proposalId, previousChoice, request.choice());
+
+        checkAndExecuteIfQuorumReached(proposal, tally);
         
         return savedVote.getVoteId();
     }
@@ -161,10 +170,10 @@ public class VoteService {
             throw new IllegalStateException("아직 투표 마감 시간이 되지 않았습니다.");
         }
 
-        // 투표 집계
-        long approveCount = countApproveVotes(proposalId);
-        long rejectCount = countRejectVotes(proposalId);
-        long totalVotes = approveCount + rejectCount;
+        // 투표 집계 (제안 행의 찬성/반대 카운터)
+        VoteTally tally = proposalService.getVoteTally(proposalId);
+        long approveCount = tally.getApproveCount();
+        long rejectCount = tally.getRejectCount();
 
         // 투표 결과 로깅
         log.info("투표 집계 결과 - proposalId: {}, 찬성: {}, 반대: {}, 정족수: {}", 
@@ -172,8 +181,11 @@ public class VoteService {
 
         int rejectQuorum = totalMembers - voteQuorum + 1;
 
+        // 종료는 조건부 UPDATE - 다른 레플리카/정족수 도달이 먼저 종료했으면 히스토리/예수금 충전 없이 끝냄
         if (rejectCount >= rejectQuorum) {
-            proposalService.rejectProposal(proposalId);
+            if (!proposalService.rejectProposal(proposalId)) {
+                return;
+            }
             historyService.createVoteRejectedHistory(
                     proposal.getGroupId(),
                     proposalId,
@@ -191,7 +203,9 @@ public class VoteService {
                 isApproved, (approveCount >= voteQuorum));
 
         if (isApproved) {
-            proposalService.approveProposal(proposalId);
+            if (!proposalService.approveProposal(proposalId)) {
+                return;
+            }
             
             // 히스토리 생성 (VOTE_APPROVED) - 실제 payload에서 정보 읽어오기 (먼저 생성)
             createVoteApprovedHistoryFromProposal(proposal);
@@ -201,7 +215,9 @@ public class VoteService {
                 processPayVoteApproval(proposal);
             }
         } else {
-            proposalService.rejectProposal(proposalId);
+            if (!proposalService.rejectProposal(proposalId)) {
+                return;
+            }
             // 히스토리 생성 (VOTE_REJECTED)
             historyService.createVoteExpiredHistory(
                 proposal.getGroupId(),
@@ -283,8 +299,9 @@ public class VoteService {
             throw new IllegalStateException("아직 투표 마감 시간이 되지 않았습니다.");
         }
 
-        long approveCount = countApproveVotes(proposalId);
-        long rejectCount = countRejectVotes(proposalId);
+        VoteTally tally = proposalService.getVoteTally(proposalId);
+        long approveCount = tally.getApproveCount();
+        long rejectCount = tally.getRejectCount();
 
         // 임시: 찬성이 반대보다 많으면 승인
         // TODO: 실제로는 위의 tallyVotes(proposalId, totalMembers, voteQuorum) 사용
@@ -309,14 +326,14 @@ public class VoteService {
         log.info("투표 마감 이벤트 수신 - proposalId: {}, groupId: {}", proposalId, groupId);
         
         try {
-            // user-service에서 정족수 정보 가져오기 (시스템용 API 사용)
-            Integer voteQuorum = userServiceClient.getVoteQuorumInternal(groupId);
+            // 제안 생성 시 스냅샷한 정족수 사용 (스냅샷 이전 제안만 user-service 시스템용 API 조회)
+            Proposal proposal = proposalService.getProposal(proposalId);
+            proposalService.ensureQuorumSnapshot(proposal);
             
-            log.info("그룹 정족수 조회 완료 - groupId: {}, 정족수: {}", 
-                    groupId, voteQuorum);
+            log.info("그룹 정족수 확인 - groupId: {}, 정족수: {}, 그룹원수: {}", 
+                    groupId, proposal.getVoteQuorum(), proposal.getMemberCount());
 
-            Integer totalMembers = userServiceClient.getGroupMemberCountInternal(groupId);
-            tallyVotes(proposalId, totalMembers, voteQuorum); // totalMembers는 사용하지 않으므로 0으로 설정
+            tallyVotes(proposalId, proposal.getMemberCount(), proposal.getVoteQuorum());
             
             log.info("투표 마감 집계 완료 - proposalId: {}", proposalId);
         } catch (Exception e) {
@@ -400,14 +417,20 @@ public class VoteService {
         }
     }
 
-    private void checkAndExecuteIfQuorumReached(UUID proposalId, UUID groupId) {
+    /**
+     * 정족수 도달 확인 - 투표 반영 후 카운터와 제안 생성 시 스냅샷한 정족수로 판단
+     * - 스냅샷 이전 제안만 user-service에서 정족수/그룹원 수를 한 번 조회해 저장
+     * - 정족수 도달 뒤에 커밋되는 투표도 카운터상 정족수 이상이므로, 조건부 종료로 제안을 닫은 투표만 거래 실행
+     */
+    private void checkAndExecuteIfQuorumReached(Proposal proposal, VoteTally tally) {
+        UUID proposalId = proposal.getProposalId();
         try {
-            long approveCount = countApproveVotes(proposalId);
-            long rejectCount = countRejectVotes(proposalId);
+            long approveCount = tally.getApproveCount();
+            long rejectCount = tally.getRejectCount();
 
-            Integer voteQuorum = userServiceClient.getVoteQuorumInternal(groupId);
-
-            Integer totalMembers = userServiceClient.getGroupMemberCountInternal(groupId);
+            proposalService.ensureQuorumSnapshot(proposal);
+            int voteQuorum = proposal.getVoteQuorum();
+            int totalMembers = proposal.getMemberCount();
             int rejectQuorum = totalMembers - voteQuorum + 1;
 
             log.info("정족수 확인 - proposalId: {}, 찬성: {}, 반대: {}, 정족수: {}, 그룹원수: {}, 반대정족수: {}",
@@ -415,7 +438,7 @@ public class VoteService {
 
             if (rejectCount >= rejectQuorum) {
                 log.info("🚫 반대정족수 도달! 즉시 투표 부결 - proposalId: {}", proposalId);
-                tallyVotesImmediately(proposalId, voteQuorum, totalMembers);
+                tallyVotesImmediately(proposalId, voteQuorum, totalMembers, approveCount, rejectCount);
                 return;
             }
 
@@ -423,10 +446,9 @@ public class VoteService {
 
             if (isApproved) {
                 log.info("🎉 찬성 정족수 도달! 즉시 투표 가결 - proposalId: {}", proposalId);
-                tallyVotesImmediately(proposalId, voteQuorum, totalMembers);
+                boolean closed = tallyVotesImmediately(proposalId, voteQuorum, totalMembers, approveCount, rejectCount);
 
-                Proposal proposal = proposalService.getProposal(proposalId);
-                if (proposal.getStatus() == ProposalStatus.APPROVED) {
+                if (closed && proposal.getStatus() == ProposalStatus.APPROVED) {
                     log.info("🚀 즉시 거래 실행 시작 - proposalId: {}", proposalId);
                     proposalService.executeVoteBasedTrading(proposalId);
                 }
@@ -437,22 +459,27 @@ public class VoteService {
         }
     }
 
-    private void tallyVotesImmediately(UUID proposalId, Integer voteQuorum, Integer totalMembers) {
+    /**
+     * 즉시 집계
+     * @return 이 투표가 제안을 종료했으면 true (먼저 커밋된 투표가 이미 종료했으면 false → 히스토리/거래 실행 생략)
+     */
+    private boolean tallyVotesImmediately(UUID proposalId, int voteQuorum, int totalMembers,
+                                          long approveCount, long rejectCount) {
         Proposal proposal = proposalService.getProposal(proposalId);
 
         if (!proposal.isOpen()) {
             throw new IllegalStateException("이미 종료된 제안입니다.");
         }
 
-        long approveCount = countApproveVotes(proposalId);
-        long rejectCount = countRejectVotes(proposalId);
         int rejectQuorum = totalMembers - voteQuorum + 1;
 
         log.info("즉시 투표 집계 결과 - proposalId: {}, 찬성: {}, 반대: {}, 정족수: {}, 그룹원수: {}, 반대정족수: {}",
                 proposalId, approveCount, rejectCount, voteQuorum, totalMembers, rejectQuorum);
 
         if (rejectCount >= rejectQuorum) {
-            proposalService.rejectProposal(proposalId);
+            if (!proposalService.rejectProposal(proposalId)) {
+                return false;
+            }
 
             // 히스토리 생성 (VOTE_REJECTED)
             historyService.createVoteRejectedHistory(
@@ -462,7 +489,7 @@ public class VoteService {
             );
 
             log.info("투표 부결 (반대정족수 도달): proposalId={}", proposalId);
-            return;
+            return true;
         }
 
         // 가결 조건 확인
@@ -472,7 +499,9 @@ public class VoteService {
                 isApproved, (approveCount >= voteQuorum));
 
          if (isApproved) {
-             proposalService.approveProposal(proposalId);
+             if (!proposalService.approveProposal(proposalId)) {
+                 return false;
+             }
              
              // 히스토리 생성 (VOTE_APPROVED) - 실제 payload에서 정보 읽어오기 (먼저 생성)
              createVoteApprovedHistoryFromProposal(proposal);
@@ -484,7 +513,9 @@ public class VoteService {
              
              log.info("투표 가결 확인 - 거래 실행 시작: proposalId={}", proposalId);
          } else {
-             proposalService.rejectProposal(proposalId);
+             if (!proposalService.rejectProposal(proposalId)) {
+                 return false;
+             }
              
              // 히스토리 생성 (VOTE_REJECTED)
              historyService.createVoteRejectedHistory(
@@ -495,6 +526,7 @@ public class VoteService {
              
              log.info("투표 부결: proposalId={}", proposalId);
          }
+         return true;
     }
 
     /**
@@ -0,0 +1,170 @@
+package com.example.vote_service.service;
+
+import com.example.vote_service.client.TradingServiceClient;
+import com.example.vote_service.client.UserServiceClient;
+import com.example.vote_service.dto.VoteRequest;
+import com.example.vote_service.model.GroupMembers;
+import com.example.vote_service.model.Proposal;
+import com.example.vote_service.model.ProposalAction;
+import com.example.vote_service.model.ProposalCategory;
+import com.example.vote_service.model.ProposalStatus;
+import com.example.vote_service.model.VoteChoice;
+import com.example.vote_service.repository.GroupMembersRepository;
+import com.example.vote_service.repository.ProposalRepository;
+import com.example.vote_service.repository.VoteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 그룹 멤버들이 거의 동시에 찬성했을 때 정족수 도달 처리(거래 실행)가 한 번만 일어나는지 확인
+ * - 스레드마다 별도 트랜잭션으로 투표 (정족수 도달 뒤에 커밋되는 투표도 카운터상 정족수 이상)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoteQuorumConcurrencyTest {
+
+    private static final int MEMBERS = 8;
+    private static final int VOTE_QUORUM = 3;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Proposal.class)
+    @EnableJpaRepositories(basePackageClasses = ProposalRepository.class)
+    @Import({VoteService.class, ProposalService.class})
+    static class Config {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private VoteService voteService;
+    @Autowired
+    private ProposalRepository proposalRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+    @Autowired
+    private GroupMembersRepository groupMembersRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private ProposalService proposalService;
+    @MockitoBean
+    private HistoryService historyService;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+    @MockitoBean
+    private TradingServiceClient tradingServiceClient;
+    @MockitoBean
+    private VoteExpirationTimerService voteExpirationTimerService;
+
+    private final List<UUID> memberIds = new ArrayList<>();
+    private UUID proposalId;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            voteRepository.deleteAll();
+            proposalRepository.deleteAll();
+            groupMembersRepository.deleteAll();
+
+            UUID groupId = UUID.randomUUID();
+            memberIds.clear();
+            for (int i = 0; i < MEMBERS; i++) {
+                UUID userId = UUID.randomUUID();
+                memberIds.add(userId);
+                groupMembersRepository.save(GroupMembers.builder()
+                        .userId(userId)
+                        .groupId(groupId)
+                        .joinedAt(LocalDateTime.now())
+                        .build());
+            }
+
+            Proposal proposal = Proposal.create(groupId, memberIds.get(0), "삼성전자 1주 매수", "제안자",
+                    ProposalCategory.TRADE, ProposalAction.BUY, null,
+                    LocalDateTime.now(ZoneId.of("Asia/Seoul")).plusHours(1));
+            proposal.snapshotQuorum(VOTE_QUORUM, MEMBERS);
+            proposalId = proposalRepository.save(proposal).getProposalId();
+        });
+    }
+
+    @Test
+    void 동시_찬성_투표_정족수_도달_처리는_한_번만() throws Exception {
+        List<Callable<Boolean>> votes = new ArrayList<>();
+        for (UUID memberId : memberIds) {
+            votes.add(() -> {
+                try {
+                    voteService.vote(memberId, proposalId, new VoteRequest(VoteChoice.AGREE));
+                    return true;
+                } catch (IllegalStateException e) {
+                    // 이미 종료된 제안에 도착한 투표
+                    return false;
+                }
+            });
+        }
+
+        long accepted = runConcurrently(votes).stream().filter(Boolean::booleanValue).count();
+
+        Proposal proposal = proposalRepository.findById(proposalId).orElseThrow();
+        assertThat(proposal.getStatus()).isEqualTo(ProposalStatus.APPROVED);
+        assertThat(accepted).isGreaterThanOrEqualTo(VOTE_QUORUM);
+        assertThat((long) proposal.getApproveCount()).isEqualTo(accepted);
+        verify(proposalService, times(1)).executeVoteBasedTrading(proposalId);
+    }
+
+    private <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}